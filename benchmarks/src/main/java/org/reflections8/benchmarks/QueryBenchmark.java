@@ -0,0 +1,235 @@
+package org.reflections8.benchmarks;
+
+import java.io.File;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reflections8.Reflections;
+import org.reflections8.scanners.FieldAnnotationsScanner;
+import org.reflections8.scanners.MemberUsageScanner;
+import org.reflections8.scanners.MethodAnnotationsScanner;
+import org.reflections8.scanners.MethodParameterNamesScanner;
+import org.reflections8.scanners.MethodParameterScanner;
+import org.reflections8.scanners.ResourcesScanner;
+import org.reflections8.scanners.SubTypesScanner;
+import org.reflections8.scanners.TypeAnnotationsScanner;
+import org.reflections8.util.ConfigurationBuilder;
+
+/**
+ * each query method of {@link Reflections}, on a synthetic jar scanned once with all scanners
+ * <p>the synthetic types are loaded during warmup, so that measurements reflect the queries and not the class loading.
+ * the usage queries resolve members through the context class loader, so it is set to the synthetic jar's class loader
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class QueryBenchmark {
+
+    @Param({"10000"})
+    public int classes;
+
+    private URLClassLoader classLoader;
+    private Reflections reflections;
+
+    private Class<?> root;
+    private Class<?> leafParent;
+    private Class<? extends Annotation> marker;
+    private Class<? extends Annotation> tagged;
+    private Annotation taggedInstance;
+    private Annotation markerInstance;
+    private Method compute;
+    private Constructor<?> constructor;
+    private Field value;
+    private Pattern properties;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() throws Exception {
+        File jar = SyntheticJarGenerator.jar(classes);
+        URL url = jar.toURI().toURL();
+        classLoader = new URLClassLoader(new URL[]{url}, getClass().getClassLoader());
+        reflections = new Reflections(new ConfigurationBuilder()
+                .setUrls(url)
+                .addClassLoader(classLoader)
+                .setScanners(
+                        new SubTypesScanner(false),
+                        new TypeAnnotationsScanner(),
+                        new FieldAnnotationsScanner(),
+                        new MethodAnnotationsScanner(),
+                        new MethodParameterScanner(),
+                        new MethodParameterNamesScanner(),
+                        new MemberUsageScanner(),
+                        new ResourcesScanner()));
+
+        root = classLoader.loadClass(SyntheticJarGenerator.className(0));
+        leafParent = classLoader.loadClass(SyntheticJarGenerator.className((classes - 2) / SyntheticJarGenerator.FANOUT));
+        marker = (Class<? extends Annotation>) classLoader.loadClass(SyntheticJarGenerator.MARKER);
+        tagged = (Class<? extends Annotation>) classLoader.loadClass(SyntheticJarGenerator.TAGGED);
+        taggedInstance = classLoader.loadClass(SyntheticJarGenerator.className(3)).getAnnotation(tagged);
+        markerInstance = root.getAnnotation(marker);
+        compute = root.getMethod("compute", String.class, int.class);
+        constructor = root.getConstructor();
+        value = root.getField("value");
+        properties = Pattern.compile(".*\\.properties");
+    }
+
+    @Setup(Level.Iteration)
+    public void setContextClassLoader() {
+        Thread.currentThread().setContextClassLoader(classLoader);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        classLoader.close();
+    }
+
+    @Benchmark
+    public Set<?> getSubTypesOfRoot() {
+        return reflections.getSubTypesOf(root);
+    }
+
+    @Benchmark
+    public Set<?> getSubTypesOfLeafParent() {
+        return reflections.getSubTypesOf(leafParent);
+    }
+
+    @Benchmark
+    public Set<Class<?>> getTypesAnnotatedWith() {
+        return reflections.getTypesAnnotatedWith(marker);
+    }
+
+    @Benchmark
+    public Set<Class<?>> getTypesAnnotatedWithHonorInherited() {
+        return reflections.getTypesAnnotatedWith(marker, true);
+    }
+
+    @Benchmark
+    public Set<Class<?>> getTypesAnnotatedWithInstance() {
+        return reflections.getTypesAnnotatedWith(taggedInstance);
+    }
+
+    @Benchmark
+    public Set<Method> getMethodsAnnotatedWith() {
+        return reflections.getMethodsAnnotatedWith(marker);
+    }
+
+    @Benchmark
+    public Set<Method> getMethodsAnnotatedWithInstance() {
+        return reflections.getMethodsAnnotatedWith(taggedInstance);
+    }
+
+    @Benchmark
+    public Set<Method> getMethodsMatchParams() {
+        return reflections.getMethodsMatchParams(String.class, int.class);
+    }
+
+    @Benchmark
+    public Set<Method> getMethodsReturn() {
+        return reflections.getMethodsReturn(int.class);
+    }
+
+    @Benchmark
+    public Set<Method> getMethodsWithAnyParamAnnotated() {
+        return reflections.getMethodsWithAnyParamAnnotated(marker);
+    }
+
+    @Benchmark
+    public Set<Method> getMethodsWithAnyParamAnnotatedInstance() {
+        return reflections.getMethodsWithAnyParamAnnotated(markerInstance);
+    }
+
+    @Benchmark
+    public Set<Constructor> getConstructorsAnnotatedWith() {
+        return reflections.getConstructorsAnnotatedWith(marker);
+    }
+
+    @Benchmark
+    public Set<Constructor> getConstructorsAnnotatedWithInstance() {
+        return reflections.getConstructorsAnnotatedWith(markerInstance);
+    }
+
+    @Benchmark
+    public Set<Constructor> getConstructorsMatchParams() {
+        return reflections.getConstructorsMatchParams();
+    }
+
+    @Benchmark
+    public Set<Constructor> getConstructorsWithAnyParamAnnotated() {
+        return reflections.getConstructorsWithAnyParamAnnotated(marker);
+    }
+
+    @Benchmark
+    public Set<Constructor> getConstructorsWithAnyParamAnnotatedInstance() {
+        return reflections.getConstructorsWithAnyParamAnnotated(markerInstance);
+    }
+
+    @Benchmark
+    public Set<Field> getFieldsAnnotatedWith() {
+        return reflections.getFieldsAnnotatedWith(marker);
+    }
+
+    @Benchmark
+    public Set<Field> getFieldsAnnotatedWithInstance() {
+        return reflections.getFieldsAnnotatedWith(markerInstance);
+    }
+
+    @Benchmark
+    public Set<String> getResources() {
+        return reflections.getResources(properties);
+    }
+
+    @Benchmark
+    public List<String> getMethodParamNames() {
+        return reflections.getMethodParamNames(compute);
+    }
+
+    @Benchmark
+    public List<String> getConstructorParamNames() {
+        return reflections.getConstructorParamNames(constructor);
+    }
+
+    @Benchmark
+    public Set<Member> getFieldUsage() {
+        return reflections.getFieldUsage(value);
+    }
+
+    @Benchmark
+    public Set<Member> getMethodUsage() {
+        return reflections.getMethodUsage(compute);
+    }
+
+    @Benchmark
+    public Set<Member> getConstructorUsage() {
+        return reflections.getConstructorUsage(constructor);
+    }
+
+    @Benchmark
+    public Set<String> getAllTypes() {
+        return reflections.getAllTypes();
+    }
+}
@@ -0,0 +1,54 @@
+package org.reflections8.benchmarks;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reflections8.ReflectionUtils;
+
+/**
+ * {@link ReflectionUtils#forName(String, ClassLoader...)} of primitive, array, jdk, synthetic and missing type names
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReflectionUtilsBenchmark {
+
+    @Param({"int", "int[][]", "java.lang.String", "java.lang.String[]", "synthetic.p0.C1", "synthetic.p0.C1[]", "does.not.Exist"})
+    public String typeName;
+
+    private URLClassLoader classLoader;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        File jar = SyntheticJarGenerator.jar(1000);
+        classLoader = new URLClassLoader(new URL[]{jar.toURI().toURL()}, getClass().getClassLoader());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        classLoader.close();
+    }
+
+    @Benchmark
+    public Class<?> forName() {
+        return ReflectionUtils.forName(typeName, classLoader);
+    }
+}
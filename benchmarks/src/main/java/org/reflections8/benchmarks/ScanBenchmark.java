@@ -0,0 +1,68 @@
+package org.reflections8.benchmarks;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reflections8.Reflections;
+import org.reflections8.scanners.Scanner;
+import org.reflections8.util.ConfigurationBuilder;
+
+/**
+ * scanning a synthetic jar with each scanner
+ * <p>super types expansion is disabled, in order to measure the scanning alone
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScanBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int classes;
+
+    @Param({"SubTypesScanner", "TypeAnnotationsScanner", "FieldAnnotationsScanner", "MethodAnnotationsScanner",
+            "MethodParameterScanner", "MethodParameterNamesScanner", "MemberUsageScanner", "ResourcesScanner", "TypeElementsScanner"})
+    public String scanner;
+
+    private URL url;
+    private URLClassLoader classLoader;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        File jar = SyntheticJarGenerator.jar(classes);
+        url = jar.toURI().toURL();
+        classLoader = new URLClassLoader(new URL[]{url}, getClass().getClassLoader());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        classLoader.close();
+    }
+
+    @Benchmark
+    public Reflections scan() throws Exception {
+        Scanner instance = (Scanner) Class.forName("org.reflections8.scanners." + scanner).newInstance();
+        return new Reflections(new ConfigurationBuilder()
+                .setUrls(url)
+                .addClassLoader(classLoader)
+                .setScanners(instance)
+                .setExpandSuperTypes(false));
+    }
+}
@@ -0,0 +1,110 @@
+package org.reflections8.benchmarks;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reflections8.Reflections;
+import org.reflections8.scanners.FieldAnnotationsScanner;
+import org.reflections8.scanners.MethodAnnotationsScanner;
+import org.reflections8.scanners.MethodParameterScanner;
+import org.reflections8.scanners.SubTypesScanner;
+import org.reflections8.scanners.TypeAnnotationsScanner;
+import org.reflections8.scanners.TypeElementsScanner;
+import org.reflections8.serializers.JavaCodeSerializer;
+import org.reflections8.serializers.JsonSerializer;
+import org.reflections8.serializers.Serializer;
+import org.reflections8.serializers.XmlSerializer;
+import org.reflections8.util.ConfigurationBuilder;
+
+/**
+ * save and read round trips of a synthetic jar's metadata, for each {@link Serializer}
+ * <p>{@link JavaCodeSerializer} does not support read, so only its save is measured. it requires the {@link TypeElementsScanner}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SerializerBenchmark {
+
+    @Param({"1000", "10000"})
+    public int classes;
+
+    @Param({"XmlSerializer", "JsonSerializer", "JavaCodeSerializer"})
+    public String serializer;
+
+    private Reflections reflections;
+    private Serializer instance;
+    private File dir;
+    private File saved;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        File jar = SyntheticJarGenerator.jar(classes);
+        URL url = jar.toURI().toURL();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{url}, getClass().getClassLoader())) {
+            reflections = new Reflections(new ConfigurationBuilder()
+                    .setUrls(url)
+                    .addClassLoader(classLoader)
+                    .setScanners(
+                            new SubTypesScanner(false),
+                            new TypeAnnotationsScanner(),
+                            new FieldAnnotationsScanner(),
+                            new MethodAnnotationsScanner(),
+                            new MethodParameterScanner(),
+                            new TypeElementsScanner()));
+        }
+        instance = (Serializer) Class.forName("org.reflections8.serializers." + serializer).newInstance();
+        dir = Files.createTempDirectory("reflections-serializer").toFile();
+        saved = instance.save(reflections, new File(dir, "saved").getPath());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        File[] files = dir.listFiles();
+        if (files != null) for (File file : files) file.delete();
+        dir.delete();
+    }
+
+    @Benchmark
+    public File save() {
+        return instance.save(reflections, new File(dir, "saved").getPath());
+    }
+
+    @Benchmark
+    public Reflections read() throws IOException {
+        if (instance instanceof JavaCodeSerializer) return null;
+        try (InputStream inputStream = new FileInputStream(saved)) {
+            return instance.read(inputStream);
+        }
+    }
+
+    @Benchmark
+    public Reflections roundTrip() throws IOException {
+        File file = instance.save(reflections, new File(dir, "roundTrip").getPath());
+        if (instance instanceof JavaCodeSerializer) return null;
+        try (InputStream inputStream = new FileInputStream(file)) {
+            return instance.read(inputStream);
+        }
+    }
+}
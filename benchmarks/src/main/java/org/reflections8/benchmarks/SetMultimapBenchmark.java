@@ -0,0 +1,69 @@
+package org.reflections8.benchmarks;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reflections8.Store;
+import org.reflections8.util.ConfigurationBuilder;
+import org.reflections8.util.SetMultimap;
+
+/**
+ * {@link SetMultimap#putSingle(Object, Object)} under contention, on the multimap created by a {@link Store}
+ * configured for parallel scanning, as used by the scanners' threads
+ * <p>keys and values are drawn from fixed pools, so that hot keys (few keys) and spread keys (many keys) can be compared.
+ * run with {@code -t} in order to change the number of contending threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(4)
+public class SetMultimapBenchmark {
+
+    @Param({"16", "100000"})
+    public int keys;
+
+    private static final int VALUES = 100000;
+
+    private String[] keyPool;
+    private String[] valuePool;
+    private SetMultimap<String, String> multimap;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        keyPool = new String[keys];
+        for (int i = 0; i < keys; i++) keyPool[i] = SyntheticJarGenerator.className(i);
+        valuePool = new String[VALUES];
+        for (int i = 0; i < VALUES; i++) valuePool[i] = SyntheticJarGenerator.className(i) + ".compute(java.lang.String, int)";
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            multimap = new Store(new ConfigurationBuilder().setExecutorService(executorService)).getOrCreate("index");
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Benchmark
+    public boolean putSingle() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return multimap.putSingle(keyPool[random.nextInt(keyPool.length)], valuePool[random.nextInt(valuePool.length)]);
+    }
+}
@@ -0,0 +1,73 @@
+package org.reflections8.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reflections8.Store;
+import org.reflections8.scanners.SubTypesScanner;
+import org.reflections8.util.ConfigurationBuilder;
+import org.reflections8.util.SetMultimap;
+import org.reflections8.util.Utils;
+
+/**
+ * {@link Store#getAll(String, String)} of the root type, on sub types hierarchies of different shapes:
+ * <ul>
+ *     <li>deep - a single chain of types, each extending the previous one</li>
+ *     <li>wide - all types directly extending the root</li>
+ *     <li>tree - each type extending one of the previous types, with {@link SyntheticJarGenerator#FANOUT} sub types each</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StoreBenchmark {
+    private static final String INDEX = Utils.index(SubTypesScanner.class);
+
+    @Param({"deep", "wide", "tree"})
+    public String shape;
+
+    @Param({"100", "1000"})
+    public int types;
+
+    private Store store;
+    private String root;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        store = new Store(new ConfigurationBuilder());
+        SetMultimap<String, String> subTypes = store.getOrCreate(INDEX);
+        root = SyntheticJarGenerator.className(0);
+        for (int i = 1; i < types; i++) {
+            int parent;
+            switch (shape) {
+                case "deep": parent = i - 1; break;
+                case "wide": parent = 0; break;
+                case "tree": parent = (i - 1) / SyntheticJarGenerator.FANOUT; break;
+                default: throw new IllegalArgumentException(shape);
+            }
+            subTypes.putSingle(SyntheticJarGenerator.className(parent), SyntheticJarGenerator.className(i));
+        }
+    }
+
+    @Benchmark
+    public void getAll(Blackhole blackhole) {
+        for (String type : store.getAll(INDEX, root)) {
+            blackhole.consume(type);
+        }
+    }
+}
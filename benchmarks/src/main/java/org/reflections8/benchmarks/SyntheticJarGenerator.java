@@ -0,0 +1,237 @@
+package org.reflections8.benchmarks;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import javassist.bytecode.AccessFlag;
+import javassist.bytecode.AnnotationsAttribute;
+import javassist.bytecode.Bytecode;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.CodeAttribute;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.FieldInfo;
+import javassist.bytecode.LocalVariableAttribute;
+import javassist.bytecode.MethodInfo;
+import javassist.bytecode.Opcode;
+import javassist.bytecode.ParameterAnnotationsAttribute;
+import javassist.bytecode.annotation.Annotation;
+import javassist.bytecode.annotation.EnumMemberValue;
+import javassist.bytecode.annotation.StringMemberValue;
+
+/**
+ * generates jars of synthetic class hierarchies, so that benchmarks are reproducible offline and do not depend on the local classpath
+ * <p>the generated classes form a tree: class {@code i} extends class {@code (i - 1) / FANOUT}, implements one of {@code INTERFACES} interfaces,
+ * and is spread in packages of {@code PACKAGE_SIZE} classes. every class has a public int field {@code value}, a default constructor
+ * and a method {@code int compute(String name, int factor)} calling its super class' compute, with a local variable table.
+ * types, fields, methods and parameters are annotated with {@code @Marker} and {@code @Tagged(value)} at fixed intervals,
+ * and each package contains a {@code package.properties} resource.
+ * <p>generation is deterministic - the same number of classes always produces the same jar content.
+ * <p>usage:
+ * <pre>
+ *     java -cp target/benchmarks.jar org.reflections8.benchmarks.SyntheticJarGenerator target/synthetic 1000 10000 100000
+ * </pre>
+ */
+public class SyntheticJarGenerator {
+    public static final String PACKAGE = "synthetic";
+    public static final String MARKER = PACKAGE + ".Marker";
+    public static final String TAGGED = PACKAGE + ".Tagged";
+    public static final String INTERFACE = PACKAGE + ".I";
+    public static final int INTERFACES = 10;
+    public static final int FANOUT = 4;
+    public static final int PACKAGE_SIZE = 100;
+
+    private static final long ENTRY_TIME = 946684800000L; //fixed entry time, for reproducible jars
+
+    private final int classes;
+
+    public SyntheticJarGenerator(int classes) {
+        this.classes = classes;
+    }
+
+    /** the fully qualified name of the i-th generated class */
+    public static String className(int i) {
+        return PACKAGE + ".p" + (i / PACKAGE_SIZE) + ".C" + i;
+    }
+
+    /** returns the jar of the given number of classes in the directory given by the system property {@code reflections.benchmarks.dir},
+     * or target/synthetic by default, generating it if it does not exist yet */
+    public static File jar(int classes) throws IOException {
+        return jar(new File(System.getProperty("reflections.benchmarks.dir", "target/synthetic")), classes);
+    }
+
+    /** returns the jar of the given number of classes in the given directory, generating it if it does not exist yet */
+    public static File jar(File dir, int classes) throws IOException {
+        File jar = new File(dir, "synthetic-" + classes + ".jar");
+        if (!jar.exists()) {
+            if (!dir.exists() && !dir.mkdirs()) throw new IOException("could not create directory " + dir);
+            File tmp = new File(dir, jar.getName() + ".tmp");
+            new SyntheticJarGenerator(classes).write(tmp);
+            if (!tmp.renameTo(jar)) throw new IOException("could not rename " + tmp + " to " + jar);
+        }
+        return jar;
+    }
+
+    /** writes the generated classes into the given jar file */
+    public void write(File jar) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            write(out, annotationType(MARKER, false));
+            write(out, annotationType(TAGGED, true));
+            for (int i = 0; i < INTERFACES; i++) {
+                write(out, interfaceType(INTERFACE + i));
+            }
+            for (int i = 0; i < classes; i++) {
+                write(out, classType(i));
+                if (i % PACKAGE_SIZE == 0) {
+                    String path = PACKAGE + "/p" + (i / PACKAGE_SIZE) + "/package.properties";
+                    entry(out, path);
+                    out.write(("first=" + className(i) + "\n").getBytes(StandardCharsets.ISO_8859_1));
+                    out.closeEntry();
+                }
+            }
+        }
+    }
+
+    private ClassFile annotationType(String name, boolean withValue) {
+        ClassFile cf = new ClassFile(true, name, null);
+        cf.setMajorVersion(ClassFile.JAVA_8);
+        cf.setAccessFlags(AccessFlag.PUBLIC | AccessFlag.INTERFACE | AccessFlag.ABSTRACT | AccessFlag.ANNOTATION);
+        cf.setInterfaces(new String[]{java.lang.annotation.Annotation.class.getName()});
+        ConstPool cp = cf.getConstPool();
+
+        Annotation retention = new Annotation(java.lang.annotation.Retention.class.getName(), cp);
+        EnumMemberValue runtime = new EnumMemberValue(cp);
+        runtime.setType(java.lang.annotation.RetentionPolicy.class.getName());
+        runtime.setValue(java.lang.annotation.RetentionPolicy.RUNTIME.name());
+        retention.addMemberValue("value", runtime);
+        cf.addAttribute(annotations(cp, retention));
+
+        if (withValue) {
+            MethodInfo value = new MethodInfo(cp, "value", "()Ljava/lang/String;");
+            value.setAccessFlags(AccessFlag.PUBLIC | AccessFlag.ABSTRACT);
+            cf.addMethod2(value);
+        }
+        return cf;
+    }
+
+    private ClassFile interfaceType(String name) {
+        ClassFile cf = new ClassFile(true, name, null);
+        cf.setMajorVersion(ClassFile.JAVA_8);
+        cf.setAccessFlags(AccessFlag.PUBLIC | AccessFlag.INTERFACE | AccessFlag.ABSTRACT);
+        return cf;
+    }
+
+    private ClassFile classType(int i) {
+        String name = className(i);
+        String superclass = i == 0 ? Object.class.getName() : className((i - 1) / FANOUT);
+        ClassFile cf = new ClassFile(false, name, superclass);
+        cf.setMajorVersion(ClassFile.JAVA_8);
+        cf.setAccessFlags(AccessFlag.PUBLIC | AccessFlag.SUPER);
+        cf.setInterfaces(new String[]{INTERFACE + (i % INTERFACES)});
+        ConstPool cp = cf.getConstPool();
+
+        if (i % 2 == 0) cf.addAttribute(annotations(cp, marker(cp)));
+        else if (i % 3 == 0) cf.addAttribute(annotations(cp, tagged(cp, i)));
+
+        FieldInfo value = new FieldInfo(cp, "value", "I");
+        value.setAccessFlags(AccessFlag.PUBLIC);
+        if (i % 4 == 0) value.addAttribute(annotations(cp, marker(cp)));
+        cf.addField2(value);
+
+        //public C<i>() { super(); }
+        MethodInfo init = new MethodInfo(cp, MethodInfo.nameInit, "()V");
+        init.setAccessFlags(AccessFlag.PUBLIC);
+        Bytecode code = new Bytecode(cp, 1, 1);
+        code.addAload(0);
+        code.addInvokespecial(superclass, MethodInfo.nameInit, "()V");
+        code.addOpcode(Opcode.RETURN);
+        init.setCodeAttribute(localVariables(cp, code.toCodeAttribute(), name));
+        cf.addMethod2(init);
+
+        //public int compute(String name, int factor) { return super.compute(name, factor) * value; }
+        MethodInfo compute = new MethodInfo(cp, "compute", "(Ljava/lang/String;I)I");
+        compute.setAccessFlags(AccessFlag.PUBLIC);
+        code = new Bytecode(cp, 3, 3);
+        if (i == 0) {
+            code.addIload(2);
+        } else {
+            code.addAload(0);
+            code.addAload(1);
+            code.addIload(2);
+            code.addInvokespecial(superclass, "compute", "(Ljava/lang/String;I)I");
+        }
+        code.addAload(0);
+        code.addGetfield(name, "value", "I");
+        code.addOpcode(Opcode.IMUL);
+        code.addOpcode(Opcode.IRETURN);
+        compute.setCodeAttribute(localVariables(cp, code.toCodeAttribute(), name, "name", "Ljava/lang/String;", "factor", "I"));
+        if (i % 5 == 0) compute.addAttribute(annotations(cp, marker(cp)));
+        else if (i % 3 == 0) compute.addAttribute(annotations(cp, tagged(cp, i)));
+        if (i % 7 == 0) {
+            ParameterAnnotationsAttribute parameters = new ParameterAnnotationsAttribute(cp, ParameterAnnotationsAttribute.visibleTag);
+            parameters.setAnnotations(new Annotation[][]{{marker(cp)}, {}});
+            compute.addAttribute(parameters);
+        }
+        cf.addMethod2(compute);
+        return cf;
+    }
+
+    private static Annotation marker(ConstPool cp) {
+        return new Annotation(MARKER, cp);
+    }
+
+    private static Annotation tagged(ConstPool cp, int i) {
+        Annotation tagged = new Annotation(TAGGED, cp);
+        tagged.addMemberValue("value", new StringMemberValue("t" + (i % 5), cp));
+        return tagged;
+    }
+
+    private static AnnotationsAttribute annotations(ConstPool cp, Annotation annotation) {
+        AnnotationsAttribute attribute = new AnnotationsAttribute(cp, AnnotationsAttribute.visibleTag);
+        attribute.addAnnotation(annotation);
+        return attribute;
+    }
+
+    /** adds a local variable table of 'this' and the given name/descriptor pairs of parameters */
+    private static CodeAttribute localVariables(ConstPool cp, CodeAttribute code, String className, String... parameters) {
+        LocalVariableAttribute table = new LocalVariableAttribute(cp);
+        int length = code.getCodeLength();
+        table.addEntry(0, length, cp.addUtf8Info("this"), cp.addUtf8Info("L" + className.replace('.', '/') + ";"), 0);
+        for (int p = 0; p < parameters.length; p += 2) {
+            table.addEntry(0, length, cp.addUtf8Info(parameters[p]), cp.addUtf8Info(parameters[p + 1]), p / 2 + 1);
+        }
+        code.getAttributes().add(table);
+        return code;
+    }
+
+    private static void write(JarOutputStream out, ClassFile cf) throws IOException {
+        entry(out, cf.getName().replace('.', '/') + ".class");
+        DataOutputStream data = new DataOutputStream(out);
+        cf.write(data);
+        data.flush();
+        out.closeEntry();
+    }
+
+    private static void entry(JarOutputStream out, String path) throws IOException {
+        JarEntry entry = new JarEntry(path);
+        entry.setTime(ENTRY_TIME);
+        out.putNextEntry(entry);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: SyntheticJarGenerator <directory> <classes>...");
+            System.exit(1);
+        }
+        File dir = new File(args[0]);
+        for (int a = 1; a < args.length; a++) {
+            long start = System.currentTimeMillis();
+            File jar = jar(dir, Integer.parseInt(args[a]));
+            System.out.println(jar + " (" + jar.length() + " bytes) in " + (System.currentTimeMillis() - start) + " ms");
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.reflections8;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.reflections8.util.SetMultimap;
+
+/**
+ * a {@link Store} being filled by a background scan, whose indices are published one at a time, see {@link Reflections#scanAsync(Configuration)}
+ * <p>{@link #get(String)}, and so all queries of the store and of its Reflections, block until the queried index is ready.
+ * indices which are not scanned are ready when the whole scan is done. if the scan fails, queries throw a {@link ReflectionsException} with its cause.
+ * <p>{@link #keySet()} does not block, it returns the indices created so far
+ */
+public class AsyncStore extends Store {
+    private transient final Map<String, CompletableFuture<Void>> indices = new ConcurrentHashMap<>();
+    private transient final CompletableFuture<Void> done = new CompletableFuture<>();
+    private transient volatile Thread scanThread;
+
+    public AsyncStore(Configuration configuration, Collection<String> indices) {
+        super(configuration);
+        for (String index : indices) this.indices.put(index, new CompletableFuture<>());
+    }
+
+    /** completes when the given {@code index} is ready to be queried */
+    public CompletableFuture<Void> whenReady(String index) {
+        return indices.getOrDefault(index, done);
+    }
+
+    /** completes when the whole scan is done */
+    public CompletableFuture<Void> whenDone() {
+        return done;
+    }
+
+    public boolean isReady(String index) {
+        CompletableFuture<Void> future = whenReady(index);
+        return future.isDone() && !future.isCompletedExceptionally();
+    }
+
+    /** the thread scanning into this store, which reads the indices it fills without waiting for them */
+    void setScanThread(Thread scanThread) {
+        this.scanThread = scanThread;
+    }
+
+    void ready(String index) {
+        CompletableFuture<Void> future = indices.get(index);
+        if (future != null) future.complete(null);
+    }
+
+    void done() {
+        for (CompletableFuture<Void> future : indices.values()) future.complete(null);
+        done.complete(null);
+    }
+
+    void fail(Throwable e) {
+        for (CompletableFuture<Void> future : indices.values()) future.completeExceptionally(e);
+        done.completeExceptionally(e);
+    }
+
+    @Override
+    public SetMultimap<String, String> get(String index) {
+        if (Thread.currentThread() == scanThread) return super.get(index);
+        try {
+            whenReady(index).join();
+        } catch (CompletionException e) {
+            throw new ReflectionsException("asynchronous scan failed", e.getCause());
+        }
+        return super.get(index);
+    }
+}
@@ -4,11 +4,14 @@ import java.net.URL;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 import org.reflections8.adapters.MetadataAdapter;
+import org.reflections8.metrics.ScanListener;
 import org.reflections8.scanners.Scanner;
 import org.reflections8.serializers.Serializer;
+import org.reflections8.util.SetMultimap;
 
 /**
  * Configuration is used to create a configured instance of {@link Reflections}
@@ -40,4 +43,48 @@ public interface Configuration {
     /** if true (default), expand super types after scanning, for super types that were not scanned.
      * <p>see {@link org.reflections8.Reflections#expandSuperTypes()}*/
     boolean shouldExpandSuperTypes();
+
+    /** if true, super types are expanded by reading the class file headers of the unscanned types, without loading them.
+     * otherwise (default) the unscanned types are loaded and their super types are resolved reflectively.
+     * <p>see {@link org.reflections8.Reflections#expandSuperTypes()}*/
+    default boolean shouldExpandSuperTypesFromBytecode() {
+        return false;
+    }
+
+    /** if true, the entries each url contributed to the store are recorded while scanning, so that urls can be removed and queries restricted to urls.
+     * <p>see {@link org.reflections8.Reflections#remove(java.net.URL)} and {@link org.reflections8.Reflections#restrictTo(java.util.Collection)}*/
+    default boolean shouldTrackUrls() {
+        return false;
+    }
+
+    /** if true, the entries each file of the directory urls contributed to the store are recorded while scanning, so that changed files can be updated.
+     * <p>see {@link org.reflections8.Reflections#watch(long)}*/
+    default boolean shouldTrackFiles() {
+        return false;
+    }
+
+    /** if true, a bloom filter of the keys each url contributed to each index is built while scanning, and saved next to the saved store.
+     * <p>see {@link Store#getUrlsMightContain(String, String)}*/
+    default boolean shouldBuildBloomFilters() {
+        return false;
+    }
+
+    /** if true, the metadata of urls containing a Jandex index, {@code META-INF/jandex.idx}, is read from the index for the scanners it covers,
+     * instead of parsing the class files: {@link org.reflections8.scanners.SubTypesScanner}, {@link org.reflections8.scanners.TypeAnnotationsScanner},
+     * {@link org.reflections8.scanners.MethodAnnotationsScanner} and {@link org.reflections8.scanners.FieldAnnotationsScanner}.
+     * <p>see {@link org.reflections8.adapters.JandexIndex}*/
+    default boolean shouldUseJandexIndexes() {
+        return false;
+    }
+
+    /** creates the multimap of each index of the store, given the index name, instead of the default on-heap multimaps, if set.
+     * <p>see {@link org.reflections8.util.OffHeapMultimap}*/
+    default Optional<Function<String, SetMultimap<String, String>>> getIndexFactory() {
+        return Optional.empty();
+    }
+
+    /** the listener receiving scan events, if any. see {@link org.reflections8.metrics.ScanMetrics} */
+    default Optional<ScanListener> getScanListener() {
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,56 @@
+package org.reflections8;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.reflections8.util.OverlayMultimap;
+import org.reflections8.util.SetMultimap;
+
+/**
+ * a {@link Store} layering a mutable store on top of an immutable base store, such as a tenant module's metadata on top of the shared platform's
+ * <p>the multimap of an index spans both stores, so all queries, including the transitive {@link #getAll(String, Iterable)}, see the entries of both.
+ * entries are added to the layer only if they are not in the base, so the memory grows with the layer's own content, and the base is never copied.
+ * <p>the base must not be modified while overlaid. entries of the base can not be removed through the overlay, see {@link OverlayMultimap}.
+ * {@link #update(Store, Store)} applies to the layer.
+ * <p>serializers writing the store's indices write both stores, except for {@link org.reflections8.serializers.JsonSerializer}, which writes the layer only.
+ * <p>use {@link Reflections#overlay(Configuration)} to create a Reflections on top of another
+ */
+public class OverlayStore extends Store {
+    private transient final Store base;
+
+    public OverlayStore(Store base, Configuration configuration) {
+        super(configuration);
+        this.base = base;
+    }
+
+    /** the base store */
+    public Store getBase() {
+        return base;
+    }
+
+    @Override
+    public Set<String> keySet() {
+        Set<String> layerKeys = super.keySet();
+        if (layerKeys.isEmpty()) return Collections.unmodifiableSet(base.keySet());
+        Set<String> result = new HashSet<>(base.keySet());
+        result.addAll(layerKeys);
+        return result;
+    }
+
+    @Override
+    public SetMultimap<String, String> get(String index) {
+        return base.keySet().contains(index) ? getOrCreate(index) : super.get(index);
+    }
+
+    @Override
+    public synchronized SetMultimap<String, String> getOrCreate(String index) {
+        SetMultimap<String, String> layer = super.getOrCreate(index);
+        return base.keySet().contains(index) ? new OverlayMultimap(base.get(index), layer) : layer;
+    }
+
+    /** the multimap of the given {@code index} of the layer only, without the base */
+    public SetMultimap<String, String> getLayer(String index) {
+        return super.getOrCreate(index);
+    }
+}
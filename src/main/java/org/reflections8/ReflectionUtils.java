@@ -14,6 +14,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -536,7 +537,7 @@ public abstract class ReflectionUtils {
         if (annotation2 != null && annotation1.annotationType() == annotation2.annotationType()) {
             for (Method method : annotation1.annotationType().getDeclaredMethods()) {
                 try {
-                    if (!method.invoke(annotation1).equals(method.invoke(annotation2))) return false;
+                    if (!Objects.deepEquals(method.invoke(annotation1), method.invoke(annotation2))) return false;
                 } catch (Exception e) {
                     throw new ReflectionsException(String.format("could not invoke method %s on annotation %s", method.getName(), annotation1.annotationType()), e);
                 }
@@ -18,8 +18,10 @@ import static org.reflections8.util.Utils.names;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.annotation.Inherited;
 import java.lang.reflect.Constructor;
@@ -30,19 +32,35 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import org.reflections8.adapters.ClassVisitor;
+import org.reflections8.adapters.ClassVisitors;
+import org.reflections8.adapters.JandexIndex;
+import org.reflections8.metrics.FlightRecorderEvents;
+import org.reflections8.metrics.MeteredFile;
+import org.reflections8.metrics.ScanListener;
+import org.reflections8.scanners.AnnotationValuesScanner;
+import org.reflections8.scanners.ClassContext;
+import org.reflections8.scanners.ClassDependenciesScanner;
 import org.reflections8.scanners.FieldAnnotationsScanner;
 import org.reflections8.scanners.MemberUsageScanner;
 import org.reflections8.scanners.MethodAnnotationsScanner;
@@ -52,16 +70,21 @@ import org.reflections8.scanners.ResourcesScanner;
 import org.reflections8.scanners.Scanner;
 import org.reflections8.scanners.SubTypesScanner;
 import org.reflections8.scanners.TypeAnnotationsScanner;
+import org.reflections8.scanners.TypeKindsScanner;
 import org.reflections8.serializers.Serializer;
 import org.reflections8.serializers.XmlSerializer;
+import org.reflections8.util.ClassHeader;
 import org.reflections8.util.ClasspathHelper;
 import org.reflections8.util.ConfigurationBuilder;
 import org.reflections8.util.FilterBuilder;
 import org.reflections8.util.HashSetMultimap;
 import org.reflections8.util.Joiner;
+import org.reflections8.util.MemberUsageMultimap;
 import org.reflections8.util.ReflectionsIterables;
 import org.reflections8.util.SetMultimap;
 import org.reflections8.util.Utils;
+import org.reflections8.vfs.PackagePrefixes;
+import org.reflections8.vfs.SystemDir;
 import org.reflections8.vfs.Vfs;
 import org.slf4j.Logger;
 
@@ -156,24 +179,35 @@ public class  Reflections {
 
     protected Store store;
 
+    /** the scanners of the current phase of {@link #scanAsync(Configuration)}, or null if all configured scanners scan */
+    private transient Set<Scanner> phase;
+
     /**
      * constructs a Reflections instance and scan according to given {@link org.reflections8.Configuration}
      * <p>it is preferred to use {@link org.reflections8.util.ConfigurationBuilder}
      */
     public Reflections(final Configuration configuration) {
-        long start = System.currentTimeMillis();
         this.configuration = configuration;
         store = new Store(configuration);
+        initialize();
+    }
+
+    private void initialize() {
+        long start = System.currentTimeMillis();
         if (configuration.getScanners() != null && !configuration.getScanners().isEmpty()) {
             for (Scanner scanner : configuration.getScanners()) {
                 scanner.setConfiguration(configuration);
-                scanner.setStore(store.getOrCreate(index(scanner.getClass())));
+                scanner.setStore(scannerStore(scanner));
             }
             scan();
             if (configuration.shouldExpandSuperTypes()) {
                 expandSuperTypes();
             }
         }
+        logTiming(start);
+    }
+
+    private void logTiming(long start) {
         Logger logger = log.get();
         if (REFLECTIONS_VERBOSE_TIMING || logger.isTraceEnabled()) {
             long end = System.currentTimeMillis();
@@ -230,8 +264,133 @@ public class  Reflections {
         store = new Store(configuration);
     }
 
+    private Reflections(final Configuration configuration, final Store store) {
+        this.configuration = configuration;
+        this.store = store;
+    }
+
+    /**
+     * scans the urls of the given {@code configuration} into a new Reflections layered on top of this one, such as a tenant module on top of the shared platform.
+     * <pre>
+     *     Reflections platform = new Reflections(platformConfiguration);
+     *     Reflections tenant = platform.overlay(new ConfigurationBuilder().addUrls(tenantUrls));
+     * </pre>
+     * <p>queries of the returned instance span the metadata of both, while it only stores the entries this instance does not have, see {@link OverlayStore}.
+     * this instance must not be modified while overlaid
+     */
+    public Reflections overlay(final Configuration configuration) {
+        Reflections reflections8 = new Reflections(configuration, new OverlayStore(store, configuration));
+        reflections8.initialize();
+        return reflections8;
+    }
+
+    /**
+     * scans according to the given {@code configuration} in a background thread, and returns immediately, so that the scan overlaps with the rest of the startup.
+     * <pre>
+     *     Reflections reflections = Reflections.scanAsync(configuration);
+     *     //...
+     *     reflections.getSubTypesOf(Service.class); //blocks until the sub types are ready
+     *     reflections.whenReady(MethodAnnotationsScanner.class).thenAccept(r -&gt; r.getMethodsAnnotatedWith(Init.class));
+     * </pre>
+     * <p>queries of the returned instance block until the index they query is ready, see {@link AsyncStore}.
+     * the urls are scanned in two phases, first by the {@link SubTypesScanner}s and {@link TypeAnnotationsScanner}s, whose indices are published
+     * once the super types are expanded, and then by the other scanners, reading and parsing the files again.
+     * the {@link ScanListener} and the flight recorder events therefore report each url and file once per phase, see {@link org.reflections8.metrics.ScanMetrics#getPasses()}.
+     * the configured executor service, if any, scans the urls of each phase in parallel.
+     * <p>the indices of all scanners are created before returning, so that {@link #getStore()}{@code .keySet()} tells the configured indices apart right away
+     * <p>use {@link #whenReady(Class[])} and {@link #whenScanned()} to be notified instead of blocking
+     */
+    public static Reflections scanAsync(final Configuration configuration) {
+        Set<Scanner> first = new LinkedHashSet<>();
+        Set<Scanner> second = new LinkedHashSet<>();
+        Set<String> indices = new HashSet<>();
+        if (configuration.getScanners() != null) {
+            for (Scanner scanner : configuration.getScanners()) {
+                (scanner instanceof SubTypesScanner || scanner instanceof TypeAnnotationsScanner ? first : second).add(scanner);
+                indices.add(index(scanner.getClass()));
+            }
+        }
+        final List<Set<Scanner>> phases = new ArrayList<>();
+        if (!first.isEmpty()) phases.add(first);
+        if (!second.isEmpty()) phases.add(second);
+
+        AsyncStore store = new AsyncStore(configuration, indices);
+        final Reflections reflections8 = new Reflections(configuration, store);
+        if (configuration.getScanners() != null) {
+            for (Scanner scanner : configuration.getScanners()) {
+                scanner.setConfiguration(configuration);
+                scanner.setStore(reflections8.scannerStore(scanner));
+            }
+        }
+        Thread thread = new Thread(() -> reflections8.initializeAsync(phases), "reflections-scan");
+        thread.setDaemon(true);
+        store.setScanThread(thread);
+        thread.start();
+        return reflections8;
+    }
+
+    private void initializeAsync(List<Set<Scanner>> phases) {
+        AsyncStore asyncStore = (AsyncStore) store;
+        try {
+            long start = System.currentTimeMillis();
+            for (int i = 0; i < phases.size(); i++) {
+                phase = phases.get(i);
+                scan(i == phases.size() - 1);
+                if (i == 0 && configuration.shouldExpandSuperTypes()) {
+                    expandSuperTypes();
+                }
+                for (Scanner scanner : phase) asyncStore.ready(index(scanner.getClass()));
+            }
+            phase = null;
+            asyncStore.done();
+            logTiming(start);
+        } catch (Throwable e) {
+            if (log.isPresent()) log.get().error("asynchronous scan failed", e);
+            asyncStore.fail(e);
+        }
+    }
+
+    private boolean inPhase(Scanner scanner) {
+        return phase == null || phase.contains(scanner);
+    }
+
+    /**
+     * a future completed with this instance once the indices of the given {@code scanners} are ready to be queried, see {@link #scanAsync(Configuration)}.
+     * <p>the future is already completed unless this instance is scanned asynchronously
+     */
+    @SafeVarargs
+    public final CompletableFuture<Reflections> whenReady(Class<? extends Scanner>... scanners) {
+        if (!(store instanceof AsyncStore)) return CompletableFuture.completedFuture(this);
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[scanners.length];
+        for (int i = 0; i < scanners.length; i++) futures[i] = ((AsyncStore) store).whenReady(index(scanners[i]));
+        return CompletableFuture.allOf(futures).thenApply(v -> this);
+    }
+
+    /**
+     * a future completed with this instance once the scan is done, see {@link #scanAsync(Configuration)}.
+     * <p>the future is already completed unless this instance is scanned asynchronously
+     */
+    public CompletableFuture<Reflections> whenScanned() {
+        if (!(store instanceof AsyncStore)) return CompletableFuture.completedFuture(this);
+        return ((AsyncStore) store).whenDone().thenApply(v -> this);
+    }
+
+    /** the multimap the given scanner puts into, recording the contributions of each url if needed, see {@link Store#getOrCreateTracking(String)} */
+    private SetMultimap<String, String> scannerStore(Scanner scanner) {
+        return store.getOrCreateTracking(index(scanner.getClass()));
+    }
+
+    private boolean recordsUrls() {
+        return configuration.shouldTrackUrls() || configuration.shouldBuildBloomFilters() || configuration.shouldTrackFiles();
+    }
+
     //
     protected void scan() {
+        scan(true);
+    }
+
+    /** scans the urls, then shuts down the executor service if {@code shutdown}, which is false between the phases of {@link #scanAsync(Configuration)} */
+    private void scan(boolean shutdown) {
         if (configuration.getUrls() == null || configuration.getUrls().isEmpty()) {
             if (log.isPresent()) log.get().warn("given scan urls are empty. set urls in the configuration");
             return;
@@ -242,6 +401,7 @@ public class  Reflections {
         }
 
         long time = System.currentTimeMillis();
+        long start = System.nanoTime();
         int scannedUrls = 0;
         Optional<ExecutorService> executorService = configuration.getExecutorService();
         List<Future<?>> futures = new ArrayList();
@@ -277,8 +437,12 @@ public class  Reflections {
 
         time = System.currentTimeMillis() - time;
 
+        if (configuration.getScanListener().isPresent()) {
+            configuration.getScanListener().get().scanFinished(scannedUrls, System.nanoTime() - start);
+        }
+
         //gracefully shutdown the parallel scanner executor service.
-        if (executorService.isPresent()) {
+        if (shutdown && executorService.isPresent()) {
             executorService.get().shutdown();
         }
 
@@ -300,33 +464,183 @@ public class  Reflections {
     }
 
     protected void scan(URL url) {
+        Object event = FlightRecorderEvents.beginScanUrl();
+        int files = 0;
+        if (recordsUrls()) store.beginSegment(url, configuration.shouldTrackUrls(), configuration.shouldBuildBloomFilters());
+        try {
+            files = scanFiles(url);
+        } finally {
+            if (recordsUrls()) store.endSegment();
+            FlightRecorderEvents.endScanUrl(event, url, files);
+        }
+    }
+
+    /**
+     * scans the files of the given {@code url}, returns the number of files accepted by the inputs filter
+     * <p>if {@link Configuration#shouldTrackFiles()}, the contributions of each file of a directory url are recorded.
+     * <p>if a {@link ScanListener} is configured, the io, parsing and scanning of each file are reported to it.
+     * the class object is then created once up front, in order to tell the parsing time apart from the scanners' time,
+     * and the scanners skip the file if it can not be parsed
+     */
+    private int scanFiles(URL url) {
+        Optional<ScanListener> listener = configuration.getScanListener();
+        long urlStart = System.nanoTime();
         Vfs.Dir dir = Vfs.fromURL(url);
+        boolean trackFiles = configuration.shouldTrackFiles() && dir instanceof SystemDir;
+        if (listener.isPresent()) listener.get().urlOpened(url);
+        int entries = 0;
+        int files = 0;
+        long bytesRead = 0;
 
         try {
-            for (final Vfs.File file : dir.getFiles()) {
+            BiPredicate<Scanner, String> indexed = scanJandexIndex(url, dir);
+            for (final Vfs.File vfsFile : getFiles(dir)) {
+                entries++;
                 // scan if inputs filter accepts file relative path or fqn
                 Optional<Predicate<String>> inputsFilter = configuration.getInputsFilter();
-                String path = file.getRelativePath();
+                String path = vfsFile.getRelativePath();
                 String fqn = path.replace('/', '.');
                 if (!inputsFilter.isPresent() || inputsFilter.get().test(path) || inputsFilter.get().test(fqn)) {
-                    Optional<Object> classObject = Optional.empty();
+                    files++;
+                    long fileStart = System.nanoTime();
+                    Vfs.File file = listener.isPresent() ? new MeteredFile(vfsFile) : vfsFile;
+                    ClassContext context = ClassContext.forFile(configuration.getMetadataAdapter(), file, Optional.empty()).deferVisitors();
+                    boolean parsed = true;
+
+                    if (listener.isPresent() && configuration.getMetadataAdapter().acceptsInput(path) && acceptedByAnyScanner(path, fqn, indexed)) {
+                        MeteredFile meteredFile = (MeteredFile) file;
+                        try {
+                            context.getClassObject();
+                            listener.get().fileParsed(url, vfsFile, meteredFile.getIoNanos(),
+                                    System.nanoTime() - fileStart - meteredFile.getIoNanos(), meteredFile.getBytesRead());
+                        } catch (Exception e) {
+                            parsed = false;
+                            listener.get().scanFailed(url, vfsFile, null, e);
+                            if (log.isPresent()) log.get().debug("could not parse file {} in url {}", path, url.toExternalForm(), e);
+                        }
+                    }
+
+                    if (trackFiles) store.beginFile(path);
                     for (Scanner scanner : configuration.getScanners()) {
+                        if (!parsed) break;
+                        if (indexed.test(scanner, path) || !inPhase(scanner)) continue;
+                        long scannerStart = System.nanoTime();
                         try {
                             if (scanner.acceptsInput(path) || scanner.acceptsInput(fqn)) {
-                                classObject = Optional.of(scanner.scan(file, classObject));
+                                scanner.scan(file, context);
+                                if (listener.isPresent()) listener.get().fileScanned(url, vfsFile, scanner, System.nanoTime() - scannerStart);
                             }
                         } catch (Exception e) {
+                            if (listener.isPresent()) listener.get().scanFailed(url, vfsFile, scanner, e);
                             if (log.isPresent()) {
                                 // SLF4J will filter out Throwables from the format string arguments.
-                                log.get().debug("could not scan file {} in url {} with scanner {}", file.getRelativePath(), url.toExternalForm(), scanner.getClass().getSimpleName(), e);
+                                log.get().debug("could not scan file {} in url {} with scanner {}", path, url.toExternalForm(), scanner.getClass().getSimpleName(), e);
                             }
                         }
                     }
+                    try {
+                        if (parsed) context.visit();
+                    } catch (Exception e) {
+                        if (listener.isPresent()) listener.get().scanFailed(url, vfsFile, null, e);
+                        if (log.isPresent()) log.get().debug("could not visit file {} in url {}", path, url.toExternalForm(), e);
+                    }
+                    if (trackFiles) store.endFile();
+                    if (listener.isPresent()) {
+                        bytesRead += ((MeteredFile) file).getBytesRead();
+                        listener.get().fileFinished(url, vfsFile, System.nanoTime() - fileStart);
+                    }
                 }
             }
         } finally {
             dir.close();
+            if (listener.isPresent()) listener.get().urlClosed(url, entries, bytesRead, System.nanoTime() - urlStart);
         }
+        return files;
+    }
+
+    /** scans the given file into a new store, with the configured scanners, returns null if the inputs filter rejects it */
+    Store scan(Vfs.File file) {
+        Optional<Predicate<String>> inputsFilter = configuration.getInputsFilter();
+        String path = file.getRelativePath();
+        String fqn = path.replace('/', '.');
+        if (inputsFilter.isPresent() && !inputsFilter.get().test(path) && !inputsFilter.get().test(fqn)) return null;
+
+        Store result = new Store();
+        ClassContext context = ClassContext.forFile(configuration.getMetadataAdapter(), file, Optional.empty()).deferVisitors();
+        store.beginScanInto(result);
+        try {
+            for (Scanner scanner : configuration.getScanners()) {
+                try {
+                    if (scanner.acceptsInput(path) || scanner.acceptsInput(fqn)) {
+                        scanner.scan(file, context);
+                    }
+                } catch (Exception e) {
+                    if (log.isPresent()) log.get().debug("could not scan file {} with scanner {}", path, scanner.getClass().getSimpleName(), e);
+                }
+            }
+            try {
+                context.visit();
+            } catch (Exception e) {
+                if (log.isPresent()) log.get().debug("could not visit file {}", path, e);
+            }
+        } finally {
+            store.endScanInto();
+        }
+        return result;
+    }
+
+    /** the files of the given {@code dir}, skipping directories and entries which can not be accepted by the inputs filter */
+    private Iterable<Vfs.File> getFiles(Vfs.Dir dir) {
+        Optional<PackagePrefixes> prefixes = PackagePrefixes.of(configuration.getInputsFilter());
+        return prefixes.isPresent() ? dir.getFiles(prefixes.get()) : dir.getFiles();
+    }
+
+    private boolean acceptedByAnyScanner(String path, String fqn, BiPredicate<Scanner, String> indexed) {
+        for (Scanner scanner : configuration.getScanners()) {
+            if (!indexed.test(scanner, path) && inPhase(scanner) && (scanner.acceptsInput(path) || scanner.acceptsInput(fqn))) return true;
+        }
+        return false;
+    }
+
+    /**
+     * reads the Jandex index of the given {@code dir}, if {@link Configuration#shouldUseJandexIndexes()}, and pushes its metadata to the scanners it covers
+     * @return whether a scanner got the metadata of a file path from the index, so that it need not scan the file.
+     * only the class files of the classes the index lists are skipped, by the scanners it covers
+     */
+    private BiPredicate<Scanner, String> scanJandexIndex(URL url, Vfs.Dir dir) {
+        BiPredicate<Scanner, String> none = (scanner, path) -> false;
+        if (!configuration.shouldUseJandexIndexes()) return none;
+        Set<Scanner> indexed = new HashSet<>();
+        for (Scanner scanner : configuration.getScanners()) {
+            Class<?> type = scanner.getClass();
+            if (!inPhase(scanner)) continue;
+            if (type == SubTypesScanner.class || type == TypeAnnotationsScanner.class ||
+                    type == MethodAnnotationsScanner.class || type == FieldAnnotationsScanner.class) {
+                indexed.add(scanner);
+            }
+        }
+        if (indexed.isEmpty()) return none;
+
+        for (Vfs.File file : dir.getFiles(PackagePrefixes.of(JandexIndex.INDEX))) {
+            if (!file.getRelativePath().equals(JandexIndex.INDEX)) continue;
+            JandexIndex index;
+            try (InputStream inputStream = file.openInputStream()) {
+                index = JandexIndex.read(inputStream);
+            } catch (IOException | ReflectionsException e) {
+                if (log.isPresent()) log.get().warn("could not read jandex index of url {}, scanning its class files instead", url, e);
+                return none;
+            }
+            Optional<Predicate<String>> inputsFilter = configuration.getInputsFilter();
+            Predicate<String> classFilter = className -> !inputsFilter.isPresent() ||
+                    inputsFilter.get().test(className.replace('.', '/') + ".class") || inputsFilter.get().test(className + ".class");
+            List<ClassVisitor> visitors = new ArrayList<>();
+            for (Scanner scanner : indexed) visitors.add((ClassVisitor) scanner);
+            index.accept(ClassVisitors.of(visitors), classFilter);
+            Set<String> paths = new HashSet<>();
+            for (String className : index.getClassNames()) paths.add(className.replace('.', '/') + ".class");
+            return (scanner, path) -> indexed.contains(scanner) && paths.contains(path);
+        }
+        return none;
     }
 
     /** collect saved Reflection xml resources and merge it into a Reflections instance
@@ -355,8 +669,11 @@ public class  Reflections {
         Iterable<Vfs.File> files = Vfs.findFiles(urls, packagePrefix, resourceNameFilter);
         for (final Vfs.File file : files) {
             try {
+                Object event = FlightRecorderEvents.beginCollect();
                 try(InputStream inputStream = file.openInputStream()) {
                     reflections8.merge(serializer.read(inputStream));
+                } finally {
+                    FlightRecorderEvents.endCollect(event, file.toString(), serializer.getClass().getSimpleName());
                 }
             } catch (IOException e) {
                 throw new ReflectionsException("could not merge " + file, e);
@@ -382,11 +699,14 @@ public class  Reflections {
      * <br> useful if you know the serialized resource location and prefer not to look it up the classpath
      * */
     public Reflections collect(final InputStream inputStream) {
+        Object event = FlightRecorderEvents.beginCollect();
         try {
             merge(configuration.getSerializer().read(inputStream));
             if (log.isPresent()) log.get().info("Reflections collected metadata from input stream using serializer " + configuration.getSerializer().getClass().getName());
         } catch (Exception ex) {
             throw new ReflectionsException("could not merge input stream", ex);
+        } finally {
+            FlightRecorderEvents.endCollect(event, inputStream.toString(), configuration.getSerializer().getClass().getSimpleName());
         }
 
         return this;
@@ -394,14 +714,24 @@ public class  Reflections {
 
     /** merges saved Reflections resources from the given file, using the serializer configured in this instance's Configuration
      * <p> useful if you know the serialized resource location and prefer not to look it up the classpath
+     * <p>bloom filters saved next to the file are read as well, see {@link #bloomFiltersFile(File)}
      * */
     public Reflections collect(final File file) {
         FileInputStream inputStream = null;
         try {
             inputStream = new FileInputStream(file);
-            return collect(inputStream);
+            collect(inputStream);
+            File bloomFiltersFile = bloomFiltersFile(file);
+            if (bloomFiltersFile.isFile()) {
+                try (InputStream bloomFilters = new FileInputStream(bloomFiltersFile)) {
+                    store.readBloomFilters(bloomFilters);
+                }
+            }
+            return this;
         } catch (FileNotFoundException e) {
             throw new ReflectionsException("could not obtain input stream from file " + file, e);
+        } catch (IOException e) {
+            throw new ReflectionsException("could not read bloom filters next to file " + file, e);
         } finally {
             Utils.close(inputStream);
         }
@@ -424,10 +754,74 @@ public class  Reflections {
         return this;
     }
 
+    /**
+     * scans the given {@code url}, such as a newly deployed jar, and adds its entries to the store atomically, without scanning the configured urls again.
+     * <p>if {@link Configuration#shouldTrackUrls()}, a url which was already scanned is removed first, and the new contributions are recorded.
+     * super types are not expanded
+     */
+    public synchronized Reflections add(final URL url) {
+        if (configuration.shouldTrackUrls() && store.getSegment(url) != null) remove(url);
+        Store segment = new Store();
+        Object event = FlightRecorderEvents.beginScanUrl();
+        int files = 0;
+        store.beginScanInto(segment);
+        try {
+            files = scanFiles(url);
+        } finally {
+            store.endScanInto();
+            FlightRecorderEvents.endScanUrl(event, url, files);
+        }
+        if (configuration.shouldTrackUrls()) store.putSegment(url, segment);
+        if (configuration.shouldBuildBloomFilters()) store.putBloomFilters(url, segment);
+        store.update(new Store(), segment);
+        return this;
+    }
+
+    /**
+     * removes the entries the given {@code url} contributed to the store, such as an undeployed jar, atomically.
+     * entries also contributed by other urls are kept.
+     * <p>requires {@link Configuration#shouldTrackUrls()}. entries added by {@link #expandSuperTypes()} or {@link #merge(Reflections)}
+     * are not attributed to any url, and are kept
+     */
+    public synchronized Reflections remove(final URL url) {
+        if (!configuration.shouldTrackUrls()) {
+            throw new ReflectionsException("urls are not tracked, use ConfigurationBuilder.setTrackUrls(true)");
+        }
+        store.removeBloomFilters(url);
+        Store removals = store.removeSegment(url);
+        if (removals != null) store.update(removals, new Store());
+        return this;
+    }
+
+    /**
+     * returns a Reflections instance querying only the entries the given {@code urls} contributed, such as the jars of one module
+     * <pre>
+     *     Set&lt;Class&lt;? extends Module&gt;&gt; modules = reflections8.restrictTo(pluginUrls).getSubTypesOf(Module.class);
+     * </pre>
+     * <p>requires {@link Configuration#shouldTrackUrls()}. the returned instance is a snapshot, it is not updated by {@link #add(URL)} or {@link #remove(URL)}
+     */
+    public Reflections restrictTo(final Collection<URL> urls) {
+        if (!configuration.shouldTrackUrls()) {
+            throw new ReflectionsException("urls are not tracked, use ConfigurationBuilder.setTrackUrls(true)");
+        }
+        Store restricted = new Store();
+        for (URL url : urls) {
+            Store segment = store.getSegment(url);
+            if (segment == null) continue;
+            for (String index : segment.keySet()) {
+                restricted.getOrCreate(index).putAllSingles(segment.get(index));
+            }
+        }
+        for (Scanner scanner : configuration.getScanners()) restricted.getOrCreate(index(scanner.getClass()));
+        return new Reflections(configuration, restricted);
+    }
+
     /**
      * expand super types after scanning, for super types that were not scanned.
      * this is helpful in finding the transitive closure without scanning all 3rd party dependencies.
-     * it uses {@link ReflectionUtils#getSuperTypes(Class)}.
+     * it uses {@link ReflectionUtils#getSuperTypes(Class)}, or if {@link Configuration#shouldExpandSuperTypesFromBytecode()}
+     * it uses {@link ClassHeader#find(String, Optional)} which reads the super types from the class files without loading them.
+     * types of the Java runtime image are then read from their class files, see {@link ClassHeader#findInRuntimeImage(String)}.
      * <p>
      * for example, for classes A,B,C where A supertype of B, B supertype of C:
      * <ul>
@@ -436,19 +830,53 @@ public class  Reflections {
      * </ul>
      */
     public void expandSuperTypes() {
-        if (store.keySet().contains(index(SubTypesScanner.class))) {
-            SetMultimap<String, String> mmap = store.get(index(SubTypesScanner.class));
-            Set<String> difference = new HashSet<>();
-            difference.addAll(mmap.keySet());
-            difference.removeAll(mmap.flatValuesAsSet());
-            SetMultimap<String, String> expand = new HashSetMultimap<>();
-            for (String key : difference) {
-                final Class<?> type = forName(key, loaders());
-                if (type != null) {
-                    expandSupertypes(expand, key, type);
+        Object event = FlightRecorderEvents.beginExpandSuperTypes();
+        int keys = 0;
+        int expanded = 0;
+        try {
+            if (store.keySet().contains(index(SubTypesScanner.class))) {
+                SetMultimap<String, String> mmap = store.get(index(SubTypesScanner.class));
+                Set<String> difference = new HashSet<>();
+                difference.addAll(mmap.keySet());
+                difference.removeAll(mmap.flatValuesAsSet());
+                SetMultimap<String, String> expand = new HashSetMultimap<>();
+                for (String key : difference) {
+                    if (configuration.shouldExpandSuperTypesFromBytecode()) {
+                        expandSupertypes(expand, key);
+                    } else {
+                        final Class<?> type = forName(key, loaders());
+                        if (type != null) {
+                            expandSupertypes(expand, key, type);
+                        }
+                    }
                 }
+                keys = difference.size();
+                expanded = expand.flatValues().size();
+                mmap.putAllSingles(expand);
             }
-            mmap.putAllSingles(expand);
+        } finally {
+            FlightRecorderEvents.endExpandSuperTypes(event, keys, expanded);
+        }
+    }
+
+    private void expandSupertypes(SetMultimap<String, String> mmap, String key) {
+        Optional<ClassHeader> header = ClassHeader.findInRuntimeImage(key);
+        if (!header.isPresent()) header = ClassHeader.find(key, loaders());
+        if (header.isPresent()) {
+            List<String> supertypes = new ArrayList<>(header.get().getInterfacesNames().size() + 1);
+            String superclass = header.get().getSuperclassName();
+            if (superclass != null && (ReflectionUtils.includeObject || !superclass.equals(Object.class.getName()))) {
+                supertypes.add(superclass);
+            }
+            supertypes.addAll(header.get().getInterfacesNames());
+            for (String supertype : supertypes) {
+                if (mmap.putSingle(supertype, key)) {
+                    if (log.isPresent()) log.get().debug("expanded subtype {} -> {}", supertype, key);
+                    expandSupertypes(mmap, supertype);
+                }
+            }
+        } else if (log.isPresent()) {
+            log.get().debug("could not find class file for {}, not expanding its super types", key);
         }
     }
 
@@ -467,8 +895,10 @@ public class  Reflections {
      * <p>depends on SubTypesScanner configured
      */
     public <T> Set<Class<? extends T>> getSubTypesOf(final Class<T> type) {
-        return new HashSet(ReflectionUtils.<T>forNames(
-                store.getAll(index(SubTypesScanner.class), Arrays.asList(type.getName())), loaders()));
+        Object event = FlightRecorderEvents.beginQuery();
+        return FlightRecorderEvents.endQuery(event, "getSubTypesOf", index(SubTypesScanner.class), type.getName(),
+                new HashSet(ReflectionUtils.<T>forNames(
+                store.getAll(index(SubTypesScanner.class), Arrays.asList(type.getName())), loaders())));
     }
 
     /**
@@ -493,10 +923,12 @@ public class  Reflections {
      * <p>depends on TypeAnnotationsScanner and SubTypesScanner configured
      */
     public Set<Class<?>> getTypesAnnotatedWith(final Class<? extends Annotation> annotation, boolean honorInherited) {
+        Object event = FlightRecorderEvents.beginQuery();
         Iterable<String> annotated = store.get(index(TypeAnnotationsScanner.class), annotation.getName());
         Iterable<String> classes = getAllAnnotated(annotated, annotation.isAnnotationPresent(Inherited.class), honorInherited);
-        return Stream.concat(forNames(annotated, loaders()).stream(),
-                forNames(classes, loaders()).stream()).collect(Collectors.toSet());
+        return FlightRecorderEvents.endQuery(event, "getTypesAnnotatedWith", index(TypeAnnotationsScanner.class), annotation.getName(),
+                Stream.concat(forNames(annotated, loaders()).stream(),
+                forNames(classes, loaders()).stream()).collect(Collectors.toSet()));
     }
 
     /**
@@ -514,8 +946,12 @@ public class  Reflections {
      * <p>depends on TypeAnnotationsScanner configured
      */
     public Set<Class<?>> getTypesAnnotatedWith(final Annotation annotation, boolean honorInherited) {
+        Object event = FlightRecorderEvents.beginQuery();
         Iterable<String> annotated = store.get(index(TypeAnnotationsScanner.class), annotation.annotationType().getName());
-        Iterable<Class<?>> filter = filter(forNames(annotated, loaders()), withAnnotation(annotation));
+        Map<String, Object> members = getIndexedMembers(annotation);
+        Iterable<Class<?>> filter = members != null ?
+                forNames(getAnnotatedWithValues(annotated, annotation.annotationType(), members), loaders()) :
+                filter(forNames(annotated, loaders()), withAnnotation(annotation));
         Iterable<String> classes = getAllAnnotated(names(filter), annotation.annotationType().isAnnotationPresent(Inherited.class), honorInherited);
         Stream<String> classesStream = StreamSupport.stream(classes.spliterator(), false);
         Stream<Class<?>> filterStream = StreamSupport.stream(filter.spliterator(), false);
@@ -523,25 +959,83 @@ public class  Reflections {
         for(String clazz: annotated)
             annotatedSet.add(clazz);
 
-        return Stream.concat(filterStream, forNames(classesStream.filter(new Predicate<String>() {
+        Set<Class<?>> result = Stream.concat(filterStream, forNames(classesStream.filter(new Predicate<String>() {
                     @Override
                     public boolean test(String s) {
                         return !annotatedSet.contains(s);
                     }
                 }).collect(Collectors.toList()), loaders()).stream()).collect(Collectors.toSet());
+        return FlightRecorderEvents.endQuery(event, "getTypesAnnotatedWith", index(TypeAnnotationsScanner.class), annotation, result);
 
     }
 
+    /**
+     * get types directly annotated with a given annotation, where the given annotation members match the given values
+     * <p>matched using the annotation member values index, without loading any type other than the results.
+     * members not declared explicitly match their default value.
+     * <pre>Set&lt;Class&lt;?&gt;&gt; named = reflections8.getTypesAnnotatedWith(Named.class, Collections.singletonMap("value", "x"));</pre>
+     * <p>depends on TypeAnnotationsScanner and AnnotationValuesScanner configured
+     */
+    public Set<Class<?>> getTypesAnnotatedWith(final Class<? extends Annotation> annotation, final Map<String, ?> members) {
+        Object event = FlightRecorderEvents.beginQuery();
+        Iterable<String> annotated = store.get(index(TypeAnnotationsScanner.class), annotation.getName());
+        return FlightRecorderEvents.endQuery(event, "getTypesAnnotatedWith", index(AnnotationValuesScanner.class), members,
+                new HashSet<>(forNames(getAnnotatedWithValues(annotated, annotation, members), loaders())));
+    }
+
+    /**
+     * the given annotated elements where the given annotation members match the given values, using the annotation member values index
+     * <p>an element not declaring a member explicitly matches if the value equals the member's default value
+     */
+    Set<String> getAnnotatedWithValues(Iterable<String> annotated, Class<? extends Annotation> annotation, Map<String, ?> members) {
+        String index = index(AnnotationValuesScanner.class);
+        Set<String> result = ReflectionsIterables.makeSetOf(annotated);
+        for (Map.Entry<String, ?> member : members.entrySet()) {
+            String value = Utils.annotationMemberValue(member.getValue());
+            if (value == null) {
+                throw new ReflectionsException(format("value of member %s of annotation %s is not indexed: %s", member.getKey(), annotation.getName(), member.getValue()));
+            }
+            Set<String> matching = ReflectionsIterables.makeSetOf(store.get(index, AnnotationValuesScanner.key(annotation.getName(), member.getKey(), value)));
+            if (value.equals(Utils.annotationMemberValue(getDefaultValue(annotation, member.getKey())))) {
+                Set<String> declared = ReflectionsIterables.makeSetOf(store.get(index, AnnotationValuesScanner.key(annotation.getName(), member.getKey())));
+                result.removeIf(element -> declared.contains(element) && !matching.contains(element));
+            } else {
+                result.retainAll(matching);
+            }
+        }
+        return result;
+    }
+
+    /** the members of the given annotation, if all of them can be matched using the annotation member values index, otherwise null */
+    private Map<String, Object> getIndexedMembers(Annotation annotation) {
+        if (!store.keySet().contains(index(AnnotationValuesScanner.class))) return null;
+        Map<String, Object> members = new HashMap<>();
+        for (Method method : annotation.annotationType().getDeclaredMethods()) {
+            try {
+                method.setAccessible(true);
+                Object value = method.invoke(annotation);
+                if (Utils.annotationMemberValue(value) == null) return null;
+                members.put(method.getName(), value);
+            } catch (Exception e) {
+                throw new ReflectionsException(format("could not invoke method %s on annotation %s", method.getName(), annotation.annotationType()), e);
+            }
+        }
+        return members;
+    }
+
+    private static Object getDefaultValue(Class<? extends Annotation> annotation, String member) {
+        try {
+            return annotation.getDeclaredMethod(member).getDefaultValue();
+        } catch (NoSuchMethodException e) {
+            throw new ReflectionsException(format("annotation %s has no member %s", annotation.getName(), member), e);
+        }
+    }
+
 
     protected Iterable<String> getAllAnnotated(Iterable<String> annotated, boolean inherited, boolean honorInherited) {
         if (honorInherited) {
             if (inherited) {
-                Iterable<String> subTypes = store.get(index(SubTypesScanner.class), filter(annotated, new Predicate<String>() {
-                    public boolean test(String input) {
-                        final Class<?> type = forName(input, loaders());
-                        return type != null && !type.isInterface();
-                    }
-                }));
+                Iterable<String> subTypes = store.get(index(SubTypesScanner.class), filter(annotated, isClass()));
                 return ReflectionsIterables.concat(subTypes, store.getAll(index(SubTypesScanner.class), subTypes));
             } else {
                 return annotated;
@@ -553,13 +1047,39 @@ public class  Reflections {
 
     }
 
+    /**
+     * whether a type can be loaded and is not an interface.
+     * <p>if TypeKindsScanner is configured, types found in the type kinds index are not loaded: they are classes unless indexed as interfaces.
+     * other types, such as types without any kind or types not scanned, are loaded
+     */
+    private Predicate<String> isClass() {
+        Predicate<String> loadable = input -> {
+            final Class<?> type = forName(input, loaders());
+            return type != null && !type.isInterface();
+        };
+        if (store.keySet().contains(index(TypeKindsScanner.class))) {
+            SetMultimap<String, String> kinds = store.get(index(TypeKindsScanner.class));
+            return input -> {
+                Set<String> interfaces = kinds.get(TypeKind.INTERFACE.name());
+                if (interfaces != null && interfaces.contains(input)) return false;
+                for (Set<String> types : kinds.values()) {
+                    if (types.contains(input)) return true;
+                }
+                return loadable.test(input);
+            };
+        }
+        return loadable;
+    }
+
     /**
      * get all methods annotated with a given annotation
      * <p>depends on MethodAnnotationsScanner configured
      */
     public Set<Method> getMethodsAnnotatedWith(final Class<? extends Annotation> annotation) {
+        Object event = FlightRecorderEvents.beginQuery();
         Iterable<String> methods = store.get(index(MethodAnnotationsScanner.class), annotation.getName());
-        return getMethodsFromDescriptors(methods, loaders());
+        return FlightRecorderEvents.endQuery(event, "getMethodsAnnotatedWith", index(MethodAnnotationsScanner.class), annotation.getName(),
+                getMethodsFromDescriptors(methods, loaders()));
     }
 
     /**
@@ -567,28 +1087,52 @@ public class  Reflections {
      * <p>depends on MethodAnnotationsScanner configured
      */
     public Set<Method> getMethodsAnnotatedWith(final Annotation annotation) {
-        return filter(getMethodsAnnotatedWith(annotation.annotationType()), withAnnotation(annotation));
+        Object event = FlightRecorderEvents.beginQuery();
+        Map<String, Object> members = getIndexedMembers(annotation);
+        return FlightRecorderEvents.endQuery(event, "getMethodsAnnotatedWith", index(MethodAnnotationsScanner.class), annotation,
+                members != null ? getMethodsAnnotatedWith(annotation.annotationType(), members) :
+                filter(getMethodsAnnotatedWith(annotation.annotationType()), withAnnotation(annotation)));
+    }
+
+    /**
+     * get all methods annotated with a given annotation, where the given annotation members match the given values
+     * <p>matched using the annotation member values index, members not declared explicitly match their default value
+     * <p>depends on MethodAnnotationsScanner and AnnotationValuesScanner configured
+     */
+    public Set<Method> getMethodsAnnotatedWith(final Class<? extends Annotation> annotation, final Map<String, ?> members) {
+        Object event = FlightRecorderEvents.beginQuery();
+        Iterable<String> methods = store.get(index(MethodAnnotationsScanner.class), annotation.getName());
+        return FlightRecorderEvents.endQuery(event, "getMethodsAnnotatedWith", index(AnnotationValuesScanner.class), members,
+                getMethodsFromDescriptors(getAnnotatedWithValues(methods, annotation, members), loaders()));
     }
 
     /** get methods with parameter types matching given {@code types}*/
     public Set<Method> getMethodsMatchParams(Class<?>... types) {
-        return getMethodsFromDescriptors(store.get(index(MethodParameterScanner.class), names(types).toString()), loaders());
+        Object event = FlightRecorderEvents.beginQuery();
+        return FlightRecorderEvents.endQuery(event, "getMethodsMatchParams", index(MethodParameterScanner.class), names(types),
+                getMethodsFromDescriptors(store.get(index(MethodParameterScanner.class), names(types).toString()), loaders()));
     }
 
     /** get methods with return type match given type */
     public Set<Method> getMethodsReturn(Class returnType) {
-        return getMethodsFromDescriptors(store.get(index(MethodParameterScanner.class), names(returnType)), loaders());
+        Object event = FlightRecorderEvents.beginQuery();
+        return FlightRecorderEvents.endQuery(event, "getMethodsReturn", index(MethodParameterScanner.class), returnType.getName(),
+                getMethodsFromDescriptors(store.get(index(MethodParameterScanner.class), names(returnType)), loaders()));
     }
 
     /** get methods with any parameter annotated with given annotation */
     public Set<Method> getMethodsWithAnyParamAnnotated(Class<? extends Annotation> annotation) {
-        return getMethodsFromDescriptors(store.get(index(MethodParameterScanner.class), annotation.getName()), loaders());
+        Object event = FlightRecorderEvents.beginQuery();
+        return FlightRecorderEvents.endQuery(event, "getMethodsWithAnyParamAnnotated", index(MethodParameterScanner.class), annotation.getName(),
+                getMethodsFromDescriptors(store.get(index(MethodParameterScanner.class), annotation.getName()), loaders()));
 
     }
 
     /** get methods with any parameter annotated with given annotation, including annotation member values matching */
     public Set<Method> getMethodsWithAnyParamAnnotated(Annotation annotation) {
-        return filter(getMethodsWithAnyParamAnnotated(annotation.annotationType()), withAnyParameterAnnotation(annotation));
+        Object event = FlightRecorderEvents.beginQuery();
+        return FlightRecorderEvents.endQuery(event, "getMethodsWithAnyParamAnnotated", index(MethodParameterScanner.class), annotation,
+                filter(getMethodsWithAnyParamAnnotated(annotation.annotationType()), withAnyParameterAnnotation(annotation)));
     }
 
     /**
@@ -596,8 +1140,10 @@ public class  Reflections {
      * <p>depends on MethodAnnotationsScanner configured
      */
     public Set<Constructor> getConstructorsAnnotatedWith(final Class<? extends Annotation> annotation) {
+        Object event = FlightRecorderEvents.beginQuery();
         Iterable<String> methods = store.get(index(MethodAnnotationsScanner.class), annotation.getName());
-        return getConstructorsFromDescriptors(methods, loaders());
+        return FlightRecorderEvents.endQuery(event, "getConstructorsAnnotatedWith", index(MethodAnnotationsScanner.class), annotation.getName(),
+                getConstructorsFromDescriptors(methods, loaders()));
     }
 
     /**
@@ -605,22 +1151,44 @@ public class  Reflections {
      * <p>depends on MethodAnnotationsScanner configured
      */
     public Set<Constructor> getConstructorsAnnotatedWith(final Annotation annotation) {
-        return filter(getConstructorsAnnotatedWith(annotation.annotationType()), withAnnotation(annotation));
+        Object event = FlightRecorderEvents.beginQuery();
+        Map<String, Object> members = getIndexedMembers(annotation);
+        return FlightRecorderEvents.endQuery(event, "getConstructorsAnnotatedWith", index(MethodAnnotationsScanner.class), annotation,
+                members != null ? getConstructorsAnnotatedWith(annotation.annotationType(), members) :
+                filter(getConstructorsAnnotatedWith(annotation.annotationType()), withAnnotation(annotation)));
+    }
+
+    /**
+     * get all constructors annotated with a given annotation, where the given annotation members match the given values
+     * <p>matched using the annotation member values index, members not declared explicitly match their default value
+     * <p>depends on MethodAnnotationsScanner and AnnotationValuesScanner configured
+     */
+    public Set<Constructor> getConstructorsAnnotatedWith(final Class<? extends Annotation> annotation, final Map<String, ?> members) {
+        Object event = FlightRecorderEvents.beginQuery();
+        Iterable<String> methods = store.get(index(MethodAnnotationsScanner.class), annotation.getName());
+        return FlightRecorderEvents.endQuery(event, "getConstructorsAnnotatedWith", index(AnnotationValuesScanner.class), members,
+                getConstructorsFromDescriptors(getAnnotatedWithValues(methods, annotation, members), loaders()));
     }
 
     /** get constructors with parameter types matching given {@code types}*/
     public Set<Constructor> getConstructorsMatchParams(Class<?>... types) {
-        return getConstructorsFromDescriptors(store.get(index(MethodParameterScanner.class), names(types).toString()), loaders());
+        Object event = FlightRecorderEvents.beginQuery();
+        return FlightRecorderEvents.endQuery(event, "getConstructorsMatchParams", index(MethodParameterScanner.class), names(types),
+                getConstructorsFromDescriptors(store.get(index(MethodParameterScanner.class), names(types).toString()), loaders()));
     }
 
     /** get constructors with any parameter annotated with given annotation */
     public Set<Constructor> getConstructorsWithAnyParamAnnotated(Class<? extends Annotation> annotation) {
-        return getConstructorsFromDescriptors(store.get(index(MethodParameterScanner.class), annotation.getName()), loaders());
+        Object event = FlightRecorderEvents.beginQuery();
+        return FlightRecorderEvents.endQuery(event, "getConstructorsWithAnyParamAnnotated", index(MethodParameterScanner.class), annotation.getName(),
+                getConstructorsFromDescriptors(store.get(index(MethodParameterScanner.class), annotation.getName()), loaders()));
     }
 
     /** get constructors with any parameter annotated with given annotation, including annotation member values matching */
     public Set<Constructor> getConstructorsWithAnyParamAnnotated(Annotation annotation) {
-        return filter(getConstructorsWithAnyParamAnnotated(annotation.annotationType()), withAnyParameterAnnotation(annotation));
+        Object event = FlightRecorderEvents.beginQuery();
+        return FlightRecorderEvents.endQuery(event, "getConstructorsWithAnyParamAnnotated", index(MethodParameterScanner.class), annotation,
+                filter(getConstructorsWithAnyParamAnnotated(annotation.annotationType()), withAnyParameterAnnotation(annotation)));
     }
 
     /**
@@ -628,11 +1196,12 @@ public class  Reflections {
      * <p>depends on FieldAnnotationsScanner configured
      */
     public Set<Field> getFieldsAnnotatedWith(final Class<? extends Annotation> annotation) {
+        Object event = FlightRecorderEvents.beginQuery();
         final Set<Field> result =new HashSet();
         for (String annotated : store.get(index(FieldAnnotationsScanner.class), annotation.getName())) {
             result.add(getFieldFromString(annotated, loaders()));
         }
-        return result;
+        return FlightRecorderEvents.endQuery(event, "getFieldsAnnotatedWith", index(FieldAnnotationsScanner.class), annotation.getName(), result);
     }
 
     /**
@@ -640,17 +1209,36 @@ public class  Reflections {
      * <p>depends on FieldAnnotationsScanner configured
      */
     public Set<Field> getFieldsAnnotatedWith(final Annotation annotation) {
-        return filter(getFieldsAnnotatedWith(annotation.annotationType()), withAnnotation(annotation));
+        Object event = FlightRecorderEvents.beginQuery();
+        Map<String, Object> members = getIndexedMembers(annotation);
+        return FlightRecorderEvents.endQuery(event, "getFieldsAnnotatedWith", index(FieldAnnotationsScanner.class), annotation,
+                members != null ? getFieldsAnnotatedWith(annotation.annotationType(), members) :
+                filter(getFieldsAnnotatedWith(annotation.annotationType()), withAnnotation(annotation)));
+    }
+
+    /**
+     * get all fields annotated with a given annotation, where the given annotation members match the given values
+     * <p>matched using the annotation member values index, members not declared explicitly match their default value
+     * <p>depends on FieldAnnotationsScanner and AnnotationValuesScanner configured
+     */
+    public Set<Field> getFieldsAnnotatedWith(final Class<? extends Annotation> annotation, final Map<String, ?> members) {
+        Object event = FlightRecorderEvents.beginQuery();
+        final Set<Field> result = new HashSet<>();
+        for (String annotated : getAnnotatedWithValues(store.get(index(FieldAnnotationsScanner.class), annotation.getName()), annotation, members)) {
+            result.add(getFieldFromString(annotated, loaders()));
+        }
+        return FlightRecorderEvents.endQuery(event, "getFieldsAnnotatedWith", index(AnnotationValuesScanner.class), members, result);
     }
 
     /** get resources relative paths where simple name (key) matches given namePredicate
      * <p>depends on ResourcesScanner configured
      * */
     public Set<String> getResources(final Predicate<String> namePredicate) {
+        Object event = FlightRecorderEvents.beginQuery();
         HashSet<String> result = new HashSet<>();
         Stream<String> resources = store.get(index(ResourcesScanner.class)).keySet().stream().filter(namePredicate);
         store.get(index(ResourcesScanner.class), resources.collect(Collectors.toSet())).forEach(s -> result.add(s));
-        return result;
+        return FlightRecorderEvents.endQuery(event, "getResources", index(ResourcesScanner.class), namePredicate, result);
     }
 
     /** get resources relative paths where simple name (key) matches given regular expression
@@ -669,38 +1257,223 @@ public class  Reflections {
      * <p>depends on MethodParameterNamesScanner configured
      */
     public List<String> getMethodParamNames(Method method) {
+        Object event = FlightRecorderEvents.beginQuery();
         Iterable<String> names = store.get(index(MethodParameterNamesScanner.class), name(method));
-        return names != null && names.iterator().hasNext() ?
-                Arrays.asList(ReflectionsIterables.getOnlyElement(names).split(", ")) : Arrays.<String>asList();
+        return FlightRecorderEvents.endQuery(event, "getMethodParamNames", index(MethodParameterNamesScanner.class), method,
+                names != null && names.iterator().hasNext() ?
+                Arrays.asList(ReflectionsIterables.getOnlyElement(names).split(", ")) : Arrays.<String>asList());
     }
 
     /** get parameter names of given {@code constructor}
      * <p>depends on MethodParameterNamesScanner configured
      */
     public List<String> getConstructorParamNames(Constructor constructor) {
+        Object event = FlightRecorderEvents.beginQuery();
         Iterable<String> names = store.get(index(MethodParameterNamesScanner.class), Utils.name(constructor));
-        return !ReflectionsIterables.isEmpty(names) ? Arrays.asList(ReflectionsIterables.getOnlyElement(names).split(", ")) : Arrays.<String>asList();
+        return FlightRecorderEvents.endQuery(event, "getConstructorParamNames", index(MethodParameterNamesScanner.class), constructor,
+                !ReflectionsIterables.isEmpty(names) ? Arrays.asList(ReflectionsIterables.getOnlyElement(names).split(", ")) : Arrays.<String>asList());
     }
 
     /** get all given {@code field} usages in methods and constructors
-     * <p>depends on MemberUsageScanner configured
+     * <p>depends on MemberUsageScanner configured.
+     * usages referencing the field through sub types of its declaring class are included, see {@link MemberUsageScanner}
      */
     public Set<Member> getFieldUsage(Field field) {
-        return getMembersFromDescriptors(store.get(index(MemberUsageScanner.class), name(field)));
+        Object event = FlightRecorderEvents.beginQuery();
+        return FlightRecorderEvents.endQuery(event, "getFieldUsage", index(MemberUsageScanner.class), field,
+                getMembersFromDescriptors(store.get(index(MemberUsageScanner.class), getUsageKeys(field, name(field)))));
     }
 
     /** get all given {@code method} usages in methods and constructors
-     * <p>depends on MemberUsageScanner configured
+     * <p>depends on MemberUsageScanner configured.
+     * usages invoking the method through sub types of its declaring class which do not override it are included, see {@link MemberUsageScanner}
      */
     public Set<Member> getMethodUsage(Method method) {
-        return getMembersFromDescriptors(store.get(index(MemberUsageScanner.class), name(method)));
+        Object event = FlightRecorderEvents.beginQuery();
+        return FlightRecorderEvents.endQuery(event, "getMethodUsage", index(MemberUsageScanner.class), method,
+                getMembersFromDescriptors(store.get(index(MemberUsageScanner.class), getUsageKeys(method, name(method)))));
+    }
+
+    /**
+     * the usage keys of the given field or method: its own key, and the keys of sub types of its declaring class resolving to it.
+     * class files reference members through the static type of the receiver, which MemberUsageScanner does not resolve.
+     * <p>the sub types are found in the sub types index if SubTypesScanner is configured, otherwise, and for members of {@link Object}
+     * which the sub types index does not include by default, all usage keys of the same member name are considered.
+     * only keys having usages are resolved
+     */
+    private List<String> getUsageKeys(Member member, String name) {
+        List<String> keys = new ArrayList<>();
+        keys.add(name);
+        SetMultimap<String, String> usages = store.get(index(MemberUsageScanner.class));
+        String declaringClass = member.getDeclaringClass().getName();
+        String memberKey = name.substring(declaringClass.length());
+        Set<String> candidates = new HashSet<>();
+        if (store.keySet().contains(index(SubTypesScanner.class)) && member.getDeclaringClass() != Object.class) {
+            for (String subType : store.getAll(index(SubTypesScanner.class), declaringClass)) {
+                if (usages.containsKey(subType + memberKey)) candidates.add(subType + memberKey);
+            }
+        } else {
+            for (String key : usages.keySet()) {
+                if (key.endsWith(memberKey) && !key.equals(name)) candidates.add(key);
+            }
+        }
+        for (String key : candidates) {
+            try {
+                if (member.equals(Utils.getMemberFromDescriptor(key, loaders()))) keys.add(key);
+            } catch (ReflectionsException e) {
+                if (log.isPresent()) log.get().debug("could not resolve member usage {}", key, e);
+            }
+        }
+        return keys;
     }
 
     /** get all given {@code constructors} usages in methods and constructors
      * <p>depends on MemberUsageScanner configured
      */
     public Set<Member> getConstructorUsage(Constructor constructor) {
-        return getMembersFromDescriptors(store.get(index(MemberUsageScanner.class), name(constructor)));
+        Object event = FlightRecorderEvents.beginQuery();
+        return FlightRecorderEvents.endQuery(event, "getConstructorUsage", index(MemberUsageScanner.class), constructor,
+                getMembersFromDescriptors(store.get(index(MemberUsageScanner.class), name(constructor))));
+    }
+
+    /** get all given {@code field} usages in methods and constructors, with the line number of each usage
+     * <p>depends on MemberUsageScanner configured, see {@link #getFieldUsage(Field)}
+     */
+    public List<UsageSite> getFieldUsageSites(Field field) {
+        Object event = FlightRecorderEvents.beginQuery();
+        return FlightRecorderEvents.endQuery(event, "getFieldUsageSites", index(MemberUsageScanner.class), field,
+                getUsageSites(getUsageKeys(field, name(field))));
+    }
+
+    /** get all given {@code method} usages in methods and constructors, with the line number of each usage
+     * <p>depends on MemberUsageScanner configured, see {@link #getMethodUsage(Method)}
+     */
+    public List<UsageSite> getMethodUsageSites(Method method) {
+        Object event = FlightRecorderEvents.beginQuery();
+        return FlightRecorderEvents.endQuery(event, "getMethodUsageSites", index(MemberUsageScanner.class), method,
+                getUsageSites(getUsageKeys(method, name(method))));
+    }
+
+    /** get all given {@code constructor} usages in methods and constructors, with the line number of each usage
+     * <p>depends on MemberUsageScanner configured */
+    public List<UsageSite> getConstructorUsageSites(Constructor constructor) {
+        Object event = FlightRecorderEvents.beginQuery();
+        return FlightRecorderEvents.endQuery(event, "getConstructorUsageSites", index(MemberUsageScanner.class), constructor,
+                getUsageSites(Collections.singletonList(name(constructor))));
+    }
+
+    private List<UsageSite> getUsageSites(List<String> keys) {
+        SetMultimap<String, String> usages = store.get(index(MemberUsageScanner.class));
+        List<UsageSite> result = new ArrayList<>();
+        for (String key : keys) {
+            if (usages instanceof MemberUsageMultimap) {
+                result.addAll(((MemberUsageMultimap) usages).getUsageSites(key));
+            } else if (usages.get(key) != null) {
+                for (String usage : usages.get(key)) result.add(UsageSite.parse(usage));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * create a composable query of types, matching type names and resolving classes only for the final result
+     * <pre>Set&lt;Class&lt;?&gt;&gt; handlers = reflections8.queryTypes().subTypesOf(Handler.class).annotatedWith(Component.class).inPackage("com.acme.web").getTypes();</pre>
+     * <p>see {@link TypeQuery}
+     */
+    public TypeQuery queryTypes() {
+        return new TypeQuery(this);
+    }
+
+    /**
+     * create a composable query of resources
+     * <p>see {@link ResourceQuery}
+     */
+    public ResourceQuery queryResources() {
+        return new ResourceQuery(this);
+    }
+
+    /** get the types directly referencing the given {@code type}
+     * <p>depends on ClassDependenciesScanner configured
+     */
+    public Set<String> getDependents(String type) {
+        Object event = FlightRecorderEvents.beginQuery();
+        return FlightRecorderEvents.endQuery(event, "getDependents", index(ClassDependenciesScanner.class), type,
+                ReflectionsIterables.makeSetOf(store.get(index(ClassDependenciesScanner.class), type)));
+    }
+
+    /** get the types directly referencing any type in the given package or its sub packages, not including types of the package itself
+     * <p>depends on ClassDependenciesScanner configured
+     * <pre>Set&lt;String&gt; clients = reflections8.getPackageDependents("com.acme.internal");</pre>
+     */
+    public Set<String> getPackageDependents(String packageName) {
+        Object event = FlightRecorderEvents.beginQuery();
+        String prefix = packageName.endsWith(".") ? packageName : packageName + ".";
+        SetMultimap<String, String> dependents = store.get(index(ClassDependenciesScanner.class));
+        Set<String> result = new HashSet<>();
+        for (String type : dependents.keySet()) {
+            if (type.startsWith(prefix)) {
+                for (String dependent : dependents.get(type)) {
+                    if (!dependent.startsWith(prefix)) result.add(dependent);
+                }
+            }
+        }
+        return FlightRecorderEvents.endQuery(event, "getPackageDependents", index(ClassDependenciesScanner.class), packageName, result);
+    }
+
+    /** get the types directly referenced by the given {@code type}
+     * <p>depends on ClassDependenciesScanner configured. the index is keyed by referenced type, hence this iterates all of it
+     */
+    public Set<String> getDependencies(String type) {
+        Object event = FlightRecorderEvents.beginQuery();
+        return FlightRecorderEvents.endQuery(event, "getDependencies", index(ClassDependenciesScanner.class), type,
+                invertDependents().getOrDefault(type, Collections.emptySet()));
+    }
+
+    /** get the types referencing the given {@code type}, directly or through other scanned types
+     * <p>depends on ClassDependenciesScanner configured
+     */
+    public Set<String> getTransitiveDependents(String type) {
+        Object event = FlightRecorderEvents.beginQuery();
+        SetMultimap<String, String> dependents = store.get(index(ClassDependenciesScanner.class));
+        return FlightRecorderEvents.endQuery(event, "getTransitiveDependents", index(ClassDependenciesScanner.class), type,
+                reachable(type, dependents::get));
+    }
+
+    /** get the types referenced by the given {@code type}, directly or through other scanned types
+     * <p>depends on ClassDependenciesScanner configured
+     */
+    public Set<String> getTransitiveDependencies(String type) {
+        Object event = FlightRecorderEvents.beginQuery();
+        Map<String, Set<String>> dependencies = invertDependents();
+        return FlightRecorderEvents.endQuery(event, "getTransitiveDependencies", index(ClassDependenciesScanner.class), type,
+                reachable(type, dependencies::get));
+    }
+
+    /** inverts the ClassDependenciesScanner index, referencing type to referenced types */
+    private Map<String, Set<String>> invertDependents() {
+        SetMultimap<String, String> dependents = store.get(index(ClassDependenciesScanner.class));
+        Map<String, Set<String>> result = new HashMap<>();
+        for (String type : dependents.keySet()) {
+            for (String dependent : dependents.get(type)) {
+                result.computeIfAbsent(dependent, k -> new HashSet<>()).add(type);
+            }
+        }
+        return result;
+    }
+
+    private static Set<String> reachable(String type, Function<String, Set<String>> edges) {
+        Set<String> result = new HashSet<>();
+        List<String> queue = new ArrayList<>();
+        queue.add(type);
+        for (int i = 0; i < queue.size(); i++) {
+            Set<String> next = edges.apply(queue.get(i));
+            if (next != null) {
+                for (String t : next) {
+                    if (!t.equals(type) && result.add(t)) queue.add(t);
+                }
+            }
+        }
+        return result;
     }
 
     /** get all types scanned. this is effectively similar to getting all subtypes of Object.
@@ -710,12 +1483,42 @@ public class  Reflections {
      * @return Set of String, and not of Class, in order to avoid definition of all types in PermGen
      */
     public Set<String> getAllTypes() {
+        Object event = FlightRecorderEvents.beginQuery();
         Set<String> allTypes = ReflectionsIterables.makeSetOf(store.getAll(index(SubTypesScanner.class), Object.class.getName()));
         if (allTypes.isEmpty()) {
             throw new ReflectionsException("Couldn't find subtypes of Object. " +
                     "Make sure SubTypesScanner initialized to include Object class - new SubTypesScanner(false)");
         }
-        return allTypes;
+        return FlightRecorderEvents.endQuery(event, "getAllTypes", index(SubTypesScanner.class), Object.class.getName(), allTypes);
+    }
+
+    /**
+     * watches the directories of the configured urls, and updates the store when class files and resources in them change,
+     * using a debounce period of 200 milliseconds. see {@link #watch(long)}
+     */
+    public Watcher watch() {
+        return watch(200);
+    }
+
+    /**
+     * watches the directories of the configured urls, and updates the store when class files and resources in them change
+     * <pre>
+     *     try (Watcher watcher = reflections8.watch(200)) {
+     *         ...
+     *     }
+     * </pre>
+     * <p>only the changed files are scanned again, once no change happened for {@code debounceMillis}, and the store is updated atomically.
+     * <p>requires {@link Configuration#shouldTrackFiles()}, so that the contributions of each file are recorded during the scan. see {@link Watcher}
+     */
+    public Watcher watch(long debounceMillis) {
+        if (!configuration.shouldTrackFiles()) {
+            throw new ReflectionsException("files are not tracked, use ConfigurationBuilder.setTrackFiles(true)");
+        }
+        try {
+            return new Watcher(this, debounceMillis);
+        } catch (IOException e) {
+            throw new ReflectionsException("could not watch urls", e);
+        }
     }
 
     /** returns the {@link org.reflections8.Store} used for storing and querying the metadata */
@@ -742,13 +1545,26 @@ public class  Reflections {
      * serialize to a given directory and filename using given serializer
      * <p>* it is preferred to specify a designated directory (for example META-INF/reflections),
      * so that it could be found later much faster using the load method
+     * <p>if {@link Configuration#shouldBuildBloomFilters()}, the bloom filters of the urls are saved next to it, see {@link #bloomFiltersFile(File)}
      */
     public File save(final String filename, final Serializer serializer) {
         File file = serializer.save(this, filename);
+        if (configuration.shouldBuildBloomFilters()) {
+            try (OutputStream outputStream = new FileOutputStream(bloomFiltersFile(file))) {
+                store.writeBloomFilters(outputStream);
+            } catch (IOException e) {
+                throw new ReflectionsException("could not save bloom filters next to " + file, e);
+            }
+        }
         if (log.isPresent()) //noinspection ConstantConditions
             log.get().info("Reflections successfully saved in " + file.getAbsolutePath() + " using " + serializer.getClass().getSimpleName());
         return file;
     }
 
+    /** the file the bloom filters of the urls are saved in, next to the given saved store file, with the {@code .bloom} suffix */
+    public static File bloomFiltersFile(File file) {
+        return new File(file.getPath() + ".bloom");
+    }
+
     private Optional<ClassLoader[]> loaders() { return configuration.getClassLoaders(); }
 }
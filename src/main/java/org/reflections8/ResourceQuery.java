@@ -0,0 +1,228 @@
+package org.reflections8;
+
+import static org.reflections8.util.Utils.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import org.reflections8.metrics.FlightRecorderEvents;
+import org.reflections8.scanners.ResourcesScanner;
+import org.reflections8.util.OverlayMultimap;
+import org.reflections8.util.ResourcesMultimap;
+import org.reflections8.util.SetMultimap;
+
+/**
+ * a composable query of resources, evaluated on the resources index
+ * <p>extension, directory, package and glob criteria use the secondary indices of the resources index, see {@link ResourcesMultimap},
+ * so that only the resources of the most selective of them are tested against the other criteria.
+ * otherwise, simple name predicates are evaluated on the index keys first, and relative path predicates only on the resources of matching names.
+ * <pre>
+ *     List&lt;String&gt; properties = reflections8.queryResources()
+ *         .withExtension("properties")
+ *         .inPackage("com.acme.web")
+ *         .getResources();
+ *     List&lt;String&gt; sqls = reflections8.queryResources().matchingGlob("db/**&#47;*.sql").getResources();
+ * </pre>
+ * <p>use {@link Reflections#queryResources()} to create a query
+ * <p>depends on ResourcesScanner configured
+ */
+public class ResourceQuery {
+    private final Reflections reflections;
+    private final List<Predicate<String>> namePredicates = new ArrayList<>();
+    private final List<Predicate<String>> pathPredicates = new ArrayList<>();
+    private final List<Function<ResourcesMultimap, Collection<String>>> candidates = new ArrayList<>();
+    private final List<String> description = new ArrayList<>();
+
+    ResourceQuery(Reflections reflections) {
+        this.reflections = reflections;
+    }
+
+    /** resources whose simple name matches the given predicate */
+    public ResourceQuery filterNames(Predicate<String> namePredicate) {
+        description.add("filterNames " + namePredicate);
+        namePredicates.add(namePredicate);
+        return this;
+    }
+
+    /** resources in the given packages or their sub packages */
+    public ResourceQuery inPackage(String... packages) {
+        description.add("inPackage " + String.join(", ", packages));
+        String[] directories = new String[packages.length];
+        for (int i = 0; i < packages.length; i++) directories[i] = packages[i].replace('.', '/');
+        return inDirectories(directories);
+    }
+
+    /** resources in the given directories or their sub directories, such as {@code META-INF/services} */
+    public ResourceQuery inDirectory(String... directories) {
+        description.add("inDirectory " + String.join(", ", directories));
+        return inDirectories(directories);
+    }
+
+    private ResourceQuery inDirectories(String[] directories) {
+        pathPredicates.add(path -> {
+            for (String directory : directories) {
+                if (path.startsWith(directory) && path.length() > directory.length() && path.charAt(directory.length()) == '/') return true;
+            }
+            return false;
+        });
+        candidates.add(resources -> {
+            List<String> result = new ArrayList<>();
+            for (String directory : directories) result.addAll(resources.getInDirectory(directory));
+            return result;
+        });
+        return this;
+    }
+
+    /** resources with any of the given extensions, without the dot, such as {@code sql} */
+    public ResourceQuery withExtension(String... extensions) {
+        description.add("withExtension " + String.join(", ", extensions));
+        Set<String> extensionSet = new HashSet<>(Arrays.asList(extensions));
+        pathPredicates.add(path -> extensionSet.contains(ResourcesMultimap.extension(path)));
+        candidates.add(resources -> {
+            List<String> result = new ArrayList<>();
+            for (String extension : extensionSet) result.addAll(resources.getByExtension(extension));
+            return result;
+        });
+        return this;
+    }
+
+    /** resources matching the given glob pattern: {@code *} matches within a directory, {@code **} across directories and {@code ?} a single character.
+     * the pattern is matched against the relative path if it contains a {@code /}, such as {@code META-INF/*.properties}, otherwise against the simple name, such as {@code *.sql} */
+    public ResourceQuery matchingGlob(String glob) {
+        description.add("matchingGlob " + glob);
+        Pattern pattern = Pattern.compile(globToRegex(glob));
+        boolean matchPath = glob.indexOf('/') != -1;
+        int wildcard = firstWildcard(glob);
+        String prefix = glob.substring(0, wildcard);
+        String last = glob.substring(glob.lastIndexOf('/') + 1);
+        //resources are indexed by the last extension only, such as gz for *.tar.gz
+        String extension = last.startsWith("*.") && firstWildcard(last.substring(1)) == last.length() - 1 ? ResourcesMultimap.extension(last) : null;
+
+        if (matchPath) {
+            pathPredicates.add(path -> pattern.matcher(path).matches());
+        } else {
+            namePredicates.add(name -> pattern.matcher(name).matches());
+        }
+        if (!prefix.isEmpty()) {
+            candidates.add(resources -> {
+                if (matchPath) return resources.getPathsStartingWith(prefix);
+                List<String> result = new ArrayList<>();
+                for (String name : resources.getNamesStartingWith(prefix)) result.addAll(resources.get(name));
+                return result;
+            });
+        }
+        if (extension != null) {
+            candidates.add(resources -> resources.getByExtension(extension));
+        }
+        return this;
+    }
+
+    private static int firstWildcard(String glob) {
+        for (int i = 0; i < glob.length(); i++) {
+            if (glob.charAt(i) == '*' || glob.charAt(i) == '?') return i;
+        }
+        return glob.length();
+    }
+
+    private static String globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' && i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                boolean directories = i + 2 < glob.length() && glob.charAt(i + 2) == '/';
+                regex.append(directories ? "(.*/)?" : ".*"); //**/ matches no directory as well
+                i += directories ? 2 : 1;
+            } else if (c == '*') {
+                regex.append("[^/]*");
+            } else if (c == '?') {
+                regex.append("[^/]");
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return regex.toString();
+    }
+
+    /** resources whose relative path matches the given predicate */
+    public ResourceQuery filterPaths(Predicate<String> pathPredicate) {
+        description.add("filterPaths " + pathPredicate);
+        pathPredicates.add(pathPredicate);
+        return this;
+    }
+
+    /** the relative paths of resources matching all criteria, sorted */
+    public List<String> getResources() {
+        Object event = FlightRecorderEvents.beginQuery();
+        SetMultimap<String, String> resources = reflections.getStore().get(index(ResourcesScanner.class));
+        List<String> result = new ArrayList<>();
+        List<ResourcesMultimap> parts = resourcesMultimaps(resources);
+        if (parts != null && !candidates.isEmpty()) {
+            Collection<String> paths = null;
+            for (Function<ResourcesMultimap, Collection<String>> candidate : candidates) {
+                Collection<String> candidatePaths = candidate.apply(parts.get(0));
+                if (parts.size() > 1) {
+                    candidatePaths = new ArrayList<>(candidatePaths);
+                    for (ResourcesMultimap part : parts.subList(1, parts.size())) candidatePaths.addAll(candidate.apply(part));
+                }
+                if (paths == null || candidatePaths.size() < paths.size()) paths = candidatePaths;
+            }
+            for (String path : new HashSet<>(paths)) {
+                if (matches(path)) result.add(path);
+            }
+            Collections.sort(result);
+            return FlightRecorderEvents.endQuery(event, "queryResources", index(ResourcesScanner.class), this, result);
+        }
+        names:
+        for (Map.Entry<String, Set<String>> entry : resources.entrySet()) {
+            for (Predicate<String> namePredicate : namePredicates) {
+                if (!namePredicate.test(entry.getKey())) continue names;
+            }
+            paths:
+            for (String path : entry.getValue()) {
+                for (Predicate<String> pathPredicate : pathPredicates) {
+                    if (!pathPredicate.test(path)) continue paths;
+                }
+                result.add(path);
+            }
+        }
+        Collections.sort(result);
+        return FlightRecorderEvents.endQuery(event, "queryResources", index(ResourcesScanner.class), this, result);
+    }
+
+    /** the resources multimaps the given index consists of, such as the base and the layer of an {@link OverlayMultimap}, or null if it is not made of them */
+    private static List<ResourcesMultimap> resourcesMultimaps(SetMultimap<String, String> resources) {
+        if (resources instanceof ResourcesMultimap) return Collections.singletonList((ResourcesMultimap) resources);
+        if (!(resources instanceof OverlayMultimap)) return null;
+        List<ResourcesMultimap> base = resourcesMultimaps(((OverlayMultimap) resources).getBase());
+        List<ResourcesMultimap> layer = resourcesMultimaps(((OverlayMultimap) resources).getLayer());
+        if (base == null || layer == null) return null;
+        List<ResourcesMultimap> result = new ArrayList<>(base);
+        result.addAll(layer);
+        return result;
+    }
+
+    private boolean matches(String path) {
+        String name = path.substring(path.lastIndexOf('/') + 1);
+        for (Predicate<String> namePredicate : namePredicates) {
+            if (!namePredicate.test(name)) return false;
+        }
+        for (Predicate<String> pathPredicate : pathPredicates) {
+            if (!pathPredicate.test(path)) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return String.join(", ", description);
+    }
+}
@@ -1,17 +1,35 @@
 package org.reflections8;
 
+import static org.reflections8.util.Utils.index;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
+import org.reflections8.scanners.MemberUsageScanner;
+import org.reflections8.scanners.ResourcesScanner;
+import org.reflections8.util.BloomFilter;
 import org.reflections8.util.HashSetMultimap;
+import org.reflections8.util.MemberUsageMultimap;
+import org.reflections8.util.ResourcesMultimap;
 import org.reflections8.util.SetMultimap;
 import org.reflections8.util.SynchronizedHashSetMultimap;
 
@@ -24,7 +42,16 @@ import org.reflections8.util.SynchronizedHashSetMultimap;
 public class Store {
 
     private transient boolean concurrent;
-    private final Map<String, SetMultimap<String, String>> storeMap;
+    private transient Optional<Function<String, SetMultimap<String, String>>> indexFactory = Optional.empty();
+    private volatile Map<String, SetMultimap<String, String>> storeMap;
+    private transient final Map<URL, Store> segments = new ConcurrentHashMap<>();
+    private transient final ThreadLocal<SegmentWriter> currentSegment = new ThreadLocal<>();
+    private transient final ThreadLocal<Store> currentTarget = new ThreadLocal<>();
+    /** the number of recorded urls which contributed each entry, per index, key and value */
+    private transient final Map<String, ConcurrentHashMap<String, Map<String, Integer>>> contributions = new ConcurrentHashMap<>();
+    private transient final Map<URL, Map<String, BloomFilter>> bloomFilters = new ConcurrentHashMap<>();
+    /** the entries each file of a directory url contributed, per url and relative path */
+    private transient final Map<URL, Map<String, Store>> fileSegments = new ConcurrentHashMap<>();
 
     //used via reflection
     @SuppressWarnings("UnusedDeclaration")
@@ -36,6 +63,7 @@ public class Store {
     public Store(Configuration configuration) {
         storeMap = new HashMap<String, SetMultimap<String, String>>();
         concurrent = configuration.getExecutorService().isPresent();
+        indexFactory = configuration.getIndexFactory();
     }
 
     /** return all indices */
@@ -44,22 +72,81 @@ public class Store {
     }
 
     /** get or create the multimap object for the given {@code index} */
-    public SetMultimap<String, String> getOrCreate(String index) {
+    public synchronized SetMultimap<String, String> getOrCreate(String index) {
         SetMultimap<String, String> mmap = storeMap.get(index);
         if (mmap == null) {
-            SetMultimap<String, String> multimap =
-                new HashSetMultimap(
-                        new Supplier<Set<String>>() {
-                            public Set<String> get() {
-                                return Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
-                            }
-                        });
-            mmap = concurrent ? new SynchronizedHashSetMultimap<String, String>(multimap) : multimap;
-            storeMap.put(index,mmap);
+            mmap = createMultimap(index);
+            storeMap.put(index, mmap);
         }
         return mmap;
     }
 
+    private SetMultimap<String, String> createMultimap(String index) {
+        if (indexFactory.isPresent()) {
+            return indexFactory.get().apply(index);
+        } else if (index.equals(index(MemberUsageScanner.class))) {
+            return new MemberUsageMultimap(); //synchronized
+        } else if (index.equals(index(ResourcesScanner.class))) {
+            return new ResourcesMultimap(); //synchronized
+        } else {
+            SetMultimap<String, String> multimap = new HashSetMultimap(VALUES);
+            return concurrent ? new SynchronizedHashSetMultimap<String, String>(multimap) : multimap;
+        }
+    }
+
+    private static final Supplier<Set<String>> VALUES = new Supplier<Set<String>>() {
+        public Set<String> get() {
+            return Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+        }
+    };
+
+    /**
+     * removes the entries of {@code removals} and then adds the entries of {@code additions}.
+     * <p>each affected index of the default multimaps is copied, sharing the values of the keys which are not affected, and the values of each affected key
+     * are copied and updated. the copies are then published together, so that concurrent queries see either all or none of the changes of an update,
+     * and values returned before the update are not changed by it.
+     * the specialized and custom multimaps, such as those of member usages, resources or the off-heap store, are updated in place, entry by entry
+     */
+    public synchronized void update(Store removals, Store additions) {
+        Set<String> indices = new HashSet<>(removals.keySet());
+        indices.addAll(additions.keySet());
+        Map<String, SetMultimap<String, String>> next = new HashMap<>(storeMap);
+        for (String index : indices) {
+            SetMultimap<String, String> removed = removals.keySet().contains(index) ? removals.get(index) : null;
+            SetMultimap<String, String> added = additions.keySet().contains(index) ? additions.get(index) : null;
+            Set<String> keys = new HashSet<>();
+            if (removed != null) keys.addAll(removed.keySet());
+            if (added != null) keys.addAll(added.keySet());
+
+            SetMultimap<String, String> mmap = storeMap.get(index);
+            if (mmap == null) mmap = createMultimap(index);
+            if (!(mmap instanceof HashSetMultimap)) {
+                for (String key : keys) {
+                    if (removed != null && removed.containsKey(key)) for (String value : removed.get(key)) mmap.removeSingle(key, value);
+                    if (added != null && added.containsKey(key)) for (String value : added.get(key)) mmap.putSingle(key, value);
+                }
+                next.put(index, mmap);
+                continue;
+            }
+
+            HashSetMultimap<String, String> copy = new HashSetMultimap<>(VALUES);
+            synchronized (mmap) {
+                copy.putAll(mmap);
+            }
+            for (String key : keys) {
+                Set<String> values = VALUES.get();
+                Set<String> current = copy.get(key);
+                if (current != null) values.addAll(current);
+                if (removed != null && removed.containsKey(key)) values.removeAll(removed.get(key));
+                if (added != null && added.containsKey(key)) values.addAll(added.get(key));
+                if (values.isEmpty()) copy.remove(key);
+                else copy.put(key, values);
+            }
+            next.put(index, mmap instanceof SynchronizedHashSetMultimap ? new SynchronizedHashSetMultimap<String, String>(copy) : copy);
+        }
+        storeMap = next;
+    }
+
     /** get the multimap object for the given {@code index}, otherwise throws a {@link org.reflections8.ReflectionsException} */
     public SetMultimap<String, String> get(String index) {
         SetMultimap<String, String> mmap = storeMap.get(index);
@@ -69,6 +156,284 @@ public class Store {
         return mmap;
     }
 
+    /** the urls of which the contributions are recorded, see {@link #getSegment(URL)} */
+    public Set<URL> getSegmentUrls() {
+        return Collections.unmodifiableSet(segments.keySet());
+    }
+
+    /**
+     * the entries the given {@code url} contributed to this store, or null if not recorded.
+     * <p>contributions are recorded when {@link Configuration#shouldTrackUrls()}
+     */
+    public Store getSegment(URL url) {
+        return segments.get(url);
+    }
+
+    void putSegment(URL url, Store segment) {
+        segments.put(url, segment);
+        for (String index : segment.keySet()) {
+            for (Map.Entry<String, Set<String>> entry : segment.get(index).entrySet()) {
+                for (String value : entry.getValue()) contributed(index, entry.getKey(), value);
+            }
+        }
+    }
+
+    /**
+     * removes the recorded contributions of the given {@code url}
+     * @return the entries no other recorded url contributed, to be removed from the store, or null if the url was not recorded
+     */
+    Store removeSegment(URL url) {
+        Store segment = segments.remove(url);
+        if (segment == null) return null;
+        Store removals = new Store();
+        for (String index : segment.keySet()) {
+            for (Map.Entry<String, Set<String>> entry : segment.get(index).entrySet()) {
+                for (String value : entry.getValue()) {
+                    if (released(index, entry.getKey(), value)) removals.getOrCreate(index).putSingle(entry.getKey(), value);
+                }
+            }
+        }
+        return removals;
+    }
+
+    private void contributed(String index, String key, String value) {
+        contributions.computeIfAbsent(index, i -> new ConcurrentHashMap<>()).compute(key, (k, values) -> {
+            if (values == null) values = new HashMap<>(4);
+            values.merge(value, 1, Integer::sum);
+            return values;
+        });
+    }
+
+    /** returns true if no other recorded url contributed the given entry */
+    private boolean released(String index, String key, String value) {
+        ConcurrentHashMap<String, Map<String, Integer>> keys = contributions.get(index);
+        if (keys == null) return true;
+        boolean[] last = {true};
+        keys.computeIfPresent(key, (k, values) -> {
+            Integer count = values.remove(value);
+            if (count != null && count > 1) {
+                values.put(value, count - 1);
+                last[0] = false;
+            }
+            return values.isEmpty() ? null : values;
+        });
+        return last[0];
+    }
+
+    /**
+     * the urls which may have contributed the given {@code key} to the given {@code index}, among the urls with bloom filters.
+     * other urls did not contribute it, so that queries, re-scans or loading saved stores can skip them.
+     * <p>bloom filters are built when {@link Configuration#shouldBuildBloomFilters()}, or read by {@link #readBloomFilters(InputStream)}
+     */
+    public Set<URL> getUrlsMightContain(String index, String key) {
+        Set<URL> result = new HashSet<>();
+        for (Map.Entry<URL, Map<String, BloomFilter>> entry : bloomFilters.entrySet()) {
+            BloomFilter filter = entry.getValue().get(index);
+            if (filter != null && filter.mightContain(key)) result.add(entry.getKey());
+        }
+        return result;
+    }
+
+    /** the bloom filters of the keys the given {@code url} contributed to each index, or null if none */
+    public Map<String, BloomFilter> getBloomFilters(URL url) {
+        return bloomFilters.get(url);
+    }
+
+    /** builds the bloom filters of the keys of each index of the given {@code segment}, contributed by the given {@code url} */
+    void putBloomFilters(URL url, Store segment) {
+        Map<String, Collection<String>> keys = new HashMap<>();
+        for (String index : segment.keySet()) keys.put(index, segment.get(index).keySet());
+        putBloomFilters(url, keys);
+    }
+
+    /** builds the bloom filters of the given {@code keys} of each index, contributed by the given {@code url} */
+    private void putBloomFilters(URL url, Map<String, ? extends Collection<String>> keys) {
+        Map<String, BloomFilter> filters = new HashMap<>();
+        for (Map.Entry<String, ? extends Collection<String>> entry : keys.entrySet()) filters.put(entry.getKey(), BloomFilter.of(entry.getValue()));
+        //a url is scanned once per phase by Reflections#scanAsync, so the filters of each phase are kept
+        bloomFilters.merge(url, filters, (previous, next) -> {
+            Map<String, BloomFilter> merged = new HashMap<>(previous);
+            merged.putAll(next);
+            return merged;
+        });
+    }
+
+    void removeBloomFilters(URL url) {
+        bloomFilters.remove(url);
+    }
+
+    /** writes the bloom filters of all urls, see {@link #readBloomFilters(InputStream)} */
+    public void writeBloomFilters(OutputStream outputStream) throws IOException {
+        DataOutputStream output = new DataOutputStream(outputStream);
+        Map<URL, Map<String, BloomFilter>> filters = new HashMap<>(bloomFilters);
+        output.writeInt(filters.size());
+        for (Map.Entry<URL, Map<String, BloomFilter>> entry : filters.entrySet()) {
+            output.writeUTF(entry.getKey().toExternalForm());
+            output.writeInt(entry.getValue().size());
+            for (Map.Entry<String, BloomFilter> filter : entry.getValue().entrySet()) {
+                output.writeUTF(filter.getKey());
+                filter.getValue().write(output);
+            }
+        }
+        output.flush();
+    }
+
+    /** reads bloom filters written by {@link #writeBloomFilters(OutputStream)}, replacing the filters of the same urls */
+    public void readBloomFilters(InputStream inputStream) throws IOException {
+        DataInputStream input = new DataInputStream(inputStream);
+        for (int urls = input.readInt(); urls > 0; urls--) {
+            URL url = new URL(input.readUTF());
+            Map<String, BloomFilter> filters = new HashMap<>();
+            for (int indices = input.readInt(); indices > 0; indices--) {
+                String index = input.readUTF();
+                filters.put(index, BloomFilter.read(input));
+            }
+            bloomFilters.put(url, filters);
+        }
+    }
+
+    /**
+     * entries put into {@link #getOrCreateTracking(String)} multimaps by the current thread are recorded as contributions of the given {@code url}
+     * if {@code track}, otherwise only their keys are recorded if {@code bloomFilters}, for the bloom filters built by {@link #endSegment()}
+     */
+    void beginSegment(URL url, boolean track, boolean bloomFilters) {
+        currentSegment.set(new SegmentWriter(url, track ? segments.computeIfAbsent(url, u -> new Store()) : null, bloomFilters));
+    }
+
+    /** ends the recording of the current thread, and builds the bloom filters of the keys the url contributed if requested */
+    void endSegment() {
+        SegmentWriter writer = currentSegment.get();
+        currentSegment.remove();
+        if (writer == null || !writer.bloomFilters) return;
+        if (writer.segment != null) putBloomFilters(writer.url, writer.segment);
+        else putBloomFilters(writer.url, writer.keys);
+    }
+
+    /** the entries put by the current thread are also recorded as contributions of the file of the given {@code relativePath}, until {@link #endFile()} */
+    void beginFile(String relativePath) {
+        SegmentWriter writer = currentSegment.get();
+        if (writer != null) writer.file = fileSegments.computeIfAbsent(writer.url, u -> new ConcurrentHashMap<>()).computeIfAbsent(relativePath, p -> new Store());
+    }
+
+    void endFile() {
+        SegmentWriter writer = currentSegment.get();
+        if (writer != null) writer.file = null;
+    }
+
+    /**
+     * replaces the recorded contributions of the given files of the given directory {@code url}, by relative path, null for the deleted files,
+     * and updates the store with the entries the url no longer contributes and those it newly contributes, see {@link #update(Store, Store)}.
+     * <p>if the url is tracked, its segment and contribution counts are updated, and an entry it no longer contributes is kept if another url contributed it.
+     * the keys it newly contributes are put into its bloom filters, if any, before the store is updated
+     */
+    synchronized void updateFiles(URL url, Map<String, Store> files) {
+        Map<String, Store> recorded = fileSegments.computeIfAbsent(url, u -> new ConcurrentHashMap<>());
+        Map<String, Store> before = new HashMap<>(recorded);
+        Store removed = new Store();
+        Store added = new Store();
+        for (Map.Entry<String, Store> file : files.entrySet()) {
+            Store previous = recorded.get(file.getKey());
+            diff(previous, file.getValue(), removed);
+            diff(file.getValue(), previous, added);
+            if (file.getValue() != null) recorded.put(file.getKey(), file.getValue());
+            else recorded.remove(file.getKey());
+        }
+
+        Store segment = segments.get(url);
+        Store removals = new Store();
+        Store additions = new Store();
+        for (String index : removed.keySet()) {
+            for (Map.Entry<String, Set<String>> entry : removed.get(index).entrySet()) {
+                for (String value : entry.getValue()) {
+                    if (contains(recorded.values(), index, entry.getKey(), value)) continue; //still contributed by another file of the url
+                    if (segment != null) {
+                        segment.get(index).removeSingle(entry.getKey(), value);
+                        if (!released(index, entry.getKey(), value)) continue;
+                    }
+                    removals.getOrCreate(index).putSingle(entry.getKey(), value);
+                }
+            }
+        }
+        for (String index : added.keySet()) {
+            for (Map.Entry<String, Set<String>> entry : added.get(index).entrySet()) {
+                for (String value : entry.getValue()) {
+                    if (segment != null ? contains(segment, index, entry.getKey(), value) : contains(before.values(), index, entry.getKey(), value)) continue;
+                    if (segment != null) {
+                        segment.getOrCreate(index).putSingle(entry.getKey(), value);
+                        contributed(index, entry.getKey(), value);
+                    }
+                    additions.getOrCreate(index).putSingle(entry.getKey(), value);
+                }
+            }
+        }
+
+        Map<String, BloomFilter> filters = bloomFilters.get(url);
+        if (filters != null) {
+            Map<String, Collection<String>> keys = new HashMap<>();
+            for (String index : additions.keySet()) {
+                BloomFilter filter = filters.get(index);
+                if (filter == null) keys.put(index, additions.get(index).keySet());
+                else for (String key : additions.get(index).keySet()) filter.put(key);
+            }
+            if (!keys.isEmpty()) putBloomFilters(url, keys);
+        }
+        update(removals, additions);
+    }
+
+    /** adds the entries of {@code from} which are not in {@code to} */
+    private static void diff(Store from, Store to, Store result) {
+        if (from == null) return;
+        for (String index : from.keySet()) {
+            for (Map.Entry<String, Set<String>> entry : from.get(index).entrySet()) {
+                for (String value : entry.getValue()) {
+                    if (!contains(to, index, entry.getKey(), value)) result.getOrCreate(index).putSingle(entry.getKey(), value);
+                }
+            }
+        }
+    }
+
+    private static boolean contains(Collection<Store> stores, String index, String key, String value) {
+        for (Store store : stores) {
+            if (contains(store, index, key, value)) return true;
+        }
+        return false;
+    }
+
+    private static boolean contains(Store store, String index, String key, String value) {
+        if (store == null || !store.keySet().contains(index)) return false;
+        Set<String> values = store.get(index).get(key);
+        return values != null && values.contains(value);
+    }
+
+    /** the entries each file of the given directory {@code url} contributed, by relative path, see {@link Configuration#shouldTrackFiles()} */
+    Map<String, Store> getFileSegments(URL url) {
+        Map<String, Store> files = fileSegments.get(url);
+        return files != null ? Collections.unmodifiableMap(files) : Collections.emptyMap();
+    }
+
+    /**
+     * entries put into {@link #getOrCreateTracking(String)} multimaps by the current thread go to the given {@code target} store instead, until {@link #endScanInto()},
+     * so that the scanners can scan into another store while other threads scan with them into this store
+     */
+    void beginScanInto(Store target) {
+        currentTarget.set(target);
+    }
+
+    void endScanInto() {
+        currentTarget.remove();
+    }
+
+    /**
+     * a view of the multimap of the given {@code index}, which also records the entries put by a thread between
+     * {@link #beginSegment(URL, boolean, boolean)} and {@link #endSegment()} into the segment of that url,
+     * and which is the multimap of the target store for a thread between {@link #beginScanInto(Store)} and {@link #endScanInto()}.
+     * <p>the view always delegates to the current multimap of the index, so it keeps working after {@link #update(Store, Store)}
+     */
+    SetMultimap<String, String> getOrCreateTracking(String index) {
+        getOrCreate(index);
+        return new TrackingMultimap(index);
+    }
+
     /** get the values stored for the given {@code index} and {@code keys} */
     public Iterable<String> get(String index, String... keys) {
         return get(index, Arrays.asList(keys));
@@ -106,6 +471,114 @@ public class Store {
         return getAllIncluding(index, get(index, keys), new IterableChain<String>());
     }
 
+    /**
+     * records the entries put by one thread into the segment of one url, resolving the multimap of each index of the segment once,
+     * or only the keys put to each index if there is no segment, and into the segment of the current file if any
+     */
+    private class SegmentWriter {
+        private final URL url;
+        private final Store segment;
+        private final boolean bloomFilters;
+        private final Map<String, SetMultimap<String, String>> multimaps = new HashMap<>();
+        private final Map<String, Set<String>> keys = new HashMap<>();
+        private Store file;
+
+        private SegmentWriter(URL url, Store segment, boolean bloomFilters) {
+            this.url = url;
+            this.segment = segment;
+            this.bloomFilters = bloomFilters;
+        }
+
+        private void put(String index, String key, String value) {
+            if (file != null) file.getOrCreate(index).putSingle(key, value);
+            if (segment == null) {
+                if (bloomFilters) keys.computeIfAbsent(index, i -> new HashSet<>()).add(key);
+                return;
+            }
+            SetMultimap<String, String> mmap = multimaps.get(index);
+            if (mmap == null) multimaps.put(index, mmap = segment.getOrCreate(index));
+            if (mmap.putSingle(key, value)) contributed(index, key, value);
+        }
+    }
+
+    private class TrackingMultimap extends AbstractMap<String, Set<String>> implements SetMultimap<String, String> {
+        private final String index;
+        /** the multimap of the index, resolved from the given store map, resolved again once {@link #update(Store, Store)} replaces the store map */
+        private volatile Resolved resolved;
+
+        private TrackingMultimap(String index) {
+            this.index = index;
+        }
+
+        private SetMultimap<String, String> delegate() {
+            Store target = currentTarget.get();
+            return target != null ? target.getOrCreate(index) : resolve();
+        }
+
+        private SetMultimap<String, String> resolve() {
+            Map<String, SetMultimap<String, String>> current = storeMap;
+            Resolved r = resolved;
+            if (r == null || r.storeMap != current) resolved = r = new Resolved(current, getOrCreate(index));
+            return r.mmap;
+        }
+
+        @Override
+        public boolean putSingle(String key, String value) {
+            Store target = currentTarget.get();
+            if (target != null) return target.getOrCreate(index).putSingle(key, value);
+            SegmentWriter segment = currentSegment.get();
+            if (segment != null) segment.put(index, key, value);
+            return resolve().putSingle(key, value);
+        }
+
+        @Override
+        public void putAllSingles(SetMultimap<String, String> m) {
+            Store target = currentTarget.get();
+            if (target != null) {
+                target.getOrCreate(index).putAllSingles(m);
+                return;
+            }
+            SegmentWriter segment = currentSegment.get();
+            if (segment != null) {
+                for (Map.Entry<String, Set<String>> entry : m.entrySet()) {
+                    for (String value : entry.getValue()) segment.put(index, entry.getKey(), value);
+                }
+            }
+            resolve().putAllSingles(m);
+        }
+
+        @Override
+        public Set<String> put(String key, Set<String> values) {
+            Store target = currentTarget.get();
+            if (target != null) return target.getOrCreate(index).put(key, values);
+            SegmentWriter segment = currentSegment.get();
+            if (segment != null) for (String value : values) segment.put(index, key, value);
+            return resolve().put(key, values);
+        }
+
+        @Override public boolean removeSingle(Object key, String value) { return delegate().removeSingle(key, value); }
+        @Override public Set<String> remove(Object key) { return delegate().remove(key); }
+        @Override public void clear() { delegate().clear(); }
+        @Override public Set<String> get(Object key) { return delegate().get(key); }
+        @Override public boolean containsKey(Object key) { return delegate().containsKey(key); }
+        @Override public int size() { return delegate().size(); }
+        @Override public Set<String> keySet() { return delegate().keySet(); }
+        @Override public Set<Entry<String, Set<String>>> entrySet() { return delegate().entrySet(); }
+        @Override public Collection<String> flatValues() { return delegate().flatValues(); }
+        @Override public Set<String> flatValuesAsSet() { return delegate().flatValuesAsSet(); }
+        @Override public Map<String, Set<String>> asMap() { return delegate().asMap(); }
+    }
+
+    private static class Resolved {
+        private final Map<String, SetMultimap<String, String>> storeMap;
+        private final SetMultimap<String, String> mmap;
+
+        private Resolved(Map<String, SetMultimap<String, String>> storeMap, SetMultimap<String, String> mmap) {
+            this.storeMap = storeMap;
+            this.mmap = mmap;
+        }
+    }
+
     private static class IterableChain<T> implements Iterable<T> {
         private final List<Iterable<T>> chain = new ArrayList();
 
@@ -0,0 +1,24 @@
+package org.reflections8;
+
+/**
+ * the kind and modifiers of a type, as recorded by {@link org.reflections8.scanners.TypeKindsScanner}
+ * <p>a type has any number of kinds, for example an annotation type is also an {@link #INTERFACE} and {@link #ABSTRACT}.
+ * modifiers of nested types are the ones declared in source, such as {@link #PRIVATE} or {@link #STATIC}
+ */
+public enum TypeKind {
+    PUBLIC,
+    PROTECTED,
+    PRIVATE,
+    STATIC,
+    FINAL,
+    ABSTRACT,
+    INTERFACE,
+    ANNOTATION,
+    ENUM,
+    /** a subclass of {@code java.lang.Record} */
+    RECORD,
+    /** not present in source code, generated by the compiler */
+    SYNTHETIC,
+    /** a member, local or anonymous class, nested in another type */
+    INNER
+}
@@ -0,0 +1,194 @@
+package org.reflections8;
+
+import static org.reflections8.ReflectionUtils.forNames;
+import static org.reflections8.util.Utils.index;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Inherited;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.reflections8.metrics.FlightRecorderEvents;
+import org.reflections8.scanners.SubTypesScanner;
+import org.reflections8.scanners.TypeAnnotationsScanner;
+import org.reflections8.scanners.TypeKindsScanner;
+import org.reflections8.util.ReflectionsIterables;
+
+/**
+ * a composable query of types, evaluated on type names and resolving classes only for the final result
+ * <p>each criterion contributes either a posting list of type names from the store, an excluded posting list, or a name predicate.
+ * on evaluation, the smallest posting list is filtered by the name predicates first, and then intersected with the other posting lists.
+ * <pre>
+ *     Set&lt;Class&lt;?&gt;&gt; handlers = reflections8.queryTypes()
+ *         .subTypesOf(Handler.class)
+ *         .annotatedWith(Component.class)
+ *         .withoutKind(TypeKind.INTERFACE, TypeKind.ABSTRACT)
+ *         .inPackage("com.acme.web")
+ *         .getTypes();
+ * </pre>
+ * <p>use {@link Reflections#queryTypes()} to create a query
+ */
+public class TypeQuery {
+    private final Reflections reflections;
+    private final List<Supplier<Set<String>>> postings = new ArrayList<>();
+    private final List<Predicate<String>> namePredicates = new ArrayList<>();
+    private final List<Supplier<Set<String>>> exclusions = new ArrayList<>();
+    private final List<String> description = new ArrayList<>();
+
+    TypeQuery(Reflections reflections) {
+        this.reflections = reflections;
+    }
+
+    /**
+     * types in hierarchy of the given type
+     * <p>depends on SubTypesScanner configured
+     */
+    public TypeQuery subTypesOf(Class<?> type) {
+        return subTypesOf(type.getName());
+    }
+
+    /** see {@link #subTypesOf(Class)} */
+    public TypeQuery subTypesOf(String type) {
+        description.add("subTypesOf " + type);
+        postings.add(() -> ReflectionsIterables.makeSetOf(store().getAll(index(SubTypesScanner.class), type)));
+        return this;
+    }
+
+    /**
+     * types annotated with the given annotation, as in {@link Reflections#getTypesAnnotatedWith(Class)}
+     * <p>depends on TypeAnnotationsScanner and SubTypesScanner configured
+     */
+    public TypeQuery annotatedWith(Class<? extends Annotation> annotation) {
+        return annotatedWith(annotation, false);
+    }
+
+    /**
+     * types annotated with the given annotation, as in {@link Reflections#getTypesAnnotatedWith(Class, boolean)}
+     * <p>depends on TypeAnnotationsScanner and SubTypesScanner configured
+     */
+    public TypeQuery annotatedWith(Class<? extends Annotation> annotation, boolean honorInherited) {
+        description.add("annotatedWith " + annotation.getName());
+        postings.add(() -> {
+            Iterable<String> annotated = store().get(index(TypeAnnotationsScanner.class), annotation.getName());
+            return ReflectionsIterables.makeSetOf(ReflectionsIterables.concat(annotated,
+                    reflections.getAllAnnotated(annotated, annotation.isAnnotationPresent(Inherited.class), honorInherited)));
+        });
+        return this;
+    }
+
+    /**
+     * types directly annotated with the given annotation, where the given annotation members match the given values,
+     * as in {@link Reflections#getTypesAnnotatedWith(Class, Map)}
+     * <p>depends on TypeAnnotationsScanner and AnnotationValuesScanner configured
+     */
+    public TypeQuery annotatedWith(Class<? extends Annotation> annotation, Map<String, ?> members) {
+        description.add("annotatedWith " + annotation.getName() + members);
+        postings.add(() -> reflections.getAnnotatedWithValues(
+                store().get(index(TypeAnnotationsScanner.class), annotation.getName()), annotation, members));
+        return this;
+    }
+
+    /**
+     * types of all the given kinds, such as {@code withKind(TypeKind.PUBLIC, TypeKind.INTERFACE)}
+     * <p>depends on TypeKindsScanner configured
+     */
+    public TypeQuery withKind(TypeKind... kinds) {
+        for (TypeKind kind : kinds) {
+            description.add("withKind " + kind);
+            postings.add(() -> kind(kind));
+        }
+        return this;
+    }
+
+    /**
+     * types of none of the given kinds, such as {@code withoutKind(TypeKind.INTERFACE, TypeKind.ABSTRACT)} for concrete classes
+     * <p>depends on TypeKindsScanner configured
+     */
+    public TypeQuery withoutKind(TypeKind... kinds) {
+        for (TypeKind kind : kinds) {
+            description.add("withoutKind " + kind);
+            exclusions.add(() -> kind(kind));
+        }
+        return this;
+    }
+
+    private Set<String> kind(TypeKind kind) {
+        Set<String> types = store().get(index(TypeKindsScanner.class)).get(kind.name());
+        return types != null ? types : Collections.<String>emptySet();
+    }
+
+    /** types in the given packages or their sub packages */
+    public TypeQuery inPackage(String... packages) {
+        description.add("inPackage " + String.join(", ", packages));
+        namePredicates.add(name -> {
+            for (String pkg : packages) {
+                if (name.startsWith(pkg) && name.length() > pkg.length() && name.charAt(pkg.length()) == '.') return true;
+            }
+            return false;
+        });
+        return this;
+    }
+
+    /** types whose fully qualified name matches the given predicate */
+    public TypeQuery filterNames(Predicate<String> namePredicate) {
+        description.add("filterNames " + namePredicate);
+        namePredicates.add(namePredicate);
+        return this;
+    }
+
+    /**
+     * the names of types matching all criteria, sorted
+     * <p>if no posting list criteria were given, all types are matched, see {@link Reflections#getAllTypes()}
+     */
+    public List<String> getNames() {
+        Object event = FlightRecorderEvents.beginQuery();
+        List<Set<String>> sets = new ArrayList<>(postings.size());
+        for (Supplier<Set<String>> posting : postings) {
+            sets.add(posting.get());
+        }
+        if (sets.isEmpty()) sets.add(reflections.getAllTypes());
+        sets.sort((s1, s2) -> Integer.compare(s1.size(), s2.size()));
+        List<Set<String>> excluded = new ArrayList<>(exclusions.size());
+        for (Supplier<Set<String>> exclusion : exclusions) {
+            excluded.add(exclusion.get());
+        }
+
+        List<String> result = new ArrayList<>();
+        Set<String> smallest = sets.get(0);
+        candidates:
+        for (String name : smallest) {
+            for (Predicate<String> namePredicate : namePredicates) {
+                if (!namePredicate.test(name)) continue candidates;
+            }
+            for (int i = 1; i < sets.size(); i++) {
+                if (!sets.get(i).contains(name)) continue candidates;
+            }
+            for (Set<String> set : excluded) {
+                if (set.contains(name)) continue candidates;
+            }
+            result.add(name);
+        }
+        Collections.sort(result);
+        return FlightRecorderEvents.endQuery(event, "queryTypes", index(SubTypesScanner.class), this, result);
+    }
+
+    /** the types matching all criteria, resolving only the matching names to classes */
+    public Set<Class<?>> getTypes() {
+        return new HashSet<>(forNames(getNames(), reflections.getConfiguration().getClassLoaders()));
+    }
+
+    private Store store() {
+        return reflections.getStore();
+    }
+
+    @Override
+    public String toString() {
+        return String.join(", ", description);
+    }
+}
@@ -0,0 +1,56 @@
+package org.reflections8;
+
+/**
+ * a usage of a field, method or constructor, as recorded by {@link org.reflections8.scanners.MemberUsageScanner}:
+ * the descriptor of the using method or constructor, such as {@code com.acme.Foo.bar(int, java.lang.String)}, and the line number of the usage
+ * <p>see {@link Reflections#getMethodUsageSites(java.lang.reflect.Method)}
+ */
+public class UsageSite {
+    private final String caller;
+    private final int lineNumber;
+
+    public UsageSite(String caller, int lineNumber) {
+        this.caller = caller;
+        this.lineNumber = lineNumber;
+    }
+
+    /** the descriptor of the using method or constructor, see {@link org.reflections8.util.Utils#getMemberFromDescriptor(String, ClassLoader...)} */
+    public String getCaller() {
+        return caller;
+    }
+
+    /** the line number of the usage, or -1 if the class file has no line numbers */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UsageSite that = (UsageSite) o;
+        return lineNumber == that.lineNumber && caller.equals(that.caller);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * caller.hashCode() + lineNumber;
+    }
+
+    /** the usage as stored in the MemberUsageScanner index, {@code caller #line} */
+    @Override
+    public String toString() {
+        return caller + " #" + lineNumber;
+    }
+
+    /** parses a usage as stored in the MemberUsageScanner index, {@code caller #line} */
+    public static UsageSite parse(String usage) {
+        int i = usage.lastIndexOf(" #");
+        if (i == -1) return new UsageSite(usage, -1);
+        try {
+            return new UsageSite(usage.substring(0, i), Integer.parseInt(usage.substring(i + 2)));
+        } catch (NumberFormatException e) {
+            return new UsageSite(usage, -1);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package org.reflections8;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.reflections8.vfs.SystemDir;
+import org.reflections8.vfs.SystemFile;
+import org.reflections8.vfs.Vfs;
+
+/**
+ * watches the directories scanned by a {@link Reflections}, and updates its {@link Store} when class files and resources in them change
+ * <p>the entries each file contributed to the store are recorded during the scan, see {@link Configuration#shouldTrackFiles()}.
+ * a burst of changes is collected until no change happens for the debounce period, then only the changed files are scanned again,
+ * and the entries their directory url no longer contributes are removed and the new ones added, atomically.
+ * the recorded contributions, the segment and the bloom filters of the url are updated as well, see {@link Store#updateFiles(URL, Map)}.
+ * <p>only the directory urls of the configuration are watched, jars are not. super types of changed types are not expanded.
+ * <p>use {@link Reflections#watch(long)} to start watching, and {@link #close()} to stop
+ */
+public class Watcher implements Closeable {
+    private final Reflections reflections;
+    private final long debounceMillis;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+    private final Map<Path, SystemDir> roots = new HashMap<>();
+    private final Map<Path, URL> urls = new HashMap<>();
+    private final Thread thread;
+    private volatile int updates;
+
+    Watcher(Reflections reflections, long debounceMillis) throws IOException {
+        this.reflections = reflections;
+        this.debounceMillis = debounceMillis;
+        this.watchService = FileSystems.getDefault().newWatchService();
+
+        for (URL url : reflections.getConfiguration().getUrls()) {
+            Optional<File> file = Vfs.getFile(url);
+            if (url.getProtocol().equals("file") && file.isPresent() && file.get().isDirectory()) {
+                Path root = file.get().toPath();
+                roots.put(root, new SystemDir(file.get()));
+                urls.put(root, url);
+                register(root);
+            }
+        }
+
+        thread = new Thread(this::run, "reflections-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** the number of store updates applied so far */
+    public int getUpdates() {
+        return updates;
+    }
+
+    /** stops watching */
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            if (Reflections.log.isPresent()) Reflections.log.get().debug("could not close watch service", e);
+        }
+        thread.interrupt();
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                Set<Path> changed = new LinkedHashSet<>();
+                collect(watchService.take(), changed);
+                WatchKey key;
+                while ((key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+                    collect(key, changed);
+                }
+                try {
+                    update(changed);
+                } catch (Exception e) {
+                    if (Reflections.log.isPresent()) Reflections.log.get().warn("could not update store for changed files {}", changed, e);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            //closed
+        }
+    }
+
+    /** registers the given directory and its sub directories, and returns the files in them */
+    private List<Path> register(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            List<Path> files = new ArrayList<>();
+            for (Path path : paths.collect(Collectors.toList())) {
+                if (Files.isDirectory(path)) {
+                    directories.put(path.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), path);
+                } else {
+                    files.add(path);
+                }
+            }
+            return files;
+        } catch (IOException e) {
+            throw new ReflectionsException("could not watch directory " + directory, e);
+        }
+    }
+
+    private void collect(WatchKey key, Set<Path> changed) {
+        Path directory = directories.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) { //events were lost, rescan all
+                for (Path root : roots.keySet()) {
+                    for (String path : reflections.getStore().getFileSegments(urls.get(root)).keySet()) changed.add(root.resolve(path));
+                    changed.addAll(register(root));
+                }
+            } else if (directory != null) {
+                Path path = directory.resolve((Path) event.context());
+                if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+                    changed.addAll(register(path));
+                } else {
+                    changed.add(path);
+                }
+            }
+        }
+        if (!key.reset()) directories.remove(key);
+    }
+
+    private void update(Set<Path> changed) {
+        Map<Path, Map<String, Store>> files = new HashMap<>();
+        for (Path path : changed) {
+            if (Files.isDirectory(path)) continue;
+            Path root = root(path);
+            if (root == null) continue;
+            Map<String, Store> rootFiles = files.computeIfAbsent(root, r -> new HashMap<>());
+            String relativePath = relativePath(root, path);
+            for (String file : reflections.getStore().getFileSegments(urls.get(root)).keySet()) {
+                if (file.startsWith(relativePath + "/")) rootFiles.put(file, record(root, root.resolve(file))); //the files of a deleted directory
+            }
+            rootFiles.put(relativePath, record(root, path));
+        }
+        for (Map.Entry<Path, Map<String, Store>> entry : files.entrySet()) {
+            reflections.getStore().updateFiles(urls.get(entry.getKey()), entry.getValue());
+        }
+        updates++;
+    }
+
+    /** the innermost watched root of the given path, or null */
+    private Path root(Path file) {
+        Path root = null;
+        for (Path path : roots.keySet()) {
+            if (file.startsWith(path) && (root == null || path.startsWith(root))) root = path;
+        }
+        return root;
+    }
+
+    private static String relativePath(Path root, Path file) {
+        return root.relativize(file).toString().replace(File.separatorChar, '/');
+    }
+
+    /** scans the given file, returns its contributions, or null if it does not exist or is not accepted by the inputs filter */
+    private Store record(Path root, Path file) {
+        if (!Files.isRegularFile(file)) return null;
+        return reflections.scan(new SystemFile(roots.get(root), file.toFile()));
+    }
+}
@@ -0,0 +1,43 @@
+package org.reflections8.adapters;
+
+import java.util.List;
+
+/**
+ * receives the metadata of a class pushed by {@link MetadataAdapter#accept(Object, ClassVisitor)}, as an alternative to the list returning methods of the adapter
+ * <p>events are delivered in order: the class, its interfaces and annotations, then each field and its annotations,
+ * then each method or constructor and its annotations and parameter annotations.
+ * each event carries the names it relates to, so that visitors need not keep state between events and can be shared by scanning threads.
+ * <p>char sequences are only valid during the call, and may be reused by the adapter for later events - use {@code toString()} to keep them.
+ * parameter type name lists are immutable.
+ * <p>all visit methods are no-ops by default.
+ * see {@link org.reflections8.scanners.ClassVisitorScanner}
+ */
+public interface ClassVisitor {
+
+    /** false if only the class, its interfaces and annotations are visited, then adapters skip the fields and methods */
+    default boolean visitsMembers() {
+        return true;
+    }
+
+    /** the class, and its superclass name, or null if it has none */
+    default void visitClass(CharSequence className, CharSequence superclassName) {}
+
+    default void visitInterface(CharSequence className, CharSequence interfaceName) {}
+
+    default void visitClassAnnotation(CharSequence className, CharSequence annotationType) {}
+
+    default void visitField(CharSequence className, CharSequence fieldName) {}
+
+    default void visitFieldAnnotation(CharSequence className, CharSequence fieldName, CharSequence annotationType) {}
+
+    /** a method or constructor, named {@code <init>} */
+    default void visitMethod(CharSequence className, CharSequence methodName, List<String> parameterTypeNames) {}
+
+    default void visitMethodAnnotation(CharSequence className, CharSequence methodName, List<String> parameterTypeNames, CharSequence annotationType) {}
+
+    default void visitParameterAnnotation(CharSequence className, CharSequence methodName, List<String> parameterTypeNames,
+                                          int parameterIndex, CharSequence annotationType) {}
+
+    /** all metadata of the class was visited */
+    default void visitEnd(CharSequence className) {}
+}
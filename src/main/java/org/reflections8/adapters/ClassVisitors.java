@@ -0,0 +1,75 @@
+package org.reflections8.adapters;
+
+import java.util.List;
+
+/**
+ * pushes each event to all the given visitors in turn, so that the metadata of a class is read once for all of them
+ * <p>visits the members if any of the visitors does, see {@link ClassVisitor#visitsMembers()}
+ */
+public class ClassVisitors implements ClassVisitor {
+    private final ClassVisitor[] visitors;
+    private final boolean visitsMembers;
+
+    private ClassVisitors(ClassVisitor[] visitors) {
+        this.visitors = visitors;
+        boolean members = false;
+        for (ClassVisitor visitor : visitors) members |= visitor.visitsMembers();
+        this.visitsMembers = members;
+    }
+
+    /** a visitor pushing to all the given visitors, or the visitor itself if there is only one */
+    public static ClassVisitor of(List<? extends ClassVisitor> visitors) {
+        return visitors.size() == 1 ? visitors.get(0) : new ClassVisitors(visitors.toArray(new ClassVisitor[0]));
+    }
+
+    @Override
+    public boolean visitsMembers() {
+        return visitsMembers;
+    }
+
+    @Override
+    public void visitClass(CharSequence className, CharSequence superclassName) {
+        for (ClassVisitor visitor : visitors) visitor.visitClass(className, superclassName);
+    }
+
+    @Override
+    public void visitInterface(CharSequence className, CharSequence interfaceName) {
+        for (ClassVisitor visitor : visitors) visitor.visitInterface(className, interfaceName);
+    }
+
+    @Override
+    public void visitClassAnnotation(CharSequence className, CharSequence annotationType) {
+        for (ClassVisitor visitor : visitors) visitor.visitClassAnnotation(className, annotationType);
+    }
+
+    @Override
+    public void visitField(CharSequence className, CharSequence fieldName) {
+        for (ClassVisitor visitor : visitors) visitor.visitField(className, fieldName);
+    }
+
+    @Override
+    public void visitFieldAnnotation(CharSequence className, CharSequence fieldName, CharSequence annotationType) {
+        for (ClassVisitor visitor : visitors) visitor.visitFieldAnnotation(className, fieldName, annotationType);
+    }
+
+    @Override
+    public void visitMethod(CharSequence className, CharSequence methodName, List<String> parameterTypeNames) {
+        for (ClassVisitor visitor : visitors) visitor.visitMethod(className, methodName, parameterTypeNames);
+    }
+
+    @Override
+    public void visitMethodAnnotation(CharSequence className, CharSequence methodName, List<String> parameterTypeNames, CharSequence annotationType) {
+        for (ClassVisitor visitor : visitors) visitor.visitMethodAnnotation(className, methodName, parameterTypeNames, annotationType);
+    }
+
+    @Override
+    public void visitParameterAnnotation(CharSequence className, CharSequence methodName, List<String> parameterTypeNames,
+                                         int parameterIndex, CharSequence annotationType) {
+        for (ClassVisitor visitor : visitors) visitor.visitParameterAnnotation(className, methodName, parameterTypeNames, parameterIndex, annotationType);
+    }
+
+    @Override
+    public void visitEnd(CharSequence className) {
+        for (ClassVisitor visitor : visitors) visitor.visitEnd(className);
+    }
+}
@@ -0,0 +1,446 @@
+package org.reflections8.adapters;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.reflections8.ReflectionsException;
+
+/**
+ * the metadata of a Jandex index, such as {@code META-INF/jandex.idx}, read without depending on Jandex
+ * <p>reads the Jandex 2 binary format, versions 6 to 10: the magic and version, then packed tables of byte arrays, strings,
+ * componentized names, types and type lists, methods and fields, and finally the classes and their annotations.
+ * the index is read completely by {@link #read(InputStream)}, so that an unsupported or corrupt index fails before any metadata is used.
+ * the later versions written by Jandex 3 are not supported, the class files of their urls are scanned instead.
+ * <p>use {@link #accept(ClassVisitor)} to push the super types and the class, field, method and parameter annotations of the indexed classes,
+ * with the same names as {@link JavassistAdapter#accept(Object, ClassVisitor)}: binary class names, and erased parameter type names.
+ * type annotations are not visited.
+ * see {@link org.reflections8.Configuration#shouldUseJandexIndexes()}
+ */
+public class JandexIndex {
+    public static final String INDEX = "META-INF/jandex.idx";
+
+    private static final int MAGIC = 0xBABE1F15;
+    private static final int MIN_VERSION = 6;
+    private static final int MAX_VERSION = 10;
+
+    private static final int CLASS = 0, ARRAY = 1, PRIMITIVE = 2, VOID = 3, TYPE_VARIABLE = 4, UNRESOLVED_TYPE_VARIABLE = 5, WILDCARD = 6, PARAMETERIZED = 7;
+    private static final String[] PRIMITIVES = {"byte", "char", "double", "float", "int", "long", "short", "boolean"};
+
+    private static final int NULL_TARGET_TAG = 0, FIELD_TAG = 1, METHOD_TAG = 2, METHOD_PARAMETER_TAG = 3, CLASS_TAG = 4,
+            EMPTY_TYPE_TAG = 5, CLASS_EXTENDS_TYPE_TAG = 6, TYPE_PARAMETER_TAG = 7, TYPE_PARAMETER_BOUND_TAG = 8,
+            METHOD_PARAMETER_TYPE_TAG = 9, THROWS_TYPE_TAG = 10, RECORD_COMPONENT_TAG = 11;
+
+    private static final int AVALUE_BYTE = 1, AVALUE_SHORT = 2, AVALUE_INT = 3, AVALUE_CHAR = 4, AVALUE_FLOAT = 5, AVALUE_DOUBLE = 6,
+            AVALUE_LONG = 7, AVALUE_BOOLEAN = 8, AVALUE_STRING = 9, AVALUE_CLASS = 10, AVALUE_ENUM = 11, AVALUE_ARRAY = 12, AVALUE_NESTED = 13;
+
+    private final List<IndexedClass> classes;
+
+    private JandexIndex(List<IndexedClass> classes) {
+        this.classes = classes;
+    }
+
+    /** reads a Jandex index, throws {@link ReflectionsException} if it is not a supported index */
+    public static JandexIndex read(InputStream inputStream) throws IOException {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(inputStream));
+        if (input.readInt() != MAGIC) throw new ReflectionsException("not a jandex index");
+        int version = input.readUnsignedByte();
+        if (version < MIN_VERSION || version > MAX_VERSION) throw new ReflectionsException("unsupported jandex index version " + version);
+        try {
+            return new JandexIndex(new Reader(input, version).read());
+        } catch (RuntimeException e) {
+            throw new ReflectionsException("corrupt jandex index", e);
+        }
+    }
+
+    /** the binary names of the indexed classes */
+    public List<String> getClassNames() {
+        List<String> names = new ArrayList<>(classes.size());
+        for (IndexedClass indexed : classes) names.add(indexed.name);
+        return names;
+    }
+
+    /** pushes the metadata of all indexed classes to the given {@code visitor} */
+    public void accept(ClassVisitor visitor) {
+        for (IndexedClass indexed : classes) accept(indexed, visitor);
+    }
+
+    /** pushes the metadata of the indexed classes accepted by the given {@code classFilter}, which tests binary class names, to the given {@code visitor} */
+    public void accept(ClassVisitor visitor, Predicate<String> classFilter) {
+        for (IndexedClass indexed : classes) {
+            if (classFilter.test(indexed.name)) accept(indexed, visitor);
+        }
+    }
+
+    private static void accept(IndexedClass indexed, ClassVisitor visitor) {
+        visitor.visitClass(indexed.name, indexed.superclass);
+        for (String anInterface : indexed.interfaces) visitor.visitInterface(indexed.name, anInterface);
+        for (IndexedAnnotation annotation : indexed.annotations) {
+            if (annotation.owner == indexed) visitor.visitClassAnnotation(indexed.name, annotation.type);
+        }
+        if (!visitor.visitsMembers()) {
+            visitor.visitEnd(indexed.name);
+            return;
+        }
+        for (IndexedField field : indexed.fields) {
+            visitor.visitField(indexed.name, field.name);
+            for (IndexedAnnotation annotation : indexed.annotations) {
+                if (annotation.owner == field) visitor.visitFieldAnnotation(indexed.name, field.name, annotation.type);
+            }
+        }
+        for (IndexedMethod method : indexed.methods) {
+            visitor.visitMethod(indexed.name, method.name, method.parameterTypeNames);
+            for (IndexedAnnotation annotation : indexed.annotations) {
+                if (annotation.owner != method) continue;
+                if (annotation.tag == METHOD_PARAMETER_TAG) {
+                    visitor.visitParameterAnnotation(indexed.name, method.name, method.parameterTypeNames, annotation.position, annotation.type);
+                } else {
+                    visitor.visitMethodAnnotation(indexed.name, method.name, method.parameterTypeNames, annotation.type);
+                }
+            }
+        }
+        visitor.visitEnd(indexed.name);
+    }
+
+    private static class IndexedClass {
+        String name;
+        String superclass;
+        List<String> interfaces;
+        List<IndexedField> fields = new ArrayList<>();
+        List<IndexedMethod> methods = new ArrayList<>();
+        List<IndexedAnnotation> annotations = new ArrayList<>();
+    }
+
+    private static class IndexedField {
+        String name;
+    }
+
+    private static class IndexedMethod {
+        String name;
+        List<String> parameterTypeNames;
+    }
+
+    private static class IndexedAnnotation {
+        String type;
+        int tag;
+        int position;
+        /** the class, field or method the annotation was read for, or null for type annotations and nested annotations */
+        Object owner;
+    }
+
+    /** reads the tables of an index, see IndexReaderV2 of Jandex */
+    private static class Reader {
+        private final DataInputStream input;
+        private final int version;
+        private byte[][] byteTable;
+        private String[] stringTable;
+        private String[] nameTable;
+        private int[] typeKinds, typeFirsts, typeSeconds;
+        private int[][] typeListTable;
+        private IndexedMethod[] methodTable;
+        private IndexedField[] fieldTable;
+        private final Map<Integer, IndexedAnnotation> annotationTable = new HashMap<>();
+
+        Reader(DataInputStream input, int version) {
+            this.input = input;
+            this.version = version;
+        }
+
+        List<IndexedClass> read() throws IOException {
+            packed(); //annotations size
+            packed(); //implementors size
+            packed(); //subclasses size
+            int users = version >= 10 ? packed() : 0;
+            readByteTable();
+            readStringTable();
+            readNameTable();
+            int types = packed() + 1;
+            typeKinds = new int[types];
+            typeFirsts = new int[types];
+            typeSeconds = new int[types];
+            typeListTable = new int[packed() + 1][];
+            packed(); //annotations table size
+            for (int i = 1; i < types; i++) readTypeEntry(i);
+            for (int i = 1; i < typeListTable.length; i++) {
+                if (typeListTable[i] == null) typeListTable[i] = readTypeListEntry();
+            }
+            for (int i = 0; i < users; i++) {
+                packed(); //user
+                for (int j = packed(); j > 0; j--) packed(); //used classes
+            }
+            methodTable = new IndexedMethod[packed() + 1];
+            for (int i = 1; i < methodTable.length; i++) methodTable[i] = readMethodEntry();
+            fieldTable = new IndexedField[packed() + 1];
+            for (int i = 1; i < fieldTable.length; i++) fieldTable[i] = readFieldEntry();
+            if (version >= 10) {
+                for (int i = packed(); i > 0; i--) {
+                    packed(); //record component name
+                    packed(); //type
+                    readAnnotations(null);
+                }
+            }
+            int size = packed();
+            List<IndexedClass> classes = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) classes.add(readClassEntry());
+            return classes;
+        }
+
+        private int packed() throws IOException {
+            int value = 0;
+            byte b;
+            do {
+                b = input.readByte();
+                value = (value << 7) | (b & 0x7F);
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        private void readByteTable() throws IOException {
+            byteTable = new byte[packed() + 1][];
+            for (int i = 1; i < byteTable.length; i++) {
+                byteTable[i] = new byte[packed()];
+                input.readFully(byteTable[i]);
+            }
+        }
+
+        private void readStringTable() throws IOException {
+            stringTable = new String[packed() + 1];
+            for (int i = 1; i < stringTable.length; i++) stringTable[i] = input.readUTF();
+        }
+
+        /** names are componentized: each entry is a local name, its depth and whether it is an inner class of the previous entry at a lower depth */
+        private void readNameTable() throws IOException {
+            nameTable = new String[packed() + 1];
+            List<String> path = new ArrayList<>();
+            for (int i = 1; i < nameTable.length; i++) {
+                int depth = packed();
+                boolean inner = (depth & 1) == 1;
+                depth >>= 1;
+                String local = stringTable[packed()];
+                while (path.size() > depth) path.remove(path.size() - 1);
+                String name = depth == 0 ? local : path.get(depth - 1) + (inner ? '$' : '.') + local;
+                path.add(name);
+                nameTable[i] = name;
+            }
+        }
+
+        private void readTypeEntry(int i) throws IOException {
+            int kind = typeKinds[i] = input.readUnsignedByte();
+            switch (kind) {
+                case CLASS:
+                    typeFirsts[i] = packed();
+                    break;
+                case ARRAY:
+                    typeFirsts[i] = packed();
+                    typeSeconds[i] = packed();
+                    break;
+                case PRIMITIVE:
+                    typeFirsts[i] = input.readUnsignedByte();
+                    break;
+                case VOID:
+                    break;
+                case TYPE_VARIABLE:
+                    packed(); //identifier
+                    typeSeconds[i] = readTypeListReference();
+                    break;
+                case UNRESOLVED_TYPE_VARIABLE:
+                    packed(); //identifier
+                    break;
+                case WILDCARD:
+                    typeFirsts[i] = packed();
+                    typeSeconds[i] = packed();
+                    break;
+                case PARAMETERIZED:
+                    typeFirsts[i] = packed();
+                    packed(); //owner
+                    readTypeListReference();
+                    break;
+                default:
+                    throw new ReflectionsException("unknown type kind " + kind);
+            }
+            readAnnotations(null);
+        }
+
+        /** type lists referenced by types for the first time are written inline, and omitted from the type list table */
+        private int readTypeListReference() throws IOException {
+            int reference = packed();
+            if (typeListTable[reference] == null) typeListTable[reference] = readTypeListEntry();
+            return reference;
+        }
+
+        private int[] typeList(int reference) {
+            int[] types = typeListTable[reference];
+            return types != null ? types : new int[0];
+        }
+
+        private int[] readTypeListEntry() throws IOException {
+            int[] types = new int[packed()];
+            for (int i = 0; i < types.length; i++) types[i] = packed();
+            return types;
+        }
+
+        private IndexedMethod readMethodEntry() throws IOException {
+            IndexedMethod method = new IndexedMethod();
+            method.name = new String(byteTable[packed()], "UTF-8");
+            packed(); //flags
+            packed(); //type parameters
+            packed(); //receiver type
+            packed(); //return type
+            int[] parameters = typeList(packed());
+            packed(); //exceptions
+            if (version >= 7 && input.readByte() > 0) readAnnotationValue();
+            if (version >= 8) {
+                for (int i = packed(); i > 0; i--) packed(); //parameter names
+            }
+            List<String> parameterTypeNames = new ArrayList<>(parameters.length);
+            for (int parameter : parameters) parameterTypeNames.add(erasure(parameter, 0));
+            method.parameterTypeNames = Collections.unmodifiableList(parameterTypeNames);
+            readAnnotations(method);
+            return method;
+        }
+
+        private IndexedField readFieldEntry() throws IOException {
+            IndexedField field = new IndexedField();
+            field.name = new String(byteTable[packed()], "UTF-8");
+            packed(); //flags
+            packed(); //type
+            readAnnotations(field);
+            return field;
+        }
+
+        private IndexedClass readClassEntry() throws IOException {
+            IndexedClass indexed = new IndexedClass();
+            indexed.name = nameTable[packed()];
+            packed(); //flags
+            int superType = packed();
+            indexed.superclass = superType != 0 ? erasure(superType, 0) : null;
+            packed(); //type parameters
+            int[] interfaces = typeList(packed());
+            indexed.interfaces = new ArrayList<>(interfaces.length);
+            for (int anInterface : interfaces) indexed.interfaces.add(erasure(anInterface, 0));
+            //before version 9 the nesting is always written, and followed by a flag for the enclosing method
+            int nesting = version >= 9 ? input.readUnsignedByte() : 1;
+            if (nesting > 0) {
+                packed(); //enclosing class
+                packed(); //simple name
+                if (version >= 9 ? (nesting & 2) == 2 : input.readUnsignedByte() == 1) {
+                    packed(); //enclosing method name
+                    packed(); //declaring class
+                    packed(); //return type
+                    packed(); //parameters
+                }
+            }
+            int annotations = packed();
+            for (int i = packed(); i > 0; i--) indexed.fields.add(fieldTable[packed()]);
+            if (version >= 10) packed(); //field positions
+            for (int i = packed(); i > 0; i--) indexed.methods.add(methodTable[packed()]);
+            if (version >= 10) {
+                packed(); //method positions
+                for (int i = packed(); i > 0; i--) packed(); //record components
+                packed(); //record component positions
+            }
+            Set<IndexedAnnotation> all = new LinkedHashSet<>();
+            for (int i = 0; i < annotations; i++) all.addAll(readAnnotations(indexed));
+            indexed.annotations.addAll(all);
+            return indexed;
+        }
+
+        /** annotations read for the first time are written inline, later occurrences only refer to them */
+        private List<IndexedAnnotation> readAnnotations(Object owner) throws IOException {
+            int size = packed();
+            List<IndexedAnnotation> annotations = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) annotations.add(readAnnotationReference(owner));
+            return annotations;
+        }
+
+        private IndexedAnnotation readAnnotationReference(Object owner) throws IOException {
+            int reference = packed();
+            IndexedAnnotation annotation = annotationTable.get(reference);
+            if (annotation == null) {
+                annotation = new IndexedAnnotation();
+                annotation.type = nameTable[packed()];
+                annotation.tag = input.readByte();
+                switch (annotation.tag) {
+                    case NULL_TARGET_TAG:
+                        break;
+                    case CLASS_TAG: case FIELD_TAG: case METHOD_TAG: case RECORD_COMPONENT_TAG:
+                        annotation.owner = owner;
+                        break;
+                    case METHOD_PARAMETER_TAG:
+                        annotation.owner = owner;
+                        annotation.position = packed();
+                        break;
+                    case EMPTY_TYPE_TAG: case CLASS_EXTENDS_TYPE_TAG: case TYPE_PARAMETER_TAG: case METHOD_PARAMETER_TYPE_TAG: case THROWS_TYPE_TAG:
+                        packed(); //type
+                        packed(); //receiver or position
+                        break;
+                    case TYPE_PARAMETER_BOUND_TAG:
+                        packed(); //type
+                        packed(); //position
+                        packed(); //bound
+                        break;
+                    default:
+                        throw new ReflectionsException("unknown annotation target " + annotation.tag);
+                }
+                readAnnotationValues();
+                annotationTable.put(reference, annotation);
+            }
+            return annotation;
+        }
+
+        private void readAnnotationValues() throws IOException {
+            for (int i = packed(); i > 0; i--) readAnnotationValue();
+        }
+
+        /** a value is written with its name, also the default value of a method and the elements of an array */
+        private void readAnnotationValue() throws IOException {
+            packed(); //name
+            int tag = input.readByte();
+            switch (tag) {
+                case AVALUE_BYTE: input.readByte(); break;
+                case AVALUE_SHORT: case AVALUE_INT: case AVALUE_CHAR: case AVALUE_STRING: case AVALUE_CLASS: packed(); break;
+                case AVALUE_FLOAT: input.readFloat(); break;
+                case AVALUE_DOUBLE: input.readDouble(); break;
+                case AVALUE_LONG: input.readLong(); break;
+                case AVALUE_BOOLEAN: input.readBoolean(); break;
+                case AVALUE_ENUM: packed(); packed(); break;
+                case AVALUE_ARRAY: readAnnotationValues(); break;
+                case AVALUE_NESTED: readAnnotationReference(null); break;
+                default: throw new ReflectionsException("unknown annotation value " + tag);
+            }
+        }
+
+        /** the erased type name, as in class files, such as {@code java.util.Map$Entry[]} */
+        private String erasure(int type, int depth) {
+            if (type == 0 || depth > 255) return Object.class.getName();
+            switch (typeKinds[type]) {
+                case CLASS: case PARAMETERIZED:
+                    return nameTable[typeFirsts[type]];
+                case ARRAY:
+                    StringBuilder name = new StringBuilder(erasure(typeSeconds[type], depth + 1));
+                    for (int i = 0; i < typeFirsts[type]; i++) name.append("[]");
+                    return name.toString();
+                case PRIMITIVE:
+                    return PRIMITIVES[typeFirsts[type]];
+                case VOID:
+                    return "void";
+                case TYPE_VARIABLE:
+                    int[] bounds = typeListTable[typeSeconds[type]];
+                    return bounds != null && bounds.length > 0 ? erasure(bounds[0], depth + 1) : Object.class.getName();
+                case WILDCARD:
+                    return typeFirsts[type] == 1 ? erasure(typeSeconds[type], depth + 1) : Object.class.getName();
+                default:
+                    return Object.class.getName();
+            }
+        }
+    }
+}
@@ -11,8 +11,14 @@ import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import org.reflections8.ReflectionsException;
+import org.reflections8.TypeKind;
 import org.reflections8.util.Joiner;
 import org.reflections8.util.Utils;
 import org.reflections8.vfs.Vfs;
@@ -75,6 +81,21 @@ public class JavaReflectionAdapter implements MetadataAdapter<Class, Field, Memb
         return getAnnotationNames(annotations != null ? annotations[parameterIndex] : null);
     }
 
+    public Map<String, Map<String, String>> getClassAnnotationValues(Class aClass) {
+        return getAnnotationValues(aClass.getDeclaredAnnotations());
+    }
+
+    public Map<String, Map<String, String>> getFieldAnnotationValues(Field field) {
+        return getAnnotationValues(field.getDeclaredAnnotations());
+    }
+
+    public Map<String, Map<String, String>> getMethodAnnotationValues(Member method) {
+        Annotation[] annotations =
+                method instanceof Method ? ((Method) method).getDeclaredAnnotations() :
+                method instanceof Constructor ? ((Constructor) method).getDeclaredAnnotations() : null;
+        return getAnnotationValues(annotations);
+    }
+
     public String getReturnTypeName(Member method) {
         return ((Method) method).getReturnType().getName();
     }
@@ -84,7 +105,7 @@ public class JavaReflectionAdapter implements MetadataAdapter<Class, Field, Memb
     }
 
     public Class getOrCreateClassObject(Vfs.File file) throws Exception {
-        return getOrCreateClassObject(file, null);
+        return getOrCreateClassObject(file, (ClassLoader[]) null);
     }
 
     public Class getOrCreateClassObject(Vfs.File file, ClassLoader... loaders) throws Exception {
@@ -130,6 +151,24 @@ public class JavaReflectionAdapter implements MetadataAdapter<Class, Field, Memb
         return names;
     }
 
+    public Set<TypeKind> getClassKinds(Class cls) {
+        Set<TypeKind> kinds = EnumSet.noneOf(TypeKind.class);
+        int modifiers = cls.getModifiers();
+        if (Modifier.isPublic(modifiers)) kinds.add(TypeKind.PUBLIC);
+        if (Modifier.isProtected(modifiers)) kinds.add(TypeKind.PROTECTED);
+        if (Modifier.isPrivate(modifiers)) kinds.add(TypeKind.PRIVATE);
+        if (Modifier.isStatic(modifiers)) kinds.add(TypeKind.STATIC);
+        if (Modifier.isFinal(modifiers)) kinds.add(TypeKind.FINAL);
+        if (Modifier.isAbstract(modifiers)) kinds.add(TypeKind.ABSTRACT);
+        if (cls.isInterface()) kinds.add(TypeKind.INTERFACE);
+        if (cls.isAnnotation()) kinds.add(TypeKind.ANNOTATION);
+        if ((modifiers & 0x4000) != 0) kinds.add(TypeKind.ENUM); //as in class files, including enum constant bodies
+        if (cls.isSynthetic()) kinds.add(TypeKind.SYNTHETIC);
+        if (cls.getSuperclass() != null && cls.getSuperclass().getName().equals("java.lang.Record")) kinds.add(TypeKind.RECORD);
+        if (cls.getEnclosingClass() != null) kinds.add(TypeKind.INNER);
+        return kinds;
+    }
+
     public boolean acceptsInput(String file) {
         return file.endsWith(".class");
     }
@@ -145,6 +184,27 @@ public class JavaReflectionAdapter implements MetadataAdapter<Class, Field, Memb
         return names;
     }
 
+    /** all members of the given annotations, since reflection does not tell explicit values from defaults */
+    private Map<String, Map<String, String>> getAnnotationValues(Annotation[] annotations) {
+        if (annotations == null)
+            return Collections.emptyMap();
+        Map<String, Map<String, String>> result = new LinkedHashMap<>(annotations.length);
+        for (Annotation annotation : annotations) {
+            Map<String, String> values = new LinkedHashMap<>();
+            for (Method member : annotation.annotationType().getDeclaredMethods()) {
+                try {
+                    member.setAccessible(true);
+                    String value = Utils.annotationMemberValue(member.invoke(annotation));
+                    if (value != null) values.put(member.getName(), value);
+                } catch (Exception e) {
+                    throw new ReflectionsException(String.format("could not invoke method %s on annotation %s", member.getName(), annotation.annotationType()), e);
+                }
+            }
+            result.put(annotation.annotationType().getName(), values);
+        }
+        return result;
+    }
+
     public static String getName(Class type) {
         if (type.isArray()) {
             try {
@@ -9,20 +9,41 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.StringJoiner;
+import java.util.function.Function;
 
 import org.reflections8.ReflectionsException;
+import org.reflections8.TypeKind;
 import org.reflections8.vfs.Vfs;
 
 import javassist.bytecode.AccessFlag;
 import javassist.bytecode.AnnotationsAttribute;
+import javassist.bytecode.AttributeInfo;
 import javassist.bytecode.ClassFile;
-import javassist.bytecode.Descriptor;
+import javassist.bytecode.ConstPool;
 import javassist.bytecode.FieldInfo;
+import javassist.bytecode.InnerClassesAttribute;
 import javassist.bytecode.MethodInfo;
 import javassist.bytecode.ParameterAnnotationsAttribute;
 import javassist.bytecode.annotation.Annotation;
+import javassist.bytecode.annotation.BooleanMemberValue;
+import javassist.bytecode.annotation.ByteMemberValue;
+import javassist.bytecode.annotation.CharMemberValue;
+import javassist.bytecode.annotation.ClassMemberValue;
+import javassist.bytecode.annotation.DoubleMemberValue;
+import javassist.bytecode.annotation.EnumMemberValue;
+import javassist.bytecode.annotation.FloatMemberValue;
+import javassist.bytecode.annotation.IntegerMemberValue;
+import javassist.bytecode.annotation.LongMemberValue;
+import javassist.bytecode.annotation.MemberValue;
+import javassist.bytecode.annotation.ShortMemberValue;
+import javassist.bytecode.annotation.StringMemberValue;
 
 /**
  *
@@ -32,6 +53,12 @@ public class JavassistAdapter implements MetadataAdapter<ClassFile, FieldInfo, M
     /**setting this to false will result in returning only visible annotations from the relevant methods here (only {@link java.lang.annotation.RetentionPolicy#RUNTIME})*/
     public static final boolean includeInvisibleTag = true;
 
+    /** the maximum number of method descriptors, and of annotation type descriptors, decoded to type names kept in the caches of an adapter.
+     * beyond it, the least recently used descriptors are evicted */
+    public static final int MAX_DECODED_DESCRIPTORS = 16 * 1024;
+    private final DecodedCache<DecodedDescriptor> decodedDescriptors = new DecodedCache<>(MAX_DECODED_DESCRIPTORS);
+    private final DecodedCache<String> annotationTypeNames = new DecodedCache<>(MAX_DECODED_DESCRIPTORS);
+
     public List<FieldInfo> getFields(final ClassFile cls) {
         //noinspection unchecked
         return cls.getFields();
@@ -47,9 +74,13 @@ public class JavassistAdapter implements MetadataAdapter<ClassFile, FieldInfo, M
     }
 
     public List<String> getParameterNames(final MethodInfo method) {
-        String descriptor = method.getDescriptor();
-        descriptor = descriptor.substring(descriptor.indexOf("(") + 1, descriptor.lastIndexOf(")"));
-        return splitDescriptorToTypeNames(descriptor);
+        return getParameterNames(method.getDescriptor());
+    }
+
+    /** the parameter type names of the given method descriptor, such as {@code (Ljava/lang/String;[I)V}
+     * <p>the same descriptors recur across the classpath, hence decoded descriptors are cached, and the returned list is unmodifiable */
+    public List<String> getParameterNames(String descriptor) {
+        return decode(descriptor).parameterNames;
     }
 
     public List<String> getClassAnnotationNames(final ClassFile aClass) {
@@ -89,10 +120,23 @@ public class JavassistAdapter implements MetadataAdapter<ClassFile, FieldInfo, M
         return result;
     }
 
+    public Map<String, Map<String, String>> getClassAnnotationValues(final ClassFile aClass) {
+        return getAnnotationValues((AnnotationsAttribute) aClass.getAttribute(AnnotationsAttribute.visibleTag),
+                includeInvisibleTag ? (AnnotationsAttribute) aClass.getAttribute(AnnotationsAttribute.invisibleTag) : null);
+    }
+
+    public Map<String, Map<String, String>> getFieldAnnotationValues(final FieldInfo field) {
+        return getAnnotationValues((AnnotationsAttribute) field.getAttribute(AnnotationsAttribute.visibleTag),
+                includeInvisibleTag ? (AnnotationsAttribute) field.getAttribute(AnnotationsAttribute.invisibleTag) : null);
+    }
+
+    public Map<String, Map<String, String>> getMethodAnnotationValues(final MethodInfo method) {
+        return getAnnotationValues((AnnotationsAttribute) method.getAttribute(AnnotationsAttribute.visibleTag),
+                includeInvisibleTag ? (AnnotationsAttribute) method.getAttribute(AnnotationsAttribute.invisibleTag) : null);
+    }
+
     public String getReturnTypeName(final MethodInfo method) {
-        String descriptor = method.getDescriptor();
-        descriptor = descriptor.substring(descriptor.lastIndexOf(")") + 1);
-        return splitDescriptorToTypeNames(descriptor).get(0);
+        return decode(method.getDescriptor()).returnTypeName;
     }
 
     public String getFieldName(final FieldInfo field) {
@@ -149,9 +193,132 @@ public class JavassistAdapter implements MetadataAdapter<ClassFile, FieldInfo, M
         return Arrays.asList(cls.getInterfaces());
     }
 
+    public Set<TypeKind> getClassKinds(final ClassFile cls) {
+        Set<TypeKind> kinds = EnumSet.noneOf(TypeKind.class);
+        int accessFlags = cls.getAccessFlags();
+        InnerClassesAttribute innerClasses = (InnerClassesAttribute) cls.getAttribute(InnerClassesAttribute.tag);
+        if (innerClasses != null) {
+            for (int i = 0; i < innerClasses.tableLength(); i++) {
+                if (cls.getName().equals(innerClasses.innerClass(i))) {
+                    accessFlags = innerClasses.accessFlags(i); //as declared in source
+                    kinds.add(TypeKind.INNER);
+                    break;
+                }
+            }
+        }
+        if (AccessFlag.isPublic(accessFlags)) kinds.add(TypeKind.PUBLIC);
+        if (AccessFlag.isProtected(accessFlags)) kinds.add(TypeKind.PROTECTED);
+        if (AccessFlag.isPrivate(accessFlags)) kinds.add(TypeKind.PRIVATE);
+        if ((accessFlags & AccessFlag.STATIC) != 0) kinds.add(TypeKind.STATIC);
+        if ((accessFlags & AccessFlag.FINAL) != 0) kinds.add(TypeKind.FINAL);
+        if ((accessFlags & AccessFlag.ABSTRACT) != 0) kinds.add(TypeKind.ABSTRACT);
+        if ((accessFlags & AccessFlag.INTERFACE) != 0) kinds.add(TypeKind.INTERFACE);
+        if ((accessFlags & AccessFlag.ANNOTATION) != 0) kinds.add(TypeKind.ANNOTATION);
+        if ((accessFlags & AccessFlag.ENUM) != 0) kinds.add(TypeKind.ENUM);
+        if ((accessFlags & AccessFlag.SYNTHETIC) != 0) kinds.add(TypeKind.SYNTHETIC);
+        if ("java.lang.Record".equals(cls.getSuperclass())) kinds.add(TypeKind.RECORD);
+        return kinds;
+    }
+
     public boolean acceptsInput(String file) {
         return file.endsWith(".class");
     }
+
+    /** pushes the metadata of the given class to the given {@code visitor}, reading annotation types from the raw attribute bytes
+     * instead of creating annotation objects and name lists. names are decoded once and cached, see {@link #MAX_DECODED_DESCRIPTORS} */
+    @Override
+    public void accept(ClassFile cls, ClassVisitor visitor) {
+        String className = cls.getName();
+        visitor.visitClass(className, cls.getSuperclass());
+        for (String interfaceName : cls.getInterfaces()) visitor.visitInterface(className, interfaceName);
+        visitAnnotations(cls.getAttribute(AnnotationsAttribute.visibleTag), visitor, className, null, null);
+        if (includeInvisibleTag) visitAnnotations(cls.getAttribute(AnnotationsAttribute.invisibleTag), visitor, className, null, null);
+        if (!visitor.visitsMembers()) {
+            visitor.visitEnd(className);
+            return;
+        }
+
+        for (FieldInfo field : getFields(cls)) {
+            String fieldName = field.getName();
+            visitor.visitField(className, fieldName);
+            visitAnnotations(field.getAttribute(AnnotationsAttribute.visibleTag), visitor, className, fieldName, null);
+            if (includeInvisibleTag) visitAnnotations(field.getAttribute(AnnotationsAttribute.invisibleTag), visitor, className, fieldName, null);
+        }
+
+        for (MethodInfo method : getMethods(cls)) {
+            String methodName = method.getName();
+            List<String> parameterTypeNames = getParameterNames(method);
+            visitor.visitMethod(className, methodName, parameterTypeNames);
+            visitAnnotations(method.getAttribute(AnnotationsAttribute.visibleTag), visitor, className, methodName, parameterTypeNames);
+            if (includeInvisibleTag) visitAnnotations(method.getAttribute(AnnotationsAttribute.invisibleTag), visitor, className, methodName, parameterTypeNames);
+            visitParameterAnnotations(method.getAttribute(ParameterAnnotationsAttribute.visibleTag), visitor, className, methodName, parameterTypeNames);
+            visitParameterAnnotations(method.getAttribute(ParameterAnnotationsAttribute.invisibleTag), visitor, className, methodName, parameterTypeNames);
+        }
+        visitor.visitEnd(className);
+    }
+
+    /** visits the annotations of a class, or of a field if {@code parameterTypeNames} is null, or of a method */
+    private void visitAnnotations(AttributeInfo attribute, ClassVisitor visitor, String className, String memberName, List<String> parameterTypeNames) {
+        if (attribute == null) return;
+        byte[] info = attribute.get();
+        ConstPool constPool = attribute.getConstPool();
+        for (int i = 0, count = u16(info, 0), pos = 2; i < count; i++) {
+            String annotationType = annotationTypeName(constPool, u16(info, pos));
+            if (memberName == null) visitor.visitClassAnnotation(className, annotationType);
+            else if (parameterTypeNames == null) visitor.visitFieldAnnotation(className, memberName, annotationType);
+            else visitor.visitMethodAnnotation(className, memberName, parameterTypeNames, annotationType);
+            pos = skipAnnotation(info, pos);
+        }
+    }
+
+    private void visitParameterAnnotations(AttributeInfo attribute, ClassVisitor visitor, String className, String methodName, List<String> parameterTypeNames) {
+        if (attribute == null) return;
+        byte[] info = attribute.get();
+        ConstPool constPool = attribute.getConstPool();
+        int pos = 1;
+        for (int parameter = 0, parameters = info[0] & 0xff; parameter < parameters; parameter++) {
+            int count = u16(info, pos);
+            pos += 2;
+            for (int i = 0; i < count; i++) {
+                visitor.visitParameterAnnotation(className, methodName, parameterTypeNames, parameter, annotationTypeName(constPool, u16(info, pos)));
+                pos = skipAnnotation(info, pos);
+            }
+        }
+    }
+
+    /** the class name of an annotation type descriptor, such as {@code Ljavax/inject/Named;} */
+    private String annotationTypeName(ConstPool constPool, int index) {
+        return annotationTypeNames.get(constPool.getUtf8Info(index), JavassistAdapter::annotationTypeName);
+    }
+
+    private static String annotationTypeName(String descriptor) {
+        return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+    }
+
+    /** skips the annotation structure starting at {@code pos}: type, member value pairs */
+    private static int skipAnnotation(byte[] info, int pos) {
+        int pairs = u16(info, pos + 2);
+        pos += 4;
+        for (int i = 0; i < pairs; i++) pos = skipElementValue(info, pos + 2);
+        return pos;
+    }
+
+    private static int skipElementValue(byte[] info, int pos) {
+        switch (info[pos]) {
+            case 'e': return pos + 5; //type, constant name
+            case '@': return skipAnnotation(info, pos + 1);
+            case '[':
+                int count = u16(info, pos + 1);
+                pos += 3;
+                for (int i = 0; i < count; i++) pos = skipElementValue(info, pos);
+                return pos;
+            default: return pos + 3; //constant or class index
+        }
+    }
+
+    private static int u16(byte[] info, int pos) {
+        return ((info[pos] & 0xff) << 8) | (info[pos + 1] & 0xff);
+    }
     
     //
     private List<String> getAnnotationNames(final AnnotationsAttribute... annotationsAttributes) {
@@ -180,25 +347,127 @@ public class JavassistAdapter implements MetadataAdapter<ClassFile, FieldInfo, M
         return result;
     }
 
-    private List<String> splitDescriptorToTypeNames(final String descriptors) {
-        List<String> result = new ArrayList<>();
+    private Map<String, Map<String, String>> getAnnotationValues(final AnnotationsAttribute... annotationsAttributes) {
+        Map<String, Map<String, String>> result = new LinkedHashMap<>();
+
+        for (AnnotationsAttribute annotationsAttribute : annotationsAttributes) {
+            if (annotationsAttribute != null) {
+                for (Annotation annotation : annotationsAttribute.getAnnotations()) {
+                    Map<String, String> values = new LinkedHashMap<>();
+                    Set<String> memberNames = annotation.getMemberNames();
+                    if (memberNames != null) {
+                        for (String memberName : memberNames) {
+                            String value = getAnnotationMemberValue(annotation.getMemberValue(memberName));
+                            if (value != null) values.put(memberName, value);
+                        }
+                    }
+                    result.put(annotation.getTypeName(), values);
+                }
+            }
+        }
 
-        if (descriptors != null && descriptors.length() != 0) {
+        return result;
+    }
+
+    /** see {@link org.reflections8.util.Utils#annotationMemberValue(Object)} */
+    private static String getAnnotationMemberValue(final MemberValue value) {
+        return value instanceof StringMemberValue ? ((StringMemberValue) value).getValue() :
+               value instanceof EnumMemberValue ? ((EnumMemberValue) value).getValue() :
+               value instanceof ClassMemberValue ? ((ClassMemberValue) value).getValue() :
+               value instanceof BooleanMemberValue ? String.valueOf(((BooleanMemberValue) value).getValue()) :
+               value instanceof ByteMemberValue ? String.valueOf(((ByteMemberValue) value).getValue()) :
+               value instanceof CharMemberValue ? String.valueOf(((CharMemberValue) value).getValue()) :
+               value instanceof ShortMemberValue ? String.valueOf(((ShortMemberValue) value).getValue()) :
+               value instanceof IntegerMemberValue ? String.valueOf(((IntegerMemberValue) value).getValue()) :
+               value instanceof LongMemberValue ? String.valueOf(((LongMemberValue) value).getValue()) :
+               value instanceof FloatMemberValue ? String.valueOf(((FloatMemberValue) value).getValue()) :
+               value instanceof DoubleMemberValue ? String.valueOf(((DoubleMemberValue) value).getValue()) :
+               null; //arrays and annotations are not indexed
+    }
+
+    /** decodes the given method descriptor, using the cache of recurring descriptors */
+    private DecodedDescriptor decode(String descriptor) {
+        return decodedDescriptors.get(descriptor, DecodedDescriptor::new);
+    }
 
-            List<Integer> indices = new ArrayList<>();
-            Descriptor.Iterator iterator = new Descriptor.Iterator(descriptors);
-            while (iterator.hasNext()) {
-                indices.add(iterator.next());
+    /** descriptors decoded to names, bounded by evicting the least recently used entries of a stripe.
+     * the stripes are locked separately, so that scanning threads rarely wait for each other */
+    private static class DecodedCache<V> {
+        private static final int STRIPES = 16;
+        private final List<Map<String, V>> stripes = new ArrayList<>(STRIPES);
+
+        private DecodedCache(int maxSize) {
+            final int stripeSize = Math.max(1, maxSize / STRIPES);
+            for (int i = 0; i < STRIPES; i++) {
+                stripes.add(new LinkedHashMap<String, V>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                        return size() > stripeSize;
+                    }
+                });
             }
-            indices.add(descriptors.length());
+        }
 
-            for (int i = 0; i < indices.size() - 1; i++) {
-                String s1 = Descriptor.toString(descriptors.substring(indices.get(i), indices.get(i + 1)));
-                result.add(s1);
+        private V get(String descriptor, Function<String, V> decoder) {
+            int hash = descriptor.hashCode();
+            Map<String, V> stripe = stripes.get((hash ^ hash >>> 16) & (STRIPES - 1));
+            synchronized (stripe) {
+                V decoded = stripe.get(descriptor);
+                if (decoded == null) stripe.put(descriptor, decoded = decoder.apply(descriptor));
+                return decoded;
             }
+        }
+    }
 
+    /** the parameter type names and return type name of a method descriptor, such as {@code [java.lang.String, int[]]} and {@code void} */
+    private static class DecodedDescriptor {
+        private final List<String> parameterNames;
+        private final String returnTypeName;
+
+        private DecodedDescriptor(String descriptor) {
+            int end = descriptor.lastIndexOf(')');
+            int count = 0;
+            for (int pos = descriptor.indexOf('(') + 1; pos < end; count++) pos = typeEnd(descriptor, pos);
+
+            String[] names = new String[count];
+            for (int pos = descriptor.indexOf('(') + 1, i = 0; pos < end; i++) {
+                int next = typeEnd(descriptor, pos);
+                names[i] = typeName(descriptor, pos, next);
+                pos = next;
+            }
+            parameterNames = count != 0 ? Collections.unmodifiableList(Arrays.asList(names)) : Collections.<String>emptyList();
+            returnTypeName = typeName(descriptor, end + 1, descriptor.length());
         }
 
-        return result;
+        /** the end of the type descriptor starting at {@code pos} */
+        private static int typeEnd(String descriptor, int pos) {
+            while (descriptor.charAt(pos) == '[') pos++;
+            return descriptor.charAt(pos) == 'L' ? descriptor.indexOf(';', pos) + 1 : pos + 1;
+        }
+
+        /** same as {@link javassist.bytecode.Descriptor#toString(String)} of a single type descriptor */
+        private static String typeName(String descriptor, int start, int end) {
+            int dimensions = 0;
+            while (descriptor.charAt(start + dimensions) == '[') dimensions++;
+            int pos = start + dimensions;
+            String name;
+            switch (descriptor.charAt(pos)) {
+                case 'L': name = descriptor.substring(pos + 1, end - 1).replace('/', '.'); break;
+                case 'Z': name = "boolean"; break;
+                case 'B': name = "byte"; break;
+                case 'C': name = "char"; break;
+                case 'S': name = "short"; break;
+                case 'I': name = "int"; break;
+                case 'J': name = "long"; break;
+                case 'F': name = "float"; break;
+                case 'D': name = "double"; break;
+                case 'V': name = "void"; break;
+                default: throw new ReflectionsException("invalid descriptor " + descriptor);
+            }
+            if (dimensions == 0) return name;
+            StringBuilder arrayName = new StringBuilder(name.length() + 2 * dimensions).append(name);
+            for (int i = 0; i < dimensions; i++) arrayName.append("[]");
+            return arrayName.toString();
+        }
     }
 }
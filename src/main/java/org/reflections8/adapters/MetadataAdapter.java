@@ -1,7 +1,11 @@
 package org.reflections8.adapters;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import org.reflections8.TypeKind;
 import org.reflections8.vfs.Vfs;
 
 /**
@@ -16,6 +20,12 @@ public interface MetadataAdapter<C,F,M> {
 
     List<String> getInterfacesNames(final C cls);
 
+    /** the kinds and modifiers of the given class, see {@link TypeKind}.
+     * <p>empty by default, so that {@link org.reflections8.scanners.TypeKindsScanner} indexes nothing for adapters not implementing it */
+    default Set<TypeKind> getClassKinds(final C cls) {
+        return Collections.emptySet();
+    }
+
     //
     List<F> getFields(final C cls);
 
@@ -33,6 +43,23 @@ public interface MetadataAdapter<C,F,M> {
 
     List<String> getParameterAnnotationNames(final M method, final int parameterIndex);
 
+    /** annotation type names to their member values, as given by {@link org.reflections8.util.Utils#annotationMemberValue(Object)}.
+     * only members declared explicitly and of indexed values are included.
+     * <p>empty by default, so that {@link org.reflections8.scanners.AnnotationValuesScanner} indexes nothing for adapters not implementing it */
+    default Map<String, Map<String, String>> getClassAnnotationValues(final C aClass) {
+        return Collections.emptyMap();
+    }
+
+    /** see {@link #getClassAnnotationValues(Object)} */
+    default Map<String, Map<String, String>> getFieldAnnotationValues(final F field) {
+        return Collections.emptyMap();
+    }
+
+    /** see {@link #getClassAnnotationValues(Object)} */
+    default Map<String, Map<String, String>> getMethodAnnotationValues(final M method) {
+        return Collections.emptyMap();
+    }
+
     String getReturnTypeName(final M method);
 
     String getFieldName(final F field);
@@ -48,5 +75,38 @@ public interface MetadataAdapter<C,F,M> {
     boolean isPublic(Object o);
     
     boolean acceptsInput(String file);
-    
+
+    /** pushes the metadata of the given class to the given {@code visitor}, see {@link ClassVisitor}
+     * <p>by default, this is based on the list returning methods of this adapter */
+    default void accept(C cls, ClassVisitor visitor) {
+        String className = getClassName(cls);
+        visitor.visitClass(className, getSuperclassName(cls));
+        for (String interfaceName : getInterfacesNames(cls)) visitor.visitInterface(className, interfaceName);
+        for (String annotationType : getClassAnnotationNames(cls)) visitor.visitClassAnnotation(className, annotationType);
+        if (!visitor.visitsMembers()) {
+            visitor.visitEnd(className);
+            return;
+        }
+
+        for (F field : getFields(cls)) {
+            String fieldName = getFieldName(field);
+            visitor.visitField(className, fieldName);
+            for (String annotationType : getFieldAnnotationNames(field)) visitor.visitFieldAnnotation(className, fieldName, annotationType);
+        }
+
+        for (M method : getMethods(cls)) {
+            String methodName = getMethodName(method);
+            List<String> parameterTypeNames = Collections.unmodifiableList(getParameterNames(method));
+            visitor.visitMethod(className, methodName, parameterTypeNames);
+            for (String annotationType : getMethodAnnotationNames(method)) {
+                visitor.visitMethodAnnotation(className, methodName, parameterTypeNames, annotationType);
+            }
+            for (int i = 0; i < parameterTypeNames.size(); i++) {
+                for (String annotationType : getParameterAnnotationNames(method, i)) {
+                    visitor.visitParameterAnnotation(className, methodName, parameterTypeNames, i, annotationType);
+                }
+            }
+        }
+        visitor.visitEnd(className);
+    }
 }
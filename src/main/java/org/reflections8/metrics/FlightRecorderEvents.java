@@ -0,0 +1,72 @@
+package org.reflections8.metrics;
+
+import java.net.URL;
+import java.util.Collection;
+
+/**
+ * Java Flight Recorder events emitted while scanning, collecting and querying
+ * <p>this is a no-op on Java 8. the multi-release jar contains a Java 11 version of this class in {@code META-INF/versions/11},
+ * which emits {@code jdk.jfr} events under the "Reflections" category, that can be seen in JDK Mission Control alongside the rest of a recording.
+ * <p>each {@code begin*} method returns an event handle, or null if the event is not enabled, which is passed to the matching {@code end*} method.
+ */
+public final class FlightRecorderEvents {
+
+    private FlightRecorderEvents() {}
+
+    /** true if a recording is running, always false on Java 8 */
+    public static boolean isRecording() {
+        return false;
+    }
+
+    /** begins scanning of a url, see {@link org.reflections8.Reflections#scan(URL)} */
+    public static Object beginScanUrl() {
+        return null;
+    }
+
+    /** ends scanning of the given {@code url}
+     * @param files number of files accepted by the inputs filter */
+    public static void endScanUrl(Object event, URL url, int files) {
+    }
+
+    /** begins scanning of a file by a scanner, see {@link org.reflections8.scanners.AbstractScanner#scan(org.reflections8.vfs.Vfs.File, java.util.Optional)} */
+    public static Object beginScanFile() {
+        return null;
+    }
+
+    /** ends scanning of the given {@code path} by the given {@code scanner}
+     * @param parsed true if the class object was created by the metadata adapter while scanning */
+    public static void endScanFile(Object event, String path, String scanner, boolean parsed) {
+    }
+
+    /** begins reading saved metadata, see {@link org.reflections8.Reflections#collect()} */
+    public static Object beginCollect() {
+        return null;
+    }
+
+    /** ends reading saved metadata from the given {@code source} using the given {@code serializer} */
+    public static void endCollect(Object event, String source, String serializer) {
+    }
+
+    /** begins expanding super types, see {@link org.reflections8.Reflections#expandSuperTypes()} */
+    public static Object beginExpandSuperTypes() {
+        return null;
+    }
+
+    /** ends expanding super types
+     * @param keys number of unscanned super types which were expanded
+     * @param expanded number of super type entries added to the store */
+    public static void endExpandSuperTypes(Object event, int keys, int expanded) {
+    }
+
+    /** begins a query */
+    public static Object beginQuery() {
+        return null;
+    }
+
+    /** ends the given {@code query} on the given {@code index} and {@code key}
+     * @param key the queried key, converted to a string only if the event is recorded
+     * @return the given {@code result} */
+    public static <T extends Collection<?>> T endQuery(Object event, String query, String index, Object key, T result) {
+        return result;
+    }
+}
@@ -0,0 +1,77 @@
+package org.reflections8.metrics;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.reflections8.vfs.Vfs;
+
+/** a {@link org.reflections8.vfs.Vfs.File} decorator counting the bytes read from it and the time spent reading them */
+public class MeteredFile implements Vfs.File {
+    private final Vfs.File file;
+    private long bytesRead;
+    private long ioNanos;
+
+    public MeteredFile(Vfs.File file) {
+        this.file = file;
+    }
+
+    public String getName() {
+        return file.getName();
+    }
+
+    public String getRelativePath() {
+        return file.getRelativePath();
+    }
+
+    public InputStream openInputStream() throws IOException {
+        long start = System.nanoTime();
+        try {
+            return new FilterInputStream(file.openInputStream()) {
+                @Override
+                public int read() throws IOException {
+                    long start = System.nanoTime();
+                    try {
+                        int read = super.read();
+                        if (read != -1) bytesRead++;
+                        return read;
+                    } finally {
+                        ioNanos += System.nanoTime() - start;
+                    }
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    long start = System.nanoTime();
+                    try {
+                        int read = super.read(b, off, len);
+                        if (read > 0) bytesRead += read;
+                        return read;
+                    } finally {
+                        ioNanos += System.nanoTime() - start;
+                    }
+                }
+            };
+        } finally {
+            ioNanos += System.nanoTime() - start;
+        }
+    }
+
+    /** the decorated file */
+    public Vfs.File getFile() {
+        return file;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public long getIoNanos() {
+        return ioNanos;
+    }
+
+    @Override
+    public String toString() {
+        return file.toString();
+    }
+}
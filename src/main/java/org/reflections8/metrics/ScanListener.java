@@ -0,0 +1,47 @@
+package org.reflections8.metrics;
+
+import java.net.URL;
+
+import org.reflections8.scanners.Scanner;
+import org.reflections8.vfs.Vfs;
+
+/**
+ * receives structured events while {@link org.reflections8.Reflections} scans its urls
+ * <p>set a listener using {@link org.reflections8.util.ConfigurationBuilder#setScanListener(ScanListener)},
+ * or use {@link ScanMetrics} which aggregates these events into a scan report.
+ * <p>when scanning in parallel, events are delivered concurrently from the scanning threads, so implementations must be thread safe.
+ * <p>each pass over the urls ends with {@link #scanFinished(int, long)}. {@link org.reflections8.Reflections#scanAsync(org.reflections8.Configuration)}
+ * makes one pass per phase, each parsing the files again, so that the events of a url or file are delivered once per phase.
+ * all methods are no-ops by default.
+ */
+public interface ScanListener {
+
+    /** scanning of the given {@code url} started */
+    default void urlOpened(URL url) {}
+
+    /** scanning of the given {@code url} finished
+     * @param entries number of files iterated in the url, accepted by the inputs filter or not
+     * @param bytesRead number of bytes read from the url's files
+     * @param nanos time spent scanning the url */
+    default void urlClosed(URL url, int entries, long bytesRead, long nanos) {}
+
+    /** the metadata adapter created the class object of the given {@code file}
+     * @param ioNanos time spent reading the file in {@link org.reflections8.vfs.Vfs}
+     * @param parseNanos time spent by the {@link org.reflections8.adapters.MetadataAdapter} parsing, not including ioNanos
+     * @param bytesRead number of bytes read from the file */
+    default void fileParsed(URL url, Vfs.File file, long ioNanos, long parseNanos, long bytesRead) {}
+
+    /** the given {@code scanner} scanned the given {@code file} */
+    default void fileScanned(URL url, Vfs.File file, Scanner scanner, long nanos) {}
+
+    /** all scanners finished with the given {@code file}
+     * @param nanos total time spent on the file, including io, parsing and scanning */
+    default void fileFinished(URL url, Vfs.File file, long nanos) {}
+
+    /** the given {@code scanner} could not scan the given {@code file}.
+     * {@code scanner} is null if the metadata adapter could not create the class object */
+    default void scanFailed(URL url, Vfs.File file, Scanner scanner, Throwable e) {}
+
+    /** a pass over all urls finished */
+    default void scanFinished(int urls, long nanos) {}
+}
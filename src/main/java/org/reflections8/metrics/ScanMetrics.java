@@ -0,0 +1,321 @@
+package org.reflections8.metrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.reflections8.ReflectionsException;
+import org.reflections8.scanners.Scanner;
+import org.reflections8.util.Utils;
+import org.reflections8.vfs.Vfs;
+
+/**
+ * a {@link ScanListener} aggregating scan events into metrics, and producing a json scan report
+ * <p>counters are {@link LongAdder}s, so that parallel scanning threads do not contend on the instrumentation itself.
+ * <p>counters are summed over the passes over the urls, see {@link #getPasses()}.
+ * <p>usage:
+ * <pre>
+ *      ScanMetrics metrics = new ScanMetrics();
+ *      new Reflections(new ConfigurationBuilder()
+ *          .forPackages("my.package")
+ *          .setScanListener(metrics));
+ *      metrics.save("target/reflections-scan.json");
+ * </pre>
+ * <p>an example of produced json:
+ * <pre>
+ * {
+ *   "passes": 1, "urls": 2, "entries": 1234, "files": 1200, "bytesRead": 5242880,
+ *   "scanMillis": 812, "ioMillis": 120, "parseMillis": 390, "failures": 0,
+ *   "scanners": {"SubTypesScanner": {"files": 1100, "millis": 40, "failures": 0}, ...},
+ *   "perUrl": [{"url": "file:/...", "entries": 800, "bytesRead": 3145728, "millis": 530}, ...],
+ *   "slowestFiles": [{"url": "file:/...", "path": "my/package/Huge.class", "millis": 12}, ...]
+ * }
+ * </pre>
+ */
+public class ScanMetrics implements ScanListener {
+    private final int slowestFilesCount;
+
+    private final LongAdder urls = new LongAdder();
+    private final LongAdder entries = new LongAdder();
+    private final LongAdder files = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder ioNanos = new LongAdder();
+    private final LongAdder parseNanos = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder passes = new LongAdder();
+    private volatile long scanNanos;
+
+    private final Map<String, ScannerMetrics> scanners = new ConcurrentHashMap<>();
+    private final Map<URL, UrlMetrics> perUrl = new ConcurrentHashMap<>();
+
+    private final PriorityQueue<FileMetrics> slowestFiles = new PriorityQueue<>(Comparator.comparingLong(FileMetrics::getNanos));
+    private volatile long slowestFilesThreshold = -1;
+
+    /** creates a ScanMetrics recording the 10 slowest files */
+    public ScanMetrics() {
+        this(10);
+    }
+
+    /** creates a ScanMetrics recording the given number of slowest files */
+    public ScanMetrics(int slowestFilesCount) {
+        this.slowestFilesCount = slowestFilesCount;
+    }
+
+    @Override
+    public void urlClosed(URL url, int entries, long bytesRead, long nanos) {
+        urls.increment();
+        this.entries.add(entries);
+        this.bytesRead.add(bytesRead);
+        perUrl.merge(url, new UrlMetrics(url, entries, bytesRead, nanos), (previous, next) ->
+                new UrlMetrics(url, previous.entries + next.entries, previous.bytesRead + next.bytesRead, previous.nanos + next.nanos));
+    }
+
+    @Override
+    public void fileParsed(URL url, Vfs.File file, long ioNanos, long parseNanos, long bytesRead) {
+        this.ioNanos.add(ioNanos);
+        this.parseNanos.add(parseNanos);
+    }
+
+    @Override
+    public void fileScanned(URL url, Vfs.File file, Scanner scanner, long nanos) {
+        ScannerMetrics metrics = scannerMetrics(scanner);
+        metrics.files.increment();
+        metrics.nanos.add(nanos);
+    }
+
+    @Override
+    public void fileFinished(URL url, Vfs.File file, long nanos) {
+        files.increment();
+        if (slowestFilesCount > 0 && nanos > slowestFilesThreshold) {
+            synchronized (slowestFiles) {
+                slowestFiles.add(new FileMetrics(url, file.getRelativePath(), nanos));
+                if (slowestFiles.size() > slowestFilesCount) {
+                    slowestFiles.poll();
+                    slowestFilesThreshold = slowestFiles.peek().getNanos();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void scanFailed(URL url, Vfs.File file, Scanner scanner, Throwable e) {
+        failures.increment();
+        if (scanner != null) {
+            scannerMetrics(scanner).failures.increment();
+        }
+    }
+
+    @Override
+    public void scanFinished(int urls, long nanos) {
+        passes.increment();
+        scanNanos += nanos;
+    }
+
+    private ScannerMetrics scannerMetrics(Scanner scanner) {
+        return scanners.computeIfAbsent(scanner.getClass().getSimpleName(), name -> new ScannerMetrics());
+    }
+
+    //
+    /** number of passes over the urls, one per phase of {@link org.reflections8.Reflections#scanAsync(org.reflections8.Configuration)}, which scans the urls twice if it has scanners in both phases */
+    public long getPasses() { return passes.sum(); }
+
+    /** number of urls scanned */
+    public long getUrls() { return urls.sum(); }
+
+    /** number of entries iterated in all urls */
+    public long getEntries() { return entries.sum(); }
+
+    /** number of files accepted by the inputs filter and scanned */
+    public long getFiles() { return files.sum(); }
+
+    /** number of bytes read from all urls */
+    public long getBytesRead() { return bytesRead.sum(); }
+
+    /** time spent reading class files in {@link org.reflections8.vfs.Vfs} */
+    public long getIoNanos() { return ioNanos.sum(); }
+
+    /** time spent by the {@link org.reflections8.adapters.MetadataAdapter} parsing class files */
+    public long getParseNanos() { return parseNanos.sum(); }
+
+    /** total wall time of the scan */
+    public long getScanNanos() { return scanNanos; }
+
+    /** number of failures, of all scanners */
+    public long getFailures() { return failures.sum(); }
+
+    /** time spent by the given scanner type */
+    public long getScannerNanos(Class<? extends Scanner> scannerClass) {
+        ScannerMetrics metrics = scanners.get(scannerClass.getSimpleName());
+        return metrics != null ? metrics.nanos.sum() : 0;
+    }
+
+    /** number of failures of the given scanner type */
+    public long getScannerFailures(Class<? extends Scanner> scannerClass) {
+        ScannerMetrics metrics = scanners.get(scannerClass.getSimpleName());
+        return metrics != null ? metrics.failures.sum() : 0;
+    }
+
+    /** the slowest files, slowest first */
+    public List<FileMetrics> getSlowestFiles() {
+        List<FileMetrics> result;
+        synchronized (slowestFiles) {
+            result = new ArrayList<>(slowestFiles);
+        }
+        result.sort(Comparator.comparingLong(FileMetrics::getNanos).reversed());
+        return result;
+    }
+
+    /** the metrics of each scanned url */
+    public List<UrlMetrics> getUrlMetrics() {
+        List<UrlMetrics> result = new ArrayList<>(perUrl.values());
+        result.sort(Comparator.comparingLong(UrlMetrics::getNanos).reversed());
+        return Collections.unmodifiableList(result);
+    }
+
+    /** returns the scan report as json */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\n");
+        sb.append("  \"passes\": ").append(getPasses()).append(",\n");
+        sb.append("  \"urls\": ").append(getUrls()).append(",\n");
+        sb.append("  \"entries\": ").append(getEntries()).append(",\n");
+        sb.append("  \"files\": ").append(getFiles()).append(",\n");
+        sb.append("  \"bytesRead\": ").append(getBytesRead()).append(",\n");
+        sb.append("  \"scanMillis\": ").append(millis(getScanNanos())).append(",\n");
+        sb.append("  \"ioMillis\": ").append(millis(getIoNanos())).append(",\n");
+        sb.append("  \"parseMillis\": ").append(millis(getParseNanos())).append(",\n");
+        sb.append("  \"failures\": ").append(getFailures()).append(",\n");
+
+        sb.append("  \"scanners\": {");
+        String separator = "\n";
+        for (Map.Entry<String, ScannerMetrics> entry : new TreeMap<>(scanners).entrySet()) {
+            ScannerMetrics metrics = entry.getValue();
+            sb.append(separator).append("    ").append(quote(entry.getKey())).append(": {")
+                    .append("\"files\": ").append(metrics.files.sum())
+                    .append(", \"millis\": ").append(millis(metrics.nanos.sum()))
+                    .append(", \"failures\": ").append(metrics.failures.sum()).append("}");
+            separator = ",\n";
+        }
+        sb.append("\n  },\n");
+
+        sb.append("  \"perUrl\": [");
+        separator = "\n";
+        for (UrlMetrics metrics : getUrlMetrics()) {
+            sb.append(separator).append("    {\"url\": ").append(quote(metrics.getUrl().toExternalForm()))
+                    .append(", \"entries\": ").append(metrics.getEntries())
+                    .append(", \"bytesRead\": ").append(metrics.getBytesRead())
+                    .append(", \"millis\": ").append(millis(metrics.getNanos())).append("}");
+            separator = ",\n";
+        }
+        sb.append("\n  ],\n");
+
+        sb.append("  \"slowestFiles\": [");
+        separator = "\n";
+        for (FileMetrics metrics : getSlowestFiles()) {
+            sb.append(separator).append("    {\"url\": ").append(quote(metrics.getUrl().toExternalForm()))
+                    .append(", \"path\": ").append(quote(metrics.getPath()))
+                    .append(", \"millis\": ").append(millis(metrics.getNanos())).append("}");
+            separator = ",\n";
+        }
+        sb.append("\n  ]\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    /** saves the json scan report into the given filename */
+    public File save(String filename) {
+        try {
+            File file = Utils.prepareFile(filename);
+            Files.write(file.toPath(), toJson().getBytes(StandardCharsets.UTF_8));
+            return file;
+        } catch (IOException e) {
+            throw new ReflectionsException("could not save scan report to file " + filename, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return toJson();
+    }
+
+    private static long millis(long nanos) {
+        return nanos / 1000000;
+    }
+
+    private static String quote(String s) {
+        StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    private static class ScannerMetrics {
+        private final LongAdder files = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+    }
+
+    /** the metrics of a scanned url */
+    public static class UrlMetrics {
+        private final URL url;
+        private final int entries;
+        private final long bytesRead;
+        private final long nanos;
+
+        UrlMetrics(URL url, int entries, long bytesRead, long nanos) {
+            this.url = url;
+            this.entries = entries;
+            this.bytesRead = bytesRead;
+            this.nanos = nanos;
+        }
+
+        public URL getUrl() { return url; }
+        public int getEntries() { return entries; }
+        public long getBytesRead() { return bytesRead; }
+        public long getNanos() { return nanos; }
+    }
+
+    /** the time spent on a scanned file */
+    public static class FileMetrics {
+        private final URL url;
+        private final String path;
+        private final long nanos;
+
+        FileMetrics(URL url, String path, long nanos) {
+            this.url = url;
+            this.path = path;
+            this.nanos = nanos;
+        }
+
+        public URL getUrl() { return url; }
+        public String getPath() { return path; }
+        public long getNanos() { return nanos; }
+
+        @Override
+        public String toString() {
+            return url + "!" + path + " " + millis(nanos) + " ms";
+        }
+    }
+}
@@ -4,8 +4,8 @@ import java.util.Optional;
 import java.util.function.Predicate;
 
 import org.reflections8.Configuration;
-import org.reflections8.ReflectionsException;
 import org.reflections8.adapters.MetadataAdapter;
+import org.reflections8.metrics.FlightRecorderEvents;
 import org.reflections8.util.AlwaysTruePredicate;
 import org.reflections8.util.SetMultimap;
 import org.reflections8.vfs.Vfs;
@@ -25,15 +25,25 @@ public abstract class AbstractScanner implements Scanner {
     }
 
     public Object scan(Vfs.File file, Optional<Object> classObject) {
-        if (!classObject.isPresent()) {
-            try {
-                classObject = Optional.of(configuration.getMetadataAdapter().getOrCreateClassObject(file));
-            } catch (Exception e) {
-                throw new ReflectionsException("could not create class object from file " + file.getRelativePath(), e);
-            }
+        ClassContext context = ClassContext.forFile(getMetadataAdapter(), file, classObject);
+        scan(file, context);
+        return context.getClassObject();
+    }
+
+    @Override
+    public void scan(Vfs.File file, ClassContext context) {
+        Object event = FlightRecorderEvents.beginScanFile();
+        boolean parsed = !context.isParsed();
+        try {
+            scan(context);
+        } finally {
+            FlightRecorderEvents.endScanFile(event, file.getRelativePath(), getClass().getSimpleName(), parsed && context.isParsed());
         }
-        scan(classObject.get());
-        return classObject.get();
+    }
+
+    /** scans the class of the given {@code context}, override to use its shared metadata */
+    protected void scan(ClassContext context) {
+        scan(context.getClassObject());
     }
 
     public abstract void scan(Object cls);
@@ -0,0 +1,57 @@
+package org.reflections8.scanners;
+
+import java.util.Map;
+
+/**
+ * scans for annotation member values of types, methods, constructors and fields, so that annotation members can be matched without loading classes
+ * <p>for each explicitly declared member of an annotation, stores both the key {@code annotation#member} and the key {@code annotation#member=value}
+ * with the annotated element as value - a type fqn, a method or constructor full key, or a field fqn.
+ * primitives, strings, enum constants and class literals are indexed, as given by {@link org.reflections8.util.Utils#annotationMemberValue(Object)}.
+ * <p>used by {@link org.reflections8.Reflections#getTypesAnnotatedWith(java.lang.annotation.Annotation)} and alike,
+ * and by {@link org.reflections8.Reflections#getTypesAnnotatedWith(Class, Map)} and alike
+ */
+@SuppressWarnings({"unchecked"})
+public class AnnotationValuesScanner extends AbstractScanner {
+
+    public void scan(final Object cls) {
+        scan(ClassContext.forClass(getMetadataAdapter(), cls));
+    }
+
+    @Override
+    protected void scan(ClassContext context) {
+        final Object cls = context.getClassObject();
+        final String className = context.getClassName();
+        put(getMetadataAdapter().getClassAnnotationValues(cls), className);
+
+        for (MethodMetadata method : context.getMethods()) {
+            Map<String, Map<String, String>> values = getMetadataAdapter().getMethodAnnotationValues(method.getMethod());
+            if (!values.isEmpty()) put(values, method.getFullKey());
+        }
+
+        for (Object field : getMetadataAdapter().getFields(cls)) {
+            Map<String, Map<String, String>> values = getMetadataAdapter().getFieldAnnotationValues(field);
+            if (!values.isEmpty()) put(values, String.format("%s.%s", className, getMetadataAdapter().getFieldName(field)));
+        }
+    }
+
+    private void put(Map<String, Map<String, String>> annotationValues, String element) {
+        for (Map.Entry<String, Map<String, String>> annotation : annotationValues.entrySet()) {
+            if (acceptResult(annotation.getKey())) {
+                for (Map.Entry<String, String> member : annotation.getValue().entrySet()) {
+                    getStore().putSingle(key(annotation.getKey(), member.getKey()), element);
+                    getStore().putSingle(key(annotation.getKey(), member.getKey(), member.getValue()), element);
+                }
+            }
+        }
+    }
+
+    /** the key of elements declaring the given annotation member explicitly */
+    public static String key(String annotation, String member) {
+        return annotation + "#" + member;
+    }
+
+    /** the key of elements declaring the given annotation member explicitly with the given indexed value */
+    public static String key(String annotation, String member, String value) {
+        return key(annotation, member) + "=" + value;
+    }
+}
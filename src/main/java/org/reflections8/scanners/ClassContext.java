@@ -0,0 +1,104 @@
+package org.reflections8.scanners;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.reflections8.ReflectionsException;
+import org.reflections8.adapters.ClassVisitor;
+import org.reflections8.adapters.ClassVisitors;
+import org.reflections8.adapters.MetadataAdapter;
+import org.reflections8.vfs.Vfs;
+
+/**
+ * the file being scanned, passed to each of the scanners in turn, holding what they share - the class object,
+ * created once by the first scanner which needs it, its name and its {@link MethodMetadata}
+ * <p>created per file by {@link org.reflections8.Reflections}, and dropped once all the scanners scanned the file.
+ * the visitors of a file are deferred by {@link #deferVisitors()}, and the class is pushed once to all of them by {@link #visit()}
+ */
+@SuppressWarnings("unchecked")
+public class ClassContext {
+    private final MetadataAdapter md;
+    private final Vfs.File file;
+    private Object classObject;
+    private ReflectionsException failure;
+    private String className;
+    private List<MethodMetadata> methods;
+    private List<ClassVisitor> visitors;
+
+    private ClassContext(MetadataAdapter md, Vfs.File file, Object classObject) {
+        this.md = md;
+        this.file = file;
+        this.classObject = classObject;
+    }
+
+    /** the context of the given {@code file}, parsed lazily unless its {@code classObject} was already created */
+    public static ClassContext forFile(MetadataAdapter md, Vfs.File file, Optional<Object> classObject) {
+        return new ClassContext(md, file, classObject.orElse(null));
+    }
+
+    /** the context of the given class object */
+    public static ClassContext forClass(MetadataAdapter md, Object cls) {
+        return new ClassContext(md, null, cls);
+    }
+
+    /** defers the visitors passed to {@link #accept(ClassVisitor)} until {@link #visit()} */
+    public ClassContext deferVisitors() {
+        visitors = new ArrayList<>();
+        return this;
+    }
+
+    /** pushes the metadata of the class to the given {@code visitor}, or to all deferred visitors at once on {@link #visit()} */
+    public void accept(ClassVisitor visitor) {
+        if (visitors != null) visitors.add(visitor);
+        else md.accept(getClassObject(), visitor);
+    }
+
+    /** pushes the metadata of the class once to all the deferred visitors */
+    public void visit() {
+        if (visitors == null || visitors.isEmpty()) return;
+        ClassVisitor visitor = ClassVisitors.of(visitors);
+        visitors.clear();
+        md.accept(getClassObject(), visitor);
+    }
+
+    /** true if the class object was created */
+    public boolean isParsed() {
+        return classObject != null;
+    }
+
+    /** the class object, depending on the {@link MetadataAdapter}, created from the file on first call */
+    public Object getClassObject() {
+        if (classObject == null) {
+            if (failure != null) throw failure;
+            try {
+                classObject = md.getOrCreateClassObject(file);
+            } catch (Exception e) {
+                throw failure = new ReflectionsException("could not create class object from file " + file.getRelativePath(), e);
+            }
+        }
+        return classObject;
+    }
+
+    void setClassObject(Object classObject) {
+        this.classObject = classObject;
+    }
+
+    public String getClassName() {
+        if (className == null) className = md.getClassName(getClassObject());
+        return className;
+    }
+
+    /** the methods and constructors of the class */
+    public List<MethodMetadata> getMethods() {
+        if (methods == null) {
+            Object cls = getClassObject();
+            List<Object> list = md.getMethods(cls);
+            List<MethodMetadata> result = new ArrayList<>(list.size());
+            for (Object method : list) result.add(new MethodMetadata(md, cls, method));
+            methods = Collections.unmodifiableList(result);
+        }
+        return methods;
+    }
+}
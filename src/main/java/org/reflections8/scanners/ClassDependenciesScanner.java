@@ -0,0 +1,142 @@
+package org.reflections8.scanners;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javassist.bytecode.AnnotationsAttribute;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.FieldInfo;
+import javassist.bytecode.MethodInfo;
+import javassist.bytecode.SignatureAttribute;
+import javassist.bytecode.annotation.Annotation;
+
+/** scans the types referenced by classes, and stores the referenced type fqn as key and the referencing type fqn as values
+ * <p>reads only the class file header and constant pool: class entries, field and method descriptors, generic signatures and annotation types,
+ * without walking method bodies or resolving types. it is therefore much cheaper than {@link MemberUsageScanner}
+ * <p>see {@link org.reflections8.Reflections#getDependents(String)} and {@link org.reflections8.Reflections#getDependencies(String)}
+ * <p><i> depends on {@link org.reflections8.adapters.JavassistAdapter} configured </i>*/
+@SuppressWarnings("unchecked")
+public class ClassDependenciesScanner extends AbstractScanner {
+
+    @Override
+    public void scan(Object cls) {
+        ClassFile classFile = (ClassFile) cls;
+        String className = classFile.getName();
+        Set<String> referenced = new HashSet<>();
+        ConstPool constPool = classFile.getConstPool();
+
+        for (int i = 1; i < constPool.getSize(); i++) {
+            switch (constPool.getTag(i)) {
+                case ConstPool.CONST_Class:
+                    addTypes(constPool.getClassInfoByDescriptor(i), referenced);
+                    break;
+                case ConstPool.CONST_NameAndType:
+                    addTypes(constPool.getUtf8Info(constPool.getNameAndTypeDescriptor(i)), referenced);
+                    break;
+                case ConstPool.CONST_MethodType:
+                    addTypes(constPool.getUtf8Info(constPool.getMethodTypeInfo(i)), referenced);
+                    break;
+                case ConstPool.CONST_Long:
+                case ConstPool.CONST_Double:
+                    i++; //takes two entries
+                    break;
+            }
+        }
+
+        addAttributes(classFile.getAttribute(SignatureAttribute.tag),
+                classFile.getAttribute(AnnotationsAttribute.visibleTag), classFile.getAttribute(AnnotationsAttribute.invisibleTag), referenced);
+        for (FieldInfo field : (List<FieldInfo>) classFile.getFields()) {
+            addTypes(field.getDescriptor(), referenced);
+            addAttributes(field.getAttribute(SignatureAttribute.tag),
+                    field.getAttribute(AnnotationsAttribute.visibleTag), field.getAttribute(AnnotationsAttribute.invisibleTag), referenced);
+        }
+        for (MethodInfo method : (List<MethodInfo>) classFile.getMethods()) {
+            addTypes(method.getDescriptor(), referenced);
+            addAttributes(method.getAttribute(SignatureAttribute.tag),
+                    method.getAttribute(AnnotationsAttribute.visibleTag), method.getAttribute(AnnotationsAttribute.invisibleTag), referenced);
+        }
+
+        referenced.remove(className);
+        for (String type : referenced) {
+            if (acceptResult(type)) {
+                getStore().putSingle(type, className);
+            }
+        }
+    }
+
+    private static void addAttributes(Object signature, Object visibleAnnotations, Object invisibleAnnotations, Set<String> referenced) {
+        if (signature != null) addTypes(((SignatureAttribute) signature).getSignature(), referenced);
+        for (Object annotations : new Object[] {visibleAnnotations, invisibleAnnotations}) {
+            if (annotations != null) {
+                for (Annotation annotation : ((AnnotationsAttribute) annotations).getAnnotations()) {
+                    referenced.add(annotation.getTypeName());
+                }
+            }
+        }
+    }
+
+    /** adds the class names referenced by the given field or method descriptor, or generic class, field or method signature */
+    static void addTypes(String signature, Set<String> referenced) {
+        int pos = 0;
+        if (signature.startsWith("<")) pos = typeParameters(signature, pos, referenced);
+        while (pos < signature.length()) {
+            char c = signature.charAt(pos);
+            pos = c == '(' || c == ')' || c == '^' ? pos + 1 : type(signature, pos, referenced);
+        }
+    }
+
+    private static int typeParameters(String signature, int pos, Set<String> referenced) {
+        pos++; //<
+        while (signature.charAt(pos) != '>') {
+            pos = signature.indexOf(':', pos); //identifier
+            while (signature.charAt(pos) == ':') {
+                pos++;
+                if (signature.charAt(pos) != ':') pos = type(signature, pos, referenced);
+            }
+        }
+        return pos + 1;
+    }
+
+    private static int type(String signature, int pos, Set<String> referenced) {
+        switch (signature.charAt(pos)) {
+            case '[':
+                return type(signature, pos + 1, referenced);
+            case 'T':
+                return signature.indexOf(';', pos) + 1;
+            case 'L':
+                StringBuilder name = new StringBuilder();
+                int start = pos + 1;
+                while (true) {
+                    char c = signature.charAt(pos);
+                    if (c == ';') {
+                        name.append(signature, start, pos);
+                        referenced.add(name.toString().replace('/', '.'));
+                        return pos + 1;
+                    } else if (c == '<') {
+                        name.append(signature, start, pos);
+                        pos = typeArguments(signature, pos, referenced);
+                        start = pos;
+                    } else if (c == '.') { //inner class of a parameterized type
+                        name.append(signature, start, pos).append('$');
+                        start = ++pos;
+                    } else {
+                        pos++;
+                    }
+                }
+            default: //primitive or void
+                return pos + 1;
+        }
+    }
+
+    private static int typeArguments(String signature, int pos, Set<String> referenced) {
+        pos++; //<
+        while (signature.charAt(pos) != '>') {
+            char c = signature.charAt(pos);
+            if (c == '*') pos++;
+            else pos = type(signature, c == '+' || c == '-' ? pos + 1 : pos, referenced);
+        }
+        return pos + 1;
+    }
+}
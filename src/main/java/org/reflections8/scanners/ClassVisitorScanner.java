@@ -0,0 +1,23 @@
+package org.reflections8.scanners;
+
+import org.reflections8.adapters.ClassVisitor;
+
+/**
+ * a scanner receiving the metadata of each scanned class as events, see {@link ClassVisitor}
+ * <p>scanning a class object pushes its metadata using {@link org.reflections8.adapters.MetadataAdapter#accept(Object, ClassVisitor)},
+ * which avoids the per class lists returned by the other adapter methods.
+ * the visitor scanners of a file share one such walk of its class, see {@link ClassContext#deferVisitors()}.
+ * <p>the same scanner instance receives events of classes scanned in parallel, hence implementations should not keep state between events
+ */
+@SuppressWarnings({"unchecked"})
+public abstract class ClassVisitorScanner extends AbstractScanner implements ClassVisitor {
+
+    public void scan(Object cls) {
+        getMetadataAdapter().accept(cls, this);
+    }
+
+    @Override
+    protected void scan(ClassContext context) {
+        context.accept(this);
+    }
+}
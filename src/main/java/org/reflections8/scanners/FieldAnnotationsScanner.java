@@ -1,22 +1,13 @@
 package org.reflections8.scanners;
 
-import java.util.List;
-
 /** scans for field's annotations */
-@SuppressWarnings({"unchecked"})
-public class FieldAnnotationsScanner extends AbstractScanner {
-    public void scan(final Object cls) {
-        final String className = getMetadataAdapter().getClassName(cls);
-        List<Object> fields = getMetadataAdapter().getFields(cls);
-        for (final Object field : fields) {
-            List<String> fieldAnnotations = getMetadataAdapter().getFieldAnnotationNames(field);
-            for (String fieldAnnotation : fieldAnnotations) {
+public class FieldAnnotationsScanner extends ClassVisitorScanner {
 
-                if (acceptResult(fieldAnnotation)) {
-                    String fieldName = getMetadataAdapter().getFieldName(field);
-                    getStore().putSingle(fieldAnnotation, String.format("%s.%s", className, fieldName));
-                }
-            }
+    @Override
+    public void visitFieldAnnotation(CharSequence className, CharSequence fieldName, CharSequence annotationType) {
+        String fieldAnnotation = annotationType.toString();
+        if (acceptResult(fieldAnnotation)) {
+            getStore().putSingle(fieldAnnotation, className + "." + fieldName);
         }
     }
 }
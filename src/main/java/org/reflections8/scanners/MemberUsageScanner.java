@@ -1,115 +1,114 @@
 package org.reflections8.scanners;
 
-import java.util.Optional;
-
 import org.reflections8.ReflectionsException;
-import org.reflections8.util.ClasspathHelper;
+import org.reflections8.adapters.JavassistAdapter;
 import org.reflections8.util.Joiner;
+import org.reflections8.util.MemberUsageMultimap;
 
-import javassist.CannotCompileException;
-import javassist.ClassPool;
-import javassist.CtBehavior;
-import javassist.CtClass;
-import javassist.LoaderClassPath;
-import javassist.NotFoundException;
+import javassist.bytecode.BadBytecode;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.CodeAttribute;
+import javassist.bytecode.CodeIterator;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.LineNumberAttribute;
 import javassist.bytecode.MethodInfo;
-import javassist.expr.ConstructorCall;
-import javassist.expr.ExprEditor;
-import javassist.expr.FieldAccess;
-import javassist.expr.MethodCall;
-import javassist.expr.NewExpr;
+import javassist.bytecode.Opcode;
 
 /** scans methods/constructors/fields usage
+ * <p>walks the bytecode of each method and constructor, and reads the owner, name and descriptor of invoked methods,
+ * invoked constructors and accessed fields from the constant pool, without resolving them.
+ * members are therefore keyed by the owner referenced in the class file, which is the static type of the receiver.
+ * queries resolve the keys of sub types to the declaring class, faster if {@link SubTypesScanner} is configured as well,
+ * see {@link org.reflections8.Reflections#getMethodUsage(java.lang.reflect.Method)}
+ * <p>usages are stored as {@code caller #line} values, in a compact {@link MemberUsageMultimap} when scanned into a {@link org.reflections8.Store},
+ * see {@link org.reflections8.Reflections#getMethodUsageSites(java.lang.reflect.Method)}
  * <p><i> depends on {@link org.reflections8.adapters.JavassistAdapter} configured </i>*/
 @SuppressWarnings("unchecked")
 public class MemberUsageScanner extends AbstractScanner {
-    private ClassPool classPool;
 
     @Override
     public void scan(Object cls) {
-        try {
-            CtClass ctClass = getClassPool().get(getMetadataAdapter().getClassName(cls));
-            for (CtBehavior member : ctClass.getDeclaredConstructors()) {
-                scanMember(member);
-            }
-            for (CtBehavior member : ctClass.getDeclaredMethods()) {
-                scanMember(member);
+        ClassFile classFile = (ClassFile) cls;
+        for (MethodInfo method : (Iterable<MethodInfo>) classFile.getMethods()) {
+            if (!method.isStaticInitializer()) {
+                try {
+                    scanMember(classFile, method);
+                } catch (BadBytecode e) {
+                    throw new ReflectionsException("Could not scan method usage for " + classFile.getName() + "." + method.getName(), e);
+                }
             }
-            ctClass.detach();
-        } catch (Exception e) {
-            throw new ReflectionsException("Could not scan method usage for " + getMetadataAdapter().getClassName(cls), e);
         }
     }
 
-    void scanMember(CtBehavior member) throws CannotCompileException {
+    void scanMember(ClassFile classFile, MethodInfo member) throws BadBytecode {
+        CodeAttribute code = member.getCodeAttribute();
+        if (code == null) return; //abstract or native
+
         //key contains this$/val$ means local field/parameter closure
-        final String key = member.getDeclaringClass().getName() + "." + member.getMethodInfo().getName() +
-                "(" + parameterNames(member.getMethodInfo()) + ")"; //+ " #" + member.getMethodInfo().getLineNumber(0)
-        member.instrument(new ExprEditor() {
-            @Override
-            public void edit(NewExpr e) throws CannotCompileException {
-                try {
-                    put(e.getConstructor().getDeclaringClass().getName() + "." + "<init>" +
-                            "(" + parameterNames(e.getConstructor().getMethodInfo()) + ")", e.getLineNumber(), key);
-                } catch (NotFoundException e1) {
-                    throw new ReflectionsException("Could not find new instance usage in " + key, e1);
-                }
-            }
+        final String key = classFile.getName() + "." + member.getName() + "(" + parameterNames(member) + ")";
+        ConstPool constPool = code.getConstPool();
+        LineNumberAttribute lineNumbers = (LineNumberAttribute) code.getAttribute(LineNumberAttribute.tag);
 
-            @Override
-            public void edit(MethodCall m) throws CannotCompileException {
-                try {
-                    put(m.getMethod().getDeclaringClass().getName() + "." + m.getMethodName() +
-                            "(" + parameterNames(m.getMethod().getMethodInfo()) + ")", m.getLineNumber(), key);
-                } catch (NotFoundException e) {
-                    throw new ReflectionsException("Could not find member " + m.getClassName() + " in " + key, e);
+        CodeIterator iterator = code.iterator();
+        while (iterator.hasNext()) {
+            int pos = iterator.next();
+            int opcode = iterator.byteAt(pos);
+            switch (opcode) {
+                case Opcode.INVOKEVIRTUAL:
+                case Opcode.INVOKESPECIAL:
+                case Opcode.INVOKESTATIC: {
+                    int index = iterator.u16bitAt(pos + 1);
+                    if (constPool.getTag(index) == ConstPool.CONST_InterfaceMethodref) { //interface static or private methods
+                        putMethod(constPool.getInterfaceMethodrefClassName(index), constPool.getInterfaceMethodrefName(index),
+                                constPool.getInterfaceMethodrefType(index), lineNumber(lineNumbers, pos), key);
+                    } else {
+                        putMethod(constPool.getMethodrefClassName(index), constPool.getMethodrefName(index),
+                                constPool.getMethodrefType(index), lineNumber(lineNumbers, pos), key);
+                    }
+                    break;
                 }
-            }
-
-            @Override
-            public void edit(ConstructorCall c) throws CannotCompileException {
-                try {
-                    put(c.getConstructor().getDeclaringClass().getName() + "." + "<init>" +
-                            "(" + parameterNames(c.getConstructor().getMethodInfo()) + ")", c.getLineNumber(), key);
-                } catch (NotFoundException e) {
-                    throw new ReflectionsException("Could not find member " + c.getClassName() + " in " + key, e);
+                case Opcode.INVOKEINTERFACE: {
+                    int index = iterator.u16bitAt(pos + 1);
+                    putMethod(constPool.getInterfaceMethodrefClassName(index), constPool.getInterfaceMethodrefName(index),
+                            constPool.getInterfaceMethodrefType(index), lineNumber(lineNumbers, pos), key);
+                    break;
                 }
-            }
-
-            @Override
-            public void edit(FieldAccess f) throws CannotCompileException {
-                try {
-                    put(f.getField().getDeclaringClass().getName() + "." + f.getFieldName(), f.getLineNumber(), key);
-                } catch (NotFoundException e) {
-                    throw new ReflectionsException("Could not find member " + f.getFieldName() + " in " + key, e);
+                case Opcode.GETFIELD:
+                case Opcode.PUTFIELD:
+                case Opcode.GETSTATIC:
+                case Opcode.PUTSTATIC: {
+                    int index = iterator.u16bitAt(pos + 1);
+                    put(constPool.getFieldrefClassName(index) + "." + constPool.getFieldrefName(index), lineNumber(lineNumbers, pos), key);
+                    break;
                 }
             }
-        });
+        }
+    }
+
+    private void putMethod(String owner, String name, String descriptor, int lineNumber, String value) {
+        //invokespecial of <init> covers both new instances and this()/super() calls
+        put(owner + "." + name + "(" + Joiner.on(", ").join(getJavassistAdapter().getParameterNames(descriptor)) + ")", lineNumber, value);
     }
 
     private void put(String key, int lineNumber, String value) {
         if (acceptResult(key)) {
-            getStore().putSingle(key, value + " #" + lineNumber);
+            if (getStore() instanceof MemberUsageMultimap) {
+                ((MemberUsageMultimap) getStore()).put(key, value, lineNumber);
+            } else {
+                getStore().putSingle(key, value + " #" + lineNumber);
+            }
         }
     }
 
+    private static int lineNumber(LineNumberAttribute lineNumbers, int pos) {
+        return lineNumbers != null ? lineNumbers.toLineNumber(pos) : -1;
+    }
+
     String parameterNames(MethodInfo info) {
         return Joiner.on(", ").join(getMetadataAdapter().getParameterNames(info));
     }
 
-    private ClassPool getClassPool() {
-        if (classPool == null) {
-            synchronized (this) {
-                classPool = new ClassPool();
-                Optional<ClassLoader[]> classLoaders = getConfiguration().getClassLoaders();
-                if (!classLoaders.isPresent()) {
-                    classLoaders = ClasspathHelper.classLoaders();
-                }
-                for (ClassLoader classLoader : classLoaders.get()) {
-                    classPool.appendClassPath(new LoaderClassPath(classLoader));
-                }
-            }
-        }
-        return classPool;
+    private JavassistAdapter getJavassistAdapter() {
+        return (JavassistAdapter) getMetadataAdapter();
     }
 }
@@ -2,16 +2,33 @@ package org.reflections8.scanners;
 
 import java.util.List;
 
+import org.reflections8.adapters.ClassVisitor;
+import org.reflections8.util.Joiner;
+
 @SuppressWarnings({"unchecked"})
-/** scans for method's annotations */
-public class MethodAnnotationsScanner extends AbstractScanner {
+/** scans for method's annotations
+ * <p>also receives method annotations pushed as {@link ClassVisitor} events, such as by {@link org.reflections8.adapters.JandexIndex} */
+public class MethodAnnotationsScanner extends AbstractScanner implements ClassVisitor {
     public void scan(final Object cls) {
-        for (Object method : getMetadataAdapter().getMethods(cls)) {
-            for (String methodAnnotation : (List<String>) getMetadataAdapter().getMethodAnnotationNames(method)) {
+        scan(ClassContext.forClass(getMetadataAdapter(), cls));
+    }
+
+    @Override
+    protected void scan(ClassContext context) {
+        for (MethodMetadata method : context.getMethods()) {
+            for (String methodAnnotation : (List<String>) getMetadataAdapter().getMethodAnnotationNames(method.getMethod())) {
                 if (acceptResult(methodAnnotation)) {
-                    getStore().putSingle(methodAnnotation, getMetadataAdapter().getMethodFullKey(cls, method));
+                    getStore().putSingle(methodAnnotation, method.getFullKey());
                 }
             }
         }
     }
+
+    @Override
+    public void visitMethodAnnotation(CharSequence className, CharSequence methodName, List<String> parameterTypeNames, CharSequence annotationType) {
+        String methodAnnotation = annotationType.toString();
+        if (acceptResult(methodAnnotation)) {
+            getStore().putSingle(methodAnnotation, className + "." + methodName + "(" + Joiner.on(", ").join(parameterTypeNames) + ")");
+        }
+    }
 }
@@ -0,0 +1,56 @@
+package org.reflections8.scanners;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.reflections8.adapters.MetadataAdapter;
+
+/**
+ * a method or constructor of a scanned class, with its derived metadata - parameter type names, return type name and keys - computed once
+ * <p>shared through the {@link ClassContext} by the scanners scanning the same class,
+ * such as {@link MethodAnnotationsScanner}, {@link MethodParameterScanner} and {@link MethodParameterNamesScanner},
+ * instead of each decoding the same descriptors again
+ */
+@SuppressWarnings("unchecked")
+public class MethodMetadata {
+    private final MetadataAdapter md;
+    private final Object cls;
+    private final Object method;
+    private List<String> parameterNames;
+    private String returnTypeName;
+    private String key;
+    private String fullKey;
+
+    MethodMetadata(MetadataAdapter md, Object cls, Object method) {
+        this.md = md;
+        this.cls = cls;
+        this.method = method;
+    }
+
+    /** the method object, depending on the {@link MetadataAdapter} */
+    public Object getMethod() {
+        return method;
+    }
+
+    public List<String> getParameterNames() {
+        if (parameterNames == null) parameterNames = Collections.unmodifiableList(md.getParameterNames(method));
+        return parameterNames;
+    }
+
+    public String getReturnTypeName() {
+        if (returnTypeName == null) returnTypeName = md.getReturnTypeName(method);
+        return returnTypeName;
+    }
+
+    /** as given by {@link MetadataAdapter#getMethodKey(Object, Object)}, such as {@code bar(int, java.lang.String)} */
+    public String getKey() {
+        if (key == null) key = md.getMethodKey(cls, method);
+        return key;
+    }
+
+    /** as given by {@link MetadataAdapter#getMethodFullKey(Object, Object)}, such as {@code com.acme.Foo.bar(int, java.lang.String)} */
+    public String getFullKey() {
+        if (fullKey == null) fullKey = md.getMethodFullKey(cls, method);
+        return fullKey;
+    }
+}
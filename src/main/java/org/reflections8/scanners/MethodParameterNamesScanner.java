@@ -4,7 +4,6 @@ import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.reflections8.adapters.MetadataAdapter;
 import org.reflections8.util.Joiner;
 
 import javassist.bytecode.LocalVariableAttribute;
@@ -16,10 +15,14 @@ public class MethodParameterNamesScanner extends AbstractScanner {
 
     @Override
     public void scan(Object cls) {
-        final MetadataAdapter md = getMetadataAdapter();
+        scan(ClassContext.forClass(getMetadataAdapter(), cls));
+    }
 
-        for (Object method : md.getMethods(cls)) {
-            String key = md.getMethodFullKey(cls, method);
+    @Override
+    protected void scan(ClassContext context) {
+        for (MethodMetadata metadata : context.getMethods()) {
+            Object method = metadata.getMethod();
+            String key = metadata.getFullKey();
             if (acceptResult(key)) {
                 LocalVariableAttribute table = (LocalVariableAttribute) ((MethodInfo) method).getCodeAttribute().getAttribute(LocalVariableAttribute.tag);
                 int length = table.tableLength();
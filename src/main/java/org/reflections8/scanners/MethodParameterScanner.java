@@ -10,25 +10,30 @@ public class MethodParameterScanner extends AbstractScanner {
 
     @Override
     public void scan(Object cls) {
+        scan(ClassContext.forClass(getMetadataAdapter(), cls));
+    }
+
+    @Override
+    protected void scan(ClassContext context) {
         final MetadataAdapter md = getMetadataAdapter();
 
-        for (Object method : md.getMethods(cls)) {
+        for (MethodMetadata method : context.getMethods()) {
 
-            String signature = md.getParameterNames(method).toString();
+            List<String> parameterNames = method.getParameterNames();
+            String signature = parameterNames.toString();
             if (acceptResult(signature)) {
-                getStore().putSingle(signature, md.getMethodFullKey(cls, method));
+                getStore().putSingle(signature, method.getFullKey());
             }
 
-            String returnTypeName = md.getReturnTypeName(method);
+            String returnTypeName = method.getReturnTypeName();
             if (acceptResult(returnTypeName)) {
-                getStore().putSingle(returnTypeName, md.getMethodFullKey(cls, method));
+                getStore().putSingle(returnTypeName, method.getFullKey());
             }
 
-            List<String> parameterNames = md.getParameterNames(method);
             for (int i = 0; i < parameterNames.size(); i++) {
-                for (Object paramAnnotation : md.getParameterAnnotationNames(method, i)) {
+                for (Object paramAnnotation : md.getParameterAnnotationNames(method.getMethod(), i)) {
                     if (acceptResult((String) paramAnnotation)) {
-                        getStore().putSingle((String) paramAnnotation, md.getMethodFullKey(cls, method));
+                        getStore().putSingle((String) paramAnnotation, method.getFullKey());
                     }
                 }
             }
@@ -16,6 +16,10 @@ public class ResourcesScanner extends AbstractScanner {
         return classObject.get();
     }
 
+    @Override public void scan(Vfs.File file, ClassContext context) {
+        getStore().putSingle(file.getName(), file.getRelativePath());
+    }
+
     public void scan(Object cls) {
         throw new UnsupportedOperationException(); //shouldn't get here
     }
@@ -24,5 +24,10 @@ public interface Scanner {
 
     Object scan(Vfs.File file, Optional<Object> classObject);
 
+    /** scans the file of the given {@code context}, sharing the class object with the other scanners of the file */
+    default void scan(Vfs.File file, ClassContext context) {
+        context.setClassObject(scan(file, context.isParsed() ? Optional.of(context.getClassObject()) : Optional.empty()));
+    }
+
     boolean acceptResult(String fqn);
 }
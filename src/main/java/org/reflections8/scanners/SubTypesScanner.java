@@ -1,11 +1,9 @@
 package org.reflections8.scanners;
 
-import java.util.List;
-
 import org.reflections8.util.FilterBuilder;
 
 /** scans for superclass and interfaces of a class, allowing a reverse lookup for subtypes */
-public class SubTypesScanner extends AbstractScanner {
+public class SubTypesScanner extends ClassVisitorScanner {
 
     /** created new SubTypesScanner. will exclude direct Object subtypes */
     public SubTypesScanner() {
@@ -20,19 +18,24 @@ public class SubTypesScanner extends AbstractScanner {
         }
     }
 
-    @SuppressWarnings({"unchecked"})
-    public void scan(final Object cls) {
-		String className = getMetadataAdapter().getClassName(cls);
-		String superclass = getMetadataAdapter().getSuperclassName(cls);
+    @Override
+    public boolean visitsMembers() {
+        return false;
+    }
 
+    @Override
+    public void visitClass(CharSequence className, CharSequence superclassName) {
+        String superclass = superclassName != null ? superclassName.toString() : null;
         if (acceptResult(superclass)) {
-            getStore().putSingle(superclass, className);
+            getStore().putSingle(superclass, className.toString());
         }
+    }
 
-		for (String anInterface : (List<String>) getMetadataAdapter().getInterfacesNames(cls)) {
-			if (acceptResult(anInterface)) {
-                getStore().putSingle(anInterface, className);
-            }
+    @Override
+    public void visitInterface(CharSequence className, CharSequence interfaceName) {
+        String anInterface = interfaceName.toString();
+        if (acceptResult(anInterface)) {
+            getStore().putSingle(anInterface, className.toString());
         }
     }
 }
@@ -1,20 +1,21 @@
 package org.reflections8.scanners;
 
 import java.lang.annotation.Inherited;
-import java.util.List;
 
 /** scans for class's annotations, where @Retention(RetentionPolicy.RUNTIME) */
-@SuppressWarnings({"unchecked"})
-public class TypeAnnotationsScanner extends AbstractScanner {
-    public void scan(final Object cls) {
-		final String className = getMetadataAdapter().getClassName(cls);
+public class TypeAnnotationsScanner extends ClassVisitorScanner {
 
-        for (String annotationType : (List<String>) getMetadataAdapter().getClassAnnotationNames(cls)) {
+    @Override
+    public boolean visitsMembers() {
+        return false;
+    }
 
-            if (acceptResult(annotationType) ||
-                annotationType.equals(Inherited.class.getName())) { //as an exception, accept Inherited as well
-                getStore().putSingle(annotationType, className);
-            }
+    @Override
+    public void visitClassAnnotation(CharSequence className, CharSequence annotationType) {
+        String annotation = annotationType.toString();
+        if (acceptResult(annotation) ||
+            annotation.equals(Inherited.class.getName())) { //as an exception, accept Inherited as well
+            getStore().putSingle(annotation, className.toString());
         }
     }
 
@@ -1,7 +1,5 @@
 package org.reflections8.scanners;
 
-import org.reflections8.util.Joiner;
-
 /** scans fields and methods and stores fqn as key and elements as values */
 @SuppressWarnings({"unchecked"})
 public class TypeElementsScanner extends AbstractScanner {
@@ -11,7 +9,13 @@ public class TypeElementsScanner extends AbstractScanner {
     private boolean publicOnly = true;
 
     public void scan(Object cls) {
-        String className = getMetadataAdapter().getClassName(cls);
+        scan(ClassContext.forClass(getMetadataAdapter(), cls));
+    }
+
+    @Override
+    protected void scan(ClassContext context) {
+        Object cls = context.getClassObject();
+        String className = context.getClassName();
         if (!acceptResult(className)) return;
 
         getStore().putSingle(className, "");
@@ -24,11 +28,9 @@ public class TypeElementsScanner extends AbstractScanner {
         }
 
         if (includeMethods) {
-            for (Object method : getMetadataAdapter().getMethods(cls)) {
-                if (!publicOnly || getMetadataAdapter().isPublic(method)) {
-                    String methodKey = getMetadataAdapter().getMethodName(method) + "(" +
-                            Joiner.on(", ").join(getMetadataAdapter().getParameterNames(method)) + ")";
-                    getStore().putSingle(className, methodKey);
+            for (MethodMetadata method : context.getMethods()) {
+                if (!publicOnly || getMetadataAdapter().isPublic(method.getMethod())) {
+                    getStore().putSingle(className, method.getKey());
                 }
             }
         }
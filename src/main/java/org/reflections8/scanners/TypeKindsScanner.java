@@ -0,0 +1,20 @@
+package org.reflections8.scanners;
+
+import org.reflections8.TypeKind;
+
+/**
+ * scans for the kind and modifiers of classes, such as interface, abstract or enum, and stores the {@link TypeKind} name as key and fqn as values
+ * <p>allows filtering types by kind without loading them, see {@link org.reflections8.TypeQuery#withKind(TypeKind...)}
+ */
+@SuppressWarnings({"unchecked"})
+public class TypeKindsScanner extends AbstractScanner {
+
+    public void scan(final Object cls) {
+        String className = getMetadataAdapter().getClassName(cls);
+        if (!acceptResult(className)) return;
+
+        for (TypeKind kind : (Iterable<TypeKind>) getMetadataAdapter().getClassKinds(cls)) {
+            getStore().putSingle(kind.name(), className);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.reflections8.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * a bloom filter of strings, answering whether a string may have been put, or surely was not
+ * <p>used to record the keys each scanned url contributed to each index, see {@link org.reflections8.Store#getUrlsMightContain(String, String)}
+ */
+public class BloomFilter {
+    public static final double DEFAULT_FALSE_POSITIVE_PROBABILITY = 0.01;
+    private static final int MAX_HASHES = 16;
+    /** the largest filter read, 512 MB, sized for hundreds of millions of strings */
+    private static final int MAX_WORDS = 1 << 26;
+
+    private final long[] bits;
+    private final int hashes;
+
+    /** a filter sized for {@code expected} strings with the given false positive probability */
+    public BloomFilter(int expected, double falsePositiveProbability) {
+        long size = (long) Math.ceil(-Math.max(expected, 1) * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        bits = new long[(int) Math.max(1, (size + 63) / 64)];
+        hashes = Math.max(1, Math.min(MAX_HASHES, (int) Math.round((double) bits.length * 64 / Math.max(expected, 1) * Math.log(2))));
+    }
+
+    private BloomFilter(long[] bits, int hashes) {
+        this.bits = bits;
+        this.hashes = hashes;
+    }
+
+    /** a filter of the given strings, with the default false positive probability */
+    public static BloomFilter of(Collection<String> strings) {
+        BloomFilter filter = new BloomFilter(strings.size(), DEFAULT_FALSE_POSITIVE_PROBABILITY);
+        for (String string : strings) filter.put(string);
+        return filter;
+    }
+
+    public void put(String string) {
+        long hash = hash(string);
+        long size = bits.length * 64L;
+        for (int i = 0; i < hashes; i++) {
+            long bit = (mix(hash += 0x9E3779B97F4A7C15L) >>> 1) % size;
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /** false if the given string was surely not put */
+    public boolean mightContain(String string) {
+        long hash = hash(string);
+        long size = bits.length * 64L;
+        for (int i = 0; i < hashes; i++) {
+            long bit = (mix(hash += 0x9E3779B97F4A7C15L) >>> 1) % size;
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    /** fnv-1a over the chars of the string */
+    private static long hash(String string) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < string.length(); i++) {
+            hash ^= string.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /** the splitmix64 finalizer, so that each probe of a string is independent */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public void write(DataOutput output) throws IOException {
+        output.writeInt(hashes);
+        output.writeInt(bits.length);
+        for (long word : bits) output.writeLong(word);
+    }
+
+    public static BloomFilter read(DataInput input) throws IOException {
+        int hashes = input.readInt();
+        int words = input.readInt();
+        if (hashes < 1 || hashes > MAX_HASHES || words < 1 || words > MAX_WORDS) {
+            throw new IOException("corrupt bloom filter, " + hashes + " hashes of " + words + " words");
+        }
+        long[] bits = new long[words];
+        for (int i = 0; i < bits.length; i++) bits[i] = input.readLong();
+        return new BloomFilter(bits, hashes);
+    }
+}
@@ -0,0 +1,192 @@
+package org.reflections8.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.reflections8.Reflections;
+import org.reflections8.ReflectionsException;
+import org.reflections8.vfs.JrtDir;
+
+/**
+ * the header of a class file - access flags, name, super class and interfaces - read directly from the class file bytes
+ * <p>only the constant pool entries referenced by the header are decoded, the rest of the class file (fields, methods, attributes) is never parsed.
+ * the class is not loaded, so this can be used for types whose dependencies are missing
+ * <p>use {@link #find(String, ClassLoader...)} in order to locate the class file bytes of a type through the class loaders' resources,
+ * or {@link #findInRuntimeImage(String)} for types of the Java runtime image
+ */
+public class ClassHeader {
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private final int accessFlags;
+    private final String name;
+    private final String superclassName;
+    private final List<String> interfacesNames;
+
+    private ClassHeader(int accessFlags, String name, String superclassName, List<String> interfacesNames) {
+        this.accessFlags = accessFlags;
+        this.name = name;
+        this.superclassName = superclassName;
+        this.interfacesNames = interfacesNames;
+    }
+
+    /** the class file access flags, see {@link java.lang.reflect.Modifier} and JVMS 4.1 */
+    public int getAccessFlags() {
+        return accessFlags;
+    }
+
+    /** the fully qualified name of the class */
+    public String getName() {
+        return name;
+    }
+
+    /** the fully qualified name of the super class, or null for {@code java.lang.Object} and module-info */
+    public String getSuperclassName() {
+        return superclassName;
+    }
+
+    /** the fully qualified names of the directly implemented interfaces */
+    public List<String> getInterfacesNames() {
+        return interfacesNames;
+    }
+
+    /**
+     * locate the class file of the given {@code typeName} through the given {@code classLoaders} resources and read its header.
+     * <p>if {@code classLoaders} are not specified, then both {@link ClasspathHelper#contextClassLoader()} and {@link ClasspathHelper#staticClassLoader()} are used
+     * @return the header, or empty if the class file could not be found or read
+     */
+    public static Optional<ClassHeader> find(String typeName, ClassLoader... classLoaders) {
+        return find(typeName, ClasspathHelper.classLoaders(classLoaders));
+    }
+
+    /**
+     * locate the class file of the given {@code typeName} through the given {@code classLoaders} resources and read its header.
+     * @return the header, or empty if the class file could not be found or read
+     */
+    public static Optional<ClassHeader> find(String typeName, Optional<ClassLoader[]> classLoaders) {
+        String resourceName = typeName.replace('.', '/') + ".class";
+        for (ClassLoader classLoader : ClasspathHelper.classLoaders(classLoaders).get()) {
+            try (InputStream inputStream = classLoader.getResourceAsStream(resourceName)) {
+                if (inputStream != null) {
+                    return Optional.of(read(inputStream));
+                }
+            } catch (IOException | ReflectionsException e) {
+                if (Reflections.log.isPresent()) {
+                    Reflections.log.get().debug("could not read class header of {} from {}", typeName, classLoader, e);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * read the header of the class file of the given {@code typeName} from the Java runtime image, see {@link JrtDir#findClassFile(String)}
+     * @return the header, or empty if the type is not in the runtime image or it could not be read
+     */
+    public static Optional<ClassHeader> findInRuntimeImage(String typeName) {
+        Optional<Path> path = JrtDir.findClassFile(typeName);
+        if (path.isPresent()) {
+            try {
+                return Optional.of(read(Files.readAllBytes(path.get())));
+            } catch (IOException | ReflectionsException e) {
+                if (Reflections.log.isPresent()) {
+                    Reflections.log.get().debug("could not read class header of {} from the runtime image", typeName, e);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /** read the header of the class file given as {@code inputStream} */
+    public static ClassHeader read(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return read(out.toByteArray());
+    }
+
+    /** read the header of the class file given as {@code bytes} */
+    public static ClassHeader read(byte[] bytes) {
+        try {
+            if (u4(bytes, 0) != MAGIC) {
+                throw new ReflectionsException("not a class file, bad magic number");
+            }
+
+            int count = u2(bytes, 8);
+            int[] offsets = new int[count]; //offset of each constant pool entry's tag
+            int offset = 10;
+            for (int i = 1; i < count; i++) {
+                offsets[i] = offset;
+                int tag = bytes[offset] & 0xFF;
+                switch (tag) {
+                    case 1: offset += 3 + u2(bytes, offset + 1); break;             //Utf8
+                    case 3: case 4: offset += 5; break;                              //Integer, Float
+                    case 5: case 6: offset += 9; i++; break;                         //Long, Double take two slots
+                    case 7: case 8: case 16: case 19: case 20: offset += 3; break;   //Class, String, MethodType, Module, Package
+                    case 9: case 10: case 11: case 12: case 17: case 18: offset += 5; break; //refs, NameAndType, Dynamic, InvokeDynamic
+                    case 15: offset += 4; break;                                     //MethodHandle
+                    default: throw new ReflectionsException("unknown constant pool tag " + tag + " at " + offset);
+                }
+            }
+
+            int accessFlags = u2(bytes, offset);
+            String name = className(bytes, offsets, u2(bytes, offset + 2));
+            int superIndex = u2(bytes, offset + 4);
+            String superclassName = superIndex != 0 ? className(bytes, offsets, superIndex) : null;
+            int interfacesCount = u2(bytes, offset + 6);
+            List<String> interfaces = new ArrayList<>(interfacesCount);
+            for (int i = 0; i < interfacesCount; i++) {
+                interfaces.add(className(bytes, offsets, u2(bytes, offset + 8 + 2 * i)));
+            }
+
+            return new ClassHeader(accessFlags, name, superclassName, Collections.unmodifiableList(interfaces));
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new ReflectionsException("truncated class file", e);
+        }
+    }
+
+    private static String className(byte[] bytes, int[] offsets, int classIndex) {
+        int utf8Offset = offsets[u2(bytes, offsets[classIndex] + 1)];
+        return utf8(bytes, utf8Offset + 3, u2(bytes, utf8Offset + 1)).replace('/', '.');
+    }
+
+    private static String utf8(byte[] bytes, int offset, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            byte b = bytes[offset + i];
+            if (b <= 0) { //not plain ascii, fallback to modified utf8 decoding
+                try {
+                    return new DataInputStream(new ByteArrayInputStream(bytes, offset - 2, length + 2)).readUTF();
+                } catch (IOException e) {
+                    throw new ReflectionsException("could not decode constant pool utf8 entry", e);
+                }
+            }
+            chars[i] = (char) b;
+        }
+        return new String(chars);
+    }
+
+    private static int u2(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+    }
+
+    private static int u4(byte[] bytes, int offset) {
+        return (u2(bytes, offset) << 16) | u2(bytes, offset + 2);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
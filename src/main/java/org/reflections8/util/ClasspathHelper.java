@@ -23,6 +23,9 @@ import java.util.jar.Manifest;
 import javax.servlet.ServletContext;
 
 import org.reflections8.Reflections;
+import org.reflections8.vfs.JrtDir;
+import org.reflections8.vfs.NestedJarDir;
+import org.reflections8.vfs.Vfs;
 
 /**
  * Helper methods for working with the classpath.
@@ -250,6 +253,51 @@ public abstract class ClasspathHelper {
         return distinctUrls(urls);
     }
 
+    /**
+     * Returns the URLs of the given modules of the Java runtime image, {@code jrt:/module}, see {@link JrtDir}.
+     * <p>
+     * If no modules are specified, then all modules of the runtime image are returned.
+     * Scanning a URL per module allows scanning the modules in parallel.
+     * <p>
+     * On Java 8, which has no runtime image, no URLs are returned.
+     *
+     * @return the collection of URLs, not null
+     */
+    public static Collection<URL> forModules(String... modules) {
+        Collection<URL> urls = new ArrayList<URL>();
+        if (JrtDir.isAvailable()) {
+            for (String module : modules.length != 0 ? Arrays.asList(modules) : JrtDir.getModuleNames()) {
+                urls.add(JrtDir.forModule(module));
+            }
+        }
+        return urls;
+    }
+
+    /**
+     * Returns the URLs of the classes directories and nested jars of a fat jar, such as a Spring Boot jar or a war, see {@link NestedJarDir}.
+     * <p>
+     * For example, {@code jar:file:/app.jar!/BOOT-INF/classes!/} and {@code jar:file:/app.jar!/BOOT-INF/lib/lib.jar!/}.
+     * The nested jars are scanned in place, without extracting them, and scanning a URL per nested jar allows scanning them in parallel.
+     *
+     * @return the collection of URLs, not null
+     */
+    public static Collection<URL> forFatJar(URL url) {
+        Collection<URL> urls = new ArrayList<URL>();
+        Optional<File> file = Vfs.getFile(url);
+        if (file.isPresent()) {
+            try {
+                for (String root : NestedJarDir.getRoots(file.get())) {
+                    urls.add(NestedJarDir.forRoot(url, root));
+                }
+            } catch (Exception e) {
+                if (Reflections.log.isPresent()) {
+                    Reflections.log.get().warn("Could not read fat jar " + url, e);
+                }
+            }
+        }
+        return urls;
+    }
+
     /**
      * Returns a distinct collection of URLs based on the {@code WEB-INF/lib} folder.
      * <p>
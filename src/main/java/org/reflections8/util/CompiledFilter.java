@@ -0,0 +1,242 @@
+package org.reflections8.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * an optimised form of a {@link FilterBuilder} chain, see {@link FilterBuilder#compile()}
+ * <p>consecutive {@link FilterBuilder.Include} or {@link FilterBuilder.Exclude} rules are grouped, and each rule's regular expression is classified:
+ * <ul>
+ *     <li>literal - such as {@code org\.foo\.Bar\.class} - matched by a hash lookup</li>
+ *     <li>prefix - a literal followed by {@code .*}, such as {@code org\.foo\..*} - matched by a prefix trie lookup</li>
+ *     <li>otherwise a regular expression, matched by its {@link Pattern}</li>
+ * </ul>
+ * <p>the include/exclude ordering semantics of {@link FilterBuilder#test(String)} are preserved:
+ * a group of includes is evaluated only if not accepted yet, a group of excludes only if accepted, and any matching exclude rejects.
+ * other predicates in the chain are evaluated in place.
+ */
+public class CompiledFilter implements Predicate<String> {
+    private final boolean acceptByDefault;
+    private final Step[] steps;
+
+    CompiledFilter(List<Predicate<String>> chain) {
+        acceptByDefault = chain.isEmpty() || chain.get(0) instanceof FilterBuilder.Exclude;
+
+        List<Step> steps = new ArrayList<>();
+        List<Predicate<String>> group = new ArrayList<>();
+        Class<?> groupType = null;
+        for (Predicate<String> filter : chain) {
+            Class<?> type = filter instanceof FilterBuilder.Include ? FilterBuilder.Include.class :
+                    filter instanceof FilterBuilder.Exclude ? FilterBuilder.Exclude.class : null;
+            if (groupType != null && type != groupType) {
+                steps.add(new Rules(groupType == FilterBuilder.Include.class, group));
+                group = new ArrayList<>();
+            }
+            groupType = type;
+            if (type != null) {
+                group.add(filter);
+            } else {
+                steps.add(new Custom(filter));
+            }
+        }
+        if (groupType != null) {
+            steps.add(new Rules(groupType == FilterBuilder.Include.class, group));
+        }
+        this.steps = steps.toArray(new Step[0]);
+    }
+
+    public boolean test(String input) {
+        boolean accept = acceptByDefault;
+        for (Step step : steps) {
+            if (step instanceof Rules) {
+                Rules rules = (Rules) step;
+                if (rules.include) {
+                    if (!accept) accept = rules.matches(input);
+                } else {
+                    if (accept && rules.matches(input)) return false; //break on first exclusion
+                }
+            } else {
+                accept = ((Custom) step).predicate.test(input);
+            }
+        }
+        return accept;
+    }
+
+    /**
+     * the literal prefixes which any accepted input must start with, or null if these can not be determined.
+     * <p>determined only if the chain starts with includes, all includes are literals or prefixes, and there are no other predicates
+     */
+    public List<String> getIncludedPrefixes() {
+        if (acceptByDefault) return null;
+        List<String> prefixes = new ArrayList<>();
+        for (Step step : steps) {
+            if (!(step instanceof Rules)) return null;
+            Rules rules = (Rules) step;
+            if (rules.include) {
+                if (rules.patterns.length != 0 || rules.matchers.length != 0) return null;
+                prefixes.addAll(rules.literals);
+                prefixes.addAll(rules.prefixes.prefixes);
+            }
+        }
+        return prefixes;
+    }
+
+    @Override public String toString() {
+        StringJoiner j = new StringJoiner(", ");
+        for (Step step : steps) j.add(step.toString());
+        return j.toString();
+    }
+
+    private interface Step {}
+
+    private static class Custom implements Step {
+        private final Predicate<String> predicate;
+        Custom(Predicate<String> predicate) {this.predicate = predicate;}
+        @Override public String toString() {return predicate.toString();}
+    }
+
+    private static class Rules implements Step {
+        private final boolean include;
+        private final Set<String> literals = new HashSet<>();
+        private final PrefixTrie prefixes = new PrefixTrie();
+        private final Pattern[] patterns;
+        private final Predicate<String>[] matchers; //subclasses of Include/Exclude, evaluated as is
+        private final List<Predicate<String>> filters;
+
+        @SuppressWarnings("unchecked")
+        Rules(boolean include, List<Predicate<String>> filters) {
+            this.include = include;
+            this.filters = filters;
+            List<Pattern> patterns = new ArrayList<>();
+            List<Predicate<String>> matchers = new ArrayList<>();
+            for (Predicate<String> filter : filters) {
+                if (filter.getClass() != FilterBuilder.Include.class && filter.getClass() != FilterBuilder.Exclude.class) {
+                    matchers.add(filter);
+                    continue;
+                }
+                Pattern pattern = ((FilterBuilder.Matcher) filter).pattern;
+                String regex = pattern.pattern();
+                String literal = literal(regex, 0, regex.length());
+                if (literal != null) {
+                    literals.add(literal);
+                } else {
+                    String prefix = regex.endsWith(".*") ? literal(regex, 0, regex.length() - 2) : null;
+                    if (prefix != null) {
+                        prefixes.add(prefix);
+                    } else {
+                        patterns.add(pattern);
+                    }
+                }
+            }
+            this.patterns = patterns.toArray(new Pattern[0]);
+            this.matchers = matchers.toArray(new Predicate[0]);
+        }
+
+        boolean matches(String input) {
+            if (literals.contains(input) || prefixes.matches(input)) return true;
+            for (Pattern pattern : patterns) {
+                if (pattern.matcher(input).matches()) return true;
+            }
+            for (Predicate<String> matcher : matchers) {
+                if (matcher.test(input) == include) return true; //an exclude's test is false on match
+            }
+            return false;
+        }
+
+        @Override public String toString() {
+            StringJoiner j = new StringJoiner(", ");
+            for (Predicate<String> filter : filters) j.add(filter.toString());
+            return j.toString();
+        }
+    }
+
+    /** a trie of literal prefixes, matching an input if any prefix is followed by no line terminators, as {@code .*} would */
+    private static class PrefixTrie {
+        private final Node root = new Node();
+        private final List<String> prefixes = new ArrayList<>();
+
+        void add(String prefix) {
+            prefixes.add(prefix);
+            Node node = root;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.getOrCreate(prefix.charAt(i));
+            }
+            node.terminal = true;
+        }
+
+        boolean matches(String input) {
+            Node node = root;
+            int lastLineTerminator = -2; //lazy
+            for (int i = 0; ; i++) {
+                if (node.terminal) {
+                    if (lastLineTerminator == -2) lastLineTerminator = lastLineTerminator(input);
+                    if (lastLineTerminator < i) return true;
+                }
+                if (i == input.length()) return false;
+                node = node.get(input.charAt(i));
+                if (node == null) return false;
+            }
+        }
+
+        private static int lastLineTerminator(String input) {
+            for (int i = input.length() - 1; i >= 0; i--) {
+                char c = input.charAt(i);
+                if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') return i;
+            }
+            return -1;
+        }
+    }
+
+    private static class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private boolean terminal;
+
+        Node get(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node getOrCreate(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i >= 0) return children[i];
+            i = -i - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, i);
+            System.arraycopy(children, 0, newChildren, 0, i);
+            System.arraycopy(keys, i, newKeys, i + 1, keys.length - i);
+            System.arraycopy(children, i, newChildren, i + 1, children.length - i);
+            newKeys[i] = c;
+            Node node = newChildren[i] = new Node();
+            keys = newKeys;
+            children = newChildren;
+            return node;
+        }
+    }
+
+    /** the literal string matched by the given regex range, or null if it contains any regex construct other than escaped punctuation */
+    static String literal(String regex, int from, int to) {
+        StringBuilder sb = new StringBuilder(to - from);
+        for (int i = from; i < to; i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                if (++i == to) return null;
+                c = regex.charAt(i);
+                if (Character.isLetterOrDigit(c)) return null; //\d, \Q, \1 ...
+                sb.append(c);
+            } else if ("^$.|?*+()[]{}".indexOf(c) != -1) {
+                return null;
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -1,6 +1,8 @@
 package org.reflections8.util;
 
 import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -10,6 +12,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 import org.reflections8.Configuration;
@@ -18,6 +21,7 @@ import org.reflections8.ReflectionsException;
 import org.reflections8.adapters.JavaReflectionAdapter;
 import org.reflections8.adapters.JavassistAdapter;
 import org.reflections8.adapters.MetadataAdapter;
+import org.reflections8.metrics.ScanListener;
 import org.reflections8.scanners.Scanner;
 import org.reflections8.scanners.SubTypesScanner;
 import org.reflections8.scanners.TypeAnnotationsScanner;
@@ -48,6 +52,13 @@ public class ConfigurationBuilder implements Configuration {
     private Optional<ExecutorService> executorService = Optional.empty();
     private Optional<ClassLoader[]> classLoaders = Optional.empty();
     private boolean expandSuperTypes = true;
+    private boolean expandSuperTypesFromBytecode = false;
+    private boolean trackUrls = false;
+    private boolean trackFiles = false;
+    private boolean buildBloomFilters = false;
+    private boolean useJandexIndexes = false;
+    private Optional<Function<String, SetMultimap<String, String>>> indexFactory = Optional.empty();
+    private Optional<ScanListener> scanListener = Optional.empty();
 
     public ConfigurationBuilder() {
         scanners = new HashSet();
@@ -321,6 +332,123 @@ public class ConfigurationBuilder implements Configuration {
         return this;
     }
 
+    @Override
+    public boolean shouldExpandSuperTypesFromBytecode() {
+        return expandSuperTypesFromBytecode;
+    }
+
+    /**
+     * if set to true, super types are expanded by reading the unscanned types' class file headers
+     * through the class loaders' resources, instead of loading these types.
+     * <p>see {@link org.reflections8.Reflections#expandSuperTypes()}
+     */
+    public ConfigurationBuilder setExpandSuperTypesFromBytecode(boolean expandSuperTypesFromBytecode) {
+        this.expandSuperTypesFromBytecode = expandSuperTypesFromBytecode;
+        return this;
+    }
+
+    @Override
+    public boolean shouldTrackUrls() {
+        return trackUrls;
+    }
+
+    /**
+     * if set to true, Reflections records the entries each url contributed to the store while scanning.
+     * <p>see {@link org.reflections8.Reflections#remove(URL)} and {@link org.reflections8.Reflections#restrictTo(Collection)}
+     */
+    public ConfigurationBuilder setTrackUrls(boolean trackUrls) {
+        this.trackUrls = trackUrls;
+        return this;
+    }
+
+    @Override
+    public boolean shouldTrackFiles() {
+        return trackFiles;
+    }
+
+    /**
+     * if set to true, Reflections records the entries each file of the directory urls contributed to the store while scanning.
+     * <p>see {@link org.reflections8.Reflections#watch(long)}
+     */
+    public ConfigurationBuilder setTrackFiles(boolean trackFiles) {
+        this.trackFiles = trackFiles;
+        return this;
+    }
+
+    @Override
+    public boolean shouldBuildBloomFilters() {
+        return buildBloomFilters;
+    }
+
+    /**
+     * if set to true, Reflections builds a bloom filter of the keys each url contributed to each index while scanning.
+     * <p>see {@link org.reflections8.Store#getUrlsMightContain(String, String)}
+     */
+    public ConfigurationBuilder setBuildBloomFilters(boolean buildBloomFilters) {
+        this.buildBloomFilters = buildBloomFilters;
+        return this;
+    }
+
+    @Override
+    public boolean shouldUseJandexIndexes() {
+        return useJandexIndexes;
+    }
+
+    /**
+     * if set to true, Reflections reads the metadata of urls containing a Jandex index from the index, for the scanners it covers.
+     * urls without a readable index are scanned as usual.
+     * <p>see {@link org.reflections8.adapters.JandexIndex}
+     */
+    public ConfigurationBuilder setUseJandexIndexes(boolean useJandexIndexes) {
+        this.useJandexIndexes = useJandexIndexes;
+        return this;
+    }
+
+    @Override
+    public Optional<Function<String, SetMultimap<String, String>>> getIndexFactory() {
+        return indexFactory;
+    }
+
+    /**
+     * sets the factory creating the multimap of each index of the store, given the index name
+     * <p>default creates on-heap multimaps
+     */
+    public ConfigurationBuilder setIndexFactory(Function<String, SetMultimap<String, String>> indexFactory) {
+        this.indexFactory = Optional.ofNullable(indexFactory);
+        return this;
+    }
+
+    /**
+     * stores the indices off-heap in buffers mapped from temporary files in {@code java.io.tmpdir},
+     * caching the values of up to {@code cacheSize} recently queried keys per index on heap.
+     * <p>mapped buffers are not bounded by {@code -XX:MaxDirectMemorySize}, unlike direct buffers, see {@link OffHeapMultimap#OffHeapMultimap(int)}
+     */
+    public ConfigurationBuilder useOffHeapStore(final int cacheSize) {
+        return useOffHeapStore(Paths.get(System.getProperty("java.io.tmpdir")), cacheSize);
+    }
+
+    /**
+     * stores the indices off-heap in buffers mapped from temporary files in the given {@code directory},
+     * caching the values of up to {@code cacheSize} recently queried keys per index on heap.
+     * <p>see {@link OffHeapMultimap}
+     */
+    public ConfigurationBuilder useOffHeapStore(final Path directory, final int cacheSize) {
+        return setIndexFactory(index -> new OffHeapMultimap(directory, cacheSize));
+    }
+
+    @Override
+    public Optional<ScanListener> getScanListener() {
+        return scanListener;
+    }
+
+    /**
+     * sets the listener receiving scan events, such as {@link org.reflections8.metrics.ScanMetrics}
+     */
+    public ConfigurationBuilder setScanListener(ScanListener scanListener) {
+        this.scanListener = Optional.ofNullable(scanListener);
+        return this;
+    }
+
     /**
      * set class loader, might be used for resolving methods/fields
      */
@@ -19,6 +19,7 @@ import org.reflections8.ReflectionsException;
  */
 public class FilterBuilder implements Predicate<String> {
     private final List<Predicate<String>> chain;
+    private volatile CompiledFilter compiled;
 
     public FilterBuilder() {chain = new ArrayList();}
     private FilterBuilder(final Iterable<Predicate<String>> filters) {chain = new ArrayList(); filters.forEach(el -> chain.add(el));}
@@ -30,7 +31,7 @@ public class FilterBuilder implements Predicate<String> {
     public FilterBuilder exclude(final String regex) {add(new Exclude(regex)); return this;}
 
     /** add a Predicate to the chain of predicates*/
-    public FilterBuilder add(Predicate<String> filter) {chain.add(filter); return this;}
+    public FilterBuilder add(Predicate<String> filter) {chain.add(filter); compiled = null; return this;}
 
     /** include a package of a given class */
     public FilterBuilder includePackage(final Class<?> aClass) {return add(new Include(packageNameRegex(aClass)));}
@@ -59,18 +60,28 @@ public class FilterBuilder implements Predicate<String> {
         return j.toString();
     }
 
+    /**
+     * the given input is accepted or not, according to the chain of filters.
+     * <p>if the first filter is an exclude, inputs are accepted by default. then each include may accept an input not accepted yet,
+     * each exclude may reject an accepted input, and the first rejection by an exclude is final.
+     * <p>the chain is evaluated in its {@link #compile() compiled} form
+     */
     public boolean test(String regex) {
-        boolean accept = chain == null || chain.isEmpty() || chain.get(0) instanceof Exclude;
-
-        if (chain != null) {
-            for (Predicate<String> filter : chain) {
-                if (accept && filter instanceof Include) {continue;} //skip if this filter won't change
-                if (!accept && filter instanceof Exclude) {continue;}
-                accept = filter.test(regex);
-                if (!accept && filter instanceof Exclude) {break;} //break on first exclusion
-            }
+        return compile().test(regex);
+    }
+
+    /**
+     * compiles the chain of filters into an optimised predicate with the same include/exclude semantics,
+     * where literal rules are matched by hash lookups, prefix rules such as {@link #prefix(String)} by a trie lookup,
+     * and only other regular expressions by their patterns.
+     * <p>the compiled form is cached until another filter is added
+     */
+    public CompiledFilter compile() {
+        CompiledFilter compiled = this.compiled;
+        if (compiled == null) {
+            this.compiled = compiled = new CompiledFilter(chain);
         }
-        return accept;
+        return compiled;
     }
 
     public abstract static class Matcher implements Predicate<String> {
@@ -0,0 +1,316 @@
+package org.reflections8.util;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.reflections8.UsageSite;
+
+/**
+ * a compact {@link SetMultimap} of member usages, as stored by {@link org.reflections8.scanners.MemberUsageScanner}
+ * <p>member descriptors, of both used members and using methods, are interned in a table of ids,
+ * and each usage is stored as a (used member id, using member id, line number) triple in primitive arrays, chained per used member.
+ * an open addressing hash table of the triples keeps them unique.
+ * <p>removed usages are compacted away, together with the members no longer used, once they are as many as the remaining usages.
+ * <p>the multimap view, of used member descriptors to {@code "caller #line"} values, is materialized on access, see {@link UsageSite}.
+ * structured usages are available using {@link #getUsageSites(String)} without string parsing.
+ * <p>all methods are synchronized, so that it may be populated by parallel scanning
+ */
+public class MemberUsageMultimap extends AbstractMap<String, Set<String>> implements SetMultimap<String, String> {
+    private static final int REMOVED = -1;
+    private static final int MIN_COMPACTION = 64;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private String[] members = new String[64];
+    private int[] heads = new int[64]; //member id -> last usage of it, or -1
+    private int keys;
+
+    private int[] callees = new int[256];
+    private int[] callers = new int[256];
+    private int[] lines = new int[256];
+    private int[] nexts = new int[256]; //usage -> previous usage of the same member, or -1
+    private int size;
+    private int removed;
+
+    private int[] table = new int[512]; //usage + 1 in the slot of its triple, or 0
+
+    /** adds a usage of the given member by the given caller at the given line number, while scanning the caller */
+    public synchronized boolean put(String callee, String caller, int lineNumber) {
+        return add(callee, caller, lineNumber);
+    }
+
+    private boolean add(String callee, String caller, int lineNumber) {
+        int calleeId = intern(callee);
+        int callerId = intern(caller);
+        int slot = slot(calleeId, callerId, lineNumber);
+        if (table[slot] != 0) return false;
+
+        if (size == callees.length) {
+            int length = size * 2;
+            callees = Arrays.copyOf(callees, length);
+            callers = Arrays.copyOf(callers, length);
+            lines = Arrays.copyOf(lines, length);
+            nexts = Arrays.copyOf(nexts, length);
+        }
+        callees[size] = calleeId;
+        callers[size] = callerId;
+        lines[size] = lineNumber;
+        nexts[size] = heads[calleeId];
+        if (heads[calleeId] == -1) keys++;
+        heads[calleeId] = size;
+        table[slot] = ++size;
+        if (size * 2 > table.length) rehash(table.length * 2);
+        return true;
+    }
+
+    /** the slot of the given triple in the table, or the empty slot it would be put in. removed usages keep their slots until compacted */
+    private int slot(int calleeId, int callerId, int lineNumber) {
+        int mask = table.length - 1;
+        int h = (calleeId * 31 + callerId) * 31 + lineNumber;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        for (int slot = h & mask; ; slot = (slot + 1) & mask) {
+            int u = table[slot] - 1;
+            if (u == -1 || (callees[u] == calleeId && callers[u] == callerId && lines[u] == lineNumber)) return slot;
+        }
+    }
+
+    private void rehash(int length) {
+        table = new int[length];
+        for (int u = 0; u < size; u++) {
+            if (callees[u] != REMOVED) table[slot(callees[u], callers[u], lines[u])] = u + 1;
+        }
+    }
+
+    private void removed(int u) {
+        callees[u] = REMOVED;
+        removed++;
+    }
+
+    /** drops the removed usages and the members no longer referenced, once they are as many as the remaining usages */
+    private void compactIfNeeded() {
+        if (removed < MIN_COMPACTION || removed * 2 < size) return;
+        int[] newIds = new int[ids.size()];
+        Arrays.fill(newIds, -1);
+        ids.clear();
+        String[] newMembers = new String[members.length];
+        int[] newHeads = new int[heads.length];
+        Arrays.fill(newHeads, -1);
+        int live = 0;
+        for (int u = 0; u < size; u++) {
+            if (callees[u] == REMOVED) continue;
+            int calleeId = renumber(callees[u], newIds, newMembers);
+            callees[live] = calleeId;
+            callers[live] = renumber(callers[u], newIds, newMembers);
+            lines[live] = lines[u];
+            nexts[live] = newHeads[calleeId];
+            newHeads[calleeId] = live++;
+        }
+        members = newMembers;
+        heads = newHeads;
+        size = live;
+        removed = 0;
+        int length = 512;
+        while (length < size * 2) length *= 2;
+        rehash(length);
+    }
+
+    private int renumber(int id, int[] newIds, String[] newMembers) {
+        if (newIds[id] == -1) {
+            newIds[id] = ids.size();
+            newMembers[newIds[id]] = members[id];
+            ids.put(members[id], newIds[id]);
+        }
+        return newIds[id];
+    }
+
+    /** the usages of the given member descriptor, in order of scanning */
+    public synchronized List<UsageSite> getUsageSites(String callee) {
+        Integer id = ids.get(callee);
+        if (id == null || heads[id] == -1) return Collections.emptyList();
+        List<UsageSite> result = new ArrayList<>();
+        for (int u = heads[id]; u != -1; u = nexts[u]) {
+            result.add(new UsageSite(members[callers[u]], lines[u]));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /** the number of usages stored */
+    public synchronized int usages() {
+        return size - removed;
+    }
+
+    private int intern(String member) {
+        Integer id = ids.get(member);
+        if (id == null) {
+            id = ids.size();
+            if (id == members.length) {
+                members = Arrays.copyOf(members, id * 2);
+                heads = Arrays.copyOf(heads, id * 2);
+            }
+            members[id] = member;
+            heads[id] = -1;
+            ids.put(member, id);
+        }
+        return id;
+    }
+
+    //SetMultimap
+    @Override
+    public synchronized boolean putSingle(String key, String value) {
+        UsageSite site = UsageSite.parse(value);
+        return add(key, site.getCaller(), site.getLineNumber());
+    }
+
+    @Override
+    public synchronized void putAllSingles(SetMultimap<String, String> m) {
+        if (m instanceof MemberUsageMultimap) {
+            MemberUsageMultimap other = (MemberUsageMultimap) m;
+            synchronized (other) {
+                if (size == 0 && ids.isEmpty()) { //copy
+                    ids.putAll(other.ids);
+                    members = other.members.clone();
+                    heads = other.heads.clone();
+                    keys = other.keys;
+                    callees = other.callees.clone();
+                    callers = other.callers.clone();
+                    lines = other.lines.clone();
+                    nexts = other.nexts.clone();
+                    size = other.size;
+                    removed = other.removed;
+                    table = other.table.clone();
+                    return;
+                }
+                for (int u = 0; u < other.size; u++) {
+                    if (other.callees[u] != REMOVED) {
+                        add(other.members[other.callees[u]], other.members[other.callers[u]], other.lines[u]);
+                    }
+                }
+            }
+        } else {
+            for (Map.Entry<String, Set<String>> entry : m.entrySet()) {
+                if (entry.getValue() != null) {
+                    for (String value : entry.getValue()) putSingle(entry.getKey(), value);
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized boolean removeSingle(Object key, String value) {
+        Integer id = ids.get(key);
+        if (id == null) return false;
+        UsageSite site = UsageSite.parse(value);
+        Integer callerId = ids.get(site.getCaller());
+        if (callerId == null) return false;
+        for (int u = heads[id], next = -1; u != -1; next = u, u = nexts[u]) {
+            if (callers[u] == callerId && lines[u] == site.getLineNumber()) {
+                if (next == -1) heads[id] = nexts[u]; else nexts[next] = nexts[u];
+                removed(u);
+                if (heads[id] == -1) keys--;
+                compactIfNeeded();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized Set<String> remove(Object key) {
+        Set<String> values = get(key);
+        if (values != null) {
+            int id = ids.get(key);
+            for (int u = heads[id]; u != -1; u = nexts[u]) removed(u);
+            heads[id] = -1;
+            keys--;
+            compactIfNeeded();
+        }
+        return values;
+    }
+
+    @Override
+    public synchronized Set<String> put(String key, Set<String> values) {
+        Set<String> previous = get(key);
+        for (String value : values) putSingle(key, value);
+        return previous;
+    }
+
+    @Override
+    public synchronized void clear() {
+        ids.clear();
+        Arrays.fill(members, null);
+        Arrays.fill(heads, -1);
+        keys = 0;
+        size = 0;
+        removed = 0;
+        table = new int[512];
+    }
+
+    @Override
+    public synchronized Set<String> get(Object key) {
+        Integer id = ids.get(key);
+        if (id == null || heads[id] == -1) return null;
+        Set<String> values = new LinkedHashSet<>();
+        for (UsageSite site : getUsageSites((String) key)) values.add(site.toString());
+        return values;
+    }
+
+    @Override
+    public synchronized boolean containsKey(Object key) {
+        Integer id = ids.get(key);
+        return id != null && heads[id] != -1;
+    }
+
+    @Override
+    public synchronized int size() {
+        return keys;
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return keys == 0;
+    }
+
+    @Override
+    public synchronized Set<String> keySet() {
+        Set<String> result = new HashSet<>(keys * 2);
+        for (int id = 0; id < ids.size(); id++) {
+            if (heads[id] != -1) result.add(members[id]);
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized Set<Entry<String, Set<String>>> entrySet() {
+        return asMap().entrySet();
+    }
+
+    @Override
+    public synchronized Collection<String> flatValues() {
+        List<String> result = new ArrayList<>();
+        for (String key : keySet()) result.addAll(get(key));
+        return result;
+    }
+
+    @Override
+    public Set<String> flatValuesAsSet() {
+        return new HashSet<>(flatValues());
+    }
+
+    @Override
+    public synchronized Map<String, Set<String>> asMap() {
+        Map<String, Set<String>> result = new HashMap<>(keys * 2);
+        for (String key : keySet()) result.put(key, get(key));
+        return result;
+    }
+}
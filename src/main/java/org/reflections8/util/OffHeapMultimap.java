@@ -0,0 +1,491 @@
+package org.reflections8.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+
+import org.reflections8.ReflectionsException;
+
+/**
+ * a {@link SetMultimap} of strings keeping its string table and posting lists off-heap, in direct or memory mapped {@link ByteBuffer}s,
+ * for scanning very large inputs with a small heap
+ * <p>each distinct string is stored once, utf-8 encoded, and identified by an int id, found by an off-heap open addressing hash table.
+ * the values of a key are a linked list of value ids in off-heap int arrays. on heap, only the buffer references and a bounded cache
+ * of the values of the most recently queried keys are kept.
+ * <p>if a directory is given, buffers are mapped from temporary files in it, deleted once mapped or on exit, otherwise they are allocated directly,
+ * which is bounded by {@code -XX:MaxDirectMemorySize}, by default the maximum heap size. buffers are released when this multimap is garbage collected.
+ * each int array is one file, growing by mapping it again twice as large, so that the number of mappings stays small.
+ * <p>entries are found by an off-heap open addressing hash table of the (key id, value id) pairs, so that adding and removing a value
+ * does not walk the values of the key. removed values are unlinked, their space is not reused.
+ * {@link #keySet()} and {@link #entrySet()} are views decoding lazily, other returned collections are copies.
+ * all methods are synchronized, so that it may be populated by parallel scanning.
+ * <p>see {@link ConfigurationBuilder#useOffHeapStore(int)}
+ */
+public class OffHeapMultimap extends AbstractMap<String, Set<String>> implements SetMultimap<String, String> {
+    private static final int INT_CHUNK = 1 << 16;
+    private static final int INT_SEGMENT_BITS = 28;
+    private static final int INT_SEGMENT = 1 << INT_SEGMENT_BITS;
+    private static final int BYTE_CHUNK = 1 << 20;
+
+    private final Optional<Path> directory;
+    private final Map<String, Set<String>> cache;
+
+    //string table: id -> chunk, position and hash of the string, and the hash table of id + 1
+    private List<ByteBuffer> byteChunks;
+    private IntArray chunks, positions, hashes, table;
+    private int strings, tableMask;
+    //posting lists: key id -> head node + 1, node -> key id, value id, previous and next node + 1
+    private IntArray heads, nodeKeys, nodeValues, nodePrevs, nodeNexts;
+    private int nodes, keys;
+    //entry table: (key id, value id) -> node + 1, or REMOVED
+    private IntArray entryTable;
+    private int entries, removedEntries, entryMask;
+    private static final int REMOVED = -1;
+
+    /** an off-heap multimap in direct buffers, caching the values of up to {@code cacheSize} keys on heap. raise {@code -XX:MaxDirectMemorySize} for large inputs */
+    public OffHeapMultimap(int cacheSize) {
+        this(Optional.empty(), cacheSize);
+    }
+
+    /** an off-heap multimap in buffers mapped from temporary files in the given {@code directory}, caching the values of up to {@code cacheSize} keys on heap */
+    public OffHeapMultimap(Path directory, int cacheSize) {
+        this(Optional.of(directory), cacheSize);
+    }
+
+    private OffHeapMultimap(Optional<Path> directory, final int cacheSize) {
+        this.directory = directory;
+        this.cache = new LinkedHashMap<String, Set<String>>(16, 0.75f, true) {
+            protected boolean removeEldestEntry(Map.Entry<String, Set<String>> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        clear();
+    }
+
+    @Override
+    public synchronized boolean putSingle(String key, String value) {
+        int keyId = intern(key);
+        int valueId = intern(value);
+        int free = -1;
+        int slot = entrySlot(keyId, valueId);
+        for (int entry; (entry = entryTable.get(slot)) != 0; slot = (slot + 1) & entryMask) {
+            if (entry == REMOVED) {
+                if (free == -1) free = slot;
+            } else if (nodeKeys.get(entry - 1) == keyId && nodeValues.get(entry - 1) == valueId) {
+                return false;
+            }
+        }
+        int head = heads.get(keyId);
+        nodeKeys.set(nodes, keyId);
+        nodeValues.set(nodes, valueId);
+        nodeNexts.set(nodes, head);
+        if (head != 0) nodePrevs.set(head - 1, nodes + 1);
+        heads.set(keyId, ++nodes);
+        if (head == 0) keys++;
+        if (free != -1) {
+            slot = free;
+            removedEntries--;
+        }
+        entryTable.set(slot, nodes);
+        entries++;
+        if ((entries + removedEntries) * 2 > entryMask) rehashEntries();
+        cache.remove(key);
+        return true;
+    }
+
+    @Override
+    public synchronized void putAllSingles(SetMultimap<String, String> m) {
+        for (Map.Entry<String, Set<String>> entry : m.entrySet()) {
+            if (entry.getValue() != null) {
+                for (String value : entry.getValue()) putSingle(entry.getKey(), value);
+            }
+        }
+    }
+
+    @Override
+    public synchronized Set<String> put(String key, Set<String> values) {
+        Set<String> previous = remove(key);
+        for (String value : values) putSingle(key, value);
+        return previous;
+    }
+
+    @Override
+    public synchronized boolean removeSingle(Object key, String value) {
+        int keyId = find(key);
+        int valueId = find(value);
+        if (keyId == -1 || valueId == -1) return false;
+        int slot = entrySlot(keyId, valueId);
+        for (int entry; (entry = entryTable.get(slot)) != 0; slot = (slot + 1) & entryMask) {
+            if (entry != REMOVED && nodeKeys.get(entry - 1) == keyId && nodeValues.get(entry - 1) == valueId) {
+                int previous = nodePrevs.get(entry - 1);
+                int next = nodeNexts.get(entry - 1);
+                if (previous == 0) {
+                    heads.set(keyId, next);
+                    if (next == 0) keys--;
+                } else {
+                    nodeNexts.set(previous - 1, next);
+                }
+                if (next != 0) nodePrevs.set(next - 1, previous);
+                entryTable.set(slot, REMOVED);
+                entries--;
+                removedEntries++;
+                cache.remove(key);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized Set<String> remove(Object key) {
+        int keyId = find(key);
+        if (keyId == -1 || heads.get(keyId) == 0) return null;
+        Set<String> previous = values(keyId);
+        for (int node = heads.get(keyId); node != 0; node = nodeNexts.get(node - 1)) removeEntry(node);
+        heads.set(keyId, 0);
+        keys--;
+        cache.remove(key);
+        return previous;
+    }
+
+    @Override
+    public synchronized void clear() {
+        if (byteChunks != null) {
+            for (IntArray array : Arrays.asList(chunks, positions, hashes, table, heads, nodeKeys, nodeValues, nodePrevs, nodeNexts, entryTable)) {
+                array.release();
+            }
+        }
+        byteChunks = new ArrayList<>();
+        chunks = new IntArray();
+        positions = new IntArray();
+        hashes = new IntArray();
+        table = new IntArray();
+        tableMask = INT_CHUNK - 1;
+        heads = new IntArray();
+        nodeKeys = new IntArray();
+        nodeValues = new IntArray();
+        nodePrevs = new IntArray();
+        nodeNexts = new IntArray();
+        entryTable = new IntArray();
+        entryMask = INT_CHUNK - 1;
+        strings = nodes = keys = entries = removedEntries = 0;
+        cache.clear();
+    }
+
+    @Override
+    public synchronized Set<String> get(Object key) {
+        Set<String> values = cache.get(key);
+        if (values == null) {
+            int keyId = find(key);
+            if (keyId == -1 || heads.get(keyId) == 0) return null;
+            values = Collections.unmodifiableSet(values(keyId));
+            cache.put((String) key, values);
+        }
+        return values;
+    }
+
+    @Override
+    public synchronized boolean containsKey(Object key) {
+        int keyId = find(key);
+        return keyId != -1 && heads.get(keyId) != 0;
+    }
+
+    @Override
+    public synchronized int size() {
+        return keys;
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return keys == 0;
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return new AbstractSet<String>() {
+            public Iterator<String> iterator() { return new KeyIterator(); }
+            public int size() { return OffHeapMultimap.this.size(); }
+            public boolean contains(Object o) { return containsKey(o); }
+        };
+    }
+
+    @Override
+    public Set<Entry<String, Set<String>>> entrySet() {
+        return new AbstractSet<Entry<String, Set<String>>>() {
+            public Iterator<Entry<String, Set<String>>> iterator() {
+                final KeyIterator keyIterator = new KeyIterator();
+                return new Iterator<Entry<String, Set<String>>>() {
+                    public boolean hasNext() { return keyIterator.hasNext(); }
+                    public Entry<String, Set<String>> next() {
+                        synchronized (OffHeapMultimap.this) {
+                            String key = keyIterator.next();
+                            return new SimpleImmutableEntry<>(key, Collections.unmodifiableSet(values(keyIterator.id)));
+                        }
+                    }
+                };
+            }
+            public int size() { return OffHeapMultimap.this.size(); }
+        };
+    }
+
+    @Override
+    public synchronized Collection<String> flatValues() {
+        List<String> result = new ArrayList<>();
+        for (int id = 0; id < strings; id++) {
+            for (int node = heads.get(id); node != 0; node = nodeNexts.get(node - 1)) result.add(string(nodeValues.get(node - 1)));
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized Set<String> flatValuesAsSet() {
+        return new HashSet<>(flatValues());
+    }
+
+    @Override
+    public synchronized Map<String, Set<String>> asMap() {
+        Map<String, Set<String>> result = new HashMap<>(keys * 2);
+        for (Entry<String, Set<String>> entry : entrySet()) result.put(entry.getKey(), entry.getValue());
+        return result;
+    }
+
+    /** the number of distinct strings stored */
+    public synchronized int getStringCount() {
+        return strings;
+    }
+
+    private Set<String> values(int keyId) {
+        Set<String> values = new HashSet<>();
+        for (int node = heads.get(keyId); node != 0; node = nodeNexts.get(node - 1)) values.add(string(nodeValues.get(node - 1)));
+        return values;
+    }
+
+    /** the id of the given string, or -1 */
+    private int find(Object object) {
+        if (!(object instanceof String)) return -1;
+        String string = (String) object;
+        byte[] encoded = string.getBytes(UTF_8);
+        int hash = string.hashCode();
+        for (int slot = mix(hash) & tableMask; ; slot = (slot + 1) & tableMask) {
+            int id = table.get(slot) - 1;
+            if (id == -1) return -1;
+            if (hashes.get(id) == hash && equal(id, encoded)) return id;
+        }
+    }
+
+    /** the id of the given string, adding it if needed */
+    private int intern(String string) {
+        byte[] encoded = string.getBytes(UTF_8);
+        int hash = string.hashCode();
+        int slot = mix(hash) & tableMask;
+        for (int id; (id = table.get(slot) - 1) != -1; slot = (slot + 1) & tableMask) {
+            if (hashes.get(id) == hash && equal(id, encoded)) return id;
+        }
+        int id = strings++;
+        if (byteChunks.isEmpty() || byteChunks.get(byteChunks.size() - 1).remaining() < 4 + encoded.length) {
+            byteChunks.add(allocate(Math.max(BYTE_CHUNK, 4 + encoded.length)));
+        }
+        ByteBuffer chunk = byteChunks.get(byteChunks.size() - 1);
+        chunks.set(id, byteChunks.size() - 1);
+        positions.set(id, chunk.position());
+        hashes.set(id, hash);
+        chunk.putInt(encoded.length).put(encoded);
+        table.set(slot, id + 1);
+        if (strings * 2 > tableMask) rehash();
+        return id;
+    }
+
+    private void rehash() {
+        IntArray next = new IntArray();
+        int mask = tableMask * 2 + 1;
+        for (int id = 0; id < strings; id++) {
+            int slot = mix(hashes.get(id)) & mask;
+            while (next.get(slot) != 0) slot = (slot + 1) & mask;
+            next.set(slot, id + 1);
+        }
+        table.release();
+        table = next;
+        tableMask = mask;
+    }
+
+    private int entrySlot(int keyId, int valueId) {
+        return mix(keyId * 0x5BD1E995 + valueId) & entryMask;
+    }
+
+    /** marks the slot of the given unlinked {@code node} as removed */
+    private void removeEntry(int node) {
+        int slot = entrySlot(nodeKeys.get(node - 1), nodeValues.get(node - 1));
+        while (entryTable.get(slot) != node) slot = (slot + 1) & entryMask;
+        entryTable.set(slot, REMOVED);
+        entries--;
+        removedEntries++;
+    }
+
+    /** rebuilds the entry table from the linked nodes, doubling it unless mostly removed slots filled it */
+    private void rehashEntries() {
+        if (entries * 4 > entryMask) entryMask = entryMask * 2 + 1;
+        entryTable.release();
+        entryTable = new IntArray();
+        removedEntries = 0;
+        for (int id = 0; id < strings; id++) {
+            for (int node = heads.get(id); node != 0; node = nodeNexts.get(node - 1)) {
+                int slot = entrySlot(id, nodeValues.get(node - 1));
+                while (entryTable.get(slot) != 0) slot = (slot + 1) & entryMask;
+                entryTable.set(slot, node);
+            }
+        }
+    }
+
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private boolean equal(int id, byte[] encoded) {
+        ByteBuffer chunk = byteChunks.get(chunks.get(id));
+        int position = positions.get(id);
+        if (chunk.getInt(position) != encoded.length) return false;
+        for (int i = 0; i < encoded.length; i++) {
+            if (chunk.get(position + 4 + i) != encoded[i]) return false;
+        }
+        return true;
+    }
+
+    private String string(int id) {
+        ByteBuffer chunk = byteChunks.get(chunks.get(id)).duplicate();
+        int position = positions.get(id);
+        byte[] encoded = new byte[chunk.getInt(position)];
+        ((Buffer) chunk).position(position + 4);
+        chunk.get(encoded);
+        return new String(encoded, UTF_8);
+    }
+
+    private ByteBuffer allocate(int size) {
+        if (!directory.isPresent()) return ByteBuffer.allocateDirect(size);
+        try {
+            Path file = Files.createTempFile(directory.get(), "reflections", ".offheap");
+            ByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            }
+            if (!file.toFile().delete()) file.toFile().deleteOnExit(); //mapped files can not be deleted on some platforms
+            return buffer;
+        } catch (IOException e) {
+            throw new ReflectionsException("could not map off-heap buffer in " + directory.get(), e);
+        }
+    }
+
+    /** a growable off-heap int array, zero initialized, in segments of up to {@link #INT_SEGMENT} ints.
+     * the last segment doubles as needed: mapped again from the same file, which keeps its contents, or copied to a larger direct buffer */
+    private final class IntArray {
+        private final List<IntBuffer> segments = new ArrayList<>();
+        private FileChannel channel;
+
+        int get(int index) {
+            int segment = index >>> INT_SEGMENT_BITS;
+            if (segment >= segments.size()) return 0;
+            IntBuffer buffer = segments.get(segment);
+            int offset = index & (INT_SEGMENT - 1);
+            return offset < buffer.capacity() ? buffer.get(offset) : 0;
+        }
+
+        void set(int index, int value) {
+            int segment = index >>> INT_SEGMENT_BITS;
+            int offset = index & (INT_SEGMENT - 1);
+            if (segment >= segments.size()) {
+                if (!segments.isEmpty()) grow(segments.size() - 1, INT_SEGMENT);
+                while (segments.size() <= segment) segments.add(null);
+            }
+            IntBuffer buffer = segments.get(segment);
+            if (buffer == null || offset >= buffer.capacity()) {
+                int capacity = buffer != null ? buffer.capacity() : INT_CHUNK;
+                while (capacity <= offset) capacity <<= 1;
+                buffer = grow(segment, capacity);
+            }
+            buffer.put(offset, value);
+        }
+
+        private IntBuffer grow(int segment, int capacity) {
+            IntBuffer previous = segments.get(segment);
+            if (previous != null && previous.capacity() >= capacity) return previous;
+            IntBuffer buffer;
+            if (!directory.isPresent()) {
+                buffer = ByteBuffer.allocateDirect(capacity * 4).asIntBuffer();
+                if (previous != null) buffer.put((IntBuffer) ((Buffer) previous.duplicate()).clear());
+            } else {
+                try {
+                    if (channel == null) {
+                        //unlinked once opened where the platform allows it, otherwise when released or on exit
+                        channel = FileChannel.open(Files.createTempFile(directory.get(), "reflections", ".offheap"),
+                                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+                    }
+                    buffer = channel.map(FileChannel.MapMode.READ_WRITE, (long) segment * INT_SEGMENT * 4, (long) capacity * 4).asIntBuffer();
+                } catch (IOException e) {
+                    throw new ReflectionsException("could not map off-heap buffer in " + directory.get(), e);
+                }
+            }
+            segments.set(segment, buffer);
+            return buffer;
+        }
+
+        /** closes the file of this array, its mappings stay valid until they are garbage collected */
+        void release() {
+            if (channel == null) return;
+            try {
+                channel.close();
+            } catch (IOException e) {
+                //the mappings are not affected
+            }
+            channel = null;
+        }
+    }
+
+    private class KeyIterator implements Iterator<String> {
+        private int next = advance(0);
+        private int id = -1;
+
+        private int advance(int from) {
+            synchronized (OffHeapMultimap.this) {
+                while (from < strings && heads.get(from) == 0) from++;
+                return from;
+            }
+        }
+
+        public boolean hasNext() {
+            synchronized (OffHeapMultimap.this) {
+                return next < strings;
+            }
+        }
+
+        public String next() {
+            synchronized (OffHeapMultimap.this) {
+                if (next >= strings) throw new NoSuchElementException();
+                id = next;
+                next = advance(next + 1);
+                return string(id);
+            }
+        }
+    }
+}
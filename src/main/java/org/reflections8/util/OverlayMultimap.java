@@ -0,0 +1,190 @@
+package org.reflections8.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * a {@link SetMultimap} view of a mutable layer on top of an immutable base, see {@link org.reflections8.OverlayStore}
+ * <p>reads span both: the values of a key are the union of its base and layer values.
+ * writes go to the layer, and only entries which are not in the base are stored, so the layer grows with its own content only.
+ * <p>removals apply to the layer only: removing an entry of the base throws {@link UnsupportedOperationException}, and {@link #clear()} clears the layer.
+ * <p>returned values of keys present in both are copies, otherwise they are unmodifiable views.
+ * {@link #keySet()}, {@link #entrySet()} and {@link #asMap()} are unmodifiable views of the union, and {@link #size()} iterates the layer keys only
+ */
+public class OverlayMultimap extends AbstractMap<String, Set<String>> implements SetMultimap<String, String> {
+    private final SetMultimap<String, String> base;
+    private final SetMultimap<String, String> layer;
+
+    public OverlayMultimap(SetMultimap<String, String> base, SetMultimap<String, String> layer) {
+        this.base = base;
+        this.layer = layer;
+    }
+
+    public SetMultimap<String, String> getBase() {
+        return base;
+    }
+
+    public SetMultimap<String, String> getLayer() {
+        return layer;
+    }
+
+    @Override
+    public boolean putSingle(String key, String value) {
+        Set<String> baseValues = base.get(key);
+        if (baseValues != null && baseValues.contains(value)) return false;
+        return layer.putSingle(key, value);
+    }
+
+    @Override
+    public void putAllSingles(SetMultimap<String, String> m) {
+        for (Map.Entry<String, Set<String>> entry : m.entrySet()) {
+            if (entry.getValue() != null) {
+                for (String value : entry.getValue()) putSingle(entry.getKey(), value);
+            }
+        }
+    }
+
+    @Override
+    public Set<String> put(String key, Set<String> values) {
+        Set<String> previous = get(key);
+        for (String value : values) putSingle(key, value);
+        return previous;
+    }
+
+    @Override
+    public boolean removeSingle(Object key, String value) {
+        Set<String> baseValues = base.get(key);
+        if (baseValues != null && baseValues.contains(value)) {
+            throw new UnsupportedOperationException("can not remove entry of the base " + key + " -> " + value);
+        }
+        return layer.removeSingle(key, value);
+    }
+
+    @Override
+    public Set<String> remove(Object key) {
+        if (base.containsKey(key)) throw new UnsupportedOperationException("can not remove key of the base " + key);
+        return layer.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        layer.clear();
+    }
+
+    @Override
+    public Set<String> get(Object key) {
+        Set<String> baseValues = base.get(key);
+        Set<String> layerValues = layer.get(key);
+        if (layerValues == null || layerValues.isEmpty()) return baseValues != null ? Collections.unmodifiableSet(baseValues) : layerValues;
+        if (baseValues == null || baseValues.isEmpty()) return Collections.unmodifiableSet(layerValues);
+        Set<String> result = new HashSet<>(baseValues);
+        result.addAll(layerValues);
+        return result;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return layer.containsKey(key) || base.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        int size = base.size();
+        for (String key : layer.keySet()) if (!base.containsKey(key)) size++;
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return base.isEmpty() && layer.isEmpty();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return new AbstractSet<String>() {
+            @Override public Iterator<String> iterator() { return keys(); }
+            @Override public boolean contains(Object key) { return containsKey(key); }
+            @Override public int size() { return OverlayMultimap.this.size(); }
+        };
+    }
+
+    @Override
+    public Set<Entry<String, Set<String>>> entrySet() {
+        return new AbstractSet<Entry<String, Set<String>>>() {
+            @Override
+            public Iterator<Entry<String, Set<String>>> iterator() {
+                Iterator<String> keys = keys();
+                return new Iterator<Entry<String, Set<String>>>() {
+                    @Override public boolean hasNext() { return keys.hasNext(); }
+                    @Override public Entry<String, Set<String>> next() {
+                        String key = keys.next();
+                        return new SimpleImmutableEntry<>(key, get(key));
+                    }
+                };
+            }
+
+            @Override public int size() { return OverlayMultimap.this.size(); }
+        };
+    }
+
+    /** the keys of the base, followed by the keys of the layer which are not in the base */
+    private Iterator<String> keys() {
+        Iterator<String> baseKeys = base.keySet().iterator();
+        Iterator<String> layerKeys = layer.keySet().iterator();
+        return new Iterator<String>() {
+            private String next;
+
+            @Override
+            public boolean hasNext() {
+                if (next != null) return true;
+                if (baseKeys.hasNext()) {
+                    next = baseKeys.next();
+                    return true;
+                }
+                while (layerKeys.hasNext()) {
+                    String key = layerKeys.next();
+                    if (!base.containsKey(key)) {
+                        next = key;
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                String result = next;
+                next = null;
+                return result;
+            }
+        };
+    }
+
+    @Override
+    public Collection<String> flatValues() {
+        Collection<String> result = new ArrayList<>(base.flatValues());
+        result.addAll(layer.flatValues());
+        return result;
+    }
+
+    @Override
+    public Set<String> flatValuesAsSet() {
+        Set<String> result = new HashSet<>(base.flatValuesAsSet());
+        result.addAll(layer.flatValuesAsSet());
+        return result;
+    }
+
+    @Override
+    public Map<String, Set<String>> asMap() {
+        return Collections.unmodifiableMap(this);
+    }
+}
@@ -0,0 +1,163 @@
+package org.reflections8.util;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * the {@link SetMultimap} of resource simple names to relative paths, as stored by {@link org.reflections8.scanners.ResourcesScanner},
+ * maintaining secondary indices: resource paths by extension, and sorted resource paths and names
+ * <p>allows resource queries by extension, directory or name prefix without iterating all resources, see {@link org.reflections8.ResourceQuery}
+ * <p>all methods are synchronized, so that it may be populated by parallel scanning. returned collections are copies
+ */
+public class ResourcesMultimap extends AbstractMap<String, Set<String>> implements SetMultimap<String, String> {
+    private final Map<String, Set<String>> byName = new HashMap<>();
+    private final Map<String, Set<String>> byExtension = new HashMap<>();
+    private final TreeSet<String> names = new TreeSet<>();
+    private final TreeSet<String> paths = new TreeSet<>();
+
+    /** the extension of the given resource name or path, without the dot, or the empty string */
+    public static String extension(String resource) {
+        int dot = resource.lastIndexOf('.');
+        return dot != -1 && dot > resource.lastIndexOf('/') ? resource.substring(dot + 1) : "";
+    }
+
+    /** the relative paths of resources with the given extension, without the dot, such as {@code sql} */
+    public synchronized Set<String> getByExtension(String extension) {
+        Set<String> result = byExtension.get(extension);
+        return result != null ? new HashSet<>(result) : Collections.<String>emptySet();
+    }
+
+    /** the relative paths of resources in the given directory or its sub directories, such as {@code META-INF/services}, sorted */
+    public synchronized List<String> getInDirectory(String directory) {
+        return getPathsStartingWith(directory.isEmpty() || directory.endsWith("/") ? directory : directory + "/");
+    }
+
+    /** the relative paths starting with the given prefix, sorted */
+    public synchronized List<String> getPathsStartingWith(String prefix) {
+        return new ArrayList<>(paths.subSet(prefix, true, prefix + Character.MAX_VALUE, true));
+    }
+
+    /** the simple names starting with the given prefix, sorted */
+    public synchronized List<String> getNamesStartingWith(String prefix) {
+        return new ArrayList<>(names.subSet(prefix, true, prefix + Character.MAX_VALUE, true));
+    }
+
+    //SetMultimap
+    @Override
+    public synchronized boolean putSingle(String name, String path) {
+        Set<String> namePaths = byName.get(name);
+        if (namePaths == null) {
+            byName.put(name, namePaths = new HashSet<>());
+            names.add(name);
+        }
+        if (!namePaths.add(path)) return false;
+        byExtension.computeIfAbsent(extension(name), e -> new HashSet<>()).add(path);
+        paths.add(path);
+        return true;
+    }
+
+    @Override
+    public synchronized void putAllSingles(SetMultimap<String, String> m) {
+        for (Map.Entry<String, Set<String>> entry : m.entrySet()) {
+            if (entry.getValue() != null) {
+                for (String path : entry.getValue()) putSingle(entry.getKey(), path);
+            }
+        }
+    }
+
+    @Override
+    public synchronized Set<String> put(String name, Set<String> namePaths) {
+        Set<String> previous = remove(name);
+        for (String path : namePaths) putSingle(name, path);
+        return previous;
+    }
+
+    @Override
+    public synchronized boolean removeSingle(Object name, String path) {
+        Set<String> namePaths = byName.get(name);
+        if (namePaths == null || !namePaths.remove(path)) return false;
+        if (namePaths.isEmpty()) {
+            byName.remove(name);
+            names.remove(name);
+        }
+        String extension = extension((String) name);
+        Set<String> extensionPaths = byExtension.get(extension);
+        extensionPaths.remove(path);
+        if (extensionPaths.isEmpty()) byExtension.remove(extension);
+        paths.remove(path);
+        return true;
+    }
+
+    @Override
+    public synchronized Set<String> remove(Object name) {
+        Set<String> namePaths = get(name);
+        if (namePaths != null) {
+            for (String path : namePaths) removeSingle(name, path);
+        }
+        return namePaths;
+    }
+
+    @Override
+    public synchronized void clear() {
+        byName.clear();
+        byExtension.clear();
+        names.clear();
+        paths.clear();
+    }
+
+    @Override
+    public synchronized Set<String> get(Object name) {
+        Set<String> namePaths = byName.get(name);
+        return namePaths != null ? new HashSet<>(namePaths) : null;
+    }
+
+    @Override
+    public synchronized boolean containsKey(Object name) {
+        return byName.containsKey(name);
+    }
+
+    @Override
+    public synchronized int size() {
+        return byName.size();
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return byName.isEmpty();
+    }
+
+    @Override
+    public synchronized Set<String> keySet() {
+        return new HashSet<>(byName.keySet());
+    }
+
+    @Override
+    public synchronized Set<Entry<String, Set<String>>> entrySet() {
+        return asMap().entrySet();
+    }
+
+    @Override
+    public synchronized Collection<String> flatValues() {
+        return new ArrayList<>(paths);
+    }
+
+    @Override
+    public synchronized Set<String> flatValuesAsSet() {
+        return new HashSet<>(paths);
+    }
+
+    @Override
+    public synchronized Map<String, Set<String>> asMap() {
+        Map<String, Set<String>> result = new HashMap<>(byName.size() * 2);
+        for (Map.Entry<String, Set<String>> entry : byName.entrySet()) result.put(entry.getKey(), new HashSet<>(entry.getValue()));
+        return result;
+    }
+}
@@ -221,5 +221,19 @@ public abstract class Utils {
         return field.getDeclaringClass().getName() + "." + field.getName();
     }
 
+    /**
+     * the indexed form of an annotation member value, see {@link org.reflections8.scanners.AnnotationValuesScanner}
+     * <p>primitives and strings as {@link String#valueOf(Object)}, enum constants as their name and class literals as {@link #name(Class)}.
+     * returns null for other values, such as arrays and annotations, which are not indexed
+     */
+    public static String annotationMemberValue(Object value) {
+        if (value instanceof Class) return name((Class) value);
+        if (value instanceof Enum) return ((Enum) value).name();
+        if (value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof Character) {
+            return String.valueOf(value);
+        }
+        return null;
+    }
+
     public static String index(Class<? extends Scanner> scannerClass) { return scannerClass.getSimpleName(); }
 }
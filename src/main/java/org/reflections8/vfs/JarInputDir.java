@@ -28,6 +28,10 @@ public class JarInputDir implements Vfs.Dir {
     }
 
     public Iterable<Vfs.File> getFiles() {
+        return getFiles(null);
+    }
+
+    public Iterable<Vfs.File> getFiles(final PackagePrefixes prefixes) {
         return new Iterable<Vfs.File>() {
             public Iterator<Vfs.File> iterator() {
                 return new AbstractIterator<Vfs.File>() {
@@ -48,7 +52,7 @@ public class JarInputDir implements Vfs.Dir {
                                 long size = entry.getSize();
                                 if (size < 0) size = 0xffffffffl + size; //JDK-6916399
                                 nextCursor += size;
-                                if (!entry.isDirectory()) {
+                                if (!entry.isDirectory() && (prefixes == null || prefixes.acceptsFile(entry.getName()))) {
                                     return new JarInputFile(entry, JarInputDir.this, cursor, nextCursor);
                                 }
                             } catch (IOException e) {
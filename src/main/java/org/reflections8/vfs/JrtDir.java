@@ -0,0 +1,192 @@
+package org.reflections8.vfs;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Stack;
+
+import org.reflections8.Reflections;
+import org.reflections8.ReflectionsException;
+import org.reflections8.util.AbstractIterator;
+
+/**
+ * An implementation of {@link org.reflections8.vfs.Vfs.Dir} for the modules of the Java runtime image, using the {@code jrt:/} file system of Java 9+
+ * <p>the url {@code jrt:/java.base} is the module java.base, and {@code jrt:/} is all modules of the image.
+ * the relative paths of the files are relative to their module, as in a jar, such as {@code java/util/List.class}.
+ * <p>use {@link org.reflections8.util.ClasspathHelper#forModules(String...)} to get a url per module, so that with
+ * {@link org.reflections8.util.ConfigurationBuilder#useParallelExecutor()} the modules are scanned in parallel.
+ * <p>on Java 8, which has no runtime image, {@link #isAvailable()} is false and the {@code jrt} urls can not be created.
+ */
+public class JrtDir implements Vfs.Dir {
+    public static final String PROTOCOL = "jrt";
+
+    private static volatile Optional<FileSystem> fileSystem;
+    private static volatile Map<String, String> packageModules;
+
+    private final URL url;
+    private final List<Path> modules;
+
+    public JrtDir(URL url) {
+        if (!isAvailable()) throw new ReflectionsException("the jrt file system is not available, requires Java 9+");
+        this.url = url;
+        String module = url.getPath();
+        while (module.startsWith("/")) module = module.substring(1);
+        if (module.endsWith("/")) module = module.substring(0, module.length() - 1);
+        if (module.isEmpty()) {
+            modules = new ArrayList<>();
+            for (String name : getModuleNames()) modules.add(modulesPath().resolve(name));
+        } else {
+            if (module.contains("/")) throw new ReflectionsException("only module urls, such as jrt:/java.base, are supported [" + url + "]");
+            Path path = modulesPath().resolve(module);
+            if (!Files.isDirectory(path)) throw new ReflectionsException("no such module in the runtime image [" + url + "]");
+            modules = Collections.singletonList(path);
+        }
+    }
+
+    /** true if the {@code jrt:/} file system of the Java runtime image is available */
+    public static boolean isAvailable() {
+        return fileSystem().isPresent();
+    }
+
+    /** the names of the modules of the runtime image, or an empty list if it is not available */
+    public static List<String> getModuleNames() {
+        if (!isAvailable()) return Collections.emptyList();
+        List<String> names = new ArrayList<>();
+        for (Path module : list(modulesPath())) names.add(module.getFileName().toString());
+        Collections.sort(names);
+        return names;
+    }
+
+    /** the url of the given module, {@code jrt:/module} */
+    public static URL forModule(String module) {
+        try {
+            return new URL(PROTOCOL + ":/" + module);
+        } catch (MalformedURLException e) {
+            throw new ReflectionsException("could not create url of module " + module, e);
+        }
+    }
+
+    /**
+     * the class file of the given {@code typeName} in the runtime image, found through the package's module without walking the image
+     * @return the path, or empty if the type is not in the runtime image or it is not available
+     */
+    public static Optional<Path> findClassFile(String typeName) {
+        if (!isAvailable()) return Optional.empty();
+        int dot = typeName.lastIndexOf('.');
+        if (dot == -1) return Optional.empty();
+        String module = packageModules().get(typeName.substring(0, dot));
+        if (module == null) return Optional.empty();
+        Path path = modulesPath().resolve(module).resolve(typeName.replace('.', '/') + ".class");
+        return Files.exists(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    private static Optional<FileSystem> fileSystem() {
+        if (fileSystem == null) {
+            synchronized (JrtDir.class) {
+                if (fileSystem == null) {
+                    Optional<FileSystem> result = Optional.empty();
+                    try {
+                        result = Optional.of(FileSystems.getFileSystem(URI.create(PROTOCOL + ":/")));
+                    } catch (RuntimeException e) {
+                        if (Reflections.log.isPresent()) Reflections.log.get().debug("the jrt file system is not available", e);
+                    }
+                    fileSystem = result;
+                }
+            }
+        }
+        return fileSystem;
+    }
+
+    private static Path modulesPath() {
+        return fileSystem().get().getPath("/modules");
+    }
+
+    /** the module of each package, from the {@code /packages} directory of the image, which links each package to its modules */
+    private static Map<String, String> packageModules() {
+        if (packageModules == null) {
+            synchronized (JrtDir.class) {
+                if (packageModules == null) {
+                    Map<String, String> result = new HashMap<>();
+                    for (Path aPackage : list(fileSystem().get().getPath("/packages"))) {
+                        List<Path> modules = list(aPackage);
+                        if (!modules.isEmpty()) {
+                            result.put(aPackage.getFileName().toString(), modules.get(0).getFileName().toString());
+                        }
+                    }
+                    packageModules = result;
+                }
+            }
+        }
+        return packageModules;
+    }
+
+    private static List<Path> list(Path directory) {
+        List<Path> paths = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path path : stream) paths.add(path);
+        } catch (IOException e) {
+            throw new ReflectionsException("could not list " + directory, e);
+        }
+        return paths;
+    }
+
+    public String getPath() {
+        return url.toExternalForm();
+    }
+
+    public Iterable<Vfs.File> getFiles() {
+        return getFiles(null);
+    }
+
+    /** directories are pruned before being listed, as in {@link SystemDir} */
+    public Iterable<Vfs.File> getFiles(final PackagePrefixes prefixes) {
+        return new Iterable<Vfs.File>() {
+            public Iterator<Vfs.File> iterator() {
+                return new AbstractIterator<Vfs.File>() {
+                    final Stack<Path> stack = new Stack<>();
+                    {for (Path module : modules) stack.addAll(list(module));}
+
+                    public Vfs.File computeNext() {
+                        while (!stack.isEmpty()) {
+                            Path path = stack.pop();
+                            String relativePath = relativePath(path);
+                            if (Files.isDirectory(path)) {
+                                String directory = relativePath + "/";
+                                if (prefixes == null || prefixes.acceptsDirectory(directory, directory.length())) stack.addAll(list(path));
+                            } else if (prefixes == null || prefixes.acceptsFile(relativePath)) {
+                                return new JrtFile(relativePath, path);
+                            }
+                        }
+                        return endOfData();
+                    }
+                };
+            }
+        };
+    }
+
+    /** the path relative to its module, /modules/module/relative/path */
+    private static String relativePath(Path path) {
+        return path.subpath(2, path.getNameCount()).toString();
+    }
+
+    public void close() {
+    }
+
+    @Override
+    public String toString() {
+        return getPath();
+    }
+}
@@ -0,0 +1,34 @@
+package org.reflections8.vfs;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/** an implementation of {@link org.reflections8.vfs.Vfs.File} for a file of a module in the Java runtime image */
+public class JrtFile implements Vfs.File {
+    private final String relativePath;
+    private final Path path;
+
+    public JrtFile(String relativePath, Path path) {
+        this.relativePath = relativePath;
+        this.path = path;
+    }
+
+    public String getName() {
+        return path.getFileName().toString();
+    }
+
+    public String getRelativePath() {
+        return relativePath;
+    }
+
+    public InputStream openInputStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    @Override
+    public String toString() {
+        return path.toUri().toString();
+    }
+}
@@ -0,0 +1,292 @@
+package org.reflections8.vfs;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.reflections8.ReflectionsException;
+import org.reflections8.util.AbstractIterator;
+
+/**
+ * An implementation of {@link org.reflections8.vfs.Vfs.Dir} for fat jars, such as Spring Boot jars and wars, which scans their nested jars in place
+ * <p>the jar is memory mapped. the nested jars in {@link #LIB_DIRECTORIES} are read from the mapped file without extracting them:
+ * stored nested jars are read through their offsets in the mapped file, and deflated nested jars are inflated once into a pooled buffer,
+ * which is released when the iteration moves to the next root, or when the dir is closed. the files of a nested jar must be read before
+ * iterating to the next root, and files must not be read after the dir is closed.
+ * <p>the mapped jar and its central directory are cached per file, so that the dirs of the roots of the same fat jar share them.
+ * <p>the relative paths of the files of a nested jar are relative to the nested jar, and those of {@link #CLASSES_DIRECTORIES} are relative to their directory,
+ * as they are on the class path of the application.
+ * <p>the dir is either the whole fat jar, or a single root of it, a nested jar or a classes directory, as in the url {@code jar:file:/app.jar!/BOOT-INF/lib/lib.jar!/}.
+ * use {@link org.reflections8.util.ClasspathHelper#forFatJar(URL)} to get the url of each root, so that with
+ * {@link org.reflections8.util.ConfigurationBuilder#useParallelExecutor()} the nested jars are scanned in parallel.
+ * <p>zip64 fat jars and nested jars are not supported.
+ */
+public class NestedJarDir implements Vfs.Dir {
+    public static final List<String> LIB_DIRECTORIES = Collections.unmodifiableList(Arrays.asList("BOOT-INF/lib/", "WEB-INF/lib/"));
+    public static final List<String> CLASSES_DIRECTORIES = Collections.unmodifiableList(Arrays.asList("BOOT-INF/classes/", "WEB-INF/classes/"));
+
+    private static final long MAX_POOL_BYTES = 64 * 1024 * 1024;
+    private static final Deque<byte[]> pool = new ArrayDeque<>();
+    private static long pooledBytes;
+
+    private static final int MAX_CACHED_JARS = 4;
+    private static final Map<String, ZipBuffer> jars = new LinkedHashMap<String, ZipBuffer>(MAX_CACHED_JARS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ZipBuffer> eldest) {
+            return size() > MAX_CACHED_JARS;
+        }
+    };
+
+    private final java.io.File file;
+    private final Optional<String> root;
+    private final ZipBuffer zip;
+    private final List<byte[]> buffers = new ArrayList<>();
+
+    /** the whole fat jar: the entries of the jar itself, its classes directories and its nested jars */
+    public NestedJarDir(java.io.File file) throws IOException {
+        this(file, Optional.empty());
+    }
+
+    /** the given root of the fat jar, a nested jar such as {@code BOOT-INF/lib/lib.jar} or a classes directory such as {@code BOOT-INF/classes/} */
+    public NestedJarDir(java.io.File file, String root) throws IOException {
+        this(file, Optional.of(root));
+    }
+
+    private NestedJarDir(java.io.File file, Optional<String> root) throws IOException {
+        this.file = file;
+        this.root = root;
+        zip = open(file);
+        if (root.isPresent() && !isRoot(root.get())) throw new ReflectionsException("not a nested jar or classes directory " + root.get());
+    }
+
+    /** the mapped jar of the given file, cached by its path, length and modification time */
+    private static ZipBuffer open(java.io.File file) throws IOException {
+        if (file.length() > Integer.MAX_VALUE) throw new ReflectionsException("jars larger than 2GB are not supported [" + file + "]");
+        String key = file.getCanonicalPath() + ":" + file.length() + ":" + file.lastModified();
+        synchronized (jars) {
+            ZipBuffer zip = jars.get(key);
+            if (zip != null) return zip;
+        }
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        ZipBuffer zip = ZipBuffer.of(buffer);
+        synchronized (jars) {
+            jars.put(key, zip);
+        }
+        return zip;
+    }
+
+    /** true if the given entry name is a nested jar */
+    public static boolean isNestedJar(String name) {
+        return name.endsWith(".jar") && startsWithAny(name, LIB_DIRECTORIES) && name.indexOf('/', libDirectory(name).length()) == -1;
+    }
+
+    /** the classes directories and nested jars of the given fat jar */
+    public static List<String> getRoots(java.io.File file) throws IOException {
+        NestedJarDir dir = new NestedJarDir(file);
+        try {
+            return dir.roots();
+        } finally {
+            dir.close();
+        }
+    }
+
+    /**
+     * the root of the given url, {@code jar:file:/app.jar!/BOOT-INF/lib/lib.jar!/} or {@code jar:file:/app.jar!/BOOT-INF/classes!/}
+     * @return the root, or empty if the url is not a root of a fat jar
+     */
+    public static Optional<String> getRoot(URL url) {
+        if (!"jar".equals(url.getProtocol())) return Optional.empty();
+        String spec = url.getFile();
+        int separator = spec.indexOf("!/");
+        if (separator == -1) return Optional.empty();
+        String root = spec.substring(separator + 2);
+        if (root.endsWith("!/")) root = root.substring(0, root.length() - 2);
+        if (!root.endsWith(".jar") && !root.endsWith("/")) root += "/";
+        return isNestedJar(root) || CLASSES_DIRECTORIES.contains(root) ? Optional.of(root) : Optional.empty();
+    }
+
+    /** creates the dir of the given url, see {@link #getRoot(URL)} */
+    public static NestedJarDir of(URL url) throws IOException {
+        Optional<String> root = getRoot(url);
+        if (!root.isPresent()) throw new ReflectionsException("not a root of a fat jar [" + url + "]");
+        String spec = url.getFile();
+        Optional<java.io.File> file = Vfs.getFile(new URL(spec.substring(0, spec.indexOf("!/"))));
+        if (!file.isPresent()) throw new ReflectionsException("could not find the fat jar of [" + url + "]");
+        return new NestedJarDir(file.get(), root.get());
+    }
+
+    /** the url of the given root of the given fat jar url, see {@link #getRoot(URL)} */
+    public static URL forRoot(URL url, String root) {
+        try {
+            return new URL("jar:" + url.toExternalForm() + "!/" + (root.endsWith("/") ? root.substring(0, root.length() - 1) : root) + "!/");
+        } catch (MalformedURLException e) {
+            throw new ReflectionsException("could not create url of " + root + " in " + url, e);
+        }
+    }
+
+    public String getPath() {
+        return file.getPath().replace("\\", "/") + (root.isPresent() ? "!/" + root.get() : "");
+    }
+
+    public Iterable<Vfs.File> getFiles() {
+        return getFiles(null);
+    }
+
+    /** roots are read one at a time while iterating, a nested jar is inflated when its first file is reached and released when the next root is reached */
+    public Iterable<Vfs.File> getFiles(final PackagePrefixes prefixes) {
+        return new Iterable<Vfs.File>() {
+            public Iterator<Vfs.File> iterator() {
+                return new AbstractIterator<Vfs.File>() {
+                    final Iterator<String> roots = (root.isPresent() ? Collections.singletonList(root.get()) : roots()).iterator();
+                    boolean outer = !root.isPresent();
+                    Iterator<Vfs.File> files = Collections.emptyIterator();
+
+                    protected Vfs.File computeNext() {
+                        while (!files.hasNext()) {
+                            if (outer) {
+                                outer = false;
+                                files = files(zip, "", prefixes, true).iterator();
+                            } else if (roots.hasNext()) {
+                                releaseBuffers();
+                                String next = roots.next();
+                                files = next.endsWith("/") ? files(zip, next, prefixes, false).iterator() : files(nested(next), "", prefixes, false).iterator();
+                            } else {
+                                return endOfData();
+                            }
+                        }
+                        return files.next();
+                    }
+                };
+            }
+        };
+    }
+
+    private List<String> roots() {
+        List<String> roots = new ArrayList<>();
+        for (String directory : CLASSES_DIRECTORIES) {
+            if (hasEntryIn(directory)) roots.add(directory);
+        }
+        for (ZipBuffer.Entry entry : zip.getEntries()) {
+            if (isNestedJar(entry.name)) roots.add(entry.name);
+        }
+        return roots;
+    }
+
+    private boolean hasEntryIn(String directory) {
+        for (ZipBuffer.Entry entry : zip.getEntries()) {
+            if (entry.name.startsWith(directory)) return true;
+        }
+        return false;
+    }
+
+    /** the files of the given zip in the given directory, or, if {@code outer}, the files of the fat jar which are in no root */
+    private List<Vfs.File> files(ZipBuffer zip, String directory, PackagePrefixes prefixes, boolean outer) {
+        List<Vfs.File> files = new ArrayList<>();
+        for (ZipBuffer.Entry entry : zip.getEntries()) {
+            if (entry.isDirectory() || !entry.name.startsWith(directory)) continue;
+            if (outer && (startsWithAny(entry.name, CLASSES_DIRECTORIES) || startsWithAny(entry.name, LIB_DIRECTORIES))) continue;
+            String relativePath = entry.name.substring(directory.length());
+            if (prefixes == null || prefixes.acceptsFile(relativePath)) files.add(new NestedJarFile(zip, entry, relativePath));
+        }
+        return files;
+    }
+
+    private ZipBuffer nested(String name) {
+        ZipBuffer.Entry entry = zip.getEntry(name);
+        if (entry == null) throw new ReflectionsException("no nested jar " + name + " in " + file);
+        if (entry.method == ZipBuffer.STORED) return ZipBuffer.of(zip.data(entry));
+
+        if (entry.size > Integer.MAX_VALUE) throw new ReflectionsException("nested jars larger than 2GB are not supported " + name);
+        byte[] buffer = acquire((int) entry.size);
+        synchronized (buffers) {
+            buffers.add(buffer);
+        }
+        try (InputStream inputStream = zip.open(entry)) {
+            int offset = 0;
+            int read;
+            while (offset < entry.size && (read = inputStream.read(buffer, offset, (int) entry.size - offset)) != -1) {
+                offset += read;
+            }
+            if (offset != entry.size) throw new ReflectionsException("truncated nested jar " + name);
+        } catch (IOException e) {
+            throw new ReflectionsException("could not inflate nested jar " + name, e);
+        }
+        return ZipBuffer.of(ByteBuffer.wrap(buffer, 0, (int) entry.size));
+    }
+
+    private boolean isRoot(String name) {
+        return CLASSES_DIRECTORIES.contains(name) || isNestedJar(name);
+    }
+
+    private static String libDirectory(String name) {
+        for (String directory : LIB_DIRECTORIES) {
+            if (name.startsWith(directory)) return directory;
+        }
+        return "";
+    }
+
+    private static boolean startsWithAny(String name, List<String> prefixes) {
+        for (String prefix : prefixes) {
+            if (name.startsWith(prefix)) return true;
+        }
+        return false;
+    }
+
+    /** a pooled buffer of at least the given size */
+    private static byte[] acquire(int size) {
+        synchronized (pool) {
+            for (Iterator<byte[]> iterator = pool.iterator(); iterator.hasNext(); ) {
+                byte[] buffer = iterator.next();
+                if (buffer.length >= size) {
+                    iterator.remove();
+                    pooledBytes -= buffer.length;
+                    return buffer;
+                }
+            }
+        }
+        return new byte[size];
+    }
+
+    /** pools the given buffer, unless the pool would hold more than {@link #MAX_POOL_BYTES} */
+    private static void release(byte[] buffer) {
+        synchronized (pool) {
+            if (pooledBytes + buffer.length > MAX_POOL_BYTES) return;
+            pool.push(buffer);
+            pooledBytes += buffer.length;
+        }
+    }
+
+    private void releaseBuffers() {
+        synchronized (buffers) {
+            for (byte[] buffer : buffers) release(buffer);
+            buffers.clear();
+        }
+    }
+
+    public void close() {
+        releaseBuffers();
+    }
+
+    @Override
+    public String toString() {
+        return getPath();
+    }
+}
@@ -0,0 +1,33 @@
+package org.reflections8.vfs;
+
+import java.io.InputStream;
+
+/** an implementation of {@link org.reflections8.vfs.Vfs.File} for an entry of a fat jar or of its nested jars, see {@link NestedJarDir} */
+public class NestedJarFile implements Vfs.File {
+    private final ZipBuffer zip;
+    private final ZipBuffer.Entry entry;
+    private final String relativePath;
+
+    NestedJarFile(ZipBuffer zip, ZipBuffer.Entry entry, String relativePath) {
+        this.zip = zip;
+        this.entry = entry;
+        this.relativePath = relativePath;
+    }
+
+    public String getName() {
+        return relativePath.substring(relativePath.lastIndexOf("/") + 1);
+    }
+
+    public String getRelativePath() {
+        return relativePath;
+    }
+
+    public InputStream openInputStream() {
+        return zip.open(entry);
+    }
+
+    @Override
+    public String toString() {
+        return entry.name;
+    }
+}
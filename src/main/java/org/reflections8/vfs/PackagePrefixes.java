@@ -0,0 +1,88 @@
+package org.reflections8.vfs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import org.reflections8.util.CompiledFilter;
+import org.reflections8.util.FilterBuilder;
+
+/**
+ * the prefixes which relative paths of scanned files must start with, derived from the inputs filter,
+ * used by {@link Vfs.Dir#getFiles(PackagePrefixes)} to skip directories and entries before creating {@link Vfs.File}s
+ * <p>since the inputs filter is tested on both the relative path and the fully qualified name of a file,
+ * '/' and '.' are considered equal when matching prefixes. a path accepted here might still be rejected by the inputs filter,
+ * but a path rejected here is always rejected by the inputs filter.
+ */
+public class PackagePrefixes {
+    private final String[] prefixes;
+
+    private PackagePrefixes(List<String> prefixes) {
+        this.prefixes = new String[prefixes.size()];
+        for (int i = 0; i < prefixes.size(); i++) {
+            this.prefixes[i] = prefixes.get(i).replace('/', '.');
+        }
+    }
+
+    /**
+     * derive the prefixes from the given inputs filter, see {@link CompiledFilter#getIncludedPrefixes()}.
+     * @return the prefixes, or empty if the inputs filter is not a {@link FilterBuilder} or any path might be accepted by it
+     */
+    public static Optional<PackagePrefixes> of(Optional<Predicate<String>> inputsFilter) {
+        if (inputsFilter.isPresent() && inputsFilter.get() instanceof FilterBuilder) {
+            List<String> prefixes = ((FilterBuilder) inputsFilter.get()).compile().getIncludedPrefixes();
+            if (prefixes != null && !prefixes.contains("")) {
+                return Optional.of(new PackagePrefixes(prefixes));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /** create prefixes of the given package or path prefixes */
+    public static PackagePrefixes of(String... prefixes) {
+        List<String> list = new ArrayList<>(prefixes.length);
+        for (String prefix : prefixes) list.add(prefix);
+        return new PackagePrefixes(list);
+    }
+
+    /** true if the given relative path might be accepted */
+    public boolean acceptsFile(String path) {
+        for (String prefix : prefixes) {
+            if (path.length() >= prefix.length() && regionMatches(path, prefix, prefix.length())) return true;
+        }
+        return false;
+    }
+
+    /** true if the directory of the given relative path up to {@code end} (exclusive, after a '/') might contain accepted paths */
+    public boolean acceptsDirectory(String path, int end) {
+        for (String prefix : prefixes) {
+            if (regionMatches(path, prefix, Math.min(end, prefix.length()))) return true;
+        }
+        return false;
+    }
+
+    /**
+     * the shortest directory of the given relative path which can not contain accepted paths, such as "org/" for a path "org/foo/Bar.class"
+     * and a prefix "com.acme", or null if there is none
+     */
+    public String rejectedDirectory(String path) {
+        for (int slash = path.indexOf('/'); slash != -1; slash = path.indexOf('/', slash + 1)) {
+            if (!acceptsDirectory(path, slash + 1)) return path.substring(0, slash + 1);
+        }
+        return null;
+    }
+
+    private static boolean regionMatches(String path, String prefix, int length) {
+        for (int i = 0; i < length; i++) {
+            char c = path.charAt(i);
+            if ((c == '/' ? '.' : c) != prefix.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return String.join(", ", prefixes);
+    }
+}
@@ -32,6 +32,11 @@ public class SystemDir implements Vfs.Dir {
     }
 
     public Iterable<Vfs.File> getFiles() {
+        return getFiles(null);
+    }
+
+    /** directories are pruned before being listed, so that whole rejected subtrees are never walked */
+    public Iterable<Vfs.File> getFiles(final PackagePrefixes prefixes) {
         if (file == null || !file.exists()) {
             return Collections.emptyList();
         }
@@ -45,8 +50,13 @@ public class SystemDir implements Vfs.Dir {
                         while (!stack.isEmpty()) {
                             final File file = stack.pop();
                             if (file.isDirectory()) {
-                                stack.addAll(listFiles(file));
-                            } else {
+                                if (prefixes == null) {
+                                    stack.addAll(listFiles(file));
+                                } else {
+                                    String path = relativePath(file) + "/";
+                                    if (prefixes.acceptsDirectory(path, path.length())) stack.addAll(listFiles(file));
+                                }
+                            } else if (prefixes == null || prefixes.acceptsFile(relativePath(file))) {
                                 return new SystemFile(SystemDir.this, file);
                             }
                         }
@@ -58,6 +68,10 @@ public class SystemDir implements Vfs.Dir {
         };
     }
 
+    private String relativePath(File file) {
+        return file.getPath().substring(this.file.getPath().length() + 1).replace('\\', '/');
+    }
+
     private static List<File> listFiles(final File file) {
         File[] files = file.listFiles();
 
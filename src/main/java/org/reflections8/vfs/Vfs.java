@@ -65,6 +65,12 @@ public abstract class Vfs {
         String getPath();
         Iterable<File> getFiles();
         void close();
+
+        /** the files whose relative paths might be accepted by the given {@code prefixes}.
+         * implementations skip directories and entries not matching the prefixes without creating files. by default all files are returned */
+        default Iterable<File> getFiles(PackagePrefixes prefixes) {
+            return getFiles();
+        }
     }
 
     /** an abstract vfs file */
@@ -210,11 +216,13 @@ public abstract class Vfs {
     /** default url types used by {@link org.reflections8.vfs.Vfs#fromURL(java.net.URL)}
      * <p>
      * <p>jarFile - creates a {@link org.reflections8.vfs.ZipDir} over jar file
+     * <p>nestedJar - creates a {@link NestedJarDir} over a nested jar or classes directory of a fat jar, such as jar:file:/app.jar!/BOOT-INF/lib/lib.jar!/
      * <p>jarUrl - creates a {@link org.reflections8.vfs.ZipDir} over a jar url (contains ".jar!/" in it's name), using Java's {@link JarURLConnection}
      * <p>directory - creates a {@link org.reflections8.vfs.SystemDir} over a file system directory
      * <p>jboss vfs - for protocols vfs, using jboss vfs (should be provided in classpath)
      * <p>jboss vfsfile - creates a {@link UrlTypeVFS} for protocols vfszip and vfsfile.
      * <p>bundle - for bundle protocol, using eclipse FileLocator (should be provided in classpath)
+     * <p>jrt - creates a {@link JrtDir} over modules of the Java runtime image, for protocol jrt on Java 9+
      * <p>jarInputStream - creates a {@link JarInputDir} over jar files, using Java's JarInputStream
      * */
     public static enum DefaultUrlTypes implements UrlType {
@@ -228,6 +236,16 @@ public abstract class Vfs {
             }
         },
 
+        nestedJar {
+            public boolean matches(URL url) {
+                return NestedJarDir.getRoot(url).isPresent();
+            }
+
+            public Dir createDir(URL url) throws Exception {
+                return NestedJarDir.of(url);
+            }
+        },
+
         jarUrl {
             public boolean matches(URL url) {
                 return "jar".equals(url.getProtocol()) || "zip".equals(url.getProtocol()) || "wsjar".equals(url.getProtocol());
@@ -300,6 +318,16 @@ public abstract class Vfs {
             }
         },
 
+        jrt {
+            public boolean matches(URL url) throws Exception {
+                return JrtDir.PROTOCOL.equals(url.getProtocol());
+            }
+
+            public Dir createDir(URL url) throws Exception {
+                return new JrtDir(url);
+            }
+        },
+
         jarInputStream {
             public boolean matches(URL url) throws Exception {
                 return url.toExternalForm().contains(".jar");
@@ -0,0 +1,194 @@
+package org.reflections8.vfs;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import org.reflections8.ReflectionsException;
+
+/**
+ * a zip file in a {@link ByteBuffer}, such as a memory mapped jar, or a stored jar nested in it, which is a slice of the same buffer
+ * <p>only the central directory is read, the entries are read in place by {@link #open(Entry)} without copying them.
+ * zip64 files are not supported.
+ */
+class ZipBuffer {
+    static final int STORED = 0, DEFLATED = 8;
+
+    private static final int LOCAL_HEADER = 0x04034b50, CENTRAL_HEADER = 0x02014b50, END_HEADER = 0x06054b50;
+    private static final int END_SIZE = 22, MAX_COMMENT = 0xFFFF;
+
+    private final ByteBuffer buffer;
+    private final List<Entry> entries;
+    private final Map<String, Entry> names;
+
+    private ZipBuffer(ByteBuffer buffer, List<Entry> entries, Map<String, Entry> names) {
+        this.buffer = buffer;
+        this.entries = entries;
+        this.names = names;
+    }
+
+    static class Entry {
+        final String name;
+        final int method;
+        final long compressedSize;
+        final long size;
+        final long localOffset;
+
+        Entry(String name, int method, long compressedSize, long size, long localOffset) {
+            this.name = name;
+            this.method = method;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localOffset = localOffset;
+        }
+
+        boolean isDirectory() {
+            return name.endsWith("/");
+        }
+    }
+
+    /** reads the central directory of the zip file in the given buffer, from its position to its limit */
+    static ZipBuffer of(ByteBuffer buffer) {
+        ByteBuffer zip = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            int end = -1;
+            for (int i = zip.limit() - END_SIZE; i >= Math.max(0, zip.limit() - END_SIZE - MAX_COMMENT); i--) {
+                if (zip.getInt(i) == END_HEADER) {
+                    end = i;
+                    break;
+                }
+            }
+            if (end == -1) throw new ReflectionsException("not a zip file, no end of central directory");
+            int count = u16(zip, end + 10);
+            long offset = u32(zip, end + 16);
+            if (count == 0xFFFF || offset == 0xFFFFFFFFL) throw new ReflectionsException("zip64 files are not supported");
+
+            List<Entry> entries = new ArrayList<>(count);
+            Map<String, Entry> names = new HashMap<>(count * 4 / 3 + 1);
+            int position = (int) offset;
+            for (int i = 0; i < count; i++) {
+                if (zip.getInt(position) != CENTRAL_HEADER) throw new ReflectionsException("corrupt zip file, bad central directory header at " + position);
+                int nameLength = u16(zip, position + 28);
+                String name = string(zip, position + 46, nameLength);
+                Entry entry = new Entry(name, u16(zip, position + 10), u32(zip, position + 20), u32(zip, position + 24), u32(zip, position + 42));
+                entries.add(entry);
+                names.put(name, entry);
+                position += 46 + nameLength + u16(zip, position + 30) + u16(zip, position + 32);
+            }
+            return new ZipBuffer(zip, Collections.unmodifiableList(entries), names);
+        } catch (IndexOutOfBoundsException e) {
+            throw new ReflectionsException("truncated zip file", e);
+        }
+    }
+
+    List<Entry> getEntries() {
+        return entries;
+    }
+
+    /** the entry of the given name, or null */
+    Entry getEntry(String name) {
+        return names.get(name);
+    }
+
+    /** the compressed bytes of the given entry, a slice of this buffer */
+    ByteBuffer data(Entry entry) {
+        int local = (int) entry.localOffset;
+        if (buffer.getInt(local) != LOCAL_HEADER) throw new ReflectionsException("corrupt zip file, bad local header of " + entry.name);
+        int start = local + 30 + u16(buffer, local + 26) + u16(buffer, local + 28);
+        ByteBuffer data = buffer.duplicate();
+        ((Buffer) data).limit(start + (int) entry.compressedSize);
+        ((Buffer) data).position(start);
+        return data.slice();
+    }
+
+    /** the uncompressed bytes of the given entry, read in place */
+    InputStream open(Entry entry) {
+        switch (entry.method) {
+            case STORED:
+                return new ByteBufferInputStream(data(entry));
+            case DEFLATED:
+                return new EntryInflaterInputStream(new ByteBufferInputStream(data(entry)));
+            default:
+                throw new ReflectionsException("unsupported compression method " + entry.method + " of " + entry.name);
+        }
+    }
+
+    private static int u16(ByteBuffer buffer, int offset) {
+        return buffer.getShort(offset) & 0xFFFF;
+    }
+
+    private static long u32(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset) & 0xFFFFFFFFL;
+    }
+
+    private static String string(ByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) bytes[i] = buffer.get(offset + i);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) return 0;
+            if (!buffer.hasRemaining()) return -1;
+            length = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, length);
+            return length;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    /** a raw deflate stream, which ends its inflater when closed, and adds the dummy byte the inflater may need at the end of the input, as {@link java.util.zip.ZipFile} does */
+    private static class EntryInflaterInputStream extends InflaterInputStream {
+        private boolean eof;
+
+        EntryInflaterInputStream(InputStream inputStream) {
+            super(inputStream, new Inflater(true), 8192);
+        }
+
+        @Override
+        protected void fill() throws IOException {
+            if (eof) throw new EOFException("unexpected end of deflated zip entry");
+            len = in.read(buf, 0, buf.length);
+            if (len == -1) {
+                buf[0] = 0;
+                len = 1;
+                eof = true;
+            }
+            inf.setInput(buf, 0, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            super.close();
+            inf.end();
+        }
+    }
+}
@@ -22,15 +22,30 @@ public class ZipDir implements Vfs.Dir {
     }
 
     public Iterable<Vfs.File> getFiles() {
+        return getFiles(null);
+    }
+
+    /** entries are usually grouped by directory, so the last rejected directory is kept and following entries in it are skipped by a single comparison */
+    public Iterable<Vfs.File> getFiles(final PackagePrefixes prefixes) {
         return new Iterable<Vfs.File>() {
             public Iterator<Vfs.File> iterator() {
                 return new AbstractIterator<Vfs.File>() {
                     final Enumeration<? extends ZipEntry> entries = jarFile.entries();
+                    String rejectedDirectory;
 
                     protected Vfs.File computeNext() {
                         while (entries.hasMoreElements()) {
                             ZipEntry entry = entries.nextElement();
                             if (!entry.isDirectory()) {
+                                if (prefixes != null) {
+                                    String name = entry.getName();
+                                    if (rejectedDirectory != null && name.startsWith(rejectedDirectory)) continue;
+                                    if (!prefixes.acceptsFile(name)) {
+                                        String rejected = prefixes.rejectedDirectory(name);
+                                        if (rejected != null) rejectedDirectory = rejected;
+                                        continue;
+                                    }
+                                }
                                 return new ZipFile(ZipDir.this, entry);
                             }
                         }
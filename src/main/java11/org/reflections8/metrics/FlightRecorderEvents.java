@@ -0,0 +1,223 @@
+package org.reflections8.metrics;
+
+import java.net.URL;
+import java.util.Collection;
+import java.util.function.Supplier;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Java Flight Recorder events emitted while scanning, collecting and querying
+ * <p>this is the Java 11 version of this class, packaged in {@code META-INF/versions/11} of the multi-release jar.
+ * the Java 8 version is a no-op.
+ * <p>each {@code begin*} method returns an event handle, or null if the event is not enabled, which is passed to the matching {@code end*} method.
+ * <p>whether any recording is running is cached by a {@link FlightRecorderListener}, so that no event is allocated while Flight Recorder is off.
+ */
+public final class FlightRecorderEvents {
+
+    private static volatile boolean recording;
+
+    static {
+        try {
+            FlightRecorder.addListener(new FlightRecorderListener() {
+                @Override
+                public void recorderInitialized(FlightRecorder recorder) {
+                    update(recorder);
+                }
+
+                @Override
+                public void recordingStateChanged(Recording changed) {
+                    update(FlightRecorder.getFlightRecorder());
+                }
+            });
+        } catch (SecurityException e) {
+            recording = true; //can not listen, check each event instead
+        }
+    }
+
+    private FlightRecorderEvents() {}
+
+    private static void update(FlightRecorder recorder) {
+        boolean running = false;
+        for (Recording r : recorder.getRecordings()) {
+            if (r.getState() == RecordingState.RUNNING) running = true;
+        }
+        recording = running;
+    }
+
+    /** true if a recording is running, in which case the events enabled in it are emitted */
+    public static boolean isRecording() {
+        return recording;
+    }
+
+    public static Object beginScanUrl() {
+        return begin(ScanUrlEvent::new);
+    }
+
+    public static void endScanUrl(Object event, URL url, int files) {
+        if (event != null) {
+            ScanUrlEvent e = (ScanUrlEvent) event;
+            e.end();
+            if (e.shouldCommit()) {
+                e.url = url.toExternalForm();
+                e.files = files;
+                e.commit();
+            }
+        }
+    }
+
+    public static Object beginScanFile() {
+        return begin(ScanFileEvent::new);
+    }
+
+    public static void endScanFile(Object event, String path, String scanner, boolean parsed) {
+        if (event != null) {
+            ScanFileEvent e = (ScanFileEvent) event;
+            e.end();
+            if (e.shouldCommit()) {
+                e.path = path;
+                e.scanner = scanner;
+                e.parsed = parsed;
+                e.commit();
+            }
+        }
+    }
+
+    public static Object beginCollect() {
+        return begin(CollectEvent::new);
+    }
+
+    public static void endCollect(Object event, String source, String serializer) {
+        if (event != null) {
+            CollectEvent e = (CollectEvent) event;
+            e.end();
+            if (e.shouldCommit()) {
+                e.source = source;
+                e.serializer = serializer;
+                e.commit();
+            }
+        }
+    }
+
+    public static Object beginExpandSuperTypes() {
+        return begin(ExpandSuperTypesEvent::new);
+    }
+
+    public static void endExpandSuperTypes(Object event, int keys, int expanded) {
+        if (event != null) {
+            ExpandSuperTypesEvent e = (ExpandSuperTypesEvent) event;
+            e.end();
+            if (e.shouldCommit()) {
+                e.keys = keys;
+                e.expanded = expanded;
+                e.commit();
+            }
+        }
+    }
+
+    public static Object beginQuery() {
+        return begin(QueryEvent::new);
+    }
+
+    public static <T extends Collection<?>> T endQuery(Object event, String query, String index, Object key, T result) {
+        if (event != null) {
+            QueryEvent e = (QueryEvent) event;
+            e.end();
+            if (e.shouldCommit()) {
+                e.query = query;
+                e.index = index;
+                e.key = String.valueOf(key);
+                e.resultCount = result != null ? result.size() : 0;
+                e.commit();
+            }
+        }
+        return result;
+    }
+
+    private static Event begin(Supplier<Event> supplier) {
+        if (!recording) return null;
+        Event event = supplier.get();
+        if (!event.isEnabled()) return null;
+        event.begin();
+        return event;
+    }
+
+    @Name("org.reflections8.ScanUrl")
+    @Label("Scan URL")
+    @Category({"Reflections", "Scanning"})
+    @Description("Scanning of a url by all configured scanners")
+    static class ScanUrlEvent extends Event {
+        @Label("URL")
+        String url;
+
+        @Label("Files")
+        @Description("Number of files accepted by the inputs filter")
+        int files;
+    }
+
+    @Name("org.reflections8.ScanFile")
+    @Label("Scan File")
+    @Category({"Reflections", "Scanning"})
+    @Description("Scanning of a file by a scanner, including its parsing by the metadata adapter")
+    static class ScanFileEvent extends Event {
+        @Label("Path")
+        String path;
+
+        @Label("Scanner")
+        String scanner;
+
+        @Label("Parsed")
+        @Description("Whether the class object was created by the metadata adapter within this event")
+        boolean parsed;
+    }
+
+    @Name("org.reflections8.Collect")
+    @Label("Collect")
+    @Category({"Reflections", "Collecting"})
+    @Description("Reading saved metadata using a serializer")
+    static class CollectEvent extends Event {
+        @Label("Source")
+        String source;
+
+        @Label("Serializer")
+        String serializer;
+    }
+
+    @Name("org.reflections8.ExpandSuperTypes")
+    @Label("Expand Super Types")
+    @Category({"Reflections", "Scanning"})
+    static class ExpandSuperTypesEvent extends Event {
+        @Label("Keys")
+        @Description("Number of unscanned super types which were expanded")
+        int keys;
+
+        @Label("Expanded")
+        @Description("Number of super type entries added to the store")
+        int expanded;
+    }
+
+    @Name("org.reflections8.Query")
+    @Label("Query")
+    @Category({"Reflections", "Querying"})
+    static class QueryEvent extends Event {
+        @Label("Query")
+        String query;
+
+        @Label("Index")
+        String index;
+
+        @Label("Key")
+        String key;
+
+        @Label("Result Count")
+        int resultCount;
+    }
+}
@@ -1,8 +1,13 @@
 package org.reflections8;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
 import org.junit.Test;
 import org.reflections8.util.FilterBuilder;
 
@@ -160,4 +165,75 @@ public class FilterBuilderTest {
         assertFalse(filter.test("org.foobar.Reflections"));
     }
 
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_compile_sameAsRegexChain() {
+        String[] inputs = {"", "org", "org.reflections8", "org.reflections8.Reflections", "org.reflections8.foo.Reflections",
+                "org.reflections8plus.Reflections", "org.foobar.Reflections", "org/reflections8/Reflections.class",
+                "org.reflections8.Reflections\nfoo", "org.reflections8.Reflections$Inner", "java.lang.Object"};
+        String[][] chains = {
+                {"+org\\.reflections8\\..*"},
+                {"-org\\.reflections8\\..*"},
+                {"+org\\.reflections8\\..*", "-org\\.reflections8\\.foo\\..*"},
+                {"-java\\..*", "+org\\.reflections8\\..*"},
+                {"+org\\.reflections8\\..*", "-.*foo.*", "+java\\.lang\\.Object"},
+                {"+org.reflections8.*", "+org\\.reflections8\\.Reflections"},
+                {"+.*", "-.*\\.class"},
+                {"+org\\.reflections8\\.Reflections\\$.*", "-org\\.reflections8\\.Reflections\\$Inner"},
+                {"+org\\.reflections8\\..*", "-org\\.reflections8\\.Reflections\\n.*"},
+                {"+org\\.reflections8\\.*", "+org/.*"},
+        };
+        for (String[] chain : chains) {
+            FilterBuilder filter = new FilterBuilder();
+            for (String rule : chain) {
+                if (rule.startsWith("+")) filter.include(rule.substring(1));
+                else filter.exclude(rule.substring(1));
+            }
+            for (String input : inputs) {
+                String message = filter + " on " + input;
+                assertEquals(message, regexChain(chain, input), filter.test(input));
+                assertEquals(message, regexChain(chain, input + "\n"), filter.test(input + "\n"));
+            }
+        }
+    }
+
+    @Test
+    public void test_compile_customPredicates() {
+        FilterBuilder filter = new FilterBuilder()
+                .includePackage("org.reflections8")
+                .add(s -> !s.endsWith("Test"))
+                .exclude(".*Foo");
+        assertTrue(filter.test("org.reflections8.Reflections"));
+        assertFalse(filter.test("org.reflections8.ReflectionsTest"));
+        assertTrue(filter.test("org.foobar.Reflections")); //the custom predicate accepts anything not ending with Test
+        assertFalse(filter.test("org.reflections8.Foo"));
+        assertNull(filter.compile().getIncludedPrefixes());
+    }
+
+    @Test
+    public void test_compile_includedPrefixes() {
+        FilterBuilder filter = new FilterBuilder()
+                .includePackage("org.reflections8", "org.foo")
+                .exclude("org\\.reflections8\\.foo\\..*")
+                .include("com\\.acme\\.Main");
+        assertEquals(Arrays.asList("org.reflections8", "org.foo", "com.acme.Main"), filter.compile().getIncludedPrefixes());
+        assertNull(new FilterBuilder().exclude("java\\..*").compile().getIncludedPrefixes());
+        assertNull(new FilterBuilder().include(".*\\.class").compile().getIncludedPrefixes());
+
+        filter.include("org\\.bar\\..*");
+        assertEquals(Arrays.asList("org.reflections8", "org.foo", "com.acme.Main", "org.bar."), filter.compile().getIncludedPrefixes());
+    }
+
+    /** the regex based evaluation of the chain, as {@link FilterBuilder#test(String)} is specified */
+    private static boolean regexChain(String[] chain, String input) {
+        boolean accept = chain[0].startsWith("-");
+        for (String rule : chain) {
+            boolean include = rule.startsWith("+");
+            if (accept == include) continue;
+            boolean matches = Pattern.compile(rule.substring(1)).matcher(input).matches();
+            accept = include ? matches : !matches;
+            if (!accept && !include) break;
+        }
+        return accept;
+    }
 }
@@ -0,0 +1,116 @@
+package org.reflections8;
+
+import static java.lang.annotation.RetentionPolicy.CLASS;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.reflections8.scanners.AnnotationValuesScanner;
+import org.reflections8.scanners.FieldAnnotationsScanner;
+import org.reflections8.scanners.MemberUsageScanner;
+import org.reflections8.scanners.MethodAnnotationsScanner;
+import org.reflections8.scanners.MethodParameterNamesScanner;
+import org.reflections8.scanners.MethodParameterScanner;
+import org.reflections8.scanners.SubTypesScanner;
+import org.reflections8.scanners.TypeAnnotationsScanner;
+import org.reflections8.util.ClasspathHelper;
+import org.reflections8.util.ConfigurationBuilder;
+import org.reflections8.util.FilterBuilder;
+
+/** runs all of ReflectionsTest with annotation member values matched by the index */
+public class ReflectionsAnnotationValuesTest extends ReflectionsTest {
+    private static Reflections qualified;
+
+    public @Retention(RUNTIME) @interface Qualifier {
+        String value() default "";
+        int order() default 0;
+        RetentionPolicy policy() default RUNTIME;
+        Class<?> type() default Object.class;
+        String[] tags() default {};
+    }
+
+    @Qualifier("a") public static class Q1 {}
+    @Qualifier(value = "a", order = 1, policy = CLASS, type = String[].class) public static class Q2 {
+        @Qualifier("f") String f;
+        @Qualifier(order = 2) public void m() {}
+    }
+    @Qualifier public static class Q3 {}
+    @Qualifier(value = "a", tags = "x") public static class Q4 {}
+
+    @BeforeClass
+    public static void init() {
+        reflections8 = new Reflections(new ConfigurationBuilder()
+                .setUrls(asList(ClasspathHelper.forClass(TestModel.class)))
+                .filterInputsBy(TestModelFilter)
+                .setScanners(
+                        new SubTypesScanner(false),
+                        new TypeAnnotationsScanner(),
+                        new FieldAnnotationsScanner(),
+                        new MethodAnnotationsScanner(),
+                        new MethodParameterScanner(),
+                        new MethodParameterNamesScanner(),
+                        new MemberUsageScanner(),
+                        new AnnotationValuesScanner()));
+
+        qualified = new Reflections(new ConfigurationBuilder()
+                .setUrls(asList(ClasspathHelper.forClass(ReflectionsAnnotationValuesTest.class)))
+                .filterInputsBy(new FilterBuilder().include("org.reflections8.ReflectionsAnnotationValuesTest\\$.*"))
+                .setScanners(
+                        new SubTypesScanner(),
+                        new TypeAnnotationsScanner(),
+                        new FieldAnnotationsScanner(),
+                        new MethodAnnotationsScanner(),
+                        new AnnotationValuesScanner()));
+    }
+
+    @Test
+    public void testAnnotationValues() throws Exception {
+        assertEquals(set(Q1.class, Q2.class, Q4.class), qualified.getTypesAnnotatedWith(Qualifier.class, singletonMap("value", "a")));
+        assertEquals(set(Q3.class), qualified.getTypesAnnotatedWith(Qualifier.class, singletonMap("value", "")));
+        assertEquals(set(Q1.class, Q3.class, Q4.class), qualified.getTypesAnnotatedWith(Qualifier.class, singletonMap("order", 0)));
+        assertEquals(set(Q2.class), qualified.getTypesAnnotatedWith(Qualifier.class, singletonMap("policy", CLASS)));
+        assertEquals(set(Q2.class), qualified.getTypesAnnotatedWith(Qualifier.class, singletonMap("type", String[].class)));
+        assertEquals(set(Q1.class, Q3.class, Q4.class), qualified.getTypesAnnotatedWith(Qualifier.class, singletonMap("type", Object.class)));
+
+        Map<String, Object> members = new HashMap<>();
+        members.put("value", "a");
+        members.put("order", 1);
+        assertEquals(set(Q2.class), qualified.getTypesAnnotatedWith(Qualifier.class, members));
+        assertEquals(set(Q1.class, Q2.class, Q3.class, Q4.class), qualified.getTypesAnnotatedWith(Qualifier.class, Collections.<String, Object>emptyMap()));
+
+        assertEquals(set(Q2.class.getDeclaredField("f")), qualified.getFieldsAnnotatedWith(Qualifier.class, singletonMap("value", "f")));
+        assertEquals(set(Q2.class.getDeclaredMethod("m")), qualified.getMethodsAnnotatedWith(Qualifier.class, singletonMap("order", 2)));
+        assertEquals(set(), qualified.getMethodsAnnotatedWith(Qualifier.class, singletonMap("order", 0)));
+
+        try {
+            qualified.getTypesAnnotatedWith(Qualifier.class, singletonMap("tags", new String[]{"x"}));
+            fail();
+        } catch (ReflectionsException e) {
+            //expected, arrays are not indexed
+        }
+    }
+
+    @Test
+    public void testAnnotationInstanceNotIndexed() {
+        //members not indexed fall back to reflection
+        assertEquals(set(Q4.class), qualified.getTypesAnnotatedWith(Q4.class.getAnnotation(Qualifier.class)));
+        assertEquals(set(Q1.class), qualified.getTypesAnnotatedWith(Q1.class.getAnnotation(Qualifier.class)));
+    }
+
+    @SafeVarargs
+    private static <T> Set<T> set(T... ts) {
+        return new HashSet<>(asList(ts));
+    }
+}
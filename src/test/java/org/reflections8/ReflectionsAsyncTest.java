@@ -0,0 +1,147 @@
+package org.reflections8;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.reflections8.ScanFixture.set;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.reflections8.metrics.ScanMetrics;
+import org.reflections8.scanners.ClassContext;
+import org.reflections8.scanners.MethodAnnotationsScanner;
+import org.reflections8.scanners.SubTypesScanner;
+import org.reflections8.scanners.TypeAnnotationsScanner;
+import org.reflections8.util.ConfigurationBuilder;
+import org.reflections8.util.Utils;
+
+/** */
+public class ReflectionsAsyncTest {
+    @Rule
+    public ScanFixture fixture = new ScanFixture();
+    private Path directory;
+
+    public static class Base {}
+    @Deprecated public static class Sub extends Base {
+        @Deprecated public void method() {}
+    }
+
+    /** a method annotations scanner which waits for {@link #latch} before scanning */
+    public static class BlockingScanner extends MethodAnnotationsScanner {
+        static volatile CountDownLatch latch;
+
+        @Override
+        protected void scan(ClassContext context) {
+            try {
+                if (!latch.await(10, TimeUnit.SECONDS)) throw new IllegalStateException("not released");
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            super.scan(context);
+        }
+    }
+
+    /** a scanner which fails the scan */
+    public static class FailingScanner extends MethodAnnotationsScanner {
+        @Override
+        protected void scan(ClassContext context) {
+            throw new AssertionError("failing scanner");
+        }
+    }
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = fixture.newDirectory(Sub.class);
+    }
+
+    @Test
+    public void testScanAsync() throws Exception {
+        Reflections reflections8 = Reflections.scanAsync(new ConfigurationBuilder()
+                .addUrls(ScanFixture.url(directory))
+                .setScanners(new SubTypesScanner(), new TypeAnnotationsScanner(), new MethodAnnotationsScanner()));
+
+        //blocks until ready
+        assertEquals(set(Sub.class), reflections8.getSubTypesOf(Base.class));
+        assertEquals(set(Sub.class.getMethod("method")), reflections8.getMethodsAnnotatedWith(Deprecated.class));
+        assertTrue(reflections8.whenScanned().get(10, TimeUnit.SECONDS) == reflections8);
+
+        Reflections scanned = new Reflections(new ConfigurationBuilder()
+                .addUrls(ScanFixture.url(directory))
+                .setScanners(new SubTypesScanner(), new TypeAnnotationsScanner(), new MethodAnnotationsScanner()));
+        assertEquals(scanned.getTypesAnnotatedWith(Deprecated.class), reflections8.getTypesAnnotatedWith(Deprecated.class));
+        assertTrue(scanned.whenReady(SubTypesScanner.class).isDone());
+    }
+
+    @Test
+    public void testSubTypesPublishedFirst() throws Exception {
+        BlockingScanner.latch = new CountDownLatch(1);
+        Reflections reflections8 = Reflections.scanAsync(new ConfigurationBuilder()
+                .addUrls(ScanFixture.url(directory))
+                .setScanners(new SubTypesScanner(), new TypeAnnotationsScanner(), new BlockingScanner())
+                .useParallelExecutor(2));
+        try {
+            reflections8.whenReady(SubTypesScanner.class, TypeAnnotationsScanner.class).get(10, TimeUnit.SECONDS);
+            assertEquals(set(Sub.class), reflections8.getSubTypesOf(Base.class));
+            assertEquals(set(Sub.class), reflections8.getTypesAnnotatedWith(Deprecated.class));
+
+            CompletableFuture<Reflections> methods = reflections8.whenReady(BlockingScanner.class);
+            assertFalse(methods.isDone());
+            assertFalse(((AsyncStore) reflections8.getStore()).isReady(Utils.index(BlockingScanner.class)));
+        } finally {
+            BlockingScanner.latch.countDown();
+        }
+        reflections8.whenReady(BlockingScanner.class).get(10, TimeUnit.SECONDS);
+        assertTrue(reflections8.getStore().get(Utils.index(BlockingScanner.class)).containsKey(Deprecated.class.getName()));
+    }
+
+    @Test
+    public void testIndicesCreatedBeforeScanning() throws Exception {
+        BlockingScanner.latch = new CountDownLatch(1);
+        ScanMetrics metrics = new ScanMetrics();
+        Reflections reflections8 = Reflections.scanAsync(new ConfigurationBuilder()
+                .addUrls(ScanFixture.url(directory))
+                .setScanners(new SubTypesScanner(), new BlockingScanner())
+                .setScanListener(metrics));
+        try {
+            assertTrue(reflections8.getStore().keySet().containsAll(set(Utils.index(SubTypesScanner.class), Utils.index(BlockingScanner.class))));
+        } finally {
+            BlockingScanner.latch.countDown();
+        }
+        reflections8.whenScanned().get(10, TimeUnit.SECONDS);
+
+        //one pass per phase, parsing the file again
+        assertEquals(2, metrics.getPasses());
+        assertEquals(2, metrics.getFiles());
+        assertEquals(1, metrics.getUrlMetrics().size());
+    }
+
+    @Test
+    public void testFailedScan() throws Exception {
+        Reflections reflections8 = Reflections.scanAsync(new ConfigurationBuilder()
+                .addUrls(ScanFixture.url(directory))
+                .setScanners(new SubTypesScanner(), new FailingScanner()));
+        try {
+            reflections8.whenScanned().get(10, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof AssertionError);
+        }
+        //published before the failure
+        assertEquals(set(Sub.class), reflections8.getSubTypesOf(Base.class));
+        try {
+            reflections8.getStore().get(Utils.index(FailingScanner.class));
+            fail();
+        } catch (ReflectionsException e) {
+            assertTrue(e.getCause() instanceof AssertionError);
+        }
+    }
+}
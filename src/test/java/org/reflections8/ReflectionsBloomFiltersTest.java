@@ -0,0 +1,107 @@
+package org.reflections8;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.reflections8.ScanFixture.set;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.reflections8.scanners.SubTypesScanner;
+import org.reflections8.util.BloomFilter;
+import org.reflections8.util.ConfigurationBuilder;
+import org.reflections8.util.Utils;
+
+/** */
+public class ReflectionsBloomFiltersTest {
+    @Rule
+    public ScanFixture fixture = new ScanFixture();
+    private Path first;
+    private Path second;
+
+    public interface Plugin {}
+    public static class FirstPlugin implements Plugin {}
+    public static class Base {}
+    public static class Sub extends Base {}
+
+    @Before
+    public void createDirectories() throws IOException {
+        first = fixture.newDirectory(FirstPlugin.class, Sub.class);
+        second = fixture.newDirectory(Sub.class);
+    }
+
+    @Test
+    public void testUrlsMightContain() throws Exception {
+        URL firstUrl = ScanFixture.url(first);
+        URL secondUrl = ScanFixture.url(second);
+        Reflections reflections8 = new Reflections(new ConfigurationBuilder()
+                .addUrls(firstUrl, secondUrl)
+                .setScanners(new SubTypesScanner())
+                .setBuildBloomFilters(true));
+        String index = Utils.index(SubTypesScanner.class);
+
+        assertEquals(set(firstUrl), reflections8.getStore().getUrlsMightContain(index, Plugin.class.getName()));
+        assertEquals(set(firstUrl, secondUrl), reflections8.getStore().getUrlsMightContain(index, Base.class.getName()));
+        assertEquals(set(), reflections8.getStore().getUrlsMightContain(index, "not.Scanned"));
+        //contributions are not kept without tracking urls
+        assertNull(reflections8.getStore().getSegment(firstUrl));
+
+        File saved = reflections8.save(first.resolve("saved-reflections.xml").toString());
+        assertTrue(Reflections.bloomFiltersFile(saved).isFile());
+        Reflections collected = new Reflections().collect(saved);
+        assertEquals(set(firstUrl), collected.getStore().getUrlsMightContain(index, Plugin.class.getName()));
+        assertEquals(set(firstUrl, secondUrl), collected.getStore().getUrlsMightContain(index, Base.class.getName()));
+    }
+
+    @Test
+    public void testAddAndRemove() throws Exception {
+        URL firstUrl = ScanFixture.url(first);
+        URL secondUrl = ScanFixture.url(second);
+        Reflections reflections8 = new Reflections(new ConfigurationBuilder()
+                .addUrls(secondUrl)
+                .setScanners(new SubTypesScanner())
+                .setTrackUrls(true)
+                .setBuildBloomFilters(true));
+        String index = Utils.index(SubTypesScanner.class);
+        assertEquals(set(), reflections8.getStore().getUrlsMightContain(index, Plugin.class.getName()));
+
+        reflections8.add(firstUrl);
+        assertEquals(set(firstUrl), reflections8.getStore().getUrlsMightContain(index, Plugin.class.getName()));
+
+        reflections8.remove(firstUrl);
+        assertEquals(set(), reflections8.getStore().getUrlsMightContain(index, Plugin.class.getName()));
+        assertEquals(set(secondUrl), reflections8.getStore().getUrlsMightContain(index, Base.class.getName()));
+    }
+
+    @Test
+    public void testReadCorruptFilter() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(3);
+        output.writeInt(Integer.MAX_VALUE);
+        try {
+            BloomFilter.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+            fail();
+        } catch (IOException e) {
+            //expected, without allocating the words
+        }
+
+        BloomFilter filter = BloomFilter.of(Arrays.asList("a", "b"));
+        bytes.reset();
+        filter.write(output);
+        BloomFilter read = BloomFilter.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertTrue(read.mightContain("a") && read.mightContain("b"));
+    }
+}
@@ -0,0 +1,81 @@
+package org.reflections8;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.reflections8.scanners.ClassDependenciesScanner;
+import org.reflections8.util.ClasspathHelper;
+import org.reflections8.util.ConfigurationBuilder;
+import org.reflections8.util.FilterBuilder;
+
+/** */
+public class ReflectionsDependenciesTest {
+    private static Reflections reflections8;
+
+    @Retention(RetentionPolicy.RUNTIME) public @interface Marker {}
+    public static class Leaf {
+        public static int count() { return 0; }
+    }
+    public static class Generic<T extends Serializable> {}
+    public static class Outer<T> { public class Inner {} }
+    public static class Body {
+        public int leafCount() { return Leaf.count(); }
+    }
+    @Marker public static class Signatures {
+        public List<Generic<?>> generics;
+        public Outer<String>.Inner inner;
+        public <E extends Body> Map<String, E[]> method(long l, double d) throws IOException { return null; }
+    }
+    public static class Cycle1 { public Cycle2 other; }
+    public static class Cycle2 { public Cycle1 other; }
+
+    @BeforeClass
+    public static void init() {
+        reflections8 = new Reflections(new ConfigurationBuilder()
+                .setUrls(asList(ClasspathHelper.forClass(ReflectionsDependenciesTest.class)))
+                .filterInputsBy(new FilterBuilder().include("org.reflections8.ReflectionsDependenciesTest\\$.*"))
+                .setScanners(new ClassDependenciesScanner()));
+    }
+
+    @Test
+    public void testDependencies() {
+        Set<String> dependencies = reflections8.getDependencies(Signatures.class.getName());
+        assertTrue(dependencies.containsAll(names(Marker.class, List.class, Generic.class, Outer.Inner.class, Map.class, String.class,
+                Body.class, IOException.class)));
+        assertFalse(dependencies.contains(Signatures.class.getName()));
+
+        assertTrue(reflections8.getDependencies(Body.class.getName()).contains(Leaf.class.getName()));
+        assertTrue(reflections8.getDependencies(Generic.class.getName()).contains(Serializable.class.getName()));
+    }
+
+    @Test
+    public void testDependents() {
+        assertEquals(names(Body.class), reflections8.getDependents(Leaf.class.getName()));
+        assertEquals(names(Signatures.class), reflections8.getTransitiveDependents(Body.class.getName()));
+        assertEquals(names(Body.class, Signatures.class), reflections8.getTransitiveDependents(Leaf.class.getName()));
+        assertEquals(names(Cycle2.class), reflections8.getTransitiveDependents(Cycle1.class.getName()));
+
+        assertTrue(reflections8.getTransitiveDependencies(Signatures.class.getName()).contains(Leaf.class.getName()));
+        assertTrue(reflections8.getPackageDependents("java.io").contains(Signatures.class.getName()));
+        assertTrue(reflections8.getPackageDependents("org.reflections8").isEmpty());
+    }
+
+    private static Set<String> names(Class<?>... types) {
+        Set<String> names = new HashSet<>();
+        for (Class<?> type : types) names.add(type.getName());
+        return names;
+    }
+}
@@ -1,11 +1,15 @@
 package org.reflections8;
 
+import static org.reflections8.util.Utils.index;
+
 import java.util.Set;
 
 import org.junit.Test;
+import org.reflections8.scanners.SubTypesScanner;
 import org.reflections8.util.ClasspathHelper;
 import org.reflections8.util.ConfigurationBuilder;
 import org.reflections8.util.FilterBuilder;
+import org.reflections8.util.ReflectionsIterables;
 
 import junit.framework.Assert;
 
@@ -28,6 +32,9 @@ public class ReflectionsExpandSupertypesTest {
 
             interface D extends B {
             }
+
+            interface E extends java.util.List<Object> {
+            } // JDK super types, expanded through the runtime image
         }
     }
 
@@ -52,4 +59,21 @@ public class ReflectionsExpandSupertypesTest {
         Set<Class<? extends TestModel.A>> subTypesOf1 = refDontExpand.getSubTypesOf(TestModel.A.class);
         Assert.assertFalse(subTypesOf1.contains(TestModel.B.class));
     }
+
+    @Test
+    public void testExpandSupertypesFromBytecode() throws Exception {
+        Reflections refExpand = new Reflections(new ConfigurationBuilder().
+                setUrls(ClasspathHelper.forClass(TestModel.ScannedScope.C.class)).
+                filterInputsBy(inputsFilter).
+                setExpandSuperTypesFromBytecode(true));
+        Assert.assertTrue(refExpand.getConfiguration().shouldExpandSuperTypesFromBytecode());
+        Set<Class<? extends TestModel.A>> subTypesOf = refExpand.getSubTypesOf(TestModel.A.class);
+        Assert.assertTrue("expanded", subTypesOf.contains(TestModel.B.class));
+        Assert.assertTrue("transitivity", subTypesOf.containsAll(refExpand.getSubTypesOf(TestModel.B.class)));
+
+        Set<String> iterables = ReflectionsIterables.makeSetOf(
+                refExpand.getStore().getAll(index(SubTypesScanner.class), Iterable.class.getName()));
+        Assert.assertTrue("expanded jdk types", iterables.contains(TestModel.ScannedScope.E.class.getName()));
+        Assert.assertTrue("expanded jdk types", iterables.contains(java.util.Collection.class.getName()));
+    }
 }
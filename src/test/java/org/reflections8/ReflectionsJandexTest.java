@@ -0,0 +1,157 @@
+package org.reflections8;
+
+import static org.junit.Assert.assertEquals;
+import static org.reflections8.ScanFixture.copyClasses;
+import static org.reflections8.ScanFixture.set;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.reflections8.adapters.JandexIndex;
+import org.reflections8.adapters.JandexIndexWriter;
+import org.reflections8.scanners.FieldAnnotationsScanner;
+import org.reflections8.scanners.MethodAnnotationsScanner;
+import org.reflections8.scanners.SubTypesScanner;
+import org.reflections8.scanners.TypeAnnotationsScanner;
+import org.reflections8.util.ConfigurationBuilder;
+
+/** */
+public class ReflectionsJandexTest {
+    @Rule
+    public ScanFixture fixture = new ScanFixture();
+    private Path directory;
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Indexed {
+        String value() default "";
+        ElementType[] kinds() default {};
+        Class<?> type() default Object.class;
+    }
+
+    public interface Service {
+        class Nested {}
+    }
+
+    @Indexed(value = "implementation", kinds = ElementType.TYPE, type = Service.class)
+    public static class Implementation implements Service {
+        @Indexed public String name;
+
+        @Indexed public void start(String[] arguments, int times, Service.Nested nested) {}
+    }
+
+    public static class Other extends Implementation {}
+
+    public static class Registry<T extends Service> extends Implementation implements Comparable<Registry<T>> {
+        @Indexed public java.util.Map<String, T[]> entries;
+
+        @Indexed public <E extends Exception> void register(List<? extends T> services, T... more) throws E {}
+
+        public int compareTo(Registry<T> other) { return 0; }
+    }
+
+    public interface Unindexed extends Service {}
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = fixture.newDirectory();
+    }
+
+    @Test
+    public void testReadIndex() throws Exception {
+        writeIndex(Implementation.class, Other.class);
+        Reflections reflections8 = reflections(true);
+
+        //read from the index only, there are no class files
+        assertEquals(set(Implementation.class, Other.class), reflections8.getSubTypesOf(Service.class));
+        assertEquals(set(Implementation.class, Other.class), reflections8.getTypesAnnotatedWith(Indexed.class));
+        assertEquals(set(Implementation.class.getMethod("start", String[].class, int.class, Service.Nested.class)),
+                reflections8.getMethodsAnnotatedWith(Indexed.class));
+        assertEquals(set(Implementation.class.getField("name")), reflections8.getFieldsAnnotatedWith(Indexed.class));
+    }
+
+    @Test
+    public void testReadJandexIndex() throws Exception {
+        //written by Jandex 2.4.3.Final from the class files of Indexed, Service, Service.Nested, Implementation, Other and Registry
+        Path file = directory.resolve(JandexIndex.INDEX);
+        Files.createDirectories(file.getParent());
+        try (InputStream index = getClass().getResourceAsStream("/jandex/jandex.idx")) {
+            Files.copy(index, file);
+        }
+        Reflections reflections8 = reflections(true);
+
+        assertEquals(set(Implementation.class, Other.class, Registry.class), reflections8.getSubTypesOf(Service.class));
+        assertEquals(set(Implementation.class, Other.class, Registry.class), reflections8.getTypesAnnotatedWith(Indexed.class));
+        assertEquals(set(Implementation.class.getMethod("start", String[].class, int.class, Service.Nested.class),
+                Registry.class.getMethod("register", List.class, Service[].class)),
+                reflections8.getMethodsAnnotatedWith(Indexed.class));
+        assertEquals(set(Implementation.class.getField("name"), Registry.class.getField("entries")),
+                reflections8.getFieldsAnnotatedWith(Indexed.class));
+    }
+
+    @Test
+    public void testIndexReplacesListedClassFiles() throws Exception {
+        writeIndex(Implementation.class);
+        copyClasses(directory, Unindexed.class);
+        //the class files of classes not listed in the index are scanned
+        assertEquals(set(Implementation.class, Unindexed.class), reflections(true).getSubTypesOf(Service.class));
+        assertEquals(set(Unindexed.class), reflections(false).getSubTypesOf(Service.class));
+
+        //the class files of listed classes are not scanned, the index is authoritative for them
+        copyClasses(directory, Implementation.class, Other.class);
+        Files.write(directory.resolve(JandexIndex.INDEX), JandexIndexWriter.write(Other.class));
+        Reflections reflections8 = reflections(true);
+        assertEquals(set(Implementation.class, Other.class, Unindexed.class), reflections8.getSubTypesOf(Service.class));
+        assertEquals(set(Implementation.class, Other.class), reflections8.getTypesAnnotatedWith(Indexed.class));
+    }
+
+    @Test
+    public void testUnsupportedVersionFallsBack() throws Exception {
+        byte[] index = JandexIndexWriter.write(Implementation.class);
+        index[4] = 11; //a Jandex 3 index
+        Path file = directory.resolve(JandexIndex.INDEX);
+        Files.createDirectories(file.getParent());
+        Files.write(file, index);
+        copyClasses(directory, Unindexed.class);
+        assertEquals(set(Unindexed.class), reflections(true).getSubTypesOf(Service.class));
+    }
+
+    @Test
+    public void testCorruptIndexFallsBack() throws Exception {
+        byte[] index = JandexIndexWriter.write(Implementation.class);
+        Path file = directory.resolve(JandexIndex.INDEX);
+        Files.createDirectories(file.getParent());
+        Files.write(file, Arrays.copyOf(index, index.length / 2));
+        copyClasses(directory, Unindexed.class);
+        assertEquals(set(Unindexed.class), reflections(true).getSubTypesOf(Service.class));
+    }
+
+    @Test
+    public void testClassNames() throws Exception {
+        JandexIndex index = JandexIndex.read(new ByteArrayInputStream(JandexIndexWriter.write(Implementation.class, Service.Nested.class)));
+        assertEquals(Arrays.asList(Implementation.class.getName(), Service.Nested.class.getName()), index.getClassNames());
+    }
+
+    private Reflections reflections(boolean useJandexIndexes) throws IOException {
+        return new Reflections(new ConfigurationBuilder()
+                .addUrls(ScanFixture.url(directory))
+                .setScanners(new SubTypesScanner(), new TypeAnnotationsScanner(), new MethodAnnotationsScanner(), new FieldAnnotationsScanner())
+                .setUseJandexIndexes(useJandexIndexes));
+    }
+
+    private void writeIndex(Class<?>... classes) throws IOException {
+        Path file = directory.resolve(JandexIndex.INDEX);
+        Files.createDirectories(file.getParent());
+        Files.write(file, JandexIndexWriter.write(classes));
+    }
+}
@@ -0,0 +1,77 @@
+package org.reflections8;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.sql.Wrapper;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.Set;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.reflections8.scanners.SubTypesScanner;
+import org.reflections8.util.ClassHeader;
+import org.reflections8.util.ClasspathHelper;
+import org.reflections8.util.ConfigurationBuilder;
+import org.reflections8.util.FilterBuilder;
+import org.reflections8.util.Utils;
+
+/** */
+public class ReflectionsJrtTest {
+
+    public static class Values extends ArrayList<String> {}
+
+    @Before
+    public void assumeRuntimeImage() {
+        Assume.assumeTrue(ClasspathHelper.forModules("java.base").size() == 1);
+    }
+
+    @Test
+    public void testScanModulesInParallel() {
+        Reflections reflections8 = new Reflections(new ConfigurationBuilder()
+                .addUrls(ClasspathHelper.forModules("java.base", "java.sql"))
+                .filterInputsBy(new FilterBuilder().includePackage("java.util", "java.sql"))
+                .setScanners(new SubTypesScanner())
+                .setExpandSuperTypes(false)
+                .useParallelExecutor(2));
+        Set<String> subTypes = subTypes(reflections8, Wrapper.class);
+        assertTrue(subTypes.contains(Connection.class.getName()));
+        subTypes = subTypes(reflections8, Collection.class);
+        assertTrue(subTypes.contains(ArrayList.class.getName()));
+        assertFalse(subTypes.contains(Values.class.getName()));
+    }
+
+    @Test
+    public void testExpandSuperTypesFromRuntimeImage() {
+        Reflections reflections8 = new Reflections(new ConfigurationBuilder()
+                .addUrls(ClasspathHelper.forClass(Values.class))
+                .filterInputsBy(new FilterBuilder().includePackage(Values.class))
+                .setScanners(new SubTypesScanner()));
+        Set<String> subTypes = subTypes(reflections8, Collection.class);
+        assertTrue(subTypes.contains(Values.class.getName()));
+        assertTrue(subTypes.contains(ArrayList.class.getName()));
+        assertTrue(subTypes(reflections8, RandomAccess.class).contains(Values.class.getName()));
+    }
+
+    @Test
+    public void testClassHeaderFromRuntimeImage() {
+        Optional<ClassHeader> header = ClassHeader.findInRuntimeImage(ArrayList.class.getName());
+        assertTrue(header.isPresent());
+        assertEquals(AbstractList.class.getName(), header.get().getSuperclassName());
+        assertFalse(ClassHeader.findInRuntimeImage(Values.class.getName()).isPresent());
+    }
+
+    private static Set<String> subTypes(Reflections reflections8, Class<?> type) {
+        Set<String> result = new HashSet<>();
+        reflections8.getStore().getAll(Utils.index(SubTypesScanner.class), type.getName()).forEach(result::add);
+        return result;
+    }
+}
@@ -0,0 +1,176 @@
+package org.reflections8;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.reflections8.util.Utils.index;
+
+import java.lang.reflect.Member;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.reflections8.scanners.MemberUsageScanner;
+import org.reflections8.scanners.SubTypesScanner;
+import org.reflections8.util.ClasspathHelper;
+import org.reflections8.util.ConfigurationBuilder;
+import org.reflections8.util.FilterBuilder;
+import org.reflections8.util.MemberUsageMultimap;
+
+/** */
+public class ReflectionsMemberUsageTest {
+    @Rule
+    public ScanFixture fixture = new ScanFixture();
+    private static Reflections reflections8;
+
+    public static class Base {
+        public int field;
+        public void method() {}
+    }
+    public static class Sub extends Base {}
+    public static class Overriding extends Sub {
+        @Override public void method() {}
+    }
+    public interface Service {
+        void serve();
+    }
+    public static class Caller {
+        public void callBase(Base base) { base.method(); }
+        public void callSub(Sub sub) { sub.method(); sub.field = 1; }
+        public void callOverriding(Overriding overriding) { overriding.method(); }
+        public void callService(Service service) { service.serve(); }
+        public Object create() { return new Sub(); }
+        public int callObject(Sub sub) { return sub.hashCode(); }
+    }
+
+    @BeforeClass
+    public static void init() {
+        reflections8 = new Reflections(new ConfigurationBuilder()
+                .setUrls(asList(ClasspathHelper.forClass(ReflectionsMemberUsageTest.class)))
+                .filterInputsBy(new FilterBuilder().include("org.reflections8.ReflectionsMemberUsageTest\\$.*"))
+                .setScanners(new SubTypesScanner(), new MemberUsageScanner()));
+    }
+
+    @Test
+    public void testUsageThroughSubTypes() throws Exception {
+        assertUsageThroughSubTypes(reflections8);
+    }
+
+    @Test
+    public void testUsageThroughSubTypesWithoutSubTypesScanner() throws Exception {
+        assertUsageThroughSubTypes(new Reflections(new ConfigurationBuilder()
+                .setUrls(asList(ClasspathHelper.forClass(ReflectionsMemberUsageTest.class)))
+                .filterInputsBy(new FilterBuilder().include("org.reflections8.ReflectionsMemberUsageTest\\$.*"))
+                .setScanners(new MemberUsageScanner())));
+    }
+
+    private static void assertUsageThroughSubTypes(Reflections reflections8) throws Exception {
+        assertEquals(set(Caller.class.getDeclaredMethod("callBase", Base.class), Caller.class.getDeclaredMethod("callSub", Sub.class)),
+                reflections8.getMethodUsage(Base.class.getDeclaredMethod("method")));
+        assertEquals(set(Caller.class.getDeclaredMethod("callOverriding", Overriding.class)),
+                reflections8.getMethodUsage(Overriding.class.getDeclaredMethod("method")));
+        assertEquals(set(Caller.class.getDeclaredMethod("callSub", Sub.class)),
+                reflections8.getFieldUsage(Base.class.getDeclaredField("field")));
+        assertEquals(set(Caller.class.getDeclaredMethod("callService", Service.class)),
+                reflections8.getMethodUsage(Service.class.getDeclaredMethod("serve")));
+        assertEquals(set(Caller.class.getDeclaredMethod("create"), Overriding.class.getDeclaredConstructor()),
+                reflections8.getConstructorUsage(Sub.class.getDeclaredConstructor()));
+        assertEquals(set(Sub.class.getDeclaredConstructor()),
+                reflections8.getConstructorUsage(Base.class.getDeclaredConstructor()));
+        assertEquals(set(Caller.class.getDeclaredMethod("callObject", Sub.class)),
+                reflections8.getMethodUsage(Object.class.getDeclaredMethod("hashCode")));
+    }
+
+    @Test
+    public void testUsageSites() throws Exception {
+        assertTrue(reflections8.getStore().get(index(MemberUsageScanner.class)) instanceof MemberUsageMultimap);
+
+        List<UsageSite> sites = reflections8.getMethodUsageSites(Base.class.getDeclaredMethod("method"));
+        assertEquals(2, sites.size());
+        Set<String> callers = new HashSet<>();
+        for (UsageSite site : sites) {
+            callers.add(site.getCaller());
+            assertTrue(site.getLineNumber() > 0);
+            assertEquals(site, UsageSite.parse(site.toString()));
+        }
+        assertEquals(new HashSet<>(asList(Caller.class.getName() + ".callBase(" + Base.class.getName() + ")",
+                Caller.class.getName() + ".callSub(" + Sub.class.getName() + ")")), callers);
+
+        List<UsageSite> fieldSites = reflections8.getFieldUsageSites(Base.class.getDeclaredField("field"));
+        assertEquals(1, fieldSites.size());
+        assertEquals(sites.get(sites.get(0).getCaller().contains("callSub") ? 0 : 1).getLineNumber(), fieldSites.get(0).getLineNumber());
+
+        assertEquals(2, reflections8.getConstructorUsageSites(Sub.class.getDeclaredConstructor()).size());
+    }
+
+    @Test
+    public void testNoDuplicateUsageSites() throws Exception {
+        //the same class in two urls, scanned in parallel with the whole test class path, interleaving many usages
+        Path first = fixture.newDirectory(Caller.class);
+        Path second = fixture.newDirectory(Caller.class);
+        Reflections parallel = new Reflections(new ConfigurationBuilder()
+                .setUrls(asList(ScanFixture.url(first), ClasspathHelper.forClass(ReflectionsMemberUsageTest.class), ScanFixture.url(second)))
+                .filterInputsBy(new FilterBuilder().includePackage("org.reflections8"))
+                .setScanners(new SubTypesScanner(), new MemberUsageScanner())
+                .useParallelExecutor(4));
+
+        List<UsageSite> sites = parallel.getMethodUsageSites(Base.class.getDeclaredMethod("method"));
+        assertEquals(2, sites.size());
+        assertEquals(new HashSet<>(reflections8.getMethodUsageSites(Base.class.getDeclaredMethod("method"))), new HashSet<>(sites));
+        MemberUsageMultimap usages = (MemberUsageMultimap) parallel.getStore().get(index(MemberUsageScanner.class));
+        int count = 0;
+        for (String key : usages.keySet()) count += usages.get(key).size();
+        assertEquals(count, usages.usages());
+    }
+
+    @Test
+    public void testMemberUsageMultimapCompaction() {
+        MemberUsageMultimap usages = new MemberUsageMultimap();
+        for (int i = 0; i < 1000; i++) assertTrue(usages.put("a.A.m" + (i % 10) + "()", "b.B.n" + i + "()", i));
+        for (int i = 0; i < 1000; i++) assertFalse(usages.put("a.A.m" + (i % 10) + "()", "b.B.n" + i + "()", i));
+        for (int i = 0; i < 900; i++) assertTrue(usages.removeSingle("a.A.m" + (i % 10) + "()", "b.B.n" + i + "() #" + i));
+        usages.remove("a.A.m9()");
+
+        assertEquals(90, usages.usages());
+        assertEquals(9, usages.size());
+        assertEquals(asList(new UsageSite("b.B.n900()", 900), new UsageSite("b.B.n910()", 910)), usages.getUsageSites("a.A.m0()").subList(0, 2));
+        assertFalse(usages.put("a.A.m0()", "b.B.n900()", 900));
+        assertTrue(usages.put("a.A.m0()", "b.B.n0()", 0));
+        assertTrue(usages.put("a.A.m9()", "b.B.n999()", 999));
+        assertEquals(92, usages.usages());
+    }
+
+    @Test
+    public void testMemberUsageMultimap() {
+        MemberUsageMultimap usages = new MemberUsageMultimap();
+        assertTrue(usages.put("a.A.m()", "b.B.n()", 3));
+        assertFalse(usages.put("a.A.m()", "b.B.n()", 3));
+        assertTrue(usages.putSingle("a.A.m()", "b.B.o() #4"));
+        assertTrue(usages.putSingle("a.A.f", "b.B.o() #5"));
+        assertEquals(2, usages.size());
+        assertEquals(3, usages.usages());
+        assertEquals(new HashSet<>(asList("b.B.n() #3", "b.B.o() #4")), usages.get("a.A.m()"));
+        assertEquals(asList(new UsageSite("b.B.n()", 3), new UsageSite("b.B.o()", 4)), usages.getUsageSites("a.A.m()"));
+
+        assertTrue(usages.removeSingle("a.A.m()", "b.B.n() #3"));
+        assertEquals(new HashSet<>(asList("b.B.o() #4")), usages.get("a.A.m()"));
+        usages.remove("a.A.f");
+        assertNull(usages.get("a.A.f"));
+        assertEquals(new HashSet<>(asList("a.A.m()")), usages.keySet());
+
+        MemberUsageMultimap merged = new MemberUsageMultimap();
+        merged.putAllSingles(usages);
+        merged.putAllSingles(usages);
+        assertEquals(usages.asMap(), merged.asMap());
+    }
+
+    private static Set<Member> set(Member... members) {
+        return new HashSet<>(asList(members));
+    }
+}
@@ -0,0 +1,126 @@
+package org.reflections8;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.reflections8.ScanFixture.set;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.reflections8.scanners.ResourcesScanner;
+import org.reflections8.scanners.SubTypesScanner;
+import org.reflections8.scanners.TypeAnnotationsScanner;
+import org.reflections8.util.ConfigurationBuilder;
+import org.reflections8.util.HashSetMultimap;
+import org.reflections8.util.OverlayMultimap;
+import org.reflections8.util.ResourcesMultimap;
+import org.reflections8.util.SetMultimap;
+import org.reflections8.util.Utils;
+
+/** */
+public class ReflectionsOverlayTest {
+    @Rule
+    public ScanFixture fixture = new ScanFixture();
+    private Path platform;
+    private Path tenant;
+
+    public static class Base {}
+    public static class Sub extends Base {}
+    @Deprecated public static class TenantSub extends Sub {}
+
+    @Before
+    public void createDirectories() throws IOException {
+        platform = fixture.newDirectory(Sub.class);
+        tenant = fixture.newDirectory(Sub.class, TenantSub.class);
+    }
+
+    @Test
+    public void testOverlay() throws Exception {
+        Reflections shared = new Reflections(new ConfigurationBuilder()
+                .addUrls(ScanFixture.url(platform))
+                .setScanners(new SubTypesScanner()));
+        Reflections overlay = shared.overlay(new ConfigurationBuilder()
+                .addUrls(ScanFixture.url(tenant))
+                .setScanners(new SubTypesScanner(), new TypeAnnotationsScanner()));
+
+        //transitive, spanning the base and the layer
+        assertEquals(set(Sub.class, TenantSub.class), overlay.getSubTypesOf(Base.class));
+        assertEquals(set(TenantSub.class), overlay.getTypesAnnotatedWith(Deprecated.class));
+        assertEquals(set(Sub.class), shared.getSubTypesOf(Base.class));
+
+        //the layer stores only its own entries
+        OverlayStore store = (OverlayStore) overlay.getStore();
+        String index = Utils.index(SubTypesScanner.class);
+        assertFalse(store.getLayer(index).containsKey(Base.class.getName()));
+        assertEquals(Collections.singleton(TenantSub.class.getName()), store.getLayer(index).get(Sub.class.getName()));
+        assertTrue(store.keySet().contains(Utils.index(TypeAnnotationsScanner.class)));
+        assertFalse(shared.getStore().keySet().contains(Utils.index(TypeAnnotationsScanner.class)));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testBaseIsImmutable() throws Exception {
+        Reflections shared = new Reflections(new ConfigurationBuilder()
+                .addUrls(ScanFixture.url(platform))
+                .setScanners(new SubTypesScanner()));
+        Reflections overlay = shared.overlay(new ConfigurationBuilder().setScanners(new SubTypesScanner()));
+        overlay.getStore().get(Utils.index(SubTypesScanner.class)).removeSingle(Base.class.getName(), Sub.class.getName());
+    }
+
+    @Test
+    public void testResourcesOverlay() throws Exception {
+        Files.write(platform.resolve("platform.properties"), new byte[0]);
+        Files.write(tenant.resolve("tenant.properties"), new byte[0]);
+        Reflections shared = new Reflections(new ConfigurationBuilder()
+                .addUrls(ScanFixture.url(platform))
+                .setScanners(new ResourcesScanner()));
+        Reflections overlay = shared.overlay(new ConfigurationBuilder()
+                .addUrls(ScanFixture.url(tenant))
+                .setScanners(new ResourcesScanner()));
+
+        SetMultimap<String, String> resources = overlay.getStore().get(Utils.index(ResourcesScanner.class));
+        assertTrue(((OverlayMultimap) resources).getBase() instanceof ResourcesMultimap);
+        assertTrue(((OverlayMultimap) resources).getLayer() instanceof ResourcesMultimap);
+        assertEquals(Arrays.asList("platform.properties", "tenant.properties"), overlay.queryResources().withExtension("properties").getResources());
+        assertEquals(Arrays.asList("tenant.properties"), overlay.queryResources().matchingGlob("tenant.*").getResources());
+    }
+
+    @Test
+    public void testOverlayViews() {
+        SetMultimap<String, String> base = new HashSetMultimap<>();
+        base.putSingle("a", "1");
+        base.putSingle("b", "2");
+        SetMultimap<String, String> layer = new HashSetMultimap<>();
+        OverlayMultimap overlay = new OverlayMultimap(base, layer);
+        Set<String> keys = overlay.keySet();
+        Map<String, Set<String>> map = overlay.asMap();
+        assertEquals(2, overlay.size());
+
+        overlay.putSingle("b", "2");
+        overlay.putSingle("b", "3");
+        overlay.putSingle("c", "4");
+        assertEquals(3, overlay.size());
+        assertEquals(set("a", "b", "c"), new HashSet<>(overlay.keySet()));
+        assertEquals(3, overlay.keySet().size());
+        assertTrue(overlay.keySet().contains("c"));
+        assertEquals(set("2", "3"), map.get("b"));
+        assertEquals(3, map.size());
+        //views
+        assertEquals(set("a", "b", "c"), keys);
+
+        Map<String, Set<String>> entries = new HashMap<>();
+        for (Map.Entry<String, Set<String>> entry : overlay.entrySet()) entries.put(entry.getKey(), entry.getValue());
+        assertEquals(3, entries.size());
+        assertEquals(set("4"), entries.get("c"));
+    }
+}
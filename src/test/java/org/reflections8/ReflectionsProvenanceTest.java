@@ -0,0 +1,98 @@
+package org.reflections8;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.reflections8.ScanFixture.set;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.reflections8.scanners.SubTypesScanner;
+import org.reflections8.util.ConfigurationBuilder;
+import org.reflections8.util.Utils;
+
+/** */
+public class ReflectionsProvenanceTest {
+    @Rule
+    public ScanFixture fixture = new ScanFixture();
+    private Path first;
+    private Path second;
+
+    public static class Base {}
+    public static class Sub extends Base {}
+    public static class Other extends Base {}
+
+    @Before
+    public void createDirectories() throws IOException {
+        first = fixture.newDirectory(Sub.class);
+        second = fixture.newDirectory(Sub.class, Other.class);
+    }
+
+    @Test
+    public void testRemoveAndAdd() throws Exception {
+        URL firstUrl = ScanFixture.url(first);
+        URL secondUrl = ScanFixture.url(second);
+        Reflections reflections8 = new Reflections(new ConfigurationBuilder()
+                .addUrls(firstUrl, secondUrl)
+                .setScanners(new SubTypesScanner())
+                .setTrackUrls(true));
+        assertEquals(set(Sub.class.getName(), Other.class.getName()), subTypes(reflections8));
+        assertEquals(set(firstUrl, secondUrl), reflections8.getStore().getSegmentUrls());
+
+        //contributed by the first url too
+        reflections8.remove(secondUrl);
+        assertEquals(set(Sub.class.getName()), subTypes(reflections8));
+
+        reflections8.remove(firstUrl);
+        assertEquals(set(), subTypes(reflections8));
+
+        reflections8.add(secondUrl);
+        assertEquals(set(Sub.class.getName(), Other.class.getName()), subTypes(reflections8));
+        assertNotNull(reflections8.getStore().getSegment(secondUrl));
+
+        //adding again replaces the contributions
+        Files.delete(second.resolve("org/reflections8/ReflectionsProvenanceTest$Other.class"));
+        reflections8.add(secondUrl);
+        assertEquals(set(Sub.class.getName()), subTypes(reflections8));
+    }
+
+    @Test
+    public void testRestrictTo() throws Exception {
+        URL firstUrl = ScanFixture.url(first);
+        URL secondUrl = ScanFixture.url(second);
+        Reflections reflections8 = new Reflections(new ConfigurationBuilder()
+                .addUrls(firstUrl, secondUrl)
+                .setScanners(new SubTypesScanner())
+                .setExecutorService(Executors.newFixedThreadPool(2))
+                .setTrackUrls(true));
+
+        assertEquals(set(Sub.class.getName()), subTypes(reflections8.restrictTo(Collections.singleton(firstUrl))));
+        assertEquals(set(Sub.class.getName(), Other.class.getName()), subTypes(reflections8.restrictTo(Collections.singleton(secondUrl))));
+        assertEquals(set(Sub.class, Other.class), reflections8.restrictTo(Arrays.asList(firstUrl, secondUrl)).getSubTypesOf(Base.class));
+        assertEquals(set(), reflections8.restrictTo(Collections.<URL>emptySet()).getSubTypesOf(Base.class));
+    }
+
+    @Test(expected = ReflectionsException.class)
+    public void testRemoveRequiresTracking() throws Exception {
+        Reflections reflections8 = new Reflections(new ConfigurationBuilder()
+                .addUrls(ScanFixture.url(first))
+                .setScanners(new SubTypesScanner()));
+        reflections8.remove(ScanFixture.url(first));
+    }
+
+    private static Set<String> subTypes(Reflections reflections8) {
+        Set<String> result = new HashSet<>();
+        reflections8.getStore().get(Utils.index(SubTypesScanner.class), Base.class.getName()).forEach(result::add);
+        return result;
+    }
+}
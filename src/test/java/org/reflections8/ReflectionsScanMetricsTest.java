@@ -0,0 +1,82 @@
+package org.reflections8;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.reflections8.metrics.ScanMetrics;
+import org.reflections8.scanners.FieldAnnotationsScanner;
+import org.reflections8.scanners.MemberUsageScanner;
+import org.reflections8.scanners.MethodAnnotationsScanner;
+import org.reflections8.scanners.MethodParameterNamesScanner;
+import org.reflections8.scanners.MethodParameterScanner;
+import org.reflections8.scanners.SubTypesScanner;
+import org.reflections8.scanners.TypeAnnotationsScanner;
+import org.reflections8.util.ClasspathHelper;
+import org.reflections8.util.ConfigurationBuilder;
+
+/** */
+public class ReflectionsScanMetricsTest extends ReflectionsTest {
+    private static ScanMetrics metrics;
+
+    @Rule
+    public ScanFixture fixture = new ScanFixture();
+
+    @BeforeClass
+    public static void init() {
+        metrics = new ScanMetrics(3);
+        reflections8 = new Reflections(new ConfigurationBuilder()
+                .setUrls(asList(ClasspathHelper.forClass(TestModel.class)))
+                .filterInputsBy(TestModelFilter)
+                .setScanners(
+                        new SubTypesScanner(false),
+                        new TypeAnnotationsScanner(),
+                        new FieldAnnotationsScanner(),
+                        new MethodAnnotationsScanner(),
+                        new MethodParameterScanner(),
+                        new MethodParameterNamesScanner(),
+                        new MemberUsageScanner())
+                .setScanListener(metrics)
+                .useParallelExecutor());
+    }
+
+    @Test
+    public void testScanMetrics() {
+        assertEquals(1, metrics.getUrls());
+        assertTrue(metrics.getFiles() > 0);
+        assertTrue(metrics.getEntries() >= metrics.getFiles());
+        assertTrue(metrics.getBytesRead() > 0);
+        assertTrue(metrics.getParseNanos() > 0);
+        assertTrue(metrics.getScanNanos() > 0);
+        assertTrue(metrics.getScannerNanos(SubTypesScanner.class) > 0);
+        assertEquals(0, metrics.getScannerFailures(SubTypesScanner.class));
+        assertEquals(3, metrics.getSlowestFiles().size());
+        assertTrue(metrics.getSlowestFiles().get(0).getNanos() >= metrics.getSlowestFiles().get(2).getNanos());
+
+        String json = metrics.toJson();
+        assertTrue(json.contains("\"files\": " + metrics.getFiles() + ","));
+        assertTrue(json.contains("\"SubTypesScanner\": {"));
+        assertTrue(json.contains("\"path\": \"org/reflections8/TestModel$"));
+    }
+
+    @Test
+    public void testUnparsableFileFailsOnce() throws Exception {
+        Path directory = fixture.newDirectory();
+        Files.write(directory.resolve("Corrupt.class"), new byte[] {1, 2, 3});
+        ScanMetrics metrics = new ScanMetrics();
+        new Reflections(new ConfigurationBuilder()
+                .addUrls(ScanFixture.url(directory))
+                .setScanners(new SubTypesScanner(false), new TypeAnnotationsScanner(), new MethodAnnotationsScanner())
+                .setScanListener(metrics));
+
+        assertEquals(1, metrics.getFiles());
+        assertEquals(1, metrics.getFailures());
+        assertEquals(0, metrics.getScannerFailures(SubTypesScanner.class));
+    }
+}
@@ -4,6 +4,7 @@ import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.reflections8.TestModel.AC1;
 import static org.reflections8.TestModel.AC1n;
@@ -44,18 +45,23 @@ import org.hamcrest.Description;
 import org.hamcrest.Matcher;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.reflections8.adapters.JavaReflectionAdapter;
+import org.reflections8.scanners.ClassContext;
 import org.reflections8.scanners.FieldAnnotationsScanner;
 import org.reflections8.scanners.MemberUsageScanner;
 import org.reflections8.scanners.MethodAnnotationsScanner;
+import org.reflections8.scanners.MethodMetadata;
 import org.reflections8.scanners.MethodParameterNamesScanner;
 import org.reflections8.scanners.MethodParameterScanner;
 import org.reflections8.scanners.ResourcesScanner;
 import org.reflections8.scanners.SubTypesScanner;
 import org.reflections8.scanners.TypeAnnotationsScanner;
+import org.reflections8.scanners.TypeKindsScanner;
 import org.reflections8.util.ClasspathHelper;
 import org.reflections8.util.ConfigurationBuilder;
 import org.reflections8.util.FilterBuilder;
 import org.reflections8.util.ReflectionsIterables;
+import org.reflections8.util.ResourcesMultimap;
 
 /**
  *
@@ -124,6 +130,16 @@ public class ReflectionsTest {
         assertThat(reflections8.getTypesAnnotatedWith(ac2, true), are(C3.class, I3.class, AC3.class));
     }
 
+    @Test
+    public void testTypeQuery() {
+        assertThat(reflections8.queryTypes().subTypesOf(C1.class).annotatedWith(AC2.class).getTypes(), are(C2.class, C3.class, C5.class));
+        assertThat(reflections8.queryTypes().subTypesOf(I1.class).annotatedWith(AC1.class, true).getTypes(), are(C1.class, C2.class, C3.class, C5.class));
+        assertThat(reflections8.queryTypes().annotatedWith(AI1.class).annotatedWith(AC2.class).getTypes(), are(C2.class, C3.class, C5.class));
+        assertThat(reflections8.queryTypes().subTypesOf(C1.class).inPackage("org.reflections8").filterNames(name -> name.endsWith("3")).getTypes(), are(C3.class));
+        assertThat(reflections8.queryTypes().subTypesOf(C1.class).inPackage("org.reflections").getTypes(), isEmpty);
+        assertEquals(asList(C2.class.getName(), C3.class.getName(), C5.class.getName()), reflections8.queryTypes().subTypesOf(C1.class).getNames());
+    }
+
     @Test
     public void testMethodsAnnotatedWith() {
         try {
@@ -241,6 +257,58 @@ public class ReflectionsTest {
                 are(C4.class.getDeclaredConstructor(String.class)));
     }
 
+    @Test
+    public void testMethodMetadata() {
+        JavaReflectionAdapter md = new JavaReflectionAdapter();
+        ClassContext context = ClassContext.forClass(md, C4.class);
+        List<MethodMetadata> methods = context.getMethods();
+        assertTrue(methods == context.getMethods());
+        assertEquals(C4.class.getName(), context.getClassName());
+        assertEquals(md.getMethods(C4.class).size(), methods.size());
+        for (MethodMetadata method : methods) {
+            java.lang.reflect.Member member = (java.lang.reflect.Member) method.getMethod();
+            assertEquals(md.getMethodFullKey(C4.class, member), method.getFullKey());
+            assertEquals(md.getMethodKey(C4.class, member), method.getKey());
+            assertEquals(md.getParameterNames(member), method.getParameterNames());
+            if (member instanceof java.lang.reflect.Method) assertEquals(md.getReturnTypeName(member), method.getReturnTypeName());
+        }
+    }
+
+    @Test
+    public void testTypeKindsScanner() {
+        Reflections localReflections8 = new Reflections(new ConfigurationBuilder()
+                .filterInputsBy(TestModelFilter)
+                .setScanners(new SubTypesScanner(false), new TypeAnnotationsScanner(), new TypeKindsScanner())
+                .setUrls(asList(ClasspathHelper.forClass(TestModel.class))));
+
+        assertThat(localReflections8.queryTypes().subTypesOf(I1.class).withoutKind(TypeKind.INTERFACE).getTypes(), are(C1.class, C2.class, C3.class, C5.class));
+        assertThat(localReflections8.queryTypes().withKind(TypeKind.ANNOTATION).annotatedWith(AC2.class).getTypes(), are(AC3.class));
+        assertThat(localReflections8.queryTypes().subTypesOf(Object.class).withKind(TypeKind.INTERFACE).withoutKind(TypeKind.ANNOTATION).inPackage("org.reflections8").getTypes(),
+                are(I1.class, I2.class, I3.class, TestModel.Usage.class));
+        assertThat(localReflections8.getTypesAnnotatedWith(AC1.class, true), are(C1.class, C2.class, C3.class, C5.class));
+        assertThat(localReflections8.getTypesAnnotatedWith(AI2.class, true), are(I2.class));
+
+        //types not found in the type kinds index are loaded
+        Reflections unindexed = new Reflections(new ConfigurationBuilder()
+                .filterInputsBy(TestModelFilter)
+                .setScanners(new SubTypesScanner(false), new TypeAnnotationsScanner(), new TypeKindsScanner().filterResultsBy(type -> false))
+                .setUrls(asList(ClasspathHelper.forClass(TestModel.class))));
+        assertThat(unindexed.getTypesAnnotatedWith(AC1.class, true), are(C1.class, C2.class, C3.class, C5.class));
+        assertThat(unindexed.getTypesAnnotatedWith(AI2.class, true), are(I2.class));
+
+        //same kinds as reflection
+        JavaReflectionAdapter reflectionAdapter = new JavaReflectionAdapter();
+        for (String type : localReflections8.getAllTypes()) {
+            Set<String> kinds = new HashSet<>();
+            for (String kind : localReflections8.getStore().get(index(TypeKindsScanner.class)).keySet()) {
+                if (localReflections8.getStore().get(index(TypeKindsScanner.class)).get(kind).contains(type)) kinds.add(kind);
+            }
+            Set<String> expected = new HashSet<>();
+            for (TypeKind kind : reflectionAdapter.getClassKinds(ReflectionUtils.forName(type))) expected.add(kind.name());
+            assertEquals(type, expected, kinds);
+        }
+    }
+
     @Test
     public void testResourcesScanner() {
         Predicate<String> filter = new FilterBuilder().include(".*\\.xml").exclude(".*testModel-reflections.*\\.xml");
@@ -254,6 +322,38 @@ public class ReflectionsTest {
 
         Set<String> resources = localReflections8.getStore().get(index(ResourcesScanner.class)).keySet();
         assertThat(resources, are("resource1-reflections.xml", "resource2-reflections.xml"));
+
+        assertEquals(asList("META-INF/reflections/inner/resource2-reflections.xml", "META-INF/reflections/resource1-reflections.xml"),
+                localReflections8.queryResources().inPackage("META-INF.reflections").getResources());
+        assertEquals(asList("META-INF/reflections/inner/resource2-reflections.xml"),
+                localReflections8.queryResources().filterNames(name -> name.startsWith("resource2")).getResources());
+
+        assertTrue(localReflections8.getStore().get(index(ResourcesScanner.class)) instanceof ResourcesMultimap);
+        assertEquals(asList("META-INF/reflections/inner/resource2-reflections.xml", "META-INF/reflections/resource1-reflections.xml"),
+                localReflections8.queryResources().withExtension("xml").getResources());
+        assertEquals(asList("META-INF/reflections/inner/resource2-reflections.xml"),
+                localReflections8.queryResources().inDirectory("META-INF/reflections/inner").getResources());
+        assertEquals(asList("META-INF/reflections/resource1-reflections.xml"),
+                localReflections8.queryResources().matchingGlob("META-INF/*/*.xml").getResources());
+        assertEquals(asList("META-INF/reflections/inner/resource2-reflections.xml", "META-INF/reflections/resource1-reflections.xml"),
+                localReflections8.queryResources().matchingGlob("META-INF/**/*.xml").getResources());
+        assertEquals(asList("META-INF/reflections/inner/resource2-reflections.xml"),
+                localReflections8.queryResources().matchingGlob("*2-reflections.xml").getResources());
+        assertEquals(asList("META-INF/reflections/resource1-reflections.xml"),
+                localReflections8.queryResources().matchingGlob("resource?-*.xml").inPackage("META-INF.reflections").withExtension("xml", "sql")
+                        .filterPaths(path -> !path.contains("inner")).getResources());
+        assertTrue(localReflections8.queryResources().withExtension("sql").getResources().isEmpty());
+    }
+
+    @Test
+    public void testResourceGlobWithExtensions() {
+        Reflections localReflections8 = new Reflections(new ConfigurationBuilder().setScanners(new ResourcesScanner()));
+        localReflections8.getStore().getOrCreate(index(ResourcesScanner.class)).putSingle("a.tar.gz", "db/a.tar.gz");
+        localReflections8.getStore().getOrCreate(index(ResourcesScanner.class)).putSingle("b.gz", "db/b.gz");
+
+        assertEquals(asList("db/a.tar.gz"), localReflections8.queryResources().matchingGlob("*.tar.gz").getResources());
+        assertEquals(asList("db/a.tar.gz"), localReflections8.queryResources().matchingGlob("db/*.tar.gz").getResources());
+        assertEquals(asList("db/a.tar.gz", "db/b.gz"), localReflections8.queryResources().matchingGlob("*.gz").getResources());
     }
 
     @Test
@@ -0,0 +1,176 @@
+package org.reflections8;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import static org.reflections8.ScanFixture.copyClass;
+import static org.reflections8.ScanFixture.set;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.reflections8.scanners.ResourcesScanner;
+import org.reflections8.scanners.Scanner;
+import org.reflections8.scanners.SubTypesScanner;
+import org.reflections8.util.ConfigurationBuilder;
+import org.reflections8.util.SetMultimap;
+import org.reflections8.util.Utils;
+import org.reflections8.vfs.Vfs;
+
+/** */
+public class ReflectionsWatchTest {
+    @Rule
+    public ScanFixture fixture = new ScanFixture();
+    private Path directory;
+
+    public static class Base {}
+    public static class Sub extends Base {}
+    public static class Other extends Base {}
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = fixture.newDirectory(Sub.class);
+    }
+
+    @Test
+    public void testWatch() throws Exception {
+        Reflections reflections8 = new Reflections(new ConfigurationBuilder()
+                .addUrls(ScanFixture.url(directory))
+                .setScanners(new SubTypesScanner(), new ResourcesScanner())
+                .setTrackFiles(true));
+        assertEquals(set(Sub.class.getName()), subTypes(reflections8));
+        assertEquals(set("org/reflections8/ReflectionsWatchTest$Sub.class"),
+                reflections8.getStore().getFileSegments(ScanFixture.url(directory)).keySet());
+
+        try (Watcher watcher = reflections8.watch(50)) {
+            copyClass(directory, Other.class, "org/reflections8/ReflectionsWatchTest$Other.class");
+            Files.write(directory.resolve("resource.txt"), "resource".getBytes());
+            await(() -> subTypes(reflections8).size() == 2 && !reflections8.getResources(name -> name.equals("resource.txt")).isEmpty());
+            assertEquals(set(Sub.class.getName(), Other.class.getName()), subTypes(reflections8));
+
+            //replaced by another class
+            copyClass(directory, Base.class, "org/reflections8/ReflectionsWatchTest$Sub.class");
+            await(() -> subTypes(reflections8).size() == 1);
+            assertEquals(set(Other.class.getName()), subTypes(reflections8));
+
+            Files.delete(directory.resolve("org/reflections8/ReflectionsWatchTest$Other.class"));
+            Files.delete(directory.resolve("resource.txt"));
+            await(() -> subTypes(reflections8).isEmpty() && reflections8.getResources(name -> name.equals("resource.txt")).isEmpty());
+            assertTrue(watcher.getUpdates() > 0);
+        }
+    }
+
+    @Test
+    public void testWatchUpdatesSegmentAndBloomFilters() throws Exception {
+        URL url = ScanFixture.url(directory);
+        Reflections reflections8 = new Reflections(new ConfigurationBuilder()
+                .addUrls(url)
+                .setScanners(new SubTypesScanner(), new ResourcesScanner())
+                .setTrackUrls(true)
+                .setBuildBloomFilters(true)
+                .setTrackFiles(true));
+        String resources = Utils.index(ResourcesScanner.class);
+        assertFalse(reflections8.getStore().getUrlsMightContain(resources, "resource.txt").contains(url));
+
+        try (Watcher watcher = reflections8.watch(50)) {
+            copyClass(directory, Other.class, "org/reflections8/ReflectionsWatchTest$Other.class");
+            Files.write(directory.resolve("resource.txt"), "resource".getBytes());
+            await(() -> subTypes(reflections8).size() == 2 && !reflections8.getResources(name -> name.equals("resource.txt")).isEmpty());
+        }
+        assertEquals(set(Sub.class.getName(), Other.class.getName()), subTypes(reflections8.restrictTo(Collections.singleton(url))));
+        assertTrue(reflections8.getStore().getUrlsMightContain(resources, "resource.txt").contains(url));
+
+        reflections8.remove(url);
+        assertEquals(set(), subTypes(reflections8));
+        assertTrue(reflections8.getResources(name -> name.equals("resource.txt")).isEmpty());
+    }
+
+    /** a scanner which does not extend {@link org.reflections8.scanners.AbstractScanner}, indexing the names of the files */
+    public static class FileNamesScanner implements Scanner {
+        private SetMultimap<String, String> store;
+
+        public void setConfiguration(Configuration configuration) {}
+        public SetMultimap<String, String> getStore() { return store; }
+        public void setStore(SetMultimap<String, String> store) { this.store = store; }
+        public Scanner filterResultsBy(Predicate<String> filter) { return this; }
+        public boolean acceptsInput(String file) { return true; }
+        public boolean acceptResult(String fqn) { return true; }
+
+        public Object scan(Vfs.File file, Optional<Object> classObject) {
+            store.putSingle(file.getName(), file.getRelativePath());
+            return classObject.orElse(null);
+        }
+    }
+
+    @Test
+    public void testWatchCustomScanner() throws Exception {
+        Reflections reflections8 = new Reflections(new ConfigurationBuilder()
+                .addUrls(ScanFixture.url(directory))
+                .setScanners(new FileNamesScanner())
+                .setTrackFiles(true));
+        SetMultimap<String, String> names = reflections8.getStore().get(Utils.index(FileNamesScanner.class));
+        assertEquals(set("org/reflections8/ReflectionsWatchTest$Sub.class"), names.get("ReflectionsWatchTest$Sub.class"));
+
+        try (Watcher watcher = reflections8.watch(50)) {
+            Files.write(directory.resolve("resource.txt"), "resource".getBytes());
+            await(() -> reflections8.getStore().get(Utils.index(FileNamesScanner.class)).containsKey("resource.txt"));
+            Files.delete(directory.resolve("resource.txt"));
+            await(() -> !reflections8.getStore().get(Utils.index(FileNamesScanner.class)).containsKey("resource.txt"));
+        }
+    }
+
+    @Test(expected = ReflectionsException.class)
+    public void testWatchRequiresTrackedFiles() {
+        new Reflections(new ConfigurationBuilder()
+                .addUrls(ScanFixture.url(directory))
+                .setScanners(new SubTypesScanner()))
+                .watch(50);
+    }
+
+    @Test
+    public void testUpdatePublishesSnapshot() {
+        Reflections reflections8 = new Reflections(new ConfigurationBuilder()
+                .addUrls(ScanFixture.url(directory))
+                .setScanners(new SubTypesScanner()));
+        Store store = reflections8.getStore();
+        String index = Utils.index(SubTypesScanner.class);
+        SetMultimap<String, String> snapshot = store.get(index);
+        Set<String> before = snapshot.get(Base.class.getName());
+
+        Store removals = new Store();
+        removals.getOrCreate(index).putSingle(Base.class.getName(), Sub.class.getName());
+        Store additions = new Store();
+        additions.getOrCreate(index).putSingle(Base.class.getName(), Other.class.getName());
+        store.update(removals, additions);
+
+        assertEquals(set(Sub.class.getName()), before);
+        assertEquals(set(Sub.class.getName()), snapshot.get(Base.class.getName()));
+        assertEquals(set(Other.class.getName()), subTypes(reflections8));
+        store.update(additions, new Store());
+        assertFalse(store.get(index).containsKey(Base.class.getName()));
+    }
+
+    private static Set<String> subTypes(Reflections reflections8) {
+        Set<String> result = new HashSet<>();
+        reflections8.getStore().get(Utils.index(SubTypesScanner.class), Base.class.getName()).forEach(result::add);
+        return result;
+    }
+
+    private static void await(Supplier<Boolean> condition) throws InterruptedException {
+        long end = System.currentTimeMillis() + 10000;
+        while (!condition.get() && System.currentTimeMillis() < end) Thread.sleep(20);
+        assertTrue(condition.get());
+    }
+}
@@ -0,0 +1,62 @@
+package org.reflections8;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * a temporary folder of class files copied from the test classes, for tests scanning directories as urls, deleted after each test
+ * <pre>
+ *     &#64;Rule public ScanFixture fixture = new ScanFixture();
+ *     ...
+ *     Path directory = fixture.newDirectory(Sub.class);
+ *     new Reflections(new ConfigurationBuilder().addUrls(ScanFixture.url(directory)));
+ * </pre>
+ */
+public class ScanFixture extends TemporaryFolder {
+
+    /** a new directory containing the class files of the given {@code types} */
+    public Path newDirectory(Class<?>... types) throws IOException {
+        Path directory = newFolder().toPath();
+        copyClasses(directory, types);
+        return directory;
+    }
+
+    /** copies the class files of the given {@code types} into the given {@code directory}, under their package path */
+    public static void copyClasses(Path directory, Class<?>... types) throws IOException {
+        for (Class<?> type : types) copyClass(directory, type, type.getName().replace('.', '/') + ".class");
+    }
+
+    /** copies the class file of the given {@code type} into the given {@code directory} under the given {@code path}, atomically replacing any existing file */
+    public static void copyClass(Path directory, Class<?> type, String path) throws IOException {
+        Path target = directory.resolve(path);
+        Files.createDirectories(target.getParent());
+        try (InputStream inputStream = type.getClassLoader().getResourceAsStream(type.getName().replace('.', '/') + ".class")) {
+            Path temp = Files.createTempFile(directory, "class", ".tmp");
+            Files.copy(inputStream, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    public static URL url(Path directory) {
+        try {
+            return directory.toUri().toURL();
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @SafeVarargs
+    public static <T> Set<T> set(T... elements) {
+        return new HashSet<>(Arrays.asList(elements));
+    }
+}
@@ -6,25 +6,43 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.jar.JarFile;
 import java.util.stream.StreamSupport;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
+import org.junit.Assume;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 import org.reflections8.adapters.JavassistAdapter;
+import org.reflections8.scanners.SubTypesScanner;
 import org.reflections8.util.ClasspathHelper;
+import org.reflections8.util.ConfigurationBuilder;
 import org.reflections8.vfs.JarInputDir;
+import org.reflections8.vfs.JrtDir;
+import org.reflections8.vfs.NestedJarDir;
+import org.reflections8.vfs.PackagePrefixes;
 import org.reflections8.vfs.SystemDir;
 import org.reflections8.vfs.Vfs;
 import org.reflections8.vfs.ZipDir;
@@ -309,9 +327,117 @@ public class VfsTest {
         }
     }
 
+    public static class FatJarBase {}
+    public static class FatJarClass extends FatJarBase {}
+    public static class StoredLibClass extends FatJarBase {}
+    public static class DeflatedLibClass extends FatJarBase {}
+
     @Test
-    public void vfsFromJarWithInnerJars() {
-        //todo?
+    public void vfsFromJarWithInnerJars() throws Exception {
+        Map<String, byte[]> storedLib = new LinkedHashMap<>();
+        storedLib.put(classPath(StoredLibClass.class), classBytes(StoredLibClass.class));
+        Map<String, byte[]> deflatedLib = new LinkedHashMap<>();
+        deflatedLib.put(classPath(DeflatedLibClass.class), classBytes(DeflatedLibClass.class));
+        Map<String, byte[]> fatJar = new LinkedHashMap<>();
+        fatJar.put("META-INF/MANIFEST.MF", "Manifest-Version: 1.0\n".getBytes("UTF-8"));
+        fatJar.put("BOOT-INF/classes/" + classPath(FatJarClass.class), classBytes(FatJarClass.class));
+        fatJar.put("BOOT-INF/lib/stored.jar", zip(storedLib, false));
+        fatJar.put("BOOT-INF/lib/deflated.jar", zip(deflatedLib, true));
+
+        File file = File.createTempFile("reflections-fat", ".jar");
+        try {
+            try (FileOutputStream out = new FileOutputStream(file)) {
+                //the nested stored.jar is stored, the nested deflated.jar is deflated
+                out.write(zip(fatJar, "BOOT-INF/lib/stored.jar"));
+            }
+
+            NestedJarDir dir = new NestedJarDir(file);
+            Map<String, byte[]> files = new HashMap<>();
+            for (Vfs.File f : dir.getFiles()) files.put(f.getRelativePath(), read(f));
+            dir.close();
+            assertEquals(new HashSet<>(Arrays.asList("META-INF/MANIFEST.MF", classPath(FatJarClass.class), classPath(StoredLibClass.class), classPath(DeflatedLibClass.class))),
+                    files.keySet());
+            assertTrue(Arrays.equals(classBytes(StoredLibClass.class), files.get(classPath(StoredLibClass.class))));
+            assertTrue(Arrays.equals(classBytes(DeflatedLibClass.class), files.get(classPath(DeflatedLibClass.class))));
+            assertTrue(Arrays.equals(classBytes(FatJarClass.class), files.get(classPath(FatJarClass.class))));
+            testPruned(new NestedJarDir(file), PackagePrefixes.of(DeflatedLibClass.class.getName()));
+
+            URL url = file.toURI().toURL();
+            Collection<URL> urls = ClasspathHelper.forFatJar(url);
+            assertEquals(Arrays.asList(new URL("jar:" + url + "!/BOOT-INF/classes!/"), new URL("jar:" + url + "!/BOOT-INF/lib/stored.jar!/"),
+                    new URL("jar:" + url + "!/BOOT-INF/lib/deflated.jar!/")), new ArrayList<>(urls));
+            for (URL root : urls) {
+                assertTrue(Vfs.DefaultUrlTypes.nestedJar.matches(root));
+                assertTrue(Vfs.fromURL(root) instanceof NestedJarDir);
+            }
+            assertFalse(Vfs.DefaultUrlTypes.nestedJar.matches(new URL("jar:" + url + "!/")));
+
+            Reflections reflections = new Reflections(new ConfigurationBuilder()
+                    .addUrls(urls)
+                    .setScanners(new SubTypesScanner())
+                    .useParallelExecutor(2));
+            assertEquals(new HashSet<>(Arrays.asList(FatJarClass.class, StoredLibClass.class, DeflatedLibClass.class)), reflections.getSubTypesOf(FatJarBase.class));
+
+            //the cached jar is not reused once the file changes
+            fatJar.remove("BOOT-INF/lib/deflated.jar");
+            try (FileOutputStream out = new FileOutputStream(file)) {
+                out.write(zip(fatJar, "BOOT-INF/lib/stored.jar"));
+            }
+            assertTrue(file.setLastModified(file.lastModified() - 10000));
+            assertEquals(Arrays.asList("BOOT-INF/classes/", "BOOT-INF/lib/stored.jar"), NestedJarDir.getRoots(file));
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static String classPath(Class<?> type) {
+        return type.getName().replace('.', '/') + ".class";
+    }
+
+    private static byte[] classBytes(Class<?> type) throws IOException {
+        try (InputStream inputStream = type.getClassLoader().getResourceAsStream(classPath(type))) {
+            return read(inputStream);
+        }
+    }
+
+    private static byte[] read(Vfs.File file) throws IOException {
+        try (InputStream inputStream = file.openInputStream()) {
+            return read(inputStream);
+        }
+    }
+
+    private static byte[] read(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) out.write(buffer, 0, read);
+        return out.toByteArray();
+    }
+
+    private static byte[] zip(Map<String, byte[]> entries, boolean deflated) throws IOException {
+        return zip(entries, deflated ? null : "");
+    }
+
+    /** a zip of the given entries, the entries starting with {@code stored} are stored, the others are deflated */
+    private static byte[] zip(Map<String, byte[]> entries, String stored) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                ZipEntry zipEntry = new ZipEntry(entry.getKey());
+                if (stored != null && entry.getKey().startsWith(stored)) {
+                    CRC32 crc = new CRC32();
+                    crc.update(entry.getValue());
+                    zipEntry.setMethod(ZipEntry.STORED);
+                    zipEntry.setSize(entry.getValue().length);
+                    zipEntry.setCompressedSize(entry.getValue().length);
+                    zipEntry.setCrc(crc.getValue());
+                }
+                zip.putNextEntry(zipEntry);
+                zip.write(entry.getValue());
+                zip.closeEntry();
+            }
+        }
+        return out.toByteArray();
     }
 
     @Test
@@ -334,6 +460,59 @@ public class VfsTest {
         }
     }
 
+    @Test
+    public void prunedByPackagePrefixes() throws Exception {
+        PackagePrefixes prefixes = PackagePrefixes.of("org.junit.runner", "junit/framework/Assert");
+        URL jar = Test.class.getProtectionDomain().getCodeSource().getLocation();
+        testPruned(new ZipDir(new JarFile(new File(jar.toURI()))), prefixes);
+        testPruned(new JarInputDir(jar), prefixes);
+
+        File dir = new File(VfsTest.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        testPruned(new SystemDir(dir), PackagePrefixes.of("org.reflections8.TestModel"));
+
+        assertFalse(prefixes.acceptsFile("org/junit/Test.class"));
+        assertTrue(prefixes.acceptsDirectory("org/junit/Test.class", "org/junit/".length()));
+        assertEquals("org/junit/rules/", prefixes.rejectedDirectory("org/junit/rules/TestName.class"));
+        assertEquals(null, prefixes.rejectedDirectory("org/junit/runner/Runner.class"));
+    }
+
+    @Test
+    public void jrtUrl() throws Exception {
+        Assume.assumeTrue(JrtDir.isAvailable());
+        URL url = JrtDir.forModule("java.sql");
+        assertTrue(Vfs.DefaultUrlTypes.jrt.matches(url));
+        assertFalse(Vfs.DefaultUrlTypes.jarInputStream.matches(url));
+
+        Vfs.Dir dir = Vfs.fromURL(url);
+        assertTrue(dir instanceof JrtDir);
+        Vfs.File file = null;
+        for (Vfs.File f : dir.getFiles()) {
+            if (f.getRelativePath().equals("java/sql/Connection.class")) file = f;
+        }
+        assertNotNull(file);
+        assertEquals("Connection.class", file.getName());
+        try (DataInputStream inputStream = new DataInputStream(file.openInputStream())) {
+            assertEquals(0xCAFEBABE, inputStream.readInt());
+        }
+
+        testPruned(dir, PackagePrefixes.of("java.sql.Connection"));
+        assertTrue(ClasspathHelper.forModules().contains(JrtDir.forModule("java.base")));
+    }
+
+    private void testPruned(Vfs.Dir dir, PackagePrefixes prefixes) {
+        Set<String> expected = new HashSet<>();
+        for (Vfs.File file : dir.getFiles()) {
+            if (prefixes.acceptsFile(file.getRelativePath())) expected.add(file.getRelativePath());
+        }
+        Set<String> actual = new HashSet<>();
+        for (Vfs.File file : dir.getFiles(prefixes)) {
+            actual.add(file.getRelativePath());
+        }
+        dir.close();
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, actual);
+    }
+
     //
     private URL getSomeJar() {
         Collection<URL> urls = ClasspathHelper.forClassLoader();
@@ -0,0 +1,324 @@
+package org.reflections8.adapters;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * writes a Jandex index of the given classes, in the layout read by {@link JandexIndex}, for tests
+ */
+public class JandexIndexWriter {
+    private final boolean collecting;
+    private final Map<String, Integer> names;
+    private final TreeSet<String> collected = new TreeSet<>(JandexIndexWriter::compareNames);
+    private final Map<String, Integer> strings = new LinkedHashMap<>();
+    private final Map<String, Integer> bytes = new LinkedHashMap<>();
+    private final Map<String, Integer> types = new LinkedHashMap<>();
+    private final ByteArrayOutputStream typeEntries = new ByteArrayOutputStream();
+    private final Map<List<Integer>, Integer> typeLists = new LinkedHashMap<>();
+    private int annotations;
+
+    private JandexIndexWriter(boolean collecting, Map<String, Integer> names) {
+        this.collecting = collecting;
+        this.names = names;
+    }
+
+    public static byte[] write(Class<?>... classes) throws IOException {
+        JandexIndexWriter collector = new JandexIndexWriter(true, new LinkedHashMap<>());
+        collector.writeBody(new DataOutputStream(new ByteArrayOutputStream()), classes);
+
+        Map<String, Integer> names = new LinkedHashMap<>();
+        for (String name : collector.collected) names.put(name, names.size() + 1);
+        JandexIndexWriter writer = new JandexIndexWriter(false, names);
+        ByteArrayOutputStream nameEntries = new ByteArrayOutputStream();
+        for (String name : names.keySet()) {
+            List<String> components = components(name);
+            packed(new DataOutputStream(nameEntries), (components.size() - 1) << 1 | (isInner(name) ? 1 : 0));
+            packed(new DataOutputStream(nameEntries), writer.string(components.get(components.size() - 1)));
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        writer.writeBody(new DataOutputStream(body), classes);
+
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(result);
+        output.writeInt(0xBABE1F15);
+        output.writeByte(10);
+        packed(output, writer.annotations);
+        packed(output, 0); //implementors
+        packed(output, 0); //subclasses
+        packed(output, 0); //users
+        packed(output, writer.bytes.size());
+        for (String name : writer.bytes.keySet()) {
+            byte[] encoded = name.getBytes(StandardCharsets.UTF_8);
+            packed(output, encoded.length);
+            output.write(encoded);
+        }
+        packed(output, writer.strings.size());
+        for (String string : writer.strings.keySet()) output.writeUTF(string);
+        packed(output, names.size());
+        output.write(nameEntries.toByteArray());
+        packed(output, writer.types.size());
+        packed(output, writer.typeLists.size());
+        packed(output, writer.annotations);
+        output.write(writer.typeEntries.toByteArray());
+        for (List<Integer> typeList : writer.typeLists.keySet()) {
+            packed(output, typeList.size());
+            for (int type : typeList) packed(output, type);
+        }
+        output.write(body.toByteArray());
+        return result.toByteArray();
+    }
+
+    /** the methods and fields tables, and the classes */
+    private void writeBody(DataOutputStream output, Class<?>[] classes) throws IOException {
+        List<Executable> methods = new ArrayList<>();
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> type : classes) {
+            methods.addAll(Arrays.asList(type.getDeclaredConstructors()));
+            methods.addAll(Arrays.asList(type.getDeclaredMethods()));
+            fields.addAll(Arrays.asList(type.getDeclaredFields()));
+        }
+        Map<Object, List<Integer>> annotationReferences = new LinkedHashMap<>();
+
+        packed(output, methods.size());
+        for (Executable method : methods) {
+            packed(output, bytes(method instanceof Constructor ? "<init>" : method.getName()));
+            packed(output, method.getModifiers());
+            packed(output, 0); //type parameters
+            packed(output, 0); //receiver
+            packed(output, type(method instanceof Method ? ((Method) method).getReturnType() : void.class));
+            List<Integer> parameters = new ArrayList<>();
+            for (Class<?> parameter : method.getParameterTypes()) parameters.add(type(parameter));
+            packed(output, typeList(parameters));
+            packed(output, 0); //exceptions
+            Object defaultValue = method instanceof Method ? ((Method) method).getDefaultValue() : null;
+            output.writeByte(defaultValue != null ? 1 : 0);
+            if (defaultValue != null) {
+                packed(output, string(method.getName()));
+                value(output, defaultValue);
+            }
+            packed(output, 0); //parameter names
+            List<Integer> references = new ArrayList<>();
+            int count = method.getDeclaredAnnotations().length;
+            for (Annotation[] parameterAnnotations : method.getParameterAnnotations()) count += parameterAnnotations.length;
+            packed(output, count);
+            for (Annotation annotation : method.getDeclaredAnnotations()) references.add(annotation(output, annotation, 2, 0));
+            for (int i = 0; i < method.getParameterAnnotations().length; i++) {
+                for (Annotation annotation : method.getParameterAnnotations()[i]) references.add(annotation(output, annotation, 3, i));
+            }
+            annotationReferences.put(method, references);
+        }
+
+        packed(output, fields.size());
+        for (Field field : fields) {
+            packed(output, bytes(field.getName()));
+            packed(output, field.getModifiers());
+            packed(output, type(field.getType()));
+            List<Integer> references = new ArrayList<>();
+            packed(output, field.getDeclaredAnnotations().length);
+            for (Annotation annotation : field.getDeclaredAnnotations()) references.add(annotation(output, annotation, 1, 0));
+            annotationReferences.put(field, references);
+        }
+        packed(output, 0); //record components
+
+        packed(output, classes.length);
+        for (Class<?> type : classes) {
+            packed(output, name(type.getName()));
+            packed(output, type.getModifiers());
+            packed(output, type.getSuperclass() != null ? type(type.getSuperclass()) : 0);
+            packed(output, 0); //type parameters
+            List<Integer> interfaces = new ArrayList<>();
+            for (Class<?> anInterface : type.getInterfaces()) interfaces.add(type(anInterface));
+            packed(output, typeList(interfaces));
+            output.writeByte(0); //nesting
+
+            List<Object> members = new ArrayList<>();
+            members.addAll(Arrays.asList(type.getDeclaredConstructors()));
+            members.addAll(Arrays.asList(type.getDeclaredMethods()));
+            members.addAll(Arrays.asList(type.getDeclaredFields()));
+            packed(output, type.getDeclaredAnnotations().length + members.size());
+            packed(output, type.getDeclaredFields().length);
+            for (Field field : type.getDeclaredFields()) packed(output, fields.indexOf(field) + 1);
+            packed(output, 0); //field positions
+            packed(output, type.getDeclaredConstructors().length + type.getDeclaredMethods().length);
+            for (Constructor<?> constructor : type.getDeclaredConstructors()) packed(output, methods.indexOf(constructor) + 1);
+            for (Method method : type.getDeclaredMethods()) packed(output, methods.indexOf(method) + 1);
+            packed(output, 0); //method positions
+            packed(output, 0); //record components
+            packed(output, 0); //record component positions
+
+            //a list per class annotation, and a list of the already written annotations of each member
+            for (Annotation annotation : type.getDeclaredAnnotations()) {
+                packed(output, 1);
+                annotation(output, annotation, 4, 0);
+            }
+            for (Object member : members) {
+                List<Integer> references = annotationReferences.get(member);
+                packed(output, references.size());
+                for (int reference : references) packed(output, reference);
+            }
+        }
+    }
+
+    private int annotation(DataOutputStream output, Annotation annotation, int tag, int position) throws IOException {
+        int reference = ++annotations;
+        packed(output, reference);
+        packed(output, name(annotation.annotationType().getName()));
+        output.writeByte(tag);
+        if (tag == 3) packed(output, position);
+        Method[] members = annotation.annotationType().getDeclaredMethods();
+        packed(output, members.length);
+        for (Method member : members) {
+            packed(output, string(member.getName()));
+            try {
+                value(output, member.invoke(annotation));
+            } catch (ReflectiveOperationException e) {
+                throw new IOException(e);
+            }
+        }
+        return reference;
+    }
+
+    private void value(DataOutputStream output, Object value) throws IOException {
+        if (value instanceof String) {
+            output.writeByte(9);
+            packed(output, string((String) value));
+        } else if (value instanceof Integer) {
+            output.writeByte(3);
+            packed(output, (Integer) value);
+        } else if (value instanceof Long) {
+            output.writeByte(7);
+            output.writeLong((Long) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte(8);
+            output.writeBoolean((Boolean) value);
+        } else if (value instanceof Class) {
+            output.writeByte(10);
+            packed(output, type((Class<?>) value));
+        } else if (value instanceof Enum) {
+            output.writeByte(11);
+            packed(output, name(((Enum<?>) value).getDeclaringClass().getName()));
+            packed(output, string(((Enum<?>) value).name()));
+        } else if (value instanceof Annotation) {
+            output.writeByte(13);
+            annotation(output, (Annotation) value, 0, 0);
+        } else if (value.getClass().isArray()) {
+            output.writeByte(12);
+            packed(output, Array.getLength(value));
+            for (int i = 0; i < Array.getLength(value); i++) {
+                packed(output, string(""));
+                value(output, Array.get(value, i));
+            }
+        } else {
+            throw new IllegalArgumentException("unsupported annotation value " + value);
+        }
+    }
+
+    private int type(Class<?> type) throws IOException {
+        String key = type.getName();
+        Integer reference = types.get(key);
+        if (reference != null) return reference;
+        DataOutputStream output = new DataOutputStream(typeEntries);
+        if (type.isArray()) {
+            int dimensions = 0;
+            Class<?> component = type;
+            while (component.isArray()) {
+                component = component.getComponentType();
+                dimensions++;
+            }
+            int componentType = type(component);
+            output.writeByte(1);
+            packed(output, dimensions);
+            packed(output, componentType);
+        } else if (type == void.class) {
+            output.writeByte(3);
+        } else if (type.isPrimitive()) {
+            output.writeByte(2);
+            output.writeByte(Arrays.asList(byte.class, char.class, double.class, float.class, int.class, long.class, short.class, boolean.class).indexOf(type));
+        } else {
+            output.writeByte(0);
+            packed(output, name(type.getName()));
+        }
+        packed(output, 0); //type annotations
+        types.put(key, reference = types.size() + 1);
+        return reference;
+    }
+
+    private int typeList(List<Integer> typeList) {
+        Integer reference = typeLists.get(typeList);
+        if (reference == null) typeLists.put(typeList, reference = typeLists.size() + 1);
+        return reference;
+    }
+
+    private int name(String name) {
+        if (collecting) {
+            List<String> components = components(name);
+            for (int i = 1; i <= components.size(); i++) collected.add(join(name, components.subList(0, i)));
+            return 0;
+        }
+        return names.get(name);
+    }
+
+    private int string(String string) {
+        Integer reference = strings.get(string);
+        if (reference == null) strings.put(string, reference = strings.size() + 1);
+        return reference;
+    }
+
+    private int bytes(String string) {
+        Integer reference = bytes.get(string);
+        if (reference == null) bytes.put(string, reference = bytes.size() + 1);
+        return reference;
+    }
+
+    private static List<String> components(String name) {
+        List<String> components = new ArrayList<>();
+        for (String component : name.split("[.$]")) components.add(component);
+        return components;
+    }
+
+    /** the prefix of the given binary name with the given components */
+    private static String join(String name, List<String> components) {
+        int length = components.size() - 1;
+        for (String component : components) length += component.length();
+        return name.substring(0, length);
+    }
+
+    private static boolean isInner(String name) {
+        int dollar = name.lastIndexOf('$');
+        return dollar > name.lastIndexOf('.');
+    }
+
+    private static int compareNames(String name, String other) {
+        List<String> components = components(name);
+        List<String> others = components(other);
+        for (int i = 0; i < Math.min(components.size(), others.size()); i++) {
+            int compare = components.get(i).compareTo(others.get(i));
+            if (compare != 0) return compare;
+        }
+        return components.size() - others.size();
+    }
+
+    private static void packed(DataOutputStream output, int value) throws IOException {
+        byte[] groups = new byte[5];
+        int size = 0;
+        do {
+            groups[size++] = (byte) (value & 0x7F);
+            value >>>= 7;
+        } while (value != 0);
+        for (int i = size - 1; i >= 0; i--) output.writeByte(i > 0 ? groups[i] | 0x80 : groups[i]);
+    }
+}
@@ -0,0 +1,132 @@
+package org.reflections8.adapters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataInputStream;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.Descriptor;
+import javassist.bytecode.MethodInfo;
+
+/**
+ * Test JavassistAdapter descriptor decoding
+ */
+public final class JavassistAdapterTest {
+    private final JavassistAdapter adapter = new JavassistAdapter();
+
+    @Test
+    public void testParameterNames() {
+        assertEquals(Collections.emptyList(), adapter.getParameterNames("()V"));
+        assertEquals(Arrays.asList("java.lang.String", "int[]", "long", "java.util.Map$Entry[][]", "double", "boolean"),
+                adapter.getParameterNames("(Ljava/lang/String;[IJ[[Ljava/util/Map$Entry;DZ)Ljava/lang/Object;"));
+        assertSame(adapter.getParameterNames("(Ljava/lang/String;)V"), adapter.getParameterNames("(Ljava/lang/String;)V"));
+    }
+
+    @Test
+    public void testParameterNamesCacheEvictsLeastRecentlyUsed() {
+        List<String> recurring = adapter.getParameterNames("(Ljava/lang/String;)V");
+        for (int i = 0; i < 2 * JavassistAdapter.MAX_DECODED_DESCRIPTORS; i++) {
+            adapter.getParameterNames("(Lp/C" + i + ";)V");
+            assertSame(recurring, adapter.getParameterNames("(Ljava/lang/String;)V"));
+        }
+        assertEquals(Arrays.asList("p.C0"), adapter.getParameterNames("(Lp/C0;)V"));
+    }
+
+    @Test
+    public void testReturnTypeName() {
+        assertEquals("void", adapter.getReturnTypeName(new MethodInfo(new ConstPool("A"), "m", "()V")));
+        assertEquals("boolean[][]", adapter.getReturnTypeName(new MethodInfo(new ConstPool("A"), "m", "([[[Ljava/lang/Object;I)[[Z")));
+        assertEquals("java.lang.String", adapter.getReturnTypeName(new MethodInfo(new ConstPool("A"), "m", "(Ljava/util/List;)Ljava/lang/String;")));
+    }
+
+    @Test
+    public void testAccept() throws Exception {
+        Set<String> events = new HashSet<>();
+        try (InputStream stream = Visited.class.getResourceAsStream("JavassistAdapterTest$Visited.class")) {
+            adapter.accept(new ClassFile(new DataInputStream(stream)), recorder(events));
+        }
+        Set<String> expected = new HashSet<>();
+        new JavaReflectionAdapter().accept(Visited.class, recorder(expected));
+
+        assertEquals(expected, events);
+        assertTrue(events.contains("field " + Visited.class.getName() + ".field @" + Deprecated.class.getName()));
+        assertTrue(events.contains("parameter " + Visited.class.getName() + ".method[java.lang.String, int[]]#1 @" + Marker.class.getName()));
+    }
+
+    @Test
+    public void testAcceptVisitors() throws Exception {
+        Set<String> header = new HashSet<>();
+        Set<String> events = new HashSet<>();
+        try (InputStream stream = Visited.class.getResourceAsStream("JavassistAdapterTest$Visited.class")) {
+            adapter.accept(new ClassFile(new DataInputStream(stream)), ClassVisitors.of(Arrays.asList(recorder(header, false), recorder(events, true))));
+        }
+        Set<String> expected = new HashSet<>();
+        new JavaReflectionAdapter().accept(Visited.class, recorder(expected));
+
+        //one walk of the class for both visitors, the header only visitor receives the members events as well
+        assertEquals(expected, events);
+        assertEquals(expected, header);
+
+        header.clear();
+        try (InputStream stream = Visited.class.getResourceAsStream("JavassistAdapterTest$Visited.class")) {
+            adapter.accept(new ClassFile(new DataInputStream(stream)), recorder(header, false));
+        }
+        assertTrue(header.contains("interface " + Visited.class.getName() + " " + Runnable.class.getName()));
+        assertTrue(header.contains("class " + Visited.class.getName() + " @" + Marker.class.getName()));
+        assertTrue(header.contains("end " + Visited.class.getName()));
+        for (String event : header) assertTrue(event, !event.startsWith("field") && !event.startsWith("method") && !event.startsWith("parameter"));
+    }
+
+    @Retention(RetentionPolicy.RUNTIME) public @interface Marker { String[] value() default {}; Retention nested() default @Retention(RetentionPolicy.RUNTIME); }
+    @Marker({"a", "b"}) public static class Visited extends ArrayList<String> implements Runnable, Serializable {
+        @Deprecated @Marker(nested = @Retention(RetentionPolicy.CLASS)) public int field;
+        public Visited() {}
+        @Marker public void run() {}
+        @Deprecated public void method(String s, @Marker @Deprecated int[] i) {}
+    }
+
+    private static ClassVisitor recorder(final Set<String> events) {
+        return recorder(events, true);
+    }
+
+    private static ClassVisitor recorder(final Set<String> events, final boolean members) {
+        return new ClassVisitor() {
+            public boolean visitsMembers() { return members; }
+            public void visitClass(CharSequence className, CharSequence superclassName) { events.add("class " + className + " " + superclassName); }
+            public void visitInterface(CharSequence className, CharSequence interfaceName) { events.add("interface " + className + " " + interfaceName); }
+            public void visitClassAnnotation(CharSequence className, CharSequence annotationType) { events.add("class " + className + " @" + annotationType); }
+            public void visitField(CharSequence className, CharSequence fieldName) { events.add("field " + className + "." + fieldName); }
+            public void visitFieldAnnotation(CharSequence className, CharSequence fieldName, CharSequence annotationType) { events.add("field " + className + "." + fieldName + " @" + annotationType); }
+            public void visitMethod(CharSequence className, CharSequence methodName, List<String> parameterTypeNames) { events.add("method " + className + "." + methodName + parameterTypeNames); }
+            public void visitMethodAnnotation(CharSequence className, CharSequence methodName, List<String> parameterTypeNames, CharSequence annotationType) {
+                events.add("method " + className + "." + methodName + parameterTypeNames + " @" + annotationType);
+            }
+            public void visitParameterAnnotation(CharSequence className, CharSequence methodName, List<String> parameterTypeNames, int parameterIndex, CharSequence annotationType) {
+                events.add("parameter " + className + "." + methodName + parameterTypeNames + "#" + parameterIndex + " @" + annotationType);
+            }
+            public void visitEnd(CharSequence className) { events.add("end " + className); }
+        };
+    }
+
+    @Test
+    public void testSameAsDescriptor() {
+        for (String descriptor : Arrays.asList("(BCSFZ)[J", "([[[Ljava/lang/Object;I)[[Z", "(Ljava/util/List;Ljava/util/Map$Entry;)Ljava/lang/String;")) {
+            assertEquals(Descriptor.toString(descriptor), "(" + String.join(",", adapter.getParameterNames(descriptor)) + ")");
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.reflections8.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/** */
+public class BloomFilterTest {
+
+    @Test
+    public void testFalsePositives() throws Exception {
+        List<String> strings = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) strings.add("org.reflections8.Type" + i);
+        BloomFilter filter = BloomFilter.of(strings);
+        for (String string : strings) assertTrue(filter.mightContain(string));
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain("org.reflections8.Other" + i)) falsePositives++;
+        }
+        assertTrue("false positives " + falsePositives, falsePositives < 300);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        filter.write(new DataOutputStream(bytes));
+        BloomFilter read = BloomFilter.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(filter.mightContain("org.reflections8.Other" + i), read.mightContain("org.reflections8.Other" + i));
+        }
+    }
+}
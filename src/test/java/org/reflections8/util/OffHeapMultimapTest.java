@@ -0,0 +1,93 @@
+package org.reflections8.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+/** */
+public class OffHeapMultimapTest {
+
+    @Test
+    public void testDirect() {
+        testMultimap(new OffHeapMultimap(4));
+    }
+
+    @Test
+    public void testMapped() throws Exception {
+        Path directory = Files.createTempDirectory("reflections-offheap");
+        try {
+            testMultimap(new OffHeapMultimap(directory, 0));
+        } finally {
+            directory.toFile().delete();
+        }
+    }
+
+    private void testMultimap(OffHeapMultimap multimap) {
+        HashSetMultimap<String, String> expected = new HashSetMultimap<>();
+        //enough strings to rehash and span several chunks
+        for (int i = 0; i < 100000; i++) {
+            String key = "key" + (i % 1000);
+            String value = "valueé" + i;
+            assertEquals(expected.putSingle(key, value), multimap.putSingle(key, value));
+        }
+        assertFalse(multimap.putSingle("key1", "valueé1"));
+        assertEquals(expected.size(), multimap.size());
+        assertEquals(expected.get("key7"), multimap.get("key7"));
+        assertEquals(expected.keySet(), new HashSet<>(multimap.keySet()));
+        assertEquals(expected.flatValuesAsSet(), multimap.flatValuesAsSet());
+        Map<String, Set<String>> entries = new HashMap<>();
+        for (Map.Entry<String, Set<String>> entry : multimap.entrySet()) entries.put(entry.getKey(), entry.getValue());
+        assertEquals(expected, entries);
+
+        assertTrue(multimap.removeSingle("key7", "valueé7"));
+        assertFalse(multimap.removeSingle("key7", "valueé7"));
+        assertFalse(multimap.get("key7").contains("valueé7"));
+        assertEquals(expected.get("key8"), multimap.remove("key8"));
+        assertNull(multimap.get("key8"));
+        assertFalse(multimap.containsKey("key8"));
+        assertFalse(multimap.containsKey("missing"));
+        assertEquals(999, multimap.size());
+
+        assertTrue(multimap.putSingle("key7", "valueé7"));
+        assertFalse(multimap.putSingle("key7", "valueé7"));
+        assertTrue(multimap.putSingle("key8", "valueé8"));
+        assertFalse(multimap.putSingle("key8", "valueé8"));
+        multimap.remove("key8");
+
+        multimap.put("key9", new HashSet<>(Arrays.asList("a", "b")));
+        assertEquals(new HashSet<>(Arrays.asList("a", "b")), multimap.get("key9"));
+        multimap.clear();
+        assertTrue(multimap.isEmpty());
+        assertNull(multimap.get("key1"));
+    }
+
+    @Test
+    public void testLargePostingListAndChurn() {
+        OffHeapMultimap multimap = new OffHeapMultimap(0);
+        //a single key with many values, each duplicate found through the entry table
+        for (int i = 0; i < 50000; i++) assertTrue(multimap.putSingle("key", "value" + i));
+        for (int i = 0; i < 50000; i++) assertFalse(multimap.putSingle("key", "value" + i));
+        assertEquals(50000, multimap.get("key").size());
+
+        //removed slots are reused and dropped on rehash
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 50000; i += 2) assertTrue(multimap.removeSingle("key", "value" + i));
+            for (int i = 0; i < 50000; i += 2) assertTrue(multimap.putSingle("key", "value" + i));
+        }
+        assertEquals(50000, multimap.get("key").size());
+        multimap.remove("key");
+        assertTrue(multimap.putSingle("key", "value1"));
+        assertEquals(1, multimap.get("key").size());
+    }
+}
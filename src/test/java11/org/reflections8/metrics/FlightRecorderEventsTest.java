@@ -0,0 +1,68 @@
+package org.reflections8.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+import org.reflections8.Reflections;
+import org.reflections8.TestModel;
+import org.reflections8.scanners.SubTypesScanner;
+import org.reflections8.util.ClasspathHelper;
+import org.reflections8.util.ConfigurationBuilder;
+import org.reflections8.util.FilterBuilder;
+
+/** runs on Java 11+ only, against the Java 11 version of {@link FlightRecorderEvents} */
+public class FlightRecorderEventsTest {
+
+    @Test
+    public void testEvents() throws Exception {
+        assertFalse(FlightRecorderEvents.isRecording());
+        assertNull(FlightRecorderEvents.beginScanUrl());
+
+        Path file = Files.createTempFile("reflections", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.reflections8.ScanUrl");
+            recording.enable("org.reflections8.ScanFile");
+            recording.enable("org.reflections8.Query");
+            recording.disable("org.reflections8.Collect");
+            recording.start();
+            assertTrue(FlightRecorderEvents.isRecording());
+            assertNull(FlightRecorderEvents.beginCollect());
+
+            Reflections reflections8 = new Reflections(new ConfigurationBuilder()
+                    .addUrls(ClasspathHelper.forClass(TestModel.class))
+                    .filterInputsBy(new FilterBuilder().includePackage(TestModel.class))
+                    .setScanners(new SubTypesScanner(false)));
+            reflections8.getSubTypesOf(TestModel.C1.class);
+
+            recording.stop();
+            recording.dump(file);
+        }
+        assertFalse(FlightRecorderEvents.isRecording());
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Set<String> names = new HashSet<>();
+        for (RecordedEvent event : events) {
+            names.add(event.getEventType().getName());
+            if (event.getEventType().getName().equals("org.reflections8.Query")) {
+                assertEquals(TestModel.C1.class.getName(), event.getString("key"));
+            }
+        }
+        assertTrue(names.contains("org.reflections8.ScanUrl"));
+        assertTrue(names.contains("org.reflections8.ScanFile"));
+        assertTrue(names.contains("org.reflections8.Query"));
+        assertFalse(names.contains("org.reflections8.Collect"));
+        Files.delete(file);
+    }
+}